@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.0"
     id("io.spring.dependency-management") version "1.1.6"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.warehouse"
@@ -17,6 +18,10 @@ configurations {
     compileOnly {
         extendsFrom(configurations.annotationProcessor.get())
     }
+    all {
+        // Log4j2 with async loggers replaces Logback; see log4j2-spring.xml.
+        exclude(group = "org.springframework.boot", module = "spring-boot-starter-logging")
+    }
 }
 
 repositories {
@@ -24,20 +29,34 @@ repositories {
 }
 
 dependencies {
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
+    implementation("org.springframework.boot:spring-boot-starter-log4j2")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("com.aayushatharva.brotli4j:brotli4j:1.16.0")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.apache.logging.log4j:log4j-layout-template-json")
+    implementation("org.apache.lucene:lucene-core:9.12.0")
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-mysql")
     implementation("org.mapstruct:mapstruct:1.6.3")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.7.0")
-    implementation("log4j:log4j:1.2.17")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.6.3")
     annotationProcessor("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok-mapstruct-binding:0.2.0")
     compileOnly("org.projectlombok:lombok")
+    // Brotli falls back to gzip on platforms without a native encoder here.
+    runtimeOnly("com.aayushatharva.brotli4j:native-linux-x86_64:1.16.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-linux-aarch64:1.16.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-osx-x86_64:1.16.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-osx-aarch64:1.16.0")
+    runtimeOnly("com.aayushatharva.brotli4j:native-windows-x86_64:1.16.0")
+    // Ring buffer behind Log4j2's async loggers
+    runtimeOnly("com.lmax:disruptor:4.0.0")
     runtimeOnly("com.mysql:mysql-connector-j")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.mockito:mockito-core:5.15.2")
     testImplementation("org.springframework.security:spring-security-test")
@@ -46,6 +65,15 @@ dependencies {
     testImplementation("org.junit.platform:junit-platform-suite-engine")
     testImplementation("com.h2database:h2:2.3.232")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    jmh("com.h2database:h2:2.3.232")
+}
+
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+    // build/results/jmh/results.json, for comparing runs between releases
+    resultFormat = "JSON"
 }
 
 tasks.withType<Test> {
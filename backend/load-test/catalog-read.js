@@ -0,0 +1,54 @@
+// Read-heavy catalog load for comparing platform-thread and virtual-thread request execution.
+//
+// Start the backend once with spring.threads.virtual.enabled=false and once with true (for the prod profile:
+// VIRTUAL_THREADS_ENABLED=true), then run against each:
+//
+//   k6 run -e BASE_URL=http://localhost:8080 --summary-export=platform.json load-test/catalog-read.js
+//   k6 run -e BASE_URL=http://localhost:8080 --summary-export=virtual.json load-test/catalog-read.js
+//
+// Compare http_reqs (throughput), http_req_duration p(95) and http_req_failed between the two summaries.
+// Products and categories must exist beforehand, e.g. loaded through POST /product/bulk.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MAX_PRODUCT_ID = parseInt(__ENV.MAX_PRODUCT_ID || '1000');
+const MAX_CATEGORY_ID = parseInt(__ENV.MAX_CATEGORY_ID || '10');
+
+export const options = {
+    scenarios: {
+        catalog: {
+            executor: 'ramping-arrival-rate',
+            startRate: 100,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: parseInt(__ENV.MAX_VUS || '2000'),
+            stages: [
+                { target: 500, duration: '30s' },
+                { target: 2000, duration: '1m' },
+                { target: 4000, duration: '1m' },
+                { target: 0, duration: '15s' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function randomId(max) {
+    return Math.floor(Math.random() * max) + 1;
+}
+
+export default function () {
+    const roll = Math.random();
+    let response;
+    if (roll < 0.6) {
+        response = http.get(`${BASE_URL}/product/${randomId(MAX_PRODUCT_ID)}`, { tags: { name: 'GET /product/{id}' } });
+    } else if (roll < 0.85) {
+        response = http.get(`${BASE_URL}/product?limit=50`, { tags: { name: 'GET /product' } });
+    } else {
+        response = http.get(`${BASE_URL}/category/${randomId(MAX_CATEGORY_ID)}`, { tags: { name: 'GET /category/{id}' } });
+    }
+    check(response, { 'status is 200 or 404': (r) => r.status === 200 || r.status === 404 });
+}
@@ -0,0 +1,45 @@
+package com.warehouse.backend.category.application.mapper;
+
+import com.warehouse.backend.category.application.port.input.CreateCategoryRequest;
+import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.category.domain.model.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the MapStruct-generated {@link CategoryMapperImpl} conversions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CategoryMapperBenchmark {
+
+    private CategoryMapper categoryMapper;
+    private Category category;
+    private CreateCategoryRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        categoryMapper = new CategoryMapperImpl();
+        category = new Category(1L, "Tools", "Hand and power tools");
+        request = new CreateCategoryRequest("Tools", "Hand and power tools");
+    }
+
+    @Benchmark
+    public CategoryDto categoryToCategoryDto() {
+        return categoryMapper.categoryToCategoryDto(category);
+    }
+
+    @Benchmark
+    public Category createCategoryRequestToCategory() {
+        return categoryMapper.createCategoryRequestToCategory(request);
+    }
+}
@@ -0,0 +1,98 @@
+package com.warehouse.backend.common.cache.codec;
+
+import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.category.infrastructure.cache.CategoryDtoCodec;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.infrastructure.cache.ProductDtoCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JDK serializer that Redis caching used before with {@link BinaryCacheValueSerializer},
+ * for a single {@code productById} entry and for an {@code allProducts} list of the given size.
+ * The serialize benchmarks report the encoded size as the {@code payloadBytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheValueSerializerBenchmark {
+
+    @Param({"jdk", "binary"})
+    public String serializer;
+
+    @Param({"1000", "10000"})
+    public int listSize;
+
+    private RedisSerializer<Object> redisSerializer;
+    private ProductDto product;
+    private List<ProductDto> products;
+    private byte[] encodedProduct;
+    private byte[] encodedProducts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redisSerializer = "jdk".equals(serializer)
+                ? new JdkSerializationRedisSerializer()
+                : new BinaryCacheValueSerializer(List.of(new ProductDtoCodec(), new CategoryDtoCodec()));
+
+        List<CategoryDto> categories = new ArrayList<>();
+        for (long i = 1; i <= 8; i++) {
+            categories.add(new CategoryDto(i, "Category " + i, "Description of category " + i));
+        }
+        products = new ArrayList<>(listSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= listSize; i++) {
+            products.add(new ProductDto((long) i, "Product " + i, "Description of product number " + i,
+                    categories.get(i % categories.size()), now.minusMinutes(i)));
+        }
+        product = products.getFirst();
+
+        encodedProduct = redisSerializer.serialize(product);
+        encodedProducts = redisSerializer.serialize(products);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct(PayloadSize size) {
+        byte[] encoded = redisSerializer.serialize(product);
+        size.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public Object deserializeProduct() {
+        return redisSerializer.deserialize(encodedProduct);
+    }
+
+    @Benchmark
+    public byte[] serializeProductList(PayloadSize size) {
+        byte[] encoded = redisSerializer.serialize(products);
+        size.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public Object deserializeProductList() {
+        return redisSerializer.deserialize(encodedProducts);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+}
@@ -0,0 +1,49 @@
+package com.warehouse.backend.product.application.mapper;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.product.application.port.input.CreateProductRequest;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.domain.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the MapStruct-generated {@link ProductMapperImpl} conversions, including the nested category
+ * that every product read maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductMapperBenchmark {
+
+    private ProductMapper productMapper;
+    private Product product;
+    private CreateProductRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        product = new Product(1L, "Cordless Drill", "Compact 18V drill driver",
+                new Category(1L, "Tools", "Hand and power tools"), LocalDateTime.now(), "cordless drill");
+        request = new CreateProductRequest("Cordless Drill", "Compact 18V drill driver", 1L);
+    }
+
+    @Benchmark
+    public ProductDto productToProductDto() {
+        return productMapper.productToProductDto(product);
+    }
+
+    @Benchmark
+    public Product createProductRequestToProduct() {
+        return productMapper.createProductRequestToProduct(request);
+    }
+}
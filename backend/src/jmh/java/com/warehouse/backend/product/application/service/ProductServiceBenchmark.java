@@ -0,0 +1,192 @@
+package com.warehouse.backend.product.application.service;
+
+import com.warehouse.backend.category.application.mapper.CategoryMapperImpl;
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.category.domain.repository.CategoryRepository;
+import com.warehouse.backend.category.infrastructure.repository.JpaCategoryRepository;
+import com.warehouse.backend.changefeed.application.service.ChangeEventRecorder;
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.infrastructure.repository.JdbcChangeEventBulkRepository;
+import com.warehouse.backend.changefeed.infrastructure.repository.JpaChangeEventRepository;
+import com.warehouse.backend.common.cache.CacheInvalidationPublisher;
+import com.warehouse.backend.common.cache.CacheLoadCoordinator;
+import com.warehouse.backend.common.cache.CacheLoadLease;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.product.application.mapper.ProductMapper;
+import com.warehouse.backend.product.application.mapper.ProductMapperImpl;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
+import com.warehouse.backend.product.application.port.output.ProductStreamRepository;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.repository.ProductRepository;
+import com.warehouse.backend.product.infrastructure.repository.JdbcProductBulkRepository;
+import com.warehouse.backend.product.infrastructure.repository.JpaProductRepository;
+import com.warehouse.backend.product.infrastructure.search.LuceneProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link ProductService} read paths against an in-memory H2 catalog of {@code catalogSize} products,
+ * with JPA, Hibernate and the generated mappers wired by Spring Boot as in the application.
+ * <p>
+ * {@code getAllProducts} bypasses the list cache, so it measures the joined DTO projection of the whole
+ * catalog. {@code getProductById} is measured straight from the database and through the
+ * {@code productById} {@link com.warehouse.backend.common.cache.TwoTierCache} with a warm L1, which is the
+ * path a {@code @Cacheable(sync = true)} hit takes; the Redis tier is replaced by an in-memory map since an
+ * L1 hit never reaches it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+
+    private static final int CATEGORIES = 8;
+
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Cache productByIdCache;
+    private long[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.data.redis.repositories.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        ProductReadRepository productReadRepository = context.getBean(ProductReadRepository.class);
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        ProductMapper productMapper = context.getBean(ProductMapper.class);
+
+        List<Category> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 1; i <= CATEGORIES; i++) {
+            categories.add(categoryRepository.createNewCategory(
+                    new Category(null, "Category " + i, "Description of category " + i)));
+        }
+        List<Product> products = new ArrayList<>(catalogSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= catalogSize; i++) {
+            products.add(Product.builder()
+                    .name("Product " + i)
+                    .description("Description of product number " + i)
+                    .category(categories.get(i % CATEGORIES))
+                    .createdDate(now.minusMinutes(i))
+                    .build());
+        }
+        context.getBean(JdbcProductBulkRepository.class).insertAll(products);
+        productIds = products.stream().mapToLong(Product::getId).toArray();
+
+        CacheLoadCoordinator loadCoordinator = new CacheLoadCoordinator(CacheLoadLease.LOCAL_ONLY,
+                Duration.ofSeconds(5), Duration.ofSeconds(3), Duration.ofMillis(50), Duration.ofHours(1), 0, 0,
+                new SyncTaskExecutor());
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(new ConcurrentMapCacheManager(),
+                CacheInvalidationPublisher.NOOP, 2L * catalogSize, Duration.ofHours(1), loadCoordinator);
+        ProductSearchService productSearchService = new ProductSearchService(new LuceneProductSearchIndex(),
+                productReadRepository, productMapper, CacheInvalidationPublisher.NOOP, cacheManager);
+        productService = new ProductService(productRepository, productReadRepository,
+                context.getBean(ProductStreamRepository.class), categoryRepository, productMapper,
+                new UncachedListCache<>(), productSearchService, VersionCounter.NONE,
+                context.getBean(ChangeEventRecorder.class), cacheManager);
+
+        productByIdCache = cacheManager.getCache("productById");
+        for (long id : productIds) {
+            getProductByIdCached(id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductDto> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    @Benchmark
+    public ProductDto getProductByIdUncached() {
+        return productService.getProductById(randomProductId());
+    }
+
+    @Benchmark
+    public ProductDto getProductByIdCached() {
+        return getProductByIdCached(randomProductId());
+    }
+
+    private ProductDto getProductByIdCached(long id) {
+        return productByIdCache.get(id, () -> productService.getProductById(id));
+    }
+
+    private long randomProductId() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = {Product.class, Category.class, ChangeEvent.class})
+    @EnableJpaRepositories(basePackageClasses = {JpaProductRepository.class, JpaCategoryRepository.class,
+            JpaChangeEventRepository.class})
+    @Import({ProductMapperImpl.class, CategoryMapperImpl.class, JdbcProductBulkRepository.class,
+            ChangeEventRecorder.class, JdbcChangeEventBulkRepository.class})
+    static class BenchmarkApplication {
+    }
+
+    private static final class UncachedListCache<T> implements IndexedListCache<T> {
+
+        @Override
+        public List<T> getAll(Supplier<List<T>> loader) {
+            return loader.get();
+        }
+
+        @Override
+        public void put(T value) {
+        }
+
+        @Override
+        public void remove(long id) {
+        }
+
+        @Override
+        public void clear() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.warehouse.backend.product.application.service;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.OutputStreamAppender;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of request threads that log the two lines a {@link ProductService} read logs, through the
+ * same SLF4J API and Log4j2 layouts as the application, into a sink that discards the bytes.
+ * <p>
+ * {@code synchronous} is the former set-up: every logger formats and writes on the calling thread under
+ * the appender's lock and flushes each line. {@code asynchronous} uses the async loggers configured by
+ * {@code log4j2.component.properties}; its queue-full policy is switched back to blocking here so that a
+ * full ring buffer slows the callers down instead of dropping events and flattering the result.
+ * {@code requestLogLevel=DEBUG} with the root at INFO is where the services are now: the lines are
+ * filtered out before a message or event is created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class ServiceLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} %5p [%thread] %logger{1} : %m%n";
+
+    private final Logger logger = LoggerFactory.getLogger(ProductService.class);
+
+    @Param({"pattern", "json"})
+    public String layout;
+
+    @Param({"INFO", "DEBUG"})
+    public String requestLogLevel;
+
+    private boolean debug;
+    private String[] names;
+    private Appender appender;
+
+    @Setup
+    public void setUp() {
+        debug = "DEBUG".equals(requestLogLevel);
+        names = new String[1024];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "Product " + i;
+        }
+
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        Configuration configuration = context.getConfiguration();
+        Layout<?> eventLayout = "json".equals(layout)
+                ? JsonTemplateLayout.newBuilder().setConfiguration(configuration)
+                        .setEventTemplateUri("classpath:EcsLayout.json").build()
+                : PatternLayout.newBuilder().withConfiguration(configuration).withPattern(PATTERN).build();
+        appender = OutputStreamAppender.newBuilder()
+                .setName("discard")
+                .setTarget(OutputStream.nullOutputStream())
+                .setLayout(eventLayout)
+                // The async loggers flush at the end of each batch they take from the ring buffer.
+                .setImmediateFlush(!(context instanceof AsyncLoggerContext))
+                .build();
+        appender.start();
+        configuration.addAppender(appender);
+        LoggerConfig root = configuration.getRootLogger();
+        root.getAppenders().keySet().forEach(root::removeAppender);
+        root.addAppender(appender, null, null);
+        root.setLevel(Level.INFO);
+        context.updateLoggers();
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector")
+    public void synchronous() {
+        logRead();
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = "-Dlog4j2.asyncQueueFullPolicy=Default")
+    public void asynchronous() {
+        logRead();
+    }
+
+    private void logRead() {
+        int i = ThreadLocalRandom.current().nextInt(names.length);
+        Long id = (long) i;
+        if (debug) {
+            logger.debug("Getting product by id: {}", id);
+            logger.debug("Found product with name: {}", names[i]);
+        } else {
+            logger.info("Getting product by id: {}", id);
+            logger.info("Found product with name: {}", names[i]);
+        }
+    }
+}
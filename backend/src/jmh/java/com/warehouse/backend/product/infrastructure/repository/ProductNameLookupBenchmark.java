@@ -0,0 +1,115 @@
+package com.warehouse.backend.product.infrastructure.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former {@code COUNT(*) > 0 ... WHERE LOWER(product_name) = LOWER(?)} name check with the
+ * {@code EXISTS}-style lookup on the indexed {@code product_name_key} column, on a products table of
+ * {@code rows} rows. Runs against an in-memory H2 database by default; pass {@code jdbcUrl} (plus
+ * {@code user} and {@code password}) to run it against a scratch MySQL schema, which is dropped and refilled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductNameLookupBenchmark {
+
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"jdbc:h2:mem:name_lookup;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private Connection connection;
+    private PreparedStatement lowerCount;
+    private PreparedStatement nameKeyExists;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("""
+                    CREATE TABLE products
+                    (
+                        product_id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        product_name     VARCHAR(150) NOT NULL,
+                        product_name_key VARCHAR(150) GENERATED ALWAYS AS (LOWER(product_name)),
+                        CONSTRAINT uk_products_name_key UNIQUE (product_name_key)
+                    )""");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products (product_name) VALUES (?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setString(1, "Product " + i);
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        lowerCount = connection.prepareStatement(
+                "SELECT COUNT(*) > 0 FROM products WHERE LOWER(product_name) = LOWER(?)");
+        nameKeyExists = connection.prepareStatement(
+                "SELECT 1 FROM products WHERE product_name_key = ? LIMIT 1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE products");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public boolean lowerNameCount() throws SQLException {
+        lowerCount.setString(1, randomName());
+        try (ResultSet resultSet = lowerCount.executeQuery()) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    @Benchmark
+    public boolean indexedNameKeyExists() throws SQLException {
+        nameKeyExists.setString(1, randomName().toLowerCase(Locale.ROOT));
+        try (ResultSet resultSet = nameKeyExists.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+
+    private String randomName() {
+        // Half of the lookups hit an existing name, half miss, like create (miss) and rename (either).
+        return "PRODUCT " + ThreadLocalRandom.current().nextInt(rows * 2);
+    }
+}
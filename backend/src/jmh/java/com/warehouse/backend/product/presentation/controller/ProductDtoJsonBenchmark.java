@@ -0,0 +1,72 @@
+package com.warehouse.backend.product.presentation.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code List<ProductDto>} that {@code GET /product?all=true} returns,
+ * using an {@link ObjectMapper} configured the way Spring MVC configures its own. The size of the JSON is
+ * reported as the {@code payloadBytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductDtoJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int listSize;
+
+    private ObjectWriter productListWriter;
+    private List<ProductDto> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productListWriter = objectMapper.writerFor(new TypeReference<List<ProductDto>>() {
+        });
+
+        List<CategoryDto> categories = new ArrayList<>();
+        for (long i = 1; i <= 8; i++) {
+            categories.add(new CategoryDto(i, "Category " + i, "Description of category " + i));
+        }
+        products = new ArrayList<>(listSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= listSize; i++) {
+            products.add(new ProductDto((long) i, "Product " + i, "Description of product number " + i,
+                    categories.get(i % categories.size()), now.minusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeProductList(PayloadSize size) throws JsonProcessingException {
+        byte[] json = productListWriter.writeValueAsBytes(products);
+        size.payloadBytes = json.length;
+        return json;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+}
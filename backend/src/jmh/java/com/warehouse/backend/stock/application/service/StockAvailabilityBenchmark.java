@@ -0,0 +1,76 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.stock.application.port.output.ProductAvailabilityDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StockAvailabilityService#getAvailability} for a quote of {@code quoteSize} random products, out of
+ * {@code products} products each stocked in {@code warehouses} warehouses. The index is built from generated
+ * rows, so no database is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StockAvailabilityBenchmark {
+
+    // Cycling through many quotes keeps one quote's products from staying in cache.
+    private static final int QUOTES = 256;
+
+    @Param({"100000"})
+    public int products;
+
+    @Param({"8"})
+    public int warehouses;
+
+    @Param({"100", "500"})
+    public int quoteSize;
+
+    private StockAvailabilityService stockAvailabilityService;
+    private final List<List<Long>> quotes = new ArrayList<>(QUOTES);
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stockAvailabilityService = new StockAvailabilityService(consumer -> {
+            for (long productId = 1; productId <= products; productId++) {
+                for (long warehouseId = 1; warehouseId <= warehouses; warehouseId++) {
+                    consumer.accept(warehouseId, productId, (int) (productId % 50));
+                }
+            }
+        }, Duration.ofHours(1));
+        stockAvailabilityService.start();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < QUOTES; i++) {
+            List<Long> quote = new ArrayList<>(quoteSize);
+            for (int j = 0; j < quoteSize; j++) {
+                quote.add(random.nextLong(1, products + 1));
+            }
+            quotes.add(quote);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stockAvailabilityService.stop();
+    }
+
+    @Benchmark
+    public List<ProductAvailabilityDto> getAvailability() {
+        return stockAvailabilityService.getAvailability(quotes.get(next++ & (QUOTES - 1)));
+    }
+}
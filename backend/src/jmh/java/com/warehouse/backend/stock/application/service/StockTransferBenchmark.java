@@ -0,0 +1,174 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.category.infrastructure.repository.JpaCategoryRepository;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.infrastructure.repository.JpaProductRepository;
+import com.warehouse.backend.stock.application.port.input.StockTransferLine;
+import com.warehouse.backend.stock.application.port.input.StockTransferRequest;
+import com.warehouse.backend.stock.application.port.output.StockItemDto;
+import com.warehouse.backend.stock.domain.exception.InsufficientStockException;
+import com.warehouse.backend.stock.domain.exception.StockTransferContentionException;
+import com.warehouse.backend.stock.domain.model.Warehouse;
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import com.warehouse.backend.stock.infrastructure.repository.JdbcStockAvailabilityRepository;
+import com.warehouse.backend.stock.infrastructure.repository.JpaStockRepository;
+import com.warehouse.backend.stock.infrastructure.repository.JpaWarehouseRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StockTransferService#transfer} from 16 threads over {@code hotSkus} products stocked in
+ * {@code warehouses} warehouses, so that most transfers contend for the same rows and many run in opposite
+ * directions. Each transfer moves one unit in each of {@code linesPerTransfer} lines between random
+ * warehouses. The {@code gaveUp} counter reports transfers that exhausted their lock-conflict retries.
+ * <p>
+ * Runs against an in-memory H2 database by default; pass {@code jdbcUrl} (plus {@code user} and
+ * {@code password}) to run it against a scratch MySQL schema, whose tables are recreated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class StockTransferBenchmark {
+
+    private static final int ON_HAND = 1_000_000;
+
+    @Param({"2", "16"})
+    public int hotSkus;
+
+    @Param({"4"})
+    public int warehouses;
+
+    @Param({"1", "4"})
+    public int linesPerTransfer;
+
+    @Param({""})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private ConfigurableApplicationContext context;
+    private StockTransferService stockTransferService;
+    private long[] productIds;
+    private long[] warehouseIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = jdbcUrl.isEmpty() ? "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1" : jdbcUrl;
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + user,
+                        "spring.datasource.password=" + password,
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.data.redis.repositories.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        stockTransferService = context.getBean(StockTransferService.class);
+        JpaStockRepository stockRepository = context.getBean(JpaStockRepository.class);
+
+        Category category = context.getBean(JpaCategoryRepository.class)
+                .save(new Category(null, "Transfer benchmark category", null));
+        JpaProductRepository productRepository = context.getBean(JpaProductRepository.class);
+        productIds = new long[hotSkus];
+        for (int i = 0; i < hotSkus; i++) {
+            productIds[i] = productRepository.save(Product.builder()
+                    .name("Hot SKU " + i)
+                    .category(category)
+                    .createdDate(LocalDateTime.now())
+                    .build()).getId();
+        }
+        JpaWarehouseRepository warehouseRepository = context.getBean(JpaWarehouseRepository.class);
+        warehouseIds = new long[warehouses];
+        for (int i = 0; i < warehouses; i++) {
+            warehouseIds[i] = warehouseRepository.save(Warehouse.builder().name("Warehouse " + i).build()).getId();
+            for (long productId : productIds) {
+                stockRepository.createStockItem(WarehouseProduct.builder()
+                        .warehouseId(warehouseIds[i])
+                        .productId(productId)
+                        .quantity(ON_HAND)
+                        .build());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<StockItemDto> transfer(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<StockTransferLine> lines = new ArrayList<>(linesPerTransfer);
+        for (int i = 0; i < linesPerTransfer; i++) {
+            int from = random.nextInt(warehouses);
+            int to = (from + 1 + random.nextInt(warehouses - 1)) % warehouses;
+            lines.add(new StockTransferLine(warehouseIds[from], warehouseIds[to],
+                    productIds[random.nextInt(hotSkus)], 1));
+        }
+        try {
+            return stockTransferService.transfer(new StockTransferRequest(lines));
+        } catch (StockTransferContentionException ex) {
+            outcomes.gaveUp++;
+        } catch (InsufficientStockException ex) {
+            outcomes.insufficient++;
+        }
+        return null;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long gaveUp;
+        public long insufficient;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            gaveUp = 0;
+            insufficient = 0;
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = {Product.class, Category.class, WarehouseProduct.class})
+    @EnableJpaRepositories(basePackageClasses = {JpaProductRepository.class, JpaCategoryRepository.class,
+            JpaStockRepository.class})
+    @Import({StockTransferService.class, StockAvailabilityService.class, JdbcStockAvailabilityRepository.class})
+    static class BenchmarkApplication {
+    }
+}
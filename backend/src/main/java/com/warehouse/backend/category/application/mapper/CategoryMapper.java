@@ -13,5 +13,6 @@ public interface CategoryMapper {
     CategoryDto categoryToCategoryDto(Category category);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "nameKey", ignore = true)
     Category createCategoryRequestToCategory(CreateCategoryRequest request);
 }
@@ -0,0 +1,21 @@
+package com.warehouse.backend.category.application.port.output;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read side of the categories, straight into the response DTO without managed entities. Writes go through
+ * {@link com.warehouse.backend.category.domain.repository.CategoryRepository}.
+ */
+public interface CategoryReadRepository {
+
+    List<CategoryDto> getAllCategoryDtos();
+
+    Optional<CategoryDto> getCategoryDtoById(Long id);
+
+    /**
+     * Categories with any of {@code ids}, in no particular order; unknown ids are skipped.
+     */
+    List<CategoryDto> getCategoryDtosByIds(Collection<Long> ids);
+}
@@ -0,0 +1,38 @@
+package com.warehouse.backend.category.application.service;
+
+import com.warehouse.backend.common.cache.CacheWarmer;
+import com.warehouse.backend.common.cache.HotKeyRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the category list and the most read categories of the cluster, in batches of
+ * {@link CategoryService#MAX_BATCH_SIZE}.
+ */
+@Component
+public class CategoryCacheWarmer implements CacheWarmer {
+
+    private final CategoryService categoryService;
+    private final HotKeyRecorder hotKeys;
+    private final int topN;
+
+    public CategoryCacheWarmer(CategoryService categoryService, HotKeyRecorder hotKeys,
+                               @Value("${cache.warm-up.top-n:1000}") int topN) {
+        this.categoryService = categoryService;
+        this.hotKeys = hotKeys;
+        this.topN = topN;
+    }
+
+    @Override
+    public List<Runnable> warmUpTasks() {
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(categoryService::getAllCategories);
+        for (List<Long> ids : CacheWarmer.idBatches(hotKeys.getHotKeys("categoryById", topN), CategoryService.MAX_BATCH_SIZE)) {
+            tasks.add(() -> categoryService.getCategoriesByIds(ids));
+        }
+        return tasks;
+    }
+}
@@ -3,93 +3,192 @@ package com.warehouse.backend.category.application.service;
 import com.warehouse.backend.category.application.mapper.CategoryMapper;
 import com.warehouse.backend.category.application.port.input.CreateCategoryRequest;
 import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.category.application.port.output.CategoryReadRepository;
 import com.warehouse.backend.category.domain.exception.CategoryAlreadyExistsException;
 import com.warehouse.backend.category.domain.exception.CategoryNotFoundException;
 import com.warehouse.backend.category.domain.model.Category;
 import com.warehouse.backend.category.domain.repository.CategoryRepository;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import com.warehouse.backend.changefeed.application.service.ChangeEventRecorder;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.TwoTierCache;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.common.exception.TooManyIdsException;
+import com.warehouse.backend.common.transaction.AfterCommit;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
 
 @Service
 @Transactional
 public class CategoryService {
 
+    public static final int MAX_BATCH_SIZE = 200;
+    static final int MAX_PATCHED_PRODUCTS = 1000;
+
     private final CategoryRepository categoryRepository;
+    private final CategoryReadRepository categoryReadRepository;
+    private final ProductReadRepository productReadRepository;
     private final CategoryMapper categoryMapper;
-    private static final Logger logger = LogManager.getLogger(CategoryService.class);
+    private final IndexedListCache<CategoryDto> categoryListCache;
+    private final IndexedListCache<ProductDto> productListCache;
+    private final VersionCounter catalogVersion;
+    private final ChangeEventRecorder changeEventRecorder;
+    private final TwoTierCacheManager cacheManager;
+    private final Logger logger = LoggerFactory.getLogger(CategoryService.class);
 
-    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryReadRepository categoryReadRepository,
+                           ProductReadRepository productReadRepository, CategoryMapper categoryMapper,
+                           IndexedListCache<CategoryDto> categoryListCache,
+                           IndexedListCache<ProductDto> productListCache, VersionCounter catalogVersion,
+                           ChangeEventRecorder changeEventRecorder, TwoTierCacheManager cacheManager) {
         this.categoryRepository = categoryRepository;
+        this.categoryReadRepository = categoryReadRepository;
+        this.productReadRepository = productReadRepository;
         this.categoryMapper = categoryMapper;
+        this.categoryListCache = categoryListCache;
+        this.productListCache = productListCache;
+        this.catalogVersion = catalogVersion;
+        this.changeEventRecorder = changeEventRecorder;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Version of the whole catalog, shared with products since product listings embed their category.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OptionalLong getCatalogVersion() {
+        return catalogVersion.current();
     }
 
-    @Cacheable(value = "allCategories", key = "'list'")
     public List<CategoryDto> getAllCategories() {
-        logger.info("Getting all categories");
-        List<CategoryDto> categories = categoryRepository.getAllCategories().stream()
-                .map(categoryMapper::categoryToCategoryDto)
-                .toList();
-        logger.info("Successfully retrieved {} categories", categories.size());
+        logger.debug("Getting all categories");
+        List<CategoryDto> categories = categoryListCache.getAll(categoryReadRepository::getAllCategoryDtos);
+        logger.debug("Successfully retrieved {} categories", categories.size());
         return categories;
     }
 
-    @Cacheable(value = "categoryById", key = "#root.args[0]")
+    @Cacheable(value = "categoryById", key = "#root.args[0]", sync = true)
     public CategoryDto getCategoryById(Long id) {
-        logger.info("Getting category by id: {}", id);
-        Category category = categoryRepository.getCategoryById(id).orElseThrow(() -> new CategoryNotFoundException(id));
-        logger.info("Found category with name: {}", category.getName());
-        return categoryMapper.categoryToCategoryDto(category);
+        logger.debug("Getting category by id: {}", id);
+        CategoryDto category = categoryReadRepository.getCategoryDtoById(id).orElseThrow(() -> new CategoryNotFoundException(id));
+        logger.debug("Found category with name: {}", category.getName());
+        return category;
+    }
+
+    /**
+     * Looks up many categories through the {@code categoryById} cache, with one Redis round trip and at most
+     * one query. Unknown ids are skipped; the result follows the order of {@code ids}.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CategoryDto> getCategoriesByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new TooManyIdsException(ids.size(), MAX_BATCH_SIZE);
+        }
+        logger.debug("Getting {} categories by id", ids.size());
+        Map<Long, CategoryDto> found = cacheManager.getCache("categoryById").getAll(ids, missing -> {
+            Map<Long, CategoryDto> loaded = new HashMap<>(missing.size() * 2);
+            for (CategoryDto category : categoryReadRepository.getCategoryDtosByIds(missing)) {
+                loaded.put(category.getId(), category);
+            }
+            return loaded;
+        });
+        List<CategoryDto> categories = ids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
+        logger.debug("Successfully retrieved {} of {} categories", categories.size(), ids.size());
+        return categories;
     }
 
-    @CacheEvict(value = "allCategories", key = "'list'")
     public CategoryDto saveCategory(CreateCategoryRequest category) {
-        logger.info("Creating new category with name: {}", category.getName());
+        logger.debug("Creating new category with name: {}", category.getName());
         if (categoryRepository.isCategoryExist(category.getName())) {
             logger.warn("Category with name '{}' already exists", category.getName());
             throw new CategoryAlreadyExistsException(category.getName());
         }
         Category newCategory = categoryRepository.createNewCategory(categoryMapper.createCategoryRequestToCategory(category));
         logger.info("Category created successfully with id: {}", newCategory.getId());
-        return categoryMapper.categoryToCategoryDto(newCategory);
+        CategoryDto categoryDto = categoryMapper.categoryToCategoryDto(newCategory);
+        categoryListCache.put(categoryDto);
+        catalogVersion.increment();
+        changeEventRecorder.record(AggregateType.CATEGORY, newCategory.getId(), ChangeType.CREATED, categoryDto);
+        return categoryDto;
     }
 
-    @Caching(put = @CachePut(value = "categoryById", key = "#root.args[1]"),
-            evict = @CacheEvict(value = "allCategories", key = "'list'"))
+    @CachePut(value = "categoryById", key = "#root.args[1]")
     public CategoryDto updateCategory(CreateCategoryRequest createCategoryRequest, Long id) {
-        logger.info("Updating category with id: {}", id);
+        logger.debug("Updating category with id: {}", id);
         Category existingCategory = categoryRepository.getCategoryById(id).orElseThrow(() -> new CategoryNotFoundException(id));
-        logger.info("Found category to update. Old name: {}. New name: {}", existingCategory.getName(), createCategoryRequest.getName());
+        logger.debug("Found category to update. Old name: {}. New name: {}", existingCategory.getName(), createCategoryRequest.getName());
         if (!existingCategory.getName().equals(createCategoryRequest.getName()) &&
                 categoryRepository.isCategoryExist(createCategoryRequest.getName())) {
             logger.warn("Cannot update category. Category with name '{}' already exists", createCategoryRequest.getName());
             throw new CategoryAlreadyExistsException(createCategoryRequest.getName());
         }
+        boolean embeddedFieldsChanged = !existingCategory.getName().equals(createCategoryRequest.getName())
+                || !Objects.equals(existingCategory.getDescription(), createCategoryRequest.getDescription());
         existingCategory.setName(createCategoryRequest.getName());
         existingCategory.setDescription(createCategoryRequest.getDescription());
         Category updatedCategory = categoryRepository.createNewCategory(existingCategory);
-        logger.info("Category updated successfully");
-        return categoryMapper.categoryToCategoryDto(updatedCategory);
+        logger.info("Category updated successfully with id: {}", id);
+        CategoryDto categoryDto = categoryMapper.categoryToCategoryDto(updatedCategory);
+        categoryListCache.put(categoryDto);
+        if (embeddedFieldsChanged) {
+            refreshProductsOf(id);
+        }
+        catalogVersion.increment();
+        changeEventRecorder.record(AggregateType.CATEGORY, id, ChangeType.UPDATED, categoryDto);
+        return categoryDto;
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "categoryById", key = "#root.args[0]"),
-            @CacheEvict(value = "allCategories", key = "'list'")})
+    @CacheEvict(value = "categoryById", key = "#root.args[0]")
     public void deleteCategoryById(Long id) {
-        logger.info("Attempting to delete category with id: {}", id);
+        logger.debug("Attempting to delete category with id: {}", id);
         if (categoryRepository.getCategoryById(id).isPresent()) {
             categoryRepository.deleteCategoryById(id);
+            categoryListCache.remove(id);
+            catalogVersion.increment();
+            changeEventRecorder.record(AggregateType.CATEGORY, id, ChangeType.DELETED, null);
             logger.info("Category with id: {} deleted successfully", id);
         } else {
             logger.warn("Cannot delete category with id: {} - not found", id);
             throw new CategoryNotFoundException(id);
         }
     }
+
+    /**
+     * Product DTOs embed their category, so the cached ones of an updated category are patched in the product
+     * list and evicted from {@code productById} once the update commits. Past {@value #MAX_PATCHED_PRODUCTS}
+     * products both caches are dropped instead, which is cheaper than patching entry by entry.
+     */
+    private void refreshProductsOf(Long categoryId) {
+        // The query flushes the category update first, so the products already carry it.
+        List<ProductDto> products = productReadRepository.getProductDtosByCategoryId(categoryId);
+        if (products.isEmpty()) {
+            return;
+        }
+        TwoTierCache productById = cacheManager.getCache("productById");
+        if (products.size() > MAX_PATCHED_PRODUCTS) {
+            AfterCommit.run(() -> {
+                productListCache.clear();
+                productById.clear();
+            });
+            return;
+        }
+        products.forEach(productListCache::put);
+        AfterCommit.run(() -> products.forEach(product -> productById.evict(product.getId())));
+    }
 }
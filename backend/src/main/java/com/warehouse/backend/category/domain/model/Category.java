@@ -7,7 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = @Index(name = "idx_categories_name_key", columnList = "category_name_key"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,4 +24,16 @@ public class Category {
 
     @Column(name = "category_description")
     private String description;
+
+    /**
+     * Lower-cased name computed by the database and indexed, so case-insensitive lookups can use the index.
+     * Not refreshed after writes; only meant for queries.
+     */
+    @Column(name = "category_name_key", length = 100, insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(100) GENERATED ALWAYS AS (LOWER(category_name))")
+    private String nameKey;
+
+    public Category(Long id, String name, String description) {
+        this(id, name, description, null);
+    }
 }
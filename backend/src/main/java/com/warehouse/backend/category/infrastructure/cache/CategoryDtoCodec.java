@@ -0,0 +1,60 @@
+package com.warehouse.backend.category.infrastructure.cache;
+
+import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.common.cache.codec.BinaryFields;
+import com.warehouse.backend.common.cache.codec.CacheValueCodec;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Schema v1: {@code id, name, description}.
+ */
+@Component
+public class CategoryDtoCodec implements CacheValueCodec<CategoryDto> {
+
+    public static final byte TYPE_TAG = 0x10;
+
+    @Override
+    public Class<CategoryDto> type() {
+        return CategoryDto.class;
+    }
+
+    @Override
+    public byte typeTag() {
+        return TYPE_TAG;
+    }
+
+    @Override
+    public byte schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(CategoryDto value, DataOutput out) throws IOException {
+        writeFields(value, out);
+    }
+
+    @Override
+    public CategoryDto read(DataInput in, byte schemaVersion) throws IOException {
+        return readFields(in);
+    }
+
+    /**
+     * Writes the category fields without a header, for embedding in another codec.
+     */
+    public static void writeFields(CategoryDto value, DataOutput out) throws IOException {
+        BinaryFields.writeLong(out, value.getId());
+        BinaryFields.writeString(out, value.getName());
+        BinaryFields.writeString(out, value.getDescription());
+    }
+
+    public static CategoryDto readFields(DataInput in) throws IOException {
+        Long id = BinaryFields.readLong(in);
+        String name = BinaryFields.readString(in);
+        String description = BinaryFields.readString(in);
+        return new CategoryDto(id, name, description);
+    }
+}
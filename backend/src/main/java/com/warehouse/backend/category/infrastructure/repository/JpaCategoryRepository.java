@@ -1,15 +1,22 @@
 package com.warehouse.backend.category.infrastructure.repository;
 
+import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.category.application.port.output.CategoryReadRepository;
 import com.warehouse.backend.category.domain.model.Category;
 import com.warehouse.backend.category.domain.repository.CategoryRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
-public interface JpaCategoryRepository extends CategoryRepository, JpaRepository<Category, Long> {
+public interface JpaCategoryRepository extends CategoryRepository, CategoryReadRepository, JpaRepository<Category, Long> {
+
+    String CATEGORY_DTO_SELECT = "SELECT new com.warehouse.backend.category.application.port.output.CategoryDto(" +
+            "c.id, c.name, c.description) FROM Category c ";
 
     @Override
     default List<Category> getAllCategories() {
@@ -21,6 +28,18 @@ public interface JpaCategoryRepository extends CategoryRepository, JpaRepository
         return findById(id);
     }
 
+    @Override
+    @Query(CATEGORY_DTO_SELECT + "ORDER BY c.id")
+    List<CategoryDto> getAllCategoryDtos();
+
+    @Override
+    @Query(CATEGORY_DTO_SELECT + "WHERE c.id = :id")
+    Optional<CategoryDto> getCategoryDtoById(@Param("id") Long id);
+
+    @Override
+    @Query(CATEGORY_DTO_SELECT + "WHERE c.id IN :ids")
+    List<CategoryDto> getCategoryDtosByIds(@Param("ids") Collection<Long> ids);
+
     @Override
     default Category createNewCategory(Category category) {
         return save(category);
@@ -31,6 +50,10 @@ public interface JpaCategoryRepository extends CategoryRepository, JpaRepository
         findById(id).ifPresent(this::delete);
     }
 
-    @Query("SELECT COUNT(c) > 0 FROM Category c WHERE LOWER(c.name) = LOWER(:name)")
-    boolean isCategoryExist(@Param("name") String name);
+    @Override
+    default boolean isCategoryExist(String name) {
+        return name != null && existsByNameKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    boolean existsByNameKey(String nameKey);
 }
\ No newline at end of file
@@ -3,15 +3,19 @@ package com.warehouse.backend.category.presentation.controller;
 import com.warehouse.backend.category.application.port.input.CreateCategoryRequest;
 import com.warehouse.backend.category.application.port.output.CategoryDto;
 import com.warehouse.backend.category.application.service.CategoryService;
+import com.warehouse.backend.common.presentation.StaleResponse;
+import com.warehouse.backend.common.presentation.VersionETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -31,11 +35,31 @@ public class CategoryController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Categories found successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = CategoryDto.class)))
+                            schema = @Schema(implementation = CategoryDto.class))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match",
+                    content = @Content)
     })
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
+    public ResponseEntity<List<CategoryDto>> getAllCategories(WebRequest webRequest) {
+        if (VersionETag.isNotModified(webRequest, categoryService.getCatalogVersion())) {
+            return null;
+        }
         List<CategoryDto> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+        return StaleResponse.ok().cacheControl(CacheControl.noCache()).body(categories);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several categories by ID in one request",
+            description = "Unknown IDs are skipped; categories are returned in the order of the IDs.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categories found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CategoryDto.class))),
+            @ApiResponse(responseCode = "400", description = "More than " + CategoryService.MAX_BATCH_SIZE + " IDs",
+                    content = @Content)
+    })
+    public ResponseEntity<List<CategoryDto>> getCategoriesByIds(@RequestParam("ids") List<Long> ids) {
+        List<CategoryDto> categories = categoryService.getCategoriesByIds(ids);
+        return StaleResponse.ok().body(categories);
     }
 
     @GetMapping("/{id}")
@@ -49,7 +73,7 @@ public class CategoryController {
     })
     public ResponseEntity<CategoryDto> getCategoryById(@PathVariable("id") Long id) {
         CategoryDto category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(category);
+        return StaleResponse.ok().body(category);
     }
 
     @PostMapping
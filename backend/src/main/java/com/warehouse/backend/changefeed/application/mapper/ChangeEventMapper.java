@@ -0,0 +1,15 @@
+package com.warehouse.backend.changefeed.application.mapper;
+
+import com.warehouse.backend.changefeed.application.port.output.ChangeEventDto;
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ChangeEventMapper {
+
+    ChangeEventDto changeEventToChangeEventDto(ChangeEvent event);
+
+    List<ChangeEventDto> changeEventsToChangeEventDtos(List<ChangeEvent> events);
+}
@@ -0,0 +1,29 @@
+package com.warehouse.backend.changefeed.application.port.output;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeEventDto {
+    private Long sequence;
+    private AggregateType aggregateType;
+    private Long aggregateId;
+    private ChangeType type;
+    private LocalDateTime occurredAt;
+
+    /**
+     * The aggregate after the change, already JSON; absent for deletions.
+     */
+    @JsonRawValue
+    private String payload;
+}
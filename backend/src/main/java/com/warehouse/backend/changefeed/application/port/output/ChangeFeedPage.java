@@ -0,0 +1,24 @@
+package com.warehouse.backend.changefeed.application.port.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeFeedPage {
+    private List<ChangeEventDto> changes;
+
+    /**
+     * Cursor to pass as {@code since} on the next poll. Unlike a listing cursor it is never {@code null}:
+     * an empty page hands back the cursor it was asked for.
+     */
+    private String next;
+
+    private boolean hasMore;
+}
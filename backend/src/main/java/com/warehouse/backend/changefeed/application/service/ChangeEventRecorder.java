@@ -0,0 +1,81 @@
+package com.warehouse.backend.changefeed.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventBulkRepository;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes catalog changes to the outbox. Must be called inside the transaction that makes the change, so the
+ * event is committed exactly when the change is and a rolled-back write never reaches the feed.
+ */
+@Service
+public class ChangeEventRecorder {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeEventBulkRepository changeEventBulkRepository;
+    private final ObjectMapper objectMapper;
+
+    public ChangeEventRecorder(ChangeEventRepository changeEventRepository,
+                               ChangeEventBulkRepository changeEventBulkRepository, ObjectMapper objectMapper) {
+        this.changeEventRepository = changeEventRepository;
+        this.changeEventBulkRepository = changeEventBulkRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records one change; {@code payload} is the aggregate after the change, {@code null} for deletions.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AggregateType aggregateType, long aggregateId, ChangeType type, Object payload) {
+        changeEventRepository.append(event(aggregateType, aggregateId, type, payload, LocalDateTime.now()));
+    }
+
+    /**
+     * Records the same kind of change for every payload in one JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void recordAll(AggregateType aggregateType, ChangeType type, Collection<T> payloads,
+                              ToLongFunction<T> aggregateId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ChangeEvent> events = new ArrayList<>(payloads.size());
+        for (T payload : payloads) {
+            events.add(event(aggregateType, aggregateId.applyAsLong(payload), type, payload, now));
+        }
+        changeEventBulkRepository.appendAll(events);
+    }
+
+    private ChangeEvent event(AggregateType aggregateType, long aggregateId, ChangeType type, Object payload,
+                              LocalDateTime occurredAt) {
+        return ChangeEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .type(type)
+                .payload(toJson(payload))
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + payload.getClass().getSimpleName(), ex);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.warehouse.backend.changefeed.application.service;
+
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventPublisher;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventRepository;
+import com.warehouse.backend.common.cache.CacheLoadLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves committed outbox events to the feed in batches: each batch gets the next sequence numbers, is
+ * published to the stream and is marked published in one transaction. If publishing fails the transaction
+ * rolls back and the batch is retried on the next run, so delivery is at-least-once.
+ * <p>
+ * One node relays at a time, chosen through the {@link CacheLoadLease}. Should two runs overlap anyway, the
+ * unique sequence constraint rejects the second batch before it is published.
+ */
+@Component
+@ConditionalOnProperty(value = "changefeed.relay.enabled", matchIfMissing = true)
+public class ChangeEventRelay {
+
+    static final String LEASE_NAME = "changefeed";
+    static final String LEASE_KEY = "relay";
+
+    // Bounds one run well inside the lease TTL; a backlog beyond this continues on the next run.
+    static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeEventPublisher changeEventPublisher;
+    private final CacheLoadLease lease;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration leaseTtl;
+    private final Duration retention;
+    private final Logger logger = LoggerFactory.getLogger(ChangeEventRelay.class);
+
+    public ChangeEventRelay(ChangeEventRepository changeEventRepository, ChangeEventPublisher changeEventPublisher,
+                            CacheLoadLease lease, PlatformTransactionManager transactionManager,
+                            @Value("${changefeed.relay.batch-size:500}") int batchSize,
+                            @Value("${changefeed.relay.lease-ttl:30s}") Duration leaseTtl,
+                            @Value("${changefeed.retention:7d}") Duration retention) {
+        this.changeEventRepository = changeEventRepository;
+        this.changeEventPublisher = changeEventPublisher;
+        this.lease = lease;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.leaseTtl = leaseTtl;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${changefeed.relay.interval:1s}")
+    public void relay() {
+        if (!lease.tryAcquire(LEASE_NAME, LEASE_KEY, leaseTtl)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Could not relay catalog changes, retrying on the next run", ex);
+        } finally {
+            lease.release(LEASE_NAME, LEASE_KEY);
+        }
+    }
+
+    int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<ChangeEvent> batch = changeEventRepository.getUnpublished(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            long sequence = changeEventRepository.getLastSequence();
+            LocalDateTime now = LocalDateTime.now();
+            for (ChangeEvent event : batch) {
+                event.setSequence(++sequence);
+                event.setPublishedAt(now);
+            }
+            changeEventRepository.markPublished(batch);
+            changeEventPublisher.publish(batch);
+            return batch.size();
+        });
+        if (published != null && published > 0) {
+            logger.debug("Relayed {} catalog changes", published);
+        }
+        return published == null ? 0 : published;
+    }
+
+    @Scheduled(fixedDelayString = "${changefeed.retention-check-interval:1h}",
+            initialDelayString = "${changefeed.retention-check-interval:1h}")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                changeEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} catalog changes older than {}", deleted, retention);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.warehouse.backend.changefeed.application.service;
+
+import com.warehouse.backend.changefeed.application.mapper.ChangeEventMapper;
+import com.warehouse.backend.changefeed.application.port.output.ChangeFeedPage;
+import com.warehouse.backend.changefeed.domain.exception.ChangeFeedExpiredException;
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventRepository;
+import com.warehouse.backend.common.pagination.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reads the feed by sequence. Sequences are assigned without gaps, so a page that does not start right
+ * after the cursor means the events in between were deleted by retention and the client has to reload.
+ */
+@Service
+public class ChangeFeedService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeEventMapper changeEventMapper;
+    private final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public ChangeFeedService(ChangeEventRepository changeEventRepository, ChangeEventMapper changeEventMapper) {
+        this.changeEventRepository = changeEventRepository;
+        this.changeEventMapper = changeEventMapper;
+    }
+
+    /**
+     * Returns the changes published after {@code since}; without a cursor, from the oldest one retained.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage getChanges(String since, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        long afterSequence = KeysetCursor.decode(since);
+        logger.info("Getting catalog changes after sequence: {}, size: {}", afterSequence, pageSize);
+
+        List<ChangeEvent> rows = changeEventRepository.getPublishedAfter(afterSequence, pageSize + 1);
+        if (afterSequence > 0 && !rows.isEmpty() && rows.getFirst().getSequence() > afterSequence + 1) {
+            logger.warn("Catalog changes after sequence {} have expired", afterSequence);
+            throw new ChangeFeedExpiredException(afterSequence, rows.getFirst().getSequence());
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<ChangeEvent> changes = hasMore ? rows.subList(0, pageSize) : rows;
+        long last = changes.isEmpty() ? afterSequence : changes.getLast().getSequence();
+        logger.info("Successfully retrieved {} catalog changes", changes.size());
+        return new ChangeFeedPage(changeEventMapper.changeEventsToChangeEventDtos(changes),
+                KeysetCursor.encode(last), hasMore);
+    }
+
+    /**
+     * Returns an empty page whose cursor points at the latest change. A new client takes it before loading
+     * the catalog and then polls from it, so no change made during the load is missed.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage getLatest() {
+        long last = changeEventRepository.getLastSequence();
+        logger.info("Latest catalog change sequence: {}", last);
+        return new ChangeFeedPage(List.of(), KeysetCursor.encode(last), false);
+    }
+}
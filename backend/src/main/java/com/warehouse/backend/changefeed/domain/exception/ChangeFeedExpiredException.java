@@ -0,0 +1,8 @@
+package com.warehouse.backend.changefeed.domain.exception;
+
+public class ChangeFeedExpiredException extends RuntimeException {
+    public ChangeFeedExpiredException(long since, long firstRetained) {
+        super("Changes after sequence " + since + " are no longer retained (oldest is " + firstRetained
+                + "); reload the catalog and continue from the cursor of the latest change.");
+    }
+}
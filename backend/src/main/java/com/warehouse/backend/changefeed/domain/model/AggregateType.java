@@ -0,0 +1,6 @@
+package com.warehouse.backend.changefeed.domain.model;
+
+public enum AggregateType {
+    PRODUCT,
+    CATEGORY
+}
@@ -0,0 +1,57 @@
+package com.warehouse.backend.changefeed.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One catalog change, written to the outbox in the same transaction as the change itself.
+ * <p>
+ * Ids are allocated when the row is inserted but rows only become visible when their transaction commits,
+ * so a reader paging by id could skip an event that commits late. The relay therefore stamps each event
+ * with the next feed {@code sequence} as it publishes it, one batch at a time, and the feed pages by that.
+ */
+@Entity
+@Table(name = "catalog_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_catalog_outbox_sequence", columnNames = "sequence_no"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false, length = 20)
+    private AggregateType aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private ChangeType type;
+
+    /**
+     * The aggregate as JSON after the change, or {@code null} for deletions.
+     */
+    @Column(name = "payload", length = 65535)
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "sequence_no")
+    private Long sequence;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
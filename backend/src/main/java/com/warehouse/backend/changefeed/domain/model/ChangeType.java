@@ -0,0 +1,7 @@
+package com.warehouse.backend.changefeed.domain.model;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,14 @@
+package com.warehouse.backend.changefeed.domain.repository;
+
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+
+import java.util.List;
+
+/**
+ * Batch appends for bulk imports, kept apart from {@link ChangeEventRepository} because they bypass the
+ * persistence context.
+ */
+public interface ChangeEventBulkRepository {
+
+    void appendAll(List<ChangeEvent> events);
+}
@@ -0,0 +1,14 @@
+package com.warehouse.backend.changefeed.domain.repository;
+
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+
+import java.util.List;
+
+/**
+ * Message channel the outbox relay forwards sequenced events to. Delivery is at least once: a batch whose
+ * transaction fails after publishing is published again, so consumers deduplicate by event id.
+ */
+public interface ChangeEventPublisher {
+
+    void publish(List<ChangeEvent> events);
+}
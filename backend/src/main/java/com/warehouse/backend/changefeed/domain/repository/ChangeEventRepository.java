@@ -0,0 +1,35 @@
+package com.warehouse.backend.changefeed.domain.repository;
+
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeEventRepository {
+
+    ChangeEvent append(ChangeEvent event);
+
+    /**
+     * Oldest events the relay has not published yet, in id order.
+     */
+    List<ChangeEvent> getUnpublished(int limit);
+
+    /**
+     * Writes the sequence and publication time assigned to {@code events} and flushes them, so a clash with a
+     * concurrent relay surfaces before anything is published.
+     */
+    void markPublished(List<ChangeEvent> events);
+
+    /**
+     * Published events with a sequence greater than {@code afterSequence}, in sequence order.
+     */
+    List<ChangeEvent> getPublishedAfter(long afterSequence, int limit);
+
+    long getLastSequence();
+
+    /**
+     * Deletes events published before {@code cutoff}, always keeping the latest one so that the feed can
+     * still tell an expired cursor from an up-to-date one.
+     */
+    int deletePublishedBefore(LocalDateTime cutoff);
+}
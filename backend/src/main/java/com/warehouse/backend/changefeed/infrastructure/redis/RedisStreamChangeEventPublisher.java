@@ -0,0 +1,72 @@
+package com.warehouse.backend.changefeed.infrastructure.redis;
+
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends relayed events to a Redis stream, one entry per event in feed order, and trims the stream to
+ * about {@code changefeed.stream.max-length} entries. Consumers that fall further behind catch up through
+ * {@code GET /changes}.
+ */
+@Component
+public class RedisStreamChangeEventPublisher implements ChangeEventPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String streamKey;
+    private final long maxLength;
+
+    public RedisStreamChangeEventPublisher(StringRedisTemplate redisTemplate,
+                                           @Value("${changefeed.stream.key:catalog-changes}") String streamKey,
+                                           @Value("${changefeed.stream.max-length:100000}") long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.streamKey = streamKey;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // Pipelined: one round trip per batch. Any failed XADD fails the call and so the relay's transaction.
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StreamOperations<String, String, String> streams =
+                        ((RedisOperations<String, String>) operations).opsForStream();
+                for (ChangeEvent event : events) {
+                    streams.add(StreamRecords.newRecord().in(streamKey).ofMap(fields(event)));
+                }
+                streams.trim(streamKey, maxLength, true);
+                return null;
+            }
+        });
+    }
+
+    private static Map<String, String> fields(ChangeEvent event) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", String.valueOf(event.getId()));
+        fields.put("sequence", String.valueOf(event.getSequence()));
+        fields.put("aggregateType", event.getAggregateType().name());
+        fields.put("aggregateId", String.valueOf(event.getAggregateId()));
+        fields.put("type", event.getType().name());
+        fields.put("occurredAt", event.getOccurredAt().toString());
+        if (event.getPayload() != null) {
+            fields.put("payload", event.getPayload());
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,40 @@
+package com.warehouse.backend.changefeed.infrastructure.repository;
+
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventBulkRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ChangeEventBulkRepository}: one batch per imported chunk instead of one
+ * IDENTITY insert per event.
+ */
+@Repository
+public class JdbcChangeEventBulkRepository implements ChangeEventBulkRepository {
+
+    private static final String INSERT_EVENT = "INSERT INTO catalog_outbox "
+            + "(aggregate_type, aggregate_id, event_type, payload, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcChangeEventBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void appendAll(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.getAggregateType().name());
+            statement.setLong(2, event.getAggregateId());
+            statement.setString(3, event.getType().name());
+            statement.setString(4, event.getPayload());
+            statement.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+}
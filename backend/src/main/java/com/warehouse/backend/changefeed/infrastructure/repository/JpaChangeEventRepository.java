@@ -0,0 +1,53 @@
+package com.warehouse.backend.changefeed.infrastructure.repository;
+
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JpaChangeEventRepository extends ChangeEventRepository, JpaRepository<ChangeEvent, Long> {
+
+    @Override
+    default ChangeEvent append(ChangeEvent event) {
+        return save(event);
+    }
+
+    @Override
+    default List<ChangeEvent> getUnpublished(int limit) {
+        return findBySequenceIsNullOrderByIdAsc(Limit.of(limit));
+    }
+
+    List<ChangeEvent> findBySequenceIsNullOrderByIdAsc(Limit limit);
+
+    @Override
+    default void markPublished(List<ChangeEvent> events) {
+        saveAllAndFlush(events);
+    }
+
+    @Override
+    default List<ChangeEvent> getPublishedAfter(long afterSequence, int limit) {
+        return findBySequenceGreaterThanOrderBySequenceAsc(afterSequence, Limit.of(limit));
+    }
+
+    List<ChangeEvent> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Limit limit);
+
+    @Override
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM ChangeEvent e")
+    long getLastSequence();
+
+    @Override
+    default int deletePublishedBefore(LocalDateTime cutoff) {
+        // Two statements: MySQL cannot delete from a table that a subquery of the same DELETE reads.
+        return deletePublishedBefore(cutoff, getLastSequence());
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ChangeEvent e WHERE e.publishedAt < :cutoff AND e.sequence < :keepSequence")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("keepSequence") long keepSequence);
+}
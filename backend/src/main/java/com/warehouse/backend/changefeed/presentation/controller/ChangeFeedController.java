@@ -0,0 +1,57 @@
+package com.warehouse.backend.changefeed.presentation.controller;
+
+import com.warehouse.backend.changefeed.application.port.output.ChangeFeedPage;
+import com.warehouse.backend.changefeed.application.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/changes")
+@Tag(name = "Change Feed API", description = "API for following product and category changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get catalog changes after a cursor",
+            description = "Pass the returned 'next' cursor as 'since' on the next poll. Without 'since' the feed "
+                    + "starts at the oldest retained change.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ChangeFeedPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content),
+            @ApiResponse(responseCode = "410", description = "Changes after the cursor are no longer retained",
+                    content = @Content)
+    })
+    public ResponseEntity<ChangeFeedPage> getChanges(@RequestParam(value = "since", required = false) String since,
+                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+
+    @GetMapping("/latest")
+    @Operation(summary = "Get the cursor of the latest catalog change",
+            description = "Take this cursor before loading the catalog, then poll from it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cursor found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ChangeFeedPage.class)))
+    })
+    public ResponseEntity<ChangeFeedPage> getLatest() {
+        return ResponseEntity.ok(changeFeedService.getLatest());
+    }
+}
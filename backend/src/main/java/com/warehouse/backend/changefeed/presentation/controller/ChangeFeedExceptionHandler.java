@@ -0,0 +1,19 @@
+package com.warehouse.backend.changefeed.presentation.controller;
+
+import com.warehouse.backend.changefeed.domain.exception.ChangeFeedExpiredException;
+import com.warehouse.backend.common.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ChangeFeedExceptionHandler {
+
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeFeedExpiredException(ChangeFeedExpiredException ex) {
+        return ResponseEntity
+                .status(HttpStatus.GONE)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.warehouse.backend.common.cache;
+
+/**
+ * Tells the other nodes of the cluster to drop an entry from their local cache tier.
+ */
+@FunctionalInterface
+public interface CacheInvalidationPublisher {
+
+    CacheInvalidationPublisher NOOP = (cacheName, key) -> {
+    };
+
+    /**
+     * @param key the cache key in its string form, or {@code null} to drop the whole cache
+     */
+    void publish(String cacheName, String key);
+}
@@ -0,0 +1,280 @@
+package com.warehouse.backend.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Decides how cache misses are loaded so that an expiring hot key does not send every concurrent request
+ * to the database:
+ * <ul>
+ *     <li>single-flight per key within the JVM: concurrent misses wait for the one in-flight load;</li>
+ *     <li>a short {@link CacheLoadLease} across nodes: a node that does not get the lease polls the shared
+ *     tier for the value the lease holder publishes, and loads itself only if that takes too long;</li>
+ *     <li>TTL jitter, so entries written together do not expire together;</li>
+ *     <li>optional refresh-ahead: a hit on an entry past {@code refreshAheadRatio} of its lifetime reloads
+ *     it in the background, on a bounded executor;</li>
+ *     <li>optional stale-while-revalidate: entries are kept for {@code staleGrace} past their expiry, and a
+ *     hit on such an entry is answered with it at once while it is reloaded in the background, so that a
+ *     slow or failing database does not reach the caller until the grace period is over.</li>
+ * </ul>
+ */
+public class CacheLoadCoordinator {
+
+    private final CacheLoadLease lease;
+    private final Duration leaseTtl;
+    private final Duration leaseWait;
+    private final Duration pollInterval;
+    private final Duration ttl;
+    private final double ttlJitter;
+    private final double refreshAheadRatio;
+    private final Duration staleGrace;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(CacheLoadCoordinator.class);
+
+    /**
+     * @param refreshAheadRatio fraction of the entry lifetime after which a hit triggers a background reload;
+     *                          {@code 0} or {@code >= 1} disables refresh-ahead
+     */
+    public CacheLoadCoordinator(CacheLoadLease lease, Duration leaseTtl, Duration leaseWait, Duration pollInterval,
+                                Duration ttl, double ttlJitter, double refreshAheadRatio, Executor refreshExecutor) {
+        this(lease, leaseTtl, leaseWait, pollInterval, ttl, ttlJitter, refreshAheadRatio, Duration.ZERO, refreshExecutor);
+    }
+
+    /**
+     * @param staleGrace how long an expired entry is still served while it is reloaded; {@code 0} disables
+     *                   stale-while-revalidate
+     */
+    public CacheLoadCoordinator(CacheLoadLease lease, Duration leaseTtl, Duration leaseWait, Duration pollInterval,
+                                Duration ttl, double ttlJitter, double refreshAheadRatio, Duration staleGrace,
+                                Executor refreshExecutor) {
+        this.lease = lease;
+        this.leaseTtl = leaseTtl;
+        this.leaseWait = leaseWait;
+        this.pollInterval = pollInterval;
+        this.ttl = ttl;
+        this.ttlJitter = ttlJitter;
+        this.refreshAheadRatio = refreshAheadRatio;
+        this.staleGrace = staleGrace;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Returns a TTL of {@code ttl ± ttlJitter * ttl}.
+     */
+    public Duration nextTtl() {
+        long baseMillis = ttl.toMillis();
+        long spread = (long) (baseMillis * ttlJitter);
+        if (spread <= 0) {
+            return ttl;
+        }
+        return Duration.ofMillis(baseMillis + ThreadLocalRandom.current().nextLong(-spread, spread + 1));
+    }
+
+    public CachedValue newEntry(Object value) {
+        long now = System.currentTimeMillis();
+        return new CachedValue(value, now, now + nextTtl().toMillis());
+    }
+
+    public Duration getStaleGrace() {
+        return staleGrace;
+    }
+
+    /**
+     * Time the entry still has to live in the shared tier, including the stale grace period.
+     */
+    public Duration remainingTtl(CachedValue entry) {
+        long keepUntil = entry.expiresAtMillis() == Long.MAX_VALUE
+                ? Long.MAX_VALUE : entry.expiresAtMillis() + staleGrace.toMillis();
+        return Duration.ofMillis(Math.max(1L, keepUntil - System.currentTimeMillis()));
+    }
+
+    /**
+     * Returns {@code true} if the entry has expired but is still within the stale grace period.
+     */
+    public boolean isServableStale(CachedValue entry, long nowMillis) {
+        return entry.isExpired(nowMillis) && nowMillis - entry.expiresAtMillis() < staleGrace.toMillis();
+    }
+
+    /**
+     * Loads a missing entry.
+     *
+     * @param remoteLookup reads the entry other nodes may have published meanwhile, {@code null} if absent
+     * @param loader       loads the entry from the source and stores it in the cache
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String cacheName, String key, Supplier<T> remoteLookup, Callable<T> loader) throws Exception {
+        String flightKey = cacheName + "::" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            T shared = (T) await(existing);
+            // null means the flight we joined was a refresh that yielded to another node; load ourselves.
+            return shared != null ? shared : load(cacheName, key, remoteLookup, loader);
+        }
+        try {
+            // A flight that finished between the caller's miss and our putIfAbsent has already stored the value.
+            T value = remoteLookup.get();
+            if (value == null) {
+                value = loadUnderLease(cacheName, key, remoteLookup, loader);
+            }
+            flight.complete(value);
+            return value;
+        } catch (Exception ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * Starts a background reload of an entry that was just served from cache, if it is close to expiry and
+     * nobody is loading it already.
+     */
+    public void refreshIfDue(String cacheName, String key, CachedValue entry, Callable<?> loader) {
+        if (refreshAheadRatio <= 0 || refreshAheadRatio >= 1
+                || !entry.isDueForRefresh(System.currentTimeMillis(), refreshAheadRatio)) {
+            return;
+        }
+        refresh(cacheName, key, loader);
+    }
+
+    /**
+     * Starts a background reload of an entry, unless it is being loaded already. Used for entries served
+     * stale, whose refresh is due in any case.
+     */
+    public void refresh(String cacheName, String key, Callable<?> loader) {
+        String flightKey = cacheName + "::" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(flightKey, flight) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    flight.complete(refreshUnderLease(cacheName, key, loader));
+                } catch (Exception ex) {
+                    logger.warn("Background refresh of {} failed", flightKey, ex);
+                    flight.complete(null);
+                } finally {
+                    inFlight.remove(flightKey, flight);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Refresh is best effort; the next read past the refresh point tries again.
+            inFlight.remove(flightKey, flight);
+            flight.complete(null);
+        }
+    }
+
+    /**
+     * Starts one background reload of the entries for the keys of {@code flightKeys} that nobody is loading
+     * already; the loader is given only those. Each key is its own flight, so overlapping batches and
+     * single-key refreshes reload an entry once. Unlike {@link #refresh}, takes no lease, which would cost a
+     * round trip per key: at most one reload of an entry runs per node.
+     *
+     * @param flightKeys the key under which each entry is cached, by entry key
+     * @param loader     reloads the given entries and stores them in the cache
+     */
+    public <K> void refreshAll(String cacheName, Map<K, String> flightKeys, Function<Set<K>, Map<K, ?>> loader) {
+        Map<K, String> claimed = new HashMap<>(flightKeys.size() * 2);
+        Map<String, CompletableFuture<Object>> flights = new HashMap<>(flightKeys.size() * 2);
+        flightKeys.forEach((key, cacheKey) -> {
+            String flightKey = cacheName + "::" + cacheKey;
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            if (inFlight.putIfAbsent(flightKey, flight) == null) {
+                claimed.put(key, flightKey);
+                flights.put(flightKey, flight);
+            }
+        });
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                Map<K, ?> loaded = Map.of();
+                try {
+                    loaded = loader.apply(claimed.keySet());
+                } catch (RuntimeException ex) {
+                    logger.warn("Background refresh of {} entries of {} failed", claimed.size(), cacheName, ex);
+                } finally {
+                    completeAll(claimed, flights, loaded);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            completeAll(claimed, flights, Map.of());
+        }
+    }
+
+    private <T> T loadUnderLease(String cacheName, String key, Supplier<T> remoteLookup, Callable<T> loader) throws Exception {
+        if (lease.tryAcquire(cacheName, key, leaseTtl)) {
+            try {
+                return loader.call();
+            } finally {
+                lease.release(cacheName, key);
+            }
+        }
+        long deadline = System.nanoTime() + leaseWait.toNanos();
+        try {
+            while (System.nanoTime() - deadline < 0) {
+                Thread.sleep(pollInterval.toMillis());
+                T published = remoteLookup.get();
+                if (published != null) {
+                    return published;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        // The lease holder is slow or gone: load ourselves rather than fail the request.
+        return loader.call();
+    }
+
+    private Object refreshUnderLease(String cacheName, String key, Callable<?> loader) throws Exception {
+        if (!lease.tryAcquire(cacheName, key, leaseTtl)) {
+            return null;
+        }
+        try {
+            return loader.call();
+        } finally {
+            lease.release(cacheName, key);
+        }
+    }
+
+    private <K> void completeAll(Map<K, String> claimed, Map<String, CompletableFuture<Object>> flights,
+                                 Map<K, ?> loaded) {
+        claimed.forEach((key, flightKey) -> {
+            CompletableFuture<Object> flight = flights.get(flightKey);
+            // A key the reload did not return completes with null, which sends a waiting load to the source.
+            flight.complete(loaded.get(key));
+            inFlight.remove(flightKey, flight);
+        });
+    }
+
+    private static Object await(CompletableFuture<Object> flight) throws Exception {
+        try {
+            return flight.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
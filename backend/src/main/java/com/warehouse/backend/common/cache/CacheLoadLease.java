@@ -0,0 +1,27 @@
+package com.warehouse.backend.common.cache;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide, short-lived right to load one cache entry from the database.
+ */
+public interface CacheLoadLease {
+
+    /**
+     * Lease that is always granted, leaving only the in-process single-flight.
+     */
+    CacheLoadLease LOCAL_ONLY = new CacheLoadLease() {
+        @Override
+        public boolean tryAcquire(String cacheName, String key, Duration ttl) {
+            return true;
+        }
+
+        @Override
+        public void release(String cacheName, String key) {
+        }
+    };
+
+    boolean tryAcquire(String cacheName, String key, Duration ttl);
+
+    void release(String cacheName, String key);
+}
@@ -0,0 +1,51 @@
+package com.warehouse.backend.common.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit/miss counters of one {@link TwoTierCache} or {@link RedisIndexedListCache}, kept separately for the
+ * local (L1) and Redis (L2) tier, plus how often entries were evicted: by the L1 for size or age, or
+ * explicitly because the underlying data changed.
+ */
+public class CacheTierStatistics {
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder localEvictions = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void localHit() {
+        localHits.increment();
+    }
+
+    void localMiss() {
+        localMisses.increment();
+    }
+
+    void remoteHit() {
+        remoteHits.increment();
+    }
+
+    void remoteMiss() {
+        remoteMisses.increment();
+    }
+
+    void localEviction() {
+        localEvictions.increment();
+    }
+
+    void eviction() {
+        evictions.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(localHits.sum(), localMisses.sum(), remoteHits.sum(), remoteMisses.sum(),
+                localEvictions.sum(), evictions.sum());
+    }
+
+    public record Snapshot(long localHits, long localMisses, long remoteHits, long remoteMisses,
+                           long localEvictions, long evictions) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.warehouse.backend.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the tasks of every {@link CacheWarmer} once the context, and with it the Flyway migration, is up.
+ * Spring Boot reports the readiness state {@code ACCEPTING_TRAFFIC} only after all application runners have
+ * returned, so a load balancer that follows the readiness probe sends traffic to a warm node.
+ * <p>
+ * Tasks run on {@code parallelism} threads, which should stay well below the size of the connection pool so
+ * that the scheduled jobs starting meanwhile still get a connection. A failing task or a warm-up that takes longer than
+ * {@code timeout} never fails the start-up; the remaining entries are loaded on first use as usual.
+ */
+public class CacheWarmUpRunner implements ApplicationRunner {
+
+    private final List<CacheWarmer> warmers;
+    private final int parallelism;
+    private final Duration timeout;
+    private final Logger logger = LoggerFactory.getLogger(CacheWarmUpRunner.class);
+
+    public CacheWarmUpRunner(List<CacheWarmer> warmers, int parallelism, Duration timeout) {
+        this.warmers = warmers;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    public void warmUp() {
+        long start = System.nanoTime();
+        List<Runnable> tasks = new ArrayList<>();
+        for (CacheWarmer warmer : warmers) {
+            try {
+                tasks.addAll(warmer.warmUpTasks());
+            } catch (RuntimeException ex) {
+                logger.warn("Could not plan cache warm-up of {}", warmer.getClass().getSimpleName(), ex);
+            }
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        logger.info("Warming caches with {} tasks on {} threads", tasks.size(), parallelism);
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("cache-warm-up-", 0).daemon().factory());
+        try {
+            for (Runnable task : tasks) {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } catch (RuntimeException ex) {
+                        failed.incrementAndGet();
+                        logger.warn("Cache warm-up task failed", ex);
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Cache warm-up did not finish within {}; starting with a partly warm cache", timeout);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        logger.info("Warmed caches in {} ms, {} of {} tasks failed",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed.get(), tasks.size());
+    }
+}
@@ -0,0 +1,36 @@
+package com.warehouse.backend.common.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the entries of one area of the application into the caches while the node is starting, so that its
+ * first requests do not all miss. Run by {@link CacheWarmUpRunner}.
+ */
+public interface CacheWarmer {
+
+    /**
+     * Returns independent units of work that the runner may execute in parallel. Each should load a bounded
+     * amount of data, such as one batch of keys, through the same methods that serve requests.
+     */
+    List<Runnable> warmUpTasks();
+
+    /**
+     * Parses the numeric keys among {@code keys} and splits them into batches of at most {@code batchSize}.
+     */
+    static List<List<Long>> idBatches(List<String> keys, int batchSize) {
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            try {
+                ids.add(Long.valueOf(key));
+            } catch (NumberFormatException ex) {
+                // Not written by the by-id cache it was recorded for; nothing to warm.
+            }
+        }
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            batches.add(List.copyOf(ids.subList(from, Math.min(from + batchSize, ids.size()))));
+        }
+        return batches;
+    }
+}
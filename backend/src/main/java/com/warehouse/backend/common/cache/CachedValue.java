@@ -0,0 +1,36 @@
+package com.warehouse.backend.common.cache;
+
+import java.io.Serializable;
+
+/**
+ * Envelope stored in both cache tiers around a cached value, recording when it was loaded and when it
+ * expires (including TTL jitter). Callers of the cache never see it.
+ */
+public record CachedValue(Object value, long createdAtMillis, long expiresAtMillis) implements Serializable {
+
+    /**
+     * Wraps a value written before envelopes existed; such a value is never refreshed ahead of time.
+     */
+    static CachedValue of(Object stored) {
+        if (stored instanceof CachedValue cachedValue) {
+            return cachedValue;
+        }
+        return new CachedValue(stored, 0L, Long.MAX_VALUE);
+    }
+
+    boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    long ageMillis(long nowMillis) {
+        return createdAtMillis == 0L ? 0L : Math.max(0L, nowMillis - createdAtMillis);
+    }
+
+    boolean isDueForRefresh(long nowMillis, double refreshAheadRatio) {
+        if (createdAtMillis == 0L) {
+            return false;
+        }
+        long refreshAt = createdAtMillis + (long) ((expiresAtMillis - createdAtMillis) * refreshAheadRatio);
+        return nowMillis >= refreshAt;
+    }
+}
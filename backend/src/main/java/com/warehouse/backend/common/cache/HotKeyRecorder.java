@@ -0,0 +1,27 @@
+package com.warehouse.backend.common.cache;
+
+import java.util.List;
+
+/**
+ * Counts cache reads per key so that a starting node knows which entries to load before it takes traffic.
+ */
+public interface HotKeyRecorder {
+
+    HotKeyRecorder NONE = (cacheName, key) -> {
+    };
+
+    /**
+     * Called on every read of {@code key}; must be cheap and must not throw.
+     *
+     * @param key the cache key in its string form
+     */
+    void record(String cacheName, String key);
+
+    /**
+     * Returns up to {@code limit} keys of {@code cacheName}, most read first, or nothing if this recorder
+     * does not rank keys.
+     */
+    default List<String> getHotKeys(String cacheName, int limit) {
+        return List.of();
+    }
+}
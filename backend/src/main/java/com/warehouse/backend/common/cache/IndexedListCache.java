@@ -0,0 +1,28 @@
+package com.warehouse.backend.common.cache;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cache of a whole listing that is stored entry by entry, so that a write patches a single entry
+ * instead of dropping the list.
+ */
+public interface IndexedListCache<T> {
+
+    /**
+     * Returns the cached list ordered by id, or loads it with {@code loader} and caches it.
+     */
+    List<T> getAll(Supplier<List<T>> loader);
+
+    /**
+     * Inserts or replaces one entry, once the surrounding transaction (if any) has committed.
+     */
+    void put(T value);
+
+    /**
+     * Removes one entry, once the surrounding transaction (if any) has committed.
+     */
+    void remove(long id);
+
+    void clear();
+}
@@ -0,0 +1,12 @@
+package com.warehouse.backend.common.cache;
+
+/**
+ * Node-local copy of a shared cache that must be dropped when another node changes the shared entry.
+ */
+public interface LocalCacheTier {
+
+    /**
+     * @param localKey the key in its string form, or {@code null} to drop everything
+     */
+    void evictLocal(String localKey);
+}
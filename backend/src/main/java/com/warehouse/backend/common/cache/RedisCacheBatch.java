@@ -0,0 +1,85 @@
+package com.warehouse.backend.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RemoteCacheBatch} for {@link RedisCache}: one {@code MGET} for a lookup and one pipeline of
+ * {@code SET ... PX} for a write-back, using the cache's own key prefix and value serializer so that the
+ * entries are the ones {@link RedisCache#get} and {@link RedisCache#put} see. Other caches fall back to
+ * {@link RemoteCacheBatch#PER_KEY}.
+ */
+public class RedisCacheBatch implements RemoteCacheBatch {
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final RedisSerializer<Object> valueSerializer;
+    private final CacheLoadCoordinator loadCoordinator;
+
+    public RedisCacheBatch(RedisTemplate<String, byte[]> redisTemplate, RedisSerializer<Object> valueSerializer,
+                           CacheLoadCoordinator loadCoordinator) {
+        this.redisTemplate = redisTemplate;
+        this.valueSerializer = valueSerializer;
+        this.loadCoordinator = loadCoordinator;
+    }
+
+    @Override
+    public Map<Object, CachedValue> getAll(Cache remote, Collection<?> keys) {
+        if (!(remote instanceof RedisCache redisCache)) {
+            return PER_KEY.getAll(remote, keys);
+        }
+        List<Object> requested = List.copyOf(keys);
+        List<String> redisKeys = new ArrayList<>(requested.size());
+        for (Object key : requested) {
+            redisKeys.add(redisKey(redisCache, key));
+        }
+        List<byte[]> values = redisTemplate.opsForValue().multiGet(redisKeys);
+        Map<Object, CachedValue> found = new HashMap<>(requested.size() * 2);
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < requested.size(); i++) {
+            byte[] encoded = values.get(i);
+            Object value = encoded == null ? null : valueSerializer.deserialize(encoded);
+            if (value != null) {
+                found.put(requested.get(i), CachedValue.of(value));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Cache remote, Map<?, CachedValue> entries) {
+        if (!(remote instanceof RedisCache redisCache)) {
+            PER_KEY.putAll(remote, entries);
+            return;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                entries.forEach((key, entry) -> ops.opsForValue().set(redisKey(redisCache, key),
+                        valueSerializer.serialize(entry), loadCoordinator.remainingTtl(entry)));
+                return null;
+            }
+        });
+    }
+
+    private static String redisKey(RedisCache cache, Object key) {
+        return cache.getCacheConfiguration().getKeyPrefixFor(cache.getName()) + key;
+    }
+}
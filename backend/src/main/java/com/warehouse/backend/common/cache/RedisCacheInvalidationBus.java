@@ -0,0 +1,48 @@
+package com.warehouse.backend.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Broadcasts L1 invalidations over a Redis pub/sub channel and applies the ones sent by other nodes.
+ * <p>
+ * Message layout: {@code <nodeId>|<cacheName>|K<key>} for a single entry or {@code <nodeId>|<cacheName>|*}
+ * for the whole cache.
+ */
+public class RedisCacheInvalidationBus implements CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "cache:invalidation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Logger logger = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void publish(String cacheName, String key) {
+        String payload = nodeId + '|' + cacheName + '|' + (key == null ? "*" : "K" + key);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (RuntimeException ex) {
+            // Peers fall back to their L1 TTL; failing the write because of it would be worse.
+            logger.warn("Could not publish cache invalidation for {}::{}", cacheName, key, ex);
+        }
+    }
+
+    public void onMessage(Message message, TwoTierCacheManager cacheManager) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        String localKey = "*".equals(parts[2]) ? null : parts[2].substring(1);
+        cacheManager.evictLocal(parts[1], localKey);
+    }
+}
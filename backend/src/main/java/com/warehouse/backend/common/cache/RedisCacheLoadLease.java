@@ -0,0 +1,55 @@
+package com.warehouse.backend.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link CacheLoadLease} held as {@code SET <cacheName>::lease::<key> <nodeId> NX PX <ttl>}. The TTL bounds
+ * how long other nodes wait if the holder dies mid-load. If Redis cannot be reached the lease is granted,
+ * so a Redis outage degrades to per-node single-flight instead of blocking loads.
+ */
+public class RedisCacheLoadLease implements CacheLoadLease {
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Logger logger = LoggerFactory.getLogger(RedisCacheLoadLease.class);
+
+    public RedisCacheLoadLease(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean tryAcquire(String cacheName, String key, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), nodeId, ttl));
+        } catch (RuntimeException ex) {
+            logger.warn("Could not acquire load lease for {}::{}, loading without it", cacheName, key, ex);
+            return true;
+        }
+    }
+
+    @Override
+    public void release(String cacheName, String key) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(leaseKey(cacheName, key)), nodeId);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not release load lease for {}::{}", cacheName, key, ex);
+        }
+    }
+
+    private static String leaseKey(String cacheName, String key) {
+        return cacheName + "::lease::" + key;
+    }
+}
@@ -0,0 +1,120 @@
+package com.warehouse.backend.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link HotKeyRecorder} that keeps the read counts of the cluster in one Redis sorted set per cache,
+ * {@code <cacheName>::hot} (member = key, score = reads). Reads are counted in memory and added to the
+ * sorted set once per flush interval in one pipeline, so the hot path never touches Redis. Each flush trims
+ * the set to the {@code maxTracked} most read keys; a set no node has written to for {@code retention}
+ * expires.
+ * <p>
+ * Counts are approximate: a read racing with a flush may be lost, and at most {@link #MAX_PENDING_KEYS}
+ * distinct keys are counted between two flushes.
+ */
+public class RedisHotKeyTracker implements HotKeyRecorder {
+
+    static final int MAX_PENDING_KEYS = 100_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Set<String> trackedCaches;
+    private final int maxTracked;
+    private final Duration retention;
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingKeys = new AtomicInteger();
+    private final Logger logger = LoggerFactory.getLogger(RedisHotKeyTracker.class);
+
+    public RedisHotKeyTracker(StringRedisTemplate redisTemplate, Set<String> trackedCaches, int maxTracked,
+                              Duration retention) {
+        this.redisTemplate = redisTemplate;
+        this.trackedCaches = Set.copyOf(trackedCaches);
+        this.maxTracked = maxTracked;
+        this.retention = retention;
+    }
+
+    @Override
+    public void record(String cacheName, String key) {
+        if (!trackedCaches.contains(cacheName)) {
+            return;
+        }
+        ConcurrentMap<String, LongAdder> counts = pending.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>());
+        LongAdder count = counts.get(key);
+        if (count == null) {
+            if (pendingKeys.get() >= MAX_PENDING_KEYS) {
+                return;
+            }
+            count = counts.computeIfAbsent(key, k -> {
+                pendingKeys.incrementAndGet();
+                return new LongAdder();
+            });
+        }
+        count.increment();
+    }
+
+    @Override
+    public List<String> getHotKeys(String cacheName, int limit) {
+        Set<String> keys = redisTemplate.opsForZSet().reverseRange(hotKey(cacheName), 0, limit - 1L);
+        return keys == null ? List.of() : List.copyOf(keys);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.hot-keys.flush-interval:1m}")
+    public void flush() {
+        Map<String, Map<String, Long>> drained = drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    drained.forEach((cacheName, counts) -> {
+                        String hotKey = hotKey(cacheName);
+                        counts.forEach((key, count) -> ops.opsForZSet().incrementScore(hotKey, key, count));
+                        ops.opsForZSet().removeRange(hotKey, 0, -(maxTracked + 1L));
+                        ops.expire(hotKey, retention);
+                    });
+                    return null;
+                }
+            });
+        } catch (RuntimeException ex) {
+            // Only the counts of one interval are lost; the ranking itself stays in Redis.
+            logger.warn("Could not record hot cache keys", ex);
+        }
+    }
+
+    private Map<String, Map<String, Long>> drain() {
+        Map<String, Map<String, Long>> drained = new HashMap<>();
+        pending.forEach((cacheName, counts) -> {
+            for (String key : counts.keySet()) {
+                LongAdder count = counts.remove(key);
+                if (count != null) {
+                    pendingKeys.decrementAndGet();
+                    drained.computeIfAbsent(cacheName, name -> new HashMap<>()).put(key, count.sum());
+                }
+            }
+        });
+        return drained;
+    }
+
+    private static String hotKey(String cacheName) {
+        return cacheName + "::hot";
+    }
+}
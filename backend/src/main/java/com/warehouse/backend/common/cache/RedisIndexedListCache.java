@@ -0,0 +1,398 @@
+package com.warehouse.backend.common.cache;
+
+import com.warehouse.backend.common.datasource.ReadYourWrites;
+import com.warehouse.backend.common.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link IndexedListCache} kept in Redis as a sorted set of ids ({@code <name>::index}, score = id) plus a
+ * hash of encoded entries ({@code <name>::entries}). A {@code <name>::loaded} marker tells a complete list
+ * apart from an empty one and carries the TTL; entries are only patched while it exists.
+ * <p>
+ * Every patch increments {@code <name>::version}. A reload only writes its result back if the version is
+ * still the one it saw before querying the database, so a slow reload cannot resurrect a list that a
+ * concurrent write has already patched. Reloads go through the {@link CacheLoadCoordinator}, so only one
+ * caller across the cluster queries the database when the list expires. Each node also keeps the decoded
+ * list for the local TTL and drops it when any node patches the list.
+ * <p>
+ * While Redis is unavailable the list is loaded from the database and kept on this node only. A patch or
+ * clear that could not reach Redis marks its copy as stale, and the next read that reaches Redis drops it
+ * before using it.
+ * <p>
+ * The marker holds when the list was loaded and until when it is fresh, and lives for the coordinator's stale
+ * grace period beyond that. A read in that window gets the stale list at once, recorded in {@link StaleReads},
+ * and starts a background reload.
+ * <p>
+ * The list is loaded {@linkplain ReadYourWrites#onPrimary pinned to the primary}, so that a replica's lagging
+ * view is not cached for a whole TTL.
+ * <p>
+ * It is read from Redis in pages of {@value #PAGE_SIZE} ids, so that no single command blocks Redis for the
+ * whole catalog. The pages are not one snapshot: the version is read before and after them, and a list patched
+ * in between is read again. A read only keeps its result on this node if no patch or invalidation reached the
+ * node while it ran.
+ */
+public class RedisIndexedListCache<T> implements IndexedListCache<T>, LocalCacheTier {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int READ_ATTEMPTS = 3;
+    private static final String LOAD_KEY = "all";
+
+    private static final RedisScript<Long> PUT_ENTRY = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[4])
+            local ttl = redis.call('PTTL', KEYS[1])
+            if ttl == -2 then return 0 end
+            redis.call('ZADD', KEYS[2], ARGV[1], ARGV[1])
+            redis.call('HSET', KEYS[3], ARGV[1], ARGV[2])
+            -- An empty list has no index or hash yet; the keys just created must not outlive the marker.
+            if ttl > 0 then
+              for i = 2, 3 do
+                if redis.call('PTTL', KEYS[i]) == -1 then redis.call('PEXPIRE', KEYS[i], ttl) end
+              end
+            end
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> REMOVE_ENTRY = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[4])
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            redis.call('HDEL', KEYS[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final String name;
+    private final Class<T> type;
+    private final ToLongFunction<T> idExtractor;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final RedisSerializer<Object> valueSerializer;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final CacheLoadCoordinator loadCoordinator;
+    private final Duration localTtl;
+    private final List<String> keys;
+    private final CacheTierStatistics statistics = new CacheTierStatistics();
+    private final Logger logger = LoggerFactory.getLogger(RedisIndexedListCache.class);
+    // Counts the patches and invalidations this node has seen; a snapshot taken before the latest one is unused.
+    private final AtomicLong localGeneration = new AtomicLong();
+
+    private volatile LocalSnapshot<T> localSnapshot;
+    private volatile boolean remoteStale;
+
+    public RedisIndexedListCache(String name, Class<T> type, ToLongFunction<T> idExtractor,
+                                 RedisTemplate<String, byte[]> redisTemplate, RedisSerializer<Object> valueSerializer,
+                                 CacheInvalidationPublisher invalidationPublisher, CacheLoadCoordinator loadCoordinator,
+                                 Duration localTtl) {
+        this.name = name;
+        this.type = type;
+        this.idExtractor = idExtractor;
+        this.redisTemplate = redisTemplate;
+        this.valueSerializer = valueSerializer;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadCoordinator = loadCoordinator;
+        this.localTtl = localTtl;
+        this.keys = List.of(name + "::loaded", name + "::index", name + "::entries", name + "::version");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CacheTierStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public List<T> getAll(Supplier<List<T>> loader) {
+        LocalSnapshot<T> snapshot = localSnapshot;
+        if (snapshot != null && snapshot.isFresh(System.currentTimeMillis(), localGeneration.get())) {
+            statistics.localHit();
+            return snapshot.values();
+        }
+        statistics.localMiss();
+        RemoteList<T> cached;
+        try {
+            dropRemoteIfStale();
+            cached = readAllAndKeepLocally();
+        } catch (DataAccessException ex) {
+            logger.debug("Loading list {} without Redis, which is unavailable: {}", name, ex.toString());
+            statistics.remoteMiss();
+            long generation = localGeneration.get();
+            List<T> loaded = ReadYourWrites.onPrimary(loader);
+            localSnapshot = new LocalSnapshot<>(List.copyOf(loaded), System.nanoTime() + localTtl.toNanos(),
+                    Long.MAX_VALUE, generation);
+            return loaded;
+        }
+        long now = System.currentTimeMillis();
+        if (cached != null && !cached.isExpired(now)) {
+            statistics.remoteHit();
+            return cached.values();
+        }
+        if (cached != null && now - cached.freshUntilMillis() < loadCoordinator.getStaleGrace().toMillis()) {
+            statistics.remoteHit();
+            StaleReads.record(now - cached.createdAtMillis());
+            loadCoordinator.refresh(name, LOAD_KEY, () -> loadAndWriteBack(loader));
+            return cached.values();
+        }
+        statistics.remoteMiss();
+        try {
+            return loadCoordinator.load(name, LOAD_KEY, this::readFreshOrNull, () -> loadAndWriteBack(loader));
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not load list " + name, ex);
+        }
+    }
+
+    @Override
+    public void put(T value) {
+        long id = idExtractor.applyAsLong(value);
+        AfterCommit.run(() -> patch(PUT_ENTRY, String.valueOf(id).getBytes(StandardCharsets.UTF_8),
+                valueSerializer.serialize(value)));
+    }
+
+    @Override
+    public void remove(long id) {
+        AfterCommit.run(() -> patch(REMOVE_ENTRY, String.valueOf(id).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public void clear() {
+        statistics.eviction();
+        try {
+            deleteRemote();
+        } catch (DataAccessException ex) {
+            logger.warn("Could not clear list cache {} in Redis, dropping it on the next read: {}", name, ex.toString());
+            remoteStale = true;
+        }
+        dropLocal();
+        invalidationPublisher.publish(name, null);
+    }
+
+    @Override
+    public void evictLocal(String localKey) {
+        dropLocal();
+    }
+
+    private void dropLocal() {
+        localGeneration.incrementAndGet();
+        localSnapshot = null;
+    }
+
+    private void dropRemoteIfStale() {
+        if (remoteStale) {
+            deleteRemote();
+            remoteStale = false;
+        }
+    }
+
+    private void deleteRemote() {
+        redisTemplate.delete(keys.subList(0, 3));
+        redisTemplate.opsForValue().increment(versionKey());
+    }
+
+    private List<T> loadAndWriteBack(Supplier<List<T>> loader) {
+        byte[] versionBeforeLoad;
+        try {
+            versionBeforeLoad = redisTemplate.opsForValue().get(versionKey());
+        } catch (DataAccessException ex) {
+            // Without the version a concurrent patch could not be detected, so nothing is written back.
+            return ReadYourWrites.onPrimary(loader);
+        }
+        List<T> loaded = ReadYourWrites.onPrimary(loader);
+        writeAll(versionBeforeLoad, loaded);
+        return loaded;
+    }
+
+    private List<T> readFreshOrNull() {
+        try {
+            RemoteList<T> cached = readAllAndKeepLocally();
+            return cached == null || cached.isExpired(System.currentTimeMillis()) ? null : cached.values();
+        } catch (DataAccessException ex) {
+            return null;
+        }
+    }
+
+    private RemoteList<T> readAllAndKeepLocally() {
+        // Taken before the read: a patch that lands while the pages are read must not be overwritten by them.
+        long generation = localGeneration.get();
+        RemoteList<T> cached = readAll();
+        if (cached != null) {
+            localSnapshot = new LocalSnapshot<>(cached.values(), System.nanoTime() + localTtl.toNanos(),
+                    cached.freshUntilMillis(), generation);
+        }
+        return cached;
+    }
+
+    private RemoteList<T> readAll() {
+        for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+            List<byte[]> head = redisTemplate.opsForValue().multiGet(List.of(keys.get(0), versionKey()));
+            if (head == null || head.get(0) == null) {
+                return null;
+            }
+            List<T> values = readPages();
+            if (!Arrays.equals(head.get(1), redisTemplate.opsForValue().get(versionKey()))) {
+                // Patched while the pages were read, which may then mix entries from before and after.
+                continue;
+            }
+            if (values == null) {
+                return null;
+            }
+            long[] marker = parseMarker(head.get(0));
+            return new RemoteList<>(List.copyOf(values), marker[0], marker[1]);
+        }
+        logger.debug("List {} kept changing while it was read, reloading it", name);
+        return null;
+    }
+
+    /**
+     * Reads the entries in id order, a page of ids at a time from the index by score, which is the id, and
+     * their entries with one HMGET. Returns {@code null} if the index names an entry the hash does not hold
+     * (e.g. partially expired) or that cannot be read.
+     */
+    private List<T> readPages() {
+        List<T> values = new ArrayList<>();
+        double from = Double.NEGATIVE_INFINITY;
+        while (true) {
+            Set<byte[]> ids = redisTemplate.opsForZSet().rangeByScore(keys.get(1), from, Double.POSITIVE_INFINITY,
+                    0, PAGE_SIZE);
+            if (ids == null || ids.isEmpty()) {
+                return values;
+            }
+            List<Object> fields = new ArrayList<>(ids.size());
+            for (byte[] id : ids) {
+                fields.add(new String(id, StandardCharsets.UTF_8));
+            }
+            List<Object> encoded = redisTemplate.opsForHash().multiGet(keys.get(2), fields);
+            for (Object entry : encoded) {
+                Object value = entry == null ? null : valueSerializer.deserialize((byte[]) entry);
+                if (value == null) {
+                    return null;
+                }
+                values.add(type.cast(value));
+            }
+            if (ids.size() < PAGE_SIZE) {
+                return values;
+            }
+            from = Long.parseLong((String) fields.getLast()) + 1;
+        }
+    }
+
+    /**
+     * Returns {@code {createdAtMillis, freshUntilMillis}}. Markers written before stale-while-revalidate hold a
+     * single byte and count as fresh until they expire.
+     */
+    private static long[] parseMarker(byte[] marker) {
+        String text = new String(marker, StandardCharsets.UTF_8);
+        int separator = text.indexOf(':');
+        if (separator < 0) {
+            return new long[]{0L, Long.MAX_VALUE};
+        }
+        try {
+            return new long[]{Long.parseLong(text.substring(0, separator)),
+                    Long.parseLong(text.substring(separator + 1))};
+        } catch (NumberFormatException ex) {
+            return new long[]{0L, Long.MAX_VALUE};
+        }
+    }
+
+    private void writeAll(byte[] expectedVersion, List<T> values) {
+        Set<ZSetOperations.TypedTuple<byte[]>> index = new HashSet<>(values.size() * 2);
+        Map<String, byte[]> entries = new HashMap<>(values.size() * 2);
+        for (T value : values) {
+            long id = idExtractor.applyAsLong(value);
+            index.add(new DefaultTypedTuple<>(String.valueOf(id).getBytes(StandardCharsets.UTF_8), (double) id));
+            entries.put(String.valueOf(id), valueSerializer.serialize(value));
+        }
+        Duration freshFor = loadCoordinator.nextTtl();
+        Duration ttl = freshFor.plus(loadCoordinator.getStaleGrace());
+        long now = System.currentTimeMillis();
+        byte[] marker = (now + ":" + (now + freshFor.toMillis())).getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                    ops.watch(versionKey());
+                    if (!Arrays.equals(expectedVersion, ops.opsForValue().get(versionKey()))) {
+                        ops.unwatch();
+                        return null;
+                    }
+                    ops.multi();
+                    ops.delete(keys.subList(0, 3));
+                    if (!index.isEmpty()) {
+                        ops.opsForZSet().add(keys.get(1), index);
+                        ops.opsForHash().putAll(keys.get(2), entries);
+                        ops.expire(keys.get(1), ttl);
+                        ops.expire(keys.get(2), ttl);
+                    }
+                    ops.opsForValue().set(keys.get(0), marker, ttl);
+                    return ops.exec();
+                }
+            });
+        } catch (RuntimeException ex) {
+            logger.warn("Could not cache list {}", name, ex);
+        }
+    }
+
+    private void patch(RedisScript<Long> script, byte[]... args) {
+        dropLocal();
+        try {
+            redisTemplate.execute(script, keys, (Object[]) args);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not patch list cache {}, dropping it", name, ex);
+            try {
+                redisTemplate.delete(keys.get(0));
+            } catch (RuntimeException deleteFailure) {
+                remoteStale = true;
+            }
+        }
+        // Again, for a read that started after the first drop and saw the list before the patch.
+        dropLocal();
+        invalidationPublisher.publish(name, null);
+    }
+
+    private String versionKey() {
+        return keys.get(3);
+    }
+
+    /**
+     * @param freshUntilMillis when the Redis copy the snapshot was taken from turns stale; past that the list is
+     *                         read from Redis again, which another node may have reloaded
+     * @param generation       the node's {@code localGeneration} before the snapshot was read
+     */
+    private record LocalSnapshot<T>(List<T> values, long expiresAtNanos, long freshUntilMillis, long generation) {
+        boolean isFresh(long nowMillis, long currentGeneration) {
+            return generation == currentGeneration && System.nanoTime() - expiresAtNanos < 0
+                    && nowMillis < freshUntilMillis;
+        }
+    }
+
+    private record RemoteList<T>(List<T> values, long createdAtMillis, long freshUntilMillis) {
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= freshUntilMillis;
+        }
+    }
+}
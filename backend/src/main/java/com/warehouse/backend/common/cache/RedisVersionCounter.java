@@ -0,0 +1,114 @@
+package com.warehouse.backend.common.cache;
+
+import com.warehouse.backend.common.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link VersionCounter} kept in Redis under {@code <name>::version}. Each node keeps the last value it read
+ * for the local TTL and drops it when any node increments the counter, so an unchanged version is answered
+ * without a round trip.
+ * <p>
+ * A missing key is seeded with the current time in milliseconds rather than zero, so a counter lost with
+ * Redis starts above any value handed out before and an old version can never match a newer state.
+ */
+public class RedisVersionCounter implements VersionCounter, LocalCacheTier {
+
+    private static final String SEED = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              local now = redis.call('TIME')
+              redis.call('SET', KEYS[1], now[1] * 1000 + math.floor(now[2] / 1000), 'NX')
+            end
+            """;
+
+    private static final RedisScript<Long> READ = new DefaultRedisScript<>(SEED + """
+            return tonumber(redis.call('GET', KEYS[1]))
+            """, Long.class);
+
+    private static final RedisScript<Long> INCREMENT = new DefaultRedisScript<>(SEED + """
+            return redis.call('INCR', KEYS[1])
+            """, Long.class);
+
+    private final String name;
+    private final StringRedisTemplate redisTemplate;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Duration localTtl;
+    private final List<String> keys;
+    private final AtomicLong localEvictions = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(RedisVersionCounter.class);
+
+    private volatile LocalVersion localVersion;
+
+    public RedisVersionCounter(String name, StringRedisTemplate redisTemplate,
+                               CacheInvalidationPublisher invalidationPublisher, Duration localTtl) {
+        this.name = name;
+        this.redisTemplate = redisTemplate;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localTtl = localTtl;
+        this.keys = List.of(name + "::version");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public OptionalLong current() {
+        LocalVersion local = localVersion;
+        if (local != null && local.isValid(localEvictions.get())) {
+            return OptionalLong.of(local.version());
+        }
+        // Taken before the read: an increment racing with it makes the stored copy stale on arrival.
+        long evictionsBeforeRead = localEvictions.get();
+        Long version;
+        try {
+            version = redisTemplate.execute(READ, keys);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not read version {}", name, ex);
+            return OptionalLong.empty();
+        }
+        if (version == null) {
+            return OptionalLong.empty();
+        }
+        localVersion = new LocalVersion(version, evictionsBeforeRead, System.nanoTime() + localTtl.toNanos());
+        return OptionalLong.of(version);
+    }
+
+    @Override
+    public void increment() {
+        AfterCommit.run(() -> {
+            try {
+                redisTemplate.execute(INCREMENT, keys);
+            } catch (RuntimeException ex) {
+                logger.warn("Could not increment version {}, dropping it", name, ex);
+                try {
+                    redisTemplate.delete(keys.getFirst());
+                } catch (RuntimeException ignored) {
+                    // Readers cannot reach Redis either, so they answer without a version.
+                }
+            }
+            evictLocal(null);
+            invalidationPublisher.publish(name, null);
+        });
+    }
+
+    @Override
+    public void evictLocal(String localKey) {
+        localEvictions.incrementAndGet();
+        localVersion = null;
+    }
+
+    private record LocalVersion(long version, long evictions, long expiresAtNanos) {
+        boolean isValid(long currentEvictions) {
+            return evictions == currentEvictions && System.nanoTime() - expiresAtNanos < 0;
+        }
+    }
+}
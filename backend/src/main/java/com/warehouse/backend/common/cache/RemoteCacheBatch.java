@@ -0,0 +1,43 @@
+package com.warehouse.backend.common.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes many entries of a shared cache tier at once, so that a batch lookup costs one round
+ * trip per direction instead of one per key.
+ */
+public interface RemoteCacheBatch {
+
+    /**
+     * One call per key through the {@link Cache} itself, for remote caches without a batch command.
+     */
+    RemoteCacheBatch PER_KEY = new RemoteCacheBatch() {
+        @Override
+        public Map<Object, CachedValue> getAll(Cache remote, Collection<?> keys) {
+            Map<Object, CachedValue> found = new HashMap<>();
+            for (Object key : keys) {
+                Cache.ValueWrapper value = remote.get(key);
+                if (value != null && value.get() != null) {
+                    found.put(key, CachedValue.of(value.get()));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void putAll(Cache remote, Map<?, CachedValue> entries) {
+            entries.forEach(remote::put);
+        }
+    };
+
+    /**
+     * Returns the entries present in {@code remote}, keyed like {@code keys}; absent keys are left out.
+     */
+    Map<Object, CachedValue> getAll(Cache remote, Collection<?> keys);
+
+    void putAll(Cache remote, Map<?, CachedValue> entries);
+}
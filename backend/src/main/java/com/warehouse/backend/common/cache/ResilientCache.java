@@ -0,0 +1,197 @@
+package com.warehouse.backend.common.cache;
+
+import com.warehouse.backend.common.resilience.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remote {@link Cache} decorator that turns an unavailable Redis into cache misses instead of errors, and
+ * does not call it at all while its {@link CircuitBreaker} is open. Reads then miss, so the caller loads
+ * from the database, and writes are skipped.
+ * <p>
+ * A skipped write or eviction leaves whatever Redis held before, which would be served again once Redis is
+ * back. The keys concerned are therefore evicted when the circuit closes; past
+ * {@link #MAX_PENDING_EVICTIONS} keys the whole cache is cleared instead.
+ */
+public class ResilientCache implements Cache {
+
+    static final int MAX_PENDING_EVICTIONS = 10_000;
+
+    private final Cache target;
+    private final CircuitBreaker circuitBreaker;
+    private final Set<Object> pendingEvictions = ConcurrentHashMap.newKeySet();
+    private volatile boolean clearPending;
+    private final Logger logger = LoggerFactory.getLogger(ResilientCache.class);
+
+    public ResilientCache(Cache target, CircuitBreaker circuitBreaker) {
+        this.target = target;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Cache getTarget() {
+        return target;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (circuitBreaker.isOpen()) {
+            return null;
+        }
+        try {
+            return target.get(key);
+        } catch (DataAccessException ex) {
+            logger.debug("Treating {}::{} as a miss, Redis is unavailable: {}", getName(), key, ex.toString());
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        if (circuitBreaker.isOpen()) {
+            return null;
+        }
+        try {
+            return target.get(key, type);
+        } catch (DataAccessException ex) {
+            logger.debug("Treating {}::{} as a miss, Redis is unavailable: {}", getName(), key, ex.toString());
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.get();
+            return value;
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (circuitBreaker.isOpen()) {
+            evictLater(key);
+            return;
+        }
+        try {
+            target.put(key, value);
+        } catch (DataAccessException ex) {
+            logger.debug("Could not write {}::{}, Redis is unavailable: {}", getName(), key, ex.toString());
+            evictLater(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (circuitBreaker.isOpen()) {
+            evictLater(key);
+            return null;
+        }
+        try {
+            return target.putIfAbsent(key, value);
+        } catch (DataAccessException ex) {
+            logger.debug("Could not write {}::{}, Redis is unavailable: {}", getName(), key, ex.toString());
+            evictLater(key);
+            return null;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (circuitBreaker.isOpen()) {
+            evictLater(key);
+            return;
+        }
+        try {
+            target.evict(key);
+        } catch (DataAccessException ex) {
+            logger.debug("Could not evict {}::{}, Redis is unavailable: {}", getName(), key, ex.toString());
+            evictLater(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (circuitBreaker.isOpen()) {
+            clearLater();
+            return;
+        }
+        try {
+            target.clear();
+        } catch (DataAccessException ex) {
+            logger.debug("Could not clear {}, Redis is unavailable: {}", getName(), ex.toString());
+            clearLater();
+        }
+    }
+
+    /**
+     * Applies the evictions skipped while Redis was unavailable. Entries that fail again stay pending.
+     */
+    public void evictPending() {
+        if (clearPending) {
+            clearPending = false;
+            pendingEvictions.clear();
+            clear();
+            return;
+        }
+        List<Object> keys = new ArrayList<>(pendingEvictions);
+        for (Object key : keys) {
+            pendingEvictions.remove(key);
+            evict(key);
+        }
+        if (!keys.isEmpty()) {
+            logger.info("Evicted {} entries of {} written while Redis was unavailable", keys.size(), getName());
+        }
+    }
+
+    int getPendingEvictions() {
+        return pendingEvictions.size();
+    }
+
+    private void evictLater(Object key) {
+        if (clearPending) {
+            return;
+        }
+        if (pendingEvictions.size() >= MAX_PENDING_EVICTIONS) {
+            clearLater();
+        } else {
+            pendingEvictions.add(key);
+        }
+    }
+
+    private void clearLater() {
+        clearPending = true;
+        pendingEvictions.clear();
+    }
+}
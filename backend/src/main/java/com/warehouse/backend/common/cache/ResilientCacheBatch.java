@@ -0,0 +1,59 @@
+package com.warehouse.backend.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * {@link RemoteCacheBatch} counterpart of {@link ResilientCache}: hands the undecorated cache to the
+ * delegate, so that {@link RedisCacheBatch} still recognizes it, and turns an unavailable Redis into misses
+ * and skipped write-backs. Write-backs only store what was just loaded from the database, so skipping them
+ * leaves nothing stale behind.
+ */
+public class ResilientCacheBatch implements RemoteCacheBatch {
+
+    private final RemoteCacheBatch delegate;
+    private final Logger logger = LoggerFactory.getLogger(ResilientCacheBatch.class);
+
+    public ResilientCacheBatch(RemoteCacheBatch delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Map<Object, CachedValue> getAll(Cache remote, Collection<?> keys) {
+        if (!(remote instanceof ResilientCache resilientCache)) {
+            return delegate.getAll(remote, keys);
+        }
+        if (resilientCache.getCircuitBreaker().isOpen()) {
+            return Map.of();
+        }
+        try {
+            return delegate.getAll(resilientCache.getTarget(), keys);
+        } catch (DataAccessException ex) {
+            logger.debug("Treating {} keys of {} as misses, Redis is unavailable: {}", keys.size(), remote.getName(),
+                    ex.toString());
+            return Map.of();
+        }
+    }
+
+    @Override
+    public void putAll(Cache remote, Map<?, CachedValue> entries) {
+        if (!(remote instanceof ResilientCache resilientCache)) {
+            delegate.putAll(remote, entries);
+            return;
+        }
+        if (resilientCache.getCircuitBreaker().isOpen()) {
+            return;
+        }
+        try {
+            delegate.putAll(resilientCache.getTarget(), entries);
+        } catch (DataAccessException ex) {
+            logger.debug("Could not write {} entries of {}, Redis is unavailable: {}", entries.size(),
+                    remote.getName(), ex.toString());
+        }
+    }
+}
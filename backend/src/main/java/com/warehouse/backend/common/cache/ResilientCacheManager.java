@@ -0,0 +1,41 @@
+package com.warehouse.backend.common.cache;
+
+import com.warehouse.backend.common.resilience.CircuitBreaker;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of a remote {@link CacheManager} in a {@link ResilientCache} guarded by one
+ * {@link CircuitBreaker}, and applies their skipped evictions whenever that breaker closes.
+ */
+public class ResilientCacheManager implements CacheManager {
+
+    private final CacheManager target;
+    private final CircuitBreaker circuitBreaker;
+    private final ConcurrentMap<String, ResilientCache> caches = new ConcurrentHashMap<>();
+
+    public ResilientCacheManager(CacheManager target, CircuitBreaker circuitBreaker) {
+        this.target = target;
+        this.circuitBreaker = circuitBreaker;
+        circuitBreaker.addRecoveryListener(() -> caches.values().forEach(ResilientCache::evictPending));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        ResilientCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = target.getCache(name);
+        return remote == null ? null : caches.computeIfAbsent(name, key -> new ResilientCache(remote, circuitBreaker));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+}
@@ -0,0 +1,38 @@
+package com.warehouse.backend.common.cache;
+
+import java.util.OptionalLong;
+
+/**
+ * Remembers, per thread, the age of the oldest expired entry the caches served during the current request,
+ * so that the controller can tell the client its answer is stale. Cleared per request by
+ * {@link StaleReadsFilter}.
+ */
+public final class StaleReads {
+
+    private static final ThreadLocal<long[]> OLDEST_AGE_MILLIS = new ThreadLocal<>();
+
+    private StaleReads() {
+    }
+
+    public static void record(long ageMillis) {
+        long[] oldest = OLDEST_AGE_MILLIS.get();
+        if (oldest == null) {
+            OLDEST_AGE_MILLIS.set(new long[]{ageMillis});
+        } else if (ageMillis > oldest[0]) {
+            oldest[0] = ageMillis;
+        }
+    }
+
+    /**
+     * Returns the age of the oldest stale entry served on this thread since the last {@link #clear()}, or an
+     * empty value if everything served was fresh.
+     */
+    public static OptionalLong oldestAgeMillis() {
+        long[] oldest = OLDEST_AGE_MILLIS.get();
+        return oldest == null ? OptionalLong.empty() : OptionalLong.of(oldest[0]);
+    }
+
+    public static void clear() {
+        OLDEST_AGE_MILLIS.remove();
+    }
+}
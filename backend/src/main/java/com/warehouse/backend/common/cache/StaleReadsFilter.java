@@ -0,0 +1,27 @@
+package com.warehouse.backend.common.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes {@link StaleReads} to one request, so that a pooled thread does not carry the staleness of a
+ * previous request into the next one's headers.
+ */
+public class StaleReadsFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StaleReads.clear();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StaleReads.clear();
+        }
+    }
+}
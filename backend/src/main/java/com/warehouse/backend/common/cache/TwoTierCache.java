@@ -0,0 +1,348 @@
+package com.warehouse.backend.common.cache;
+
+import com.warehouse.backend.common.datasource.ReadYourWrites;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * {@link Cache} that serves reads from a bounded in-process Caffeine cache (L1) and falls back to a
+ * shared remote cache (L2, Redis). Writes go to both tiers and are broadcast so that other nodes drop
+ * their now stale L1 copy.
+ * <p>
+ * L1 keys are the string form of the cache key, the same form Redis uses, so that an invalidation
+ * message received from another node addresses the same entry. Both tiers hold values wrapped in a
+ * {@link CachedValue}; misses on {@link #get(Object, Callable)} are loaded through the
+ * {@link CacheLoadCoordinator}, so use {@code @Cacheable(sync = true)} on hot keys. {@link #getAll} looks
+ * up many keys with one batch per tier.
+ * <p>
+ * An expired entry is a miss, except within the coordinator's stale grace period: {@link #get(Object, Callable)}
+ * and {@link #getAll} then return it at once, record it in {@link StaleReads} and reload it in the
+ * background. {@link #get(Object)} has no loader to refresh with and treats it as a miss.
+ * <p>
+ * Loaders run {@linkplain ReadYourWrites#onPrimary pinned to the primary}: a value read from a lagging
+ * replica right after a write would otherwise be cached for a whole TTL.
+ */
+public class TwoTierCache implements Cache, LocalCacheTier {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CachedValue> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final CacheLoadCoordinator loadCoordinator;
+    private final CacheTierStatistics statistics;
+    private final RemoteCacheBatch remoteBatch;
+    private final HotKeyRecorder hotKeys;
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, CachedValue> local,
+                        Cache remote, CacheInvalidationPublisher invalidationPublisher,
+                        CacheLoadCoordinator loadCoordinator) {
+        this(name, local, remote, invalidationPublisher, loadCoordinator, new CacheTierStatistics());
+    }
+
+    /**
+     * @param statistics counters shared with the L1's eviction listener, which has to exist before this cache
+     */
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, CachedValue> local,
+                        Cache remote, CacheInvalidationPublisher invalidationPublisher,
+                        CacheLoadCoordinator loadCoordinator, CacheTierStatistics statistics) {
+        this(name, local, remote, invalidationPublisher, loadCoordinator, statistics, RemoteCacheBatch.PER_KEY,
+                HotKeyRecorder.NONE);
+    }
+
+    /**
+     * @param hotKeys told about every key read, hit or miss, so that a starting node can load the hot ones
+     */
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, CachedValue> local,
+                        Cache remote, CacheInvalidationPublisher invalidationPublisher,
+                        CacheLoadCoordinator loadCoordinator, CacheTierStatistics statistics,
+                        RemoteCacheBatch remoteBatch, HotKeyRecorder hotKeys) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadCoordinator = loadCoordinator;
+        this.statistics = statistics;
+        this.remoteBatch = remoteBatch;
+        this.hotKeys = hotKeys;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    public CacheTierStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CachedValue entry = lookup(key, localKey(key));
+        return entry == null || entry.isExpired(System.currentTimeMillis()) ? null : new SimpleValueWrapper(entry.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Callable<T> loadAndStore = () -> {
+            T value = ReadYourWrites.callOnPrimary(valueLoader);
+            if (value != null) {
+                store(key, localKey, value);
+            }
+            return value;
+        };
+
+        CachedValue entry = lookup(key, localKey);
+        long now = System.currentTimeMillis();
+        if (entry != null && !entry.isExpired(now)) {
+            loadCoordinator.refreshIfDue(name, localKey, entry, loadAndStore);
+            return (T) entry.value();
+        }
+        if (entry != null && loadCoordinator.isServableStale(entry, now)) {
+            StaleReads.record(entry.ageMillis(now));
+            loadCoordinator.refresh(name, localKey, loadAndStore);
+            return (T) entry.value();
+        }
+        try {
+            return loadCoordinator.load(name, localKey, () -> (T) lookupRemote(key, localKey), loadAndStore);
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    /**
+     * Returns the values cached for {@code keys}: L1 first, then all L1 misses from L2 in one batch, then
+     * whatever is still missing from one call to {@code loader}, whose results are written back to both
+     * tiers in one batch. Keys the loader has no value for are left out of the result.
+     * <p>
+     * Unlike {@link #get(Object, Callable)} the misses are not single-flighted per key: one batched query
+     * per caller is cheaper than coordinating every key of the batch across the cluster.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        long now = System.currentTimeMillis();
+        Map<K, V> found = new HashMap<>(keys.size() * 2);
+        Set<K> stale = new LinkedHashSet<>();
+        Set<K> localMisses = new LinkedHashSet<>();
+        Map<K, CachedValue> expiredLocally = new HashMap<>();
+        for (K key : keys) {
+            String localKey = localKey(key);
+            hotKeys.record(name, localKey);
+            CachedValue entry = local.getIfPresent(localKey);
+            if (entry != null && !entry.isExpired(now)) {
+                statistics.localHit();
+                serve(entry, now, key, found, stale);
+            } else if (localMisses.add(key)) {
+                statistics.localMiss();
+                if (entry != null) {
+                    expiredLocally.put(key, entry);
+                }
+            }
+        }
+        if (localMisses.isEmpty()) {
+            refreshInBackground(stale, loader);
+            return found;
+        }
+
+        Map<Object, CachedValue> remoteEntries = remoteBatch.getAll(remote, localMisses);
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : localMisses) {
+            CachedValue entry = remoteEntries.get(key);
+            if (entry != null && serve(entry, now, key, found, stale)) {
+                statistics.remoteHit();
+                local.put(localKey(key), entry);
+            } else if (entry == null && expiredLocally.containsKey(key)
+                    && serve(expiredLocally.get(key), now, key, found, stale)) {
+                // Redis lost the entry or is unavailable; this node's stale copy is still within grace.
+                statistics.remoteMiss();
+            } else {
+                statistics.remoteMiss();
+                missing.add(key);
+            }
+        }
+        refreshInBackground(stale, loader);
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        found.putAll(loadAndStoreAll(missing, loader));
+        return found;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        if (value == null) {
+            remote.put(key, null);
+            local.invalidate(localKey);
+        } else {
+            store(key, localKey, value);
+        }
+        invalidationPublisher.publish(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value == null ? null : loadCoordinator.newEntry(value));
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        if (existing == null) {
+            invalidationPublisher.publish(name, localKey);
+            return null;
+        }
+        return new SimpleValueWrapper(CachedValue.of(existing.get()).value());
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        statistics.eviction();
+        remote.evict(key);
+        local.invalidate(localKey);
+        invalidationPublisher.publish(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        statistics.eviction();
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    /**
+     * Drops an entry from this node's L1 only. Called when another node changed the entry.
+     */
+    @Override
+    public void evictLocal(String localKey) {
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    /**
+     * Adds a fresh or servable stale entry to {@code found}; returns {@code false} for one that is too old.
+     */
+    @SuppressWarnings("unchecked")
+    private <K, V> boolean serve(CachedValue entry, long now, K key, Map<K, V> found, Set<K> stale) {
+        if (entry.isExpired(now)) {
+            if (!loadCoordinator.isServableStale(entry, now)) {
+                return false;
+            }
+            StaleReads.record(entry.ageMillis(now));
+            stale.add(key);
+        }
+        found.put(key, (V) entry.value());
+        return true;
+    }
+
+    private <K, V> Map<K, V> loadAndStoreAll(Set<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, V> loaded = new HashMap<>(keys.size() * 2);
+        Map<K, CachedValue> loadedEntries = new HashMap<>(keys.size() * 2);
+        ReadYourWrites.onPrimary(() -> loader.apply(keys)).forEach((key, value) -> {
+            if (value != null) {
+                CachedValue entry = loadCoordinator.newEntry(value);
+                loadedEntries.put(key, entry);
+                local.put(localKey(key), entry);
+                loaded.put(key, value);
+            }
+        });
+        remoteBatch.putAll(remote, loadedEntries);
+        return loaded;
+    }
+
+    /**
+     * Reloads the stale entries of one {@link #getAll} call with one background call to the loader, leaving
+     * out those another read is already reloading.
+     */
+    private <K, V> void refreshInBackground(Set<K> stale, Function<Set<K>, Map<K, V>> loader) {
+        if (stale.isEmpty()) {
+            return;
+        }
+        if (stale.size() == 1) {
+            loadCoordinator.refresh(name, localKey(stale.iterator().next()), () -> loadAndStoreAll(stale, loader));
+            return;
+        }
+        Map<K, String> flightKeys = new HashMap<>(stale.size() * 2);
+        for (K key : stale) {
+            flightKeys.put(key, localKey(key));
+        }
+        loadCoordinator.refreshAll(name, flightKeys, keys -> loadAndStoreAll(keys, loader));
+    }
+
+    /**
+     * Returns the entry for {@code key}, possibly expired. An expired local copy is only used if the shared
+     * tier has nothing, since another node may have reloaded the entry there.
+     */
+    private CachedValue lookup(Object key, String localKey) {
+        hotKeys.record(name, localKey);
+        CachedValue entry = local.getIfPresent(localKey);
+        if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+            statistics.localHit();
+            return entry;
+        }
+        statistics.localMiss();
+        CachedValue remoteEntry = lookupRemoteEntry(key, localKey);
+        return remoteEntry != null ? remoteEntry : entry;
+    }
+
+    /**
+     * Reads the value another caller may have just loaded; an expired entry does not count.
+     */
+    private Object lookupRemote(Object key, String localKey) {
+        CachedValue entry = lookupRemoteEntry(key, localKey);
+        return entry == null || entry.isExpired(System.currentTimeMillis()) ? null : entry.value();
+    }
+
+    private CachedValue lookupRemoteEntry(Object key, String localKey) {
+        ValueWrapper remoteValue = remote.get(key);
+        if (remoteValue == null || remoteValue.get() == null) {
+            statistics.remoteMiss();
+            return null;
+        }
+        statistics.remoteHit();
+        CachedValue entry = CachedValue.of(remoteValue.get());
+        local.put(localKey, entry);
+        return entry;
+    }
+
+    private void store(Object key, String localKey, Object value) {
+        CachedValue entry = loadCoordinator.newEntry(value);
+        remote.put(key, entry);
+        local.put(localKey, entry);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
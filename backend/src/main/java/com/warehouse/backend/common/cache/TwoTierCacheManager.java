@@ -0,0 +1,157 @@
+package com.warehouse.backend.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Composite {@link CacheManager} that puts a size- and TTL-bounded Caffeine cache of each node in front
+ * of the caches of a remote (Redis) {@link CacheManager}. Publishes the {@link CacheTierStatistics} of every
+ * cache as {@code cache.gets} and {@code cache.evictions} meters, tagged by cache name and tier.
+ */
+public class TwoTierCacheManager implements CacheManager, MeterBinder {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final CacheLoadCoordinator loadCoordinator;
+    private final RemoteCacheBatch remoteBatch;
+    private final HotKeyRecorder hotKeys;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LocalCacheTier> additionalLocalTiers = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, CacheTierStatistics>> statisticsListeners = new CopyOnWriteArrayList<>();
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager, CacheInvalidationPublisher invalidationPublisher,
+                               long localMaximumSize, Duration localTtl, CacheLoadCoordinator loadCoordinator) {
+        this(remoteCacheManager, invalidationPublisher, localMaximumSize, localTtl, loadCoordinator,
+                RemoteCacheBatch.PER_KEY, HotKeyRecorder.NONE);
+    }
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager, CacheInvalidationPublisher invalidationPublisher,
+                               long localMaximumSize, Duration localTtl, CacheLoadCoordinator loadCoordinator,
+                               RemoteCacheBatch remoteBatch, HotKeyRecorder hotKeys) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+        this.loadCoordinator = loadCoordinator;
+        this.remoteBatch = remoteBatch;
+        this.hotKeys = hotKeys;
+    }
+
+    @Override
+    public TwoTierCache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Routes invalidations for {@code name} to a local tier that is not a {@link TwoTierCache},
+     * such as the node-local copy of an {@link IndexedListCache}.
+     */
+    public void registerLocalTier(String name, LocalCacheTier localTier) {
+        additionalLocalTiers.put(name, localTier);
+        if (localTier instanceof RedisIndexedListCache<?> listCache) {
+            statisticsListeners.forEach(listener -> listener.accept(name, listCache.getStatistics()));
+        }
+    }
+
+    /**
+     * Applies an invalidation received from another node to the local tier.
+     */
+    public void evictLocal(String cacheName, String localKey) {
+        LocalCacheTier localTier = caches.get(cacheName);
+        if (localTier == null) {
+            localTier = additionalLocalTiers.get(cacheName);
+        }
+        if (localTier != null) {
+            localTier.evictLocal(localKey);
+        }
+    }
+
+    public Map<String, CacheTierStatistics.Snapshot> getStatistics() {
+        Map<String, CacheTierStatistics.Snapshot> statistics = new TreeMap<>();
+        forEachStatistics((name, cacheStatistics) -> statistics.put(name, cacheStatistics.snapshot()));
+        return statistics;
+    }
+
+    /**
+     * Calls {@code listener} with the statistics of every cache, now and whenever another cache is created.
+     */
+    public void addStatisticsListener(BiConsumer<String, CacheTierStatistics> listener) {
+        statisticsListeners.add(listener);
+        forEachStatistics(listener);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        addStatisticsListener((name, statistics) -> {
+            registerCounter(registry, "cache.gets", name, statistics, CacheTierStatistics.Snapshot::localHits,
+                    "tier", "local", "result", "hit");
+            registerCounter(registry, "cache.gets", name, statistics, CacheTierStatistics.Snapshot::localMisses,
+                    "tier", "local", "result", "miss");
+            registerCounter(registry, "cache.gets", name, statistics, CacheTierStatistics.Snapshot::remoteHits,
+                    "tier", "remote", "result", "hit");
+            registerCounter(registry, "cache.gets", name, statistics, CacheTierStatistics.Snapshot::remoteMisses,
+                    "tier", "remote", "result", "miss");
+            registerCounter(registry, "cache.evictions", name, statistics, CacheTierStatistics.Snapshot::localEvictions,
+                    "tier", "local", "cause", "size-or-age");
+            registerCounter(registry, "cache.evictions", name, statistics, CacheTierStatistics.Snapshot::evictions,
+                    "tier", "all", "cause", "explicit");
+        });
+    }
+
+    private static void registerCounter(MeterRegistry registry, String meterName, String cacheName,
+                                        CacheTierStatistics statistics,
+                                        ToLongFunction<CacheTierStatistics.Snapshot> counter, String... tags) {
+        FunctionCounter.builder(meterName, statistics, cacheStatistics -> counter.applyAsLong(cacheStatistics.snapshot()))
+                .tag("cache", cacheName)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void forEachStatistics(BiConsumer<String, CacheTierStatistics> action) {
+        caches.forEach((name, cache) -> action.accept(name, cache.getStatistics()));
+        additionalLocalTiers.forEach((name, localTier) -> {
+            if (localTier instanceof RedisIndexedListCache<?> listCache) {
+                action.accept(name, listCache.getStatistics());
+            }
+        });
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            throw new IllegalStateException("No remote cache named '" + name + "'");
+        }
+        CacheTierStatistics statistics = new CacheTierStatistics();
+        com.github.benmanes.caffeine.cache.Cache<String, CachedValue> local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .evictionListener((key, value, cause) -> statistics.localEviction())
+                .build();
+        statisticsListeners.forEach(listener -> listener.accept(name, statistics));
+        return new TwoTierCache(name, local, remote, invalidationPublisher, loadCoordinator, statistics, remoteBatch,
+                hotKeys);
+    }
+}
@@ -0,0 +1,34 @@
+package com.warehouse.backend.common.cache;
+
+import java.util.OptionalLong;
+
+/**
+ * Cluster-wide counter that changes whenever the data it guards changes, so that readers can tell whether
+ * they already have the latest copy without reading the data itself.
+ */
+public interface VersionCounter {
+
+    /**
+     * Never has a version, so every conditional request is answered in full.
+     */
+    VersionCounter NONE = new VersionCounter() {
+        @Override
+        public OptionalLong current() {
+            return OptionalLong.empty();
+        }
+
+        @Override
+        public void increment() {
+        }
+    };
+
+    /**
+     * Returns the current version, or an empty value if it cannot be read right now.
+     */
+    OptionalLong current();
+
+    /**
+     * Moves to a new version, once the surrounding transaction (if any) has committed.
+     */
+    void increment();
+}
@@ -0,0 +1,170 @@
+package com.warehouse.backend.common.cache.codec;
+
+import com.warehouse.backend.common.cache.CachedValue;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis value serializer that encodes values with the registered {@link CacheValueCodec}s instead of
+ * JDK serialization. Lists of codec-backed values are supported natively; any other type is embedded
+ * as a JDK-serialized blob so the {@code @Cacheable} contract stays unchanged.
+ * <p>
+ * Layout: {@code MAGIC FORMAT_VERSION value}, where {@code value} is {@code tag} followed by either
+ * {@code schemaVersion fields} (codec), {@code varint size value*} (list), {@code createdAt expiresAt value}
+ * ({@link CachedValue} envelope) or {@code varint length bytes} (JDK).
+ * Payloads without the magic byte are treated as plain JDK serialization, so entries written before the
+ * switch stay readable until they expire. A payload written with a newer schema than this node knows
+ * (during a rolling deploy) reads as a cache miss.
+ */
+public class BinaryCacheValueSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xCB;
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte TAG_JDK = 0x00;
+    private static final byte TAG_LIST = 0x01;
+    private static final byte TAG_ENVELOPE = 0x02;
+
+    private final Map<Class<?>, CacheValueCodec<?>> codecsByType = new HashMap<>();
+    private final Map<Byte, CacheValueCodec<?>> codecsByTag = new HashMap<>();
+    private final JdkSerializationRedisSerializer fallback = new JdkSerializationRedisSerializer();
+
+    public BinaryCacheValueSerializer(Collection<? extends CacheValueCodec<?>> codecs) {
+        for (CacheValueCodec<?> codec : codecs) {
+            if (codec.typeTag() == TAG_JDK || codec.typeTag() == TAG_LIST || codec.typeTag() == TAG_ENVELOPE) {
+                throw new IllegalArgumentException("Type tag " + codec.typeTag() + " is reserved");
+            }
+            CacheValueCodec<?> previous = codecsByTag.put(codec.typeTag(), codec);
+            if (previous != null) {
+                throw new IllegalArgumentException("Type tag " + codec.typeTag() + " is used by both "
+                        + previous.type().getName() + " and " + codec.type().getName());
+            }
+            codecsByType.put(codec.type(), codec);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            writeValue(value, out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new SerializationException("Cannot serialize " + value.getClass().getName(), ex);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            byte formatVersion = in.readByte();
+            if (formatVersion != FORMAT_VERSION) {
+                return null;
+            }
+            return readValue(in);
+        } catch (NewerSchemaException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new SerializationException("Cannot deserialize cached value", ex);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void writeValue(Object value, DataOutput out) throws IOException {
+        CacheValueCodec codec = codecsByType.get(value.getClass());
+        if (codec != null) {
+            out.writeByte(codec.typeTag());
+            out.writeByte(codec.schemaVersion());
+            codec.write(value, out);
+        } else if (value instanceof CachedValue envelope && envelope.value() != null) {
+            out.writeByte(TAG_ENVELOPE);
+            out.writeLong(envelope.createdAtMillis());
+            out.writeLong(envelope.expiresAtMillis());
+            writeValue(envelope.value(), out);
+        } else if (value instanceof List<?> list && isEncodable(list)) {
+            out.writeByte(TAG_LIST);
+            BinaryFields.writeVarInt(out, list.size());
+            for (Object element : list) {
+                writeValue(element, out);
+            }
+        } else {
+            byte[] serialized = fallback.serialize(value);
+            out.writeByte(TAG_JDK);
+            BinaryFields.writeVarInt(out, serialized.length);
+            out.write(serialized);
+        }
+    }
+
+    private Object readValue(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        if (tag == TAG_LIST) {
+            int size = BinaryFields.readVarInt(in);
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(readValue(in));
+            }
+            return list;
+        }
+        if (tag == TAG_ENVELOPE) {
+            long createdAtMillis = in.readLong();
+            long expiresAtMillis = in.readLong();
+            return new CachedValue(readValue(in), createdAtMillis, expiresAtMillis);
+        }
+        if (tag == TAG_JDK) {
+            byte[] serialized = new byte[BinaryFields.readVarInt(in)];
+            in.readFully(serialized);
+            return fallback.deserialize(serialized);
+        }
+        CacheValueCodec<?> codec = codecsByTag.get(tag);
+        if (codec == null) {
+            throw new SerializationException("No cache codec registered for type tag " + tag);
+        }
+        byte schemaVersion = in.readByte();
+        if (schemaVersion > codec.schemaVersion()) {
+            throw new NewerSchemaException();
+        }
+        return codec.read(in, schemaVersion);
+    }
+
+    private boolean isEncodable(List<?> list) {
+        for (Object element : list) {
+            if (element == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class NewerSchemaException extends RuntimeException {
+        NewerSchemaException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.warehouse.backend.common.cache.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary schema of one cached value type.
+ * <p>
+ * Every encoded value carries its {@link #typeTag()} and the {@link #schemaVersion()} it was written with,
+ * so a codec can keep reading entries written by an older release after its schema gained fields.
+ * Tags must be unique across all registered codecs and must never be reused for another type.
+ */
+public interface CacheValueCodec<T> {
+
+    Class<T> type();
+
+    byte typeTag();
+
+    byte schemaVersion();
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in, byte schemaVersion) throws IOException;
+}
@@ -0,0 +1,112 @@
+package com.warehouse.backend.common.concurrency;
+
+import com.warehouse.backend.common.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how many callers use a shared resource at once. Callers over the limit wait up to the acquire
+ * timeout in a fair queue and are then rejected, so that a flood of virtual threads queues here instead of
+ * piling up inside a connection pool.
+ */
+public class ConcurrencyGovernor implements MeterBinder {
+
+    private final String resource;
+    private final int maxConcurrent;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final AtomicLong rejections = new AtomicLong();
+
+    public ConcurrencyGovernor(String resource, int maxConcurrent, Duration acquireTimeout) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1 for " + resource);
+        }
+        this.resource = resource;
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Waits for a permit.
+     *
+     * @throws ConcurrencyLimitExceededException if none became free within the acquire timeout
+     */
+    public Permit acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejections.incrementAndGet();
+            throw new ConcurrencyLimitExceededException(resource, acquireTimeout);
+        }
+        return new Permit();
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejections() {
+        return rejections.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("concurrency.permits.in.use", this, ConcurrencyGovernor::getInUse)
+                .tag("resource", resource)
+                .register(registry);
+        Gauge.builder("concurrency.permits.waiting", this, ConcurrencyGovernor::getWaiting)
+                .tag("resource", resource)
+                .register(registry);
+        FunctionCounter.builder("concurrency.permits.rejected", this, ConcurrencyGovernor::getRejections)
+                .tag("resource", resource)
+                .register(registry);
+    }
+
+    /**
+     * A held permit. Releasing it more than once has no effect.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+}
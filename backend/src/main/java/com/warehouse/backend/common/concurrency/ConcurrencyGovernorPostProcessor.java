@@ -0,0 +1,39 @@
+package com.warehouse.backend.common.concurrency;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the JDBC and Redis {@link ConcurrencyGovernor}s in front of the application's {@link DataSource} and
+ * {@link RedisConnectionFactory}, so that every repository, template and cache using them is limited.
+ * Only the {@code dataSource} bean is wrapped; pools that it routes to are limited through it, and wrapping
+ * them as well would take two permits for one connection.
+ */
+public class ConcurrencyGovernorPostProcessor implements BeanPostProcessor {
+
+    static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    private final ConcurrencyGovernor jdbcGovernor;
+    private final ConcurrencyGovernor redisGovernor;
+
+    public ConcurrencyGovernorPostProcessor(ConcurrencyGovernor jdbcGovernor, ConcurrencyGovernor redisGovernor) {
+        this.jdbcGovernor = jdbcGovernor;
+        this.redisGovernor = redisGovernor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN_NAME.equals(beanName)) {
+            return new GovernedDataSource(dataSource, jdbcGovernor);
+        }
+        if (bean instanceof RedisConnectionFactory) {
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.addAdvice(new GovernedRedisConnectionInterceptor(redisGovernor));
+            return proxyFactory.getProxy();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,79 @@
+package com.warehouse.backend.common.concurrency;
+
+import com.warehouse.backend.common.exception.ConcurrencyLimitExceededException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * {@link DataSource} that holds a {@link ConcurrencyGovernor} permit from {@code getConnection()} until the
+ * connection is closed, that is, returned to the pool.
+ */
+public class GovernedDataSource extends DelegatingDataSource {
+
+    private final ConcurrencyGovernor governor;
+
+    public GovernedDataSource(DataSource targetDataSource, ConcurrencyGovernor governor) {
+        super(targetDataSource);
+        this.governor = governor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ConcurrencyGovernor.Permit permit = acquire();
+        try {
+            return governed(obtainTargetDataSource().getConnection(), permit);
+        } catch (SQLException | RuntimeException ex) {
+            permit.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ConcurrencyGovernor.Permit permit = acquire();
+        try {
+            return governed(obtainTargetDataSource().getConnection(username, password), permit);
+        } catch (SQLException | RuntimeException ex) {
+            permit.release();
+            throw ex;
+        }
+    }
+
+    public ConcurrencyGovernor getGovernor() {
+        return governor;
+    }
+
+    private ConcurrencyGovernor.Permit acquire() throws SQLException {
+        try {
+            return governor.acquire();
+        } catch (ConcurrencyLimitExceededException ex) {
+            // The same exception type Hikari throws when its own connection timeout expires.
+            throw new SQLTransientConnectionException(ex.getMessage(), ex);
+        }
+    }
+
+    private static Connection governed(Connection connection, ConcurrencyGovernor.Permit permit) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permit.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+}
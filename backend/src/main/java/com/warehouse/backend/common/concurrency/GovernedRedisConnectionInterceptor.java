@@ -0,0 +1,57 @@
+package com.warehouse.backend.common.concurrency;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+
+/**
+ * Applied to a {@link org.springframework.data.redis.connection.RedisConnectionFactory}: every connection it
+ * hands out holds a {@link ConcurrencyGovernor} permit until it is closed. With Lettuce's shared native
+ * connection, opening and closing a connection is what brackets each template operation, so this limits
+ * the number of Redis commands in flight. A connection that subscribes to a channel gives its permit back,
+ * since it stays open for as long as the subscription lives.
+ */
+public class GovernedRedisConnectionInterceptor implements MethodInterceptor {
+
+    private final ConcurrencyGovernor governor;
+
+    public GovernedRedisConnectionInterceptor(ConcurrencyGovernor governor) {
+        this.governor = governor;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!"getConnection".equals(invocation.getMethod().getName())) {
+            return invocation.proceed();
+        }
+        ConcurrencyGovernor.Permit permit = governor.acquire();
+        Object connection;
+        try {
+            connection = invocation.proceed();
+        } catch (Throwable ex) {
+            permit.release();
+            throw ex;
+        }
+        if (!(connection instanceof RedisConnection)) {
+            permit.release();
+            return connection;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(connection);
+        proxyFactory.addAdvice((MethodInterceptor) connectionInvocation -> {
+            String method = connectionInvocation.getMethod().getName();
+            if ("close".equals(method)) {
+                try {
+                    return connectionInvocation.proceed();
+                } finally {
+                    permit.release();
+                }
+            }
+            if ("subscribe".equals(method) || "pSubscribe".equals(method)) {
+                permit.release();
+            }
+            return connectionInvocation.proceed();
+        });
+        return proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,95 @@
+package com.warehouse.backend.common.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs every virtual thread that stays pinned to its carrier thread longer than the threshold, for example
+ * by blocking inside a {@code synchronized} block, together with the stack that pinned it. Listens to the
+ * {@code jdk.VirtualThreadPinned} JFR event in-process, so no recording has to be started by hand.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle, MeterBinder {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        stream = recordingStream;
+        logger.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = stream;
+        stream = null;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jvm.threads.virtual.pinned", pinnedEvents, AtomicLong::get)
+                .description("Virtual threads pinned to their carrier for longer than the reporting threshold")
+                .register(registry);
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        logger.warn("Virtual thread pinned its carrier for {} ms:{}", event.getDuration().toMillis(),
+                format(event.getStackTrace()));
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " no stack trace";
+        }
+        StringBuilder text = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+            RecordedFrame frame = frames.get(i);
+            text.append(System.lineSeparator()).append("\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        if (frames.size() > LOGGED_FRAMES || stackTrace.isTruncated()) {
+            text.append(System.lineSeparator()).append("\t...");
+        }
+        return text.toString();
+    }
+}
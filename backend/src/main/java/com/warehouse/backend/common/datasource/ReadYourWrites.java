@@ -0,0 +1,71 @@
+package com.warehouse.backend.common.datasource;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread's work as having to see the caller's own recent writes, which sends its
+ * read-only transactions to the primary instead of a replica that may lag behind.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Runs {@code work} pinned to the primary and restores the previous state afterwards. For reads whose
+     * result outlives the request, such as cache loads and reloads triggered by an invalidation, which must
+     * not pick up a replica's lagging view of a row that was just changed or deleted. A transaction that
+     * already holds a connection keeps it.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean pinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return work.get();
+        } finally {
+            if (!pinned) {
+                clear();
+            }
+        }
+    }
+
+    /**
+     * {@link #onPrimary(Supplier)} for work that may throw a checked exception.
+     */
+    public static <T> T callOnPrimary(Callable<T> work) throws Exception {
+        boolean pinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return work.call();
+        } finally {
+            if (!pinned) {
+                clear();
+            }
+        }
+    }
+
+    /**
+     * {@link #onPrimary(Supplier)} for work without a result.
+     */
+    public static void runOnPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
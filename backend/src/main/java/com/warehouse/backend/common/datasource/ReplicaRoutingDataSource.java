@@ -0,0 +1,138 @@
+package com.warehouse.backend.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only {@link DataSource} that spreads connections round-robin over the healthy replicas. It falls
+ * back to the primary when the caller is {@linkplain ReadYourWrites pinned to it} or when no replica is
+ * healthy. A replica is taken out when it fails to hand out a connection or fails a health check, and put
+ * back when a later health check passes.
+ * <p>
+ * Meant as the read-only side of a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which only asks for a
+ * connection once it knows whether the transaction is read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadYourWrites.isPinnedToPrimary()) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException ex) {
+                    markDown(replica, ex);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Replica pools are opened with their configured credentials and cannot hand out connections for other
+     * users, so a connection for explicit credentials always comes from the primary.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Validates a connection of every replica and updates its health.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    logger.info("Replica {} is healthy again, routing reads to it", replica.name);
+                }
+            } catch (SQLException ex) {
+                markDown(replica, ex);
+            }
+        }
+    }
+
+    public void startHealthChecks(Duration interval) {
+        healthChecks = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-health-check").daemon().factory());
+        healthChecks.scheduleWithFixedDelay(this::checkHealth, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void markDown(Replica replica, SQLException ex) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("Replica {} is unavailable, routing its reads elsewhere: {}", replica.name, ex.getMessage());
+        }
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.warehouse.backend.common.exception;
+
+import java.time.Duration;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String resource, Duration waited) {
+        super("No " + resource + " capacity became free within " + waited.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,7 @@
+package com.warehouse.backend.common.exception;
+
+public class TooManyIdsException extends RuntimeException {
+    public TooManyIdsException(int requested, int max) {
+        super("At most " + max + " ids can be looked up at once, got " + requested);
+    }
+}
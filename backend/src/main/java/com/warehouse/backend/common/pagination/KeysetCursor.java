@@ -0,0 +1,45 @@
+package com.warehouse.backend.common.pagination;
+
+import com.warehouse.backend.common.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last seen primary key of a keyset page as an opaque, URL-safe cursor.
+ * Clients must treat the value as a token; only this class knows its layout.
+ */
+public final class KeysetCursor {
+
+    private static final String PREFIX = "k1:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Returns the id to continue after, or {@code 0} for a missing cursor (first page).
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            long lastId = Long.parseLong(raw.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return lastId;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.warehouse.backend.common.presentation;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Brotli content coding for streamed responses, which Tomcat's built-in compression does not offer.
+ * Tomcat leaves a response alone once it carries a {@code Content-Encoding}, so callers only set
+ * {@link #CONTENT_CODING} when they wrap the body here; otherwise Tomcat may still gzip it.
+ */
+public final class BrotliEncoding {
+
+    public static final String CONTENT_CODING = "br";
+
+    // Levels above 5 cost far more CPU per byte than they save in transfer for on-the-fly JSON.
+    private static final int QUALITY = 4;
+
+    private BrotliEncoding() {
+    }
+
+    /**
+     * Returns {@code true} if the {@code Accept-Encoding} header allows {@code br} and the native encoder
+     * could be loaded on this platform.
+     */
+    public static boolean isAccepted(String acceptEncoding) {
+        if (acceptEncoding == null || !Brotli4jLoader.isAvailable()) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().toLowerCase(Locale.ROOT).equals(CONTENT_CODING)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Wraps {@code output} in a Brotli encoder; closing the returned stream finishes the encoding and closes
+     * {@code output}.
+     */
+    public static OutputStream wrap(OutputStream output) throws IOException {
+        return new BrotliOutputStream(output, new Encoder.Parameters().setQuality(QUALITY));
+    }
+}
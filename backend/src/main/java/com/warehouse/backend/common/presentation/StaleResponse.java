@@ -0,0 +1,32 @@
+package com.warehouse.backend.common.presentation;
+
+import com.warehouse.backend.common.cache.StaleReads;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 200 responses that say so when the caches answered with an expired entry while reloading it: {@code Age}
+ * carries the age of the oldest such entry and {@code Warning} the RFC 7234 "Response is Stale" code.
+ * Call after the service, on the request thread.
+ */
+public final class StaleResponse {
+
+    public static final String WARNING = "Warning";
+    public static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private StaleResponse() {
+    }
+
+    public static ResponseEntity.BodyBuilder ok() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        OptionalLong ageMillis = StaleReads.oldestAgeMillis();
+        if (ageMillis.isPresent()) {
+            response.header(HttpHeaders.AGE, Long.toString(TimeUnit.MILLISECONDS.toSeconds(ageMillis.getAsLong())))
+                    .header(WARNING, STALE_WARNING);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,29 @@
+package com.warehouse.backend.common.presentation;
+
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.OptionalLong;
+
+/**
+ * ETags derived from a data version rather than from the response body, so a conditional GET can be
+ * answered before the body is loaded. They are weak because the body's bytes depend on the negotiated
+ * content coding, and because Tomcat never compresses a response that carries a strong ETag.
+ */
+public final class VersionETag {
+
+    private VersionETag() {
+    }
+
+    public static String of(long version) {
+        return "W/\"v" + version + "\"";
+    }
+
+    /**
+     * Sets the ETag for {@code version} and returns {@code true} if the request's {@code If-None-Match}
+     * already names it, in which case the response is a 304 and the handler should return {@code null}.
+     * Without a version the request is always answered in full.
+     */
+    public static boolean isNotModified(WebRequest request, OptionalLong version) {
+        return version.isPresent() && request.checkNotModified(of(version.getAsLong()));
+    }
+}
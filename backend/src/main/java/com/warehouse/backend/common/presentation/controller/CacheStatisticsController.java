@@ -0,0 +1,35 @@
+package com.warehouse.backend.common.presentation.controller;
+
+import com.warehouse.backend.common.cache.CacheTierStatistics;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/cache")
+@Tag(name = "Cache API", description = "API for cache diagnostics")
+public class CacheStatisticsController {
+
+    private final TwoTierCacheManager cacheManager;
+
+    public CacheStatisticsController(TwoTierCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get hit/miss counters of the local and Redis tier of every cache on this node")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache statistics found successfully")
+    })
+    public ResponseEntity<Map<String, CacheTierStatistics.Snapshot>> getStatistics() {
+        return ResponseEntity.ok(cacheManager.getStatistics());
+    }
+}
@@ -0,0 +1,159 @@
+package com.warehouse.backend.common.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tells callers of a remote dependency to stop calling it after {@code failureThreshold} consecutive
+ * failures. While the circuit is open no request thread tries the dependency; a background probe does, every
+ * {@code probeInterval}, and the first successful probe closes the circuit and runs the recovery listeners.
+ * <p>
+ * Publishes {@code circuit.open} (1 while open), {@code circuit.openings} and {@code circuit.degraded.time}
+ * (seconds spent open), tagged with the circuit name.
+ */
+public class CircuitBreaker implements MeterBinder, AutoCloseable {
+
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final String name;
+    private final int failureThreshold;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(CLOSED);
+    private final AtomicLong degradedNanos = new AtomicLong();
+    private final AtomicLong openings = new AtomicLong();
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+    private final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    private volatile Runnable probe = () -> {
+    };
+    private ScheduledExecutorService prober;
+
+    public CircuitBreaker(String name, int failureThreshold) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1 for " + name);
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isOpen() {
+        return openedAt.get() != CLOSED;
+    }
+
+    public void recordSuccess() {
+        // Read first: successes are the common case and should not contend on a write.
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    public void recordFailure(Throwable cause) {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && openedAt.compareAndSet(CLOSED, System.nanoTime())) {
+            openings.incrementAndGet();
+            logger.warn("Circuit {} opened after {} consecutive failures, bypassing it until a probe succeeds: {}",
+                    name, failureThreshold, cause.toString());
+        }
+    }
+
+    /**
+     * Sets the call that tests the dependency while the circuit is open; it signals failure by throwing.
+     */
+    public void setProbe(Runnable probe) {
+        this.probe = probe;
+    }
+
+    /**
+     * Runs {@code listener} on the probe thread every time the circuit closes, e.g. to repair what could not
+     * be written while the dependency was down.
+     */
+    public void addRecoveryListener(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    /**
+     * Tries the probe if the circuit is open and closes the circuit when it succeeds.
+     */
+    public void probe() {
+        if (!isOpen()) {
+            return;
+        }
+        try {
+            probe.run();
+        } catch (RuntimeException ex) {
+            logger.debug("Circuit {} probe failed: {}", name, ex.toString());
+            return;
+        }
+        long opened = openedAt.getAndSet(CLOSED);
+        if (opened == CLOSED) {
+            return;
+        }
+        long degraded = System.nanoTime() - opened;
+        degradedNanos.addAndGet(degraded);
+        consecutiveFailures.set(0);
+        logger.info("Circuit {} closed after {} ms", name, TimeUnit.NANOSECONDS.toMillis(degraded));
+        for (Runnable listener : recoveryListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException ex) {
+                logger.warn("Recovery listener of circuit {} failed", name, ex);
+            }
+        }
+    }
+
+    public void startProbing(Duration interval) {
+        prober = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("circuit-probe-" + name).daemon().factory());
+        prober.scheduleWithFixedDelay(this::probe, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public long getOpenings() {
+        return openings.get();
+    }
+
+    /**
+     * Total time the circuit has been open, including the current period.
+     */
+    public Duration getDegradedTime() {
+        long opened = openedAt.get();
+        long current = opened == CLOSED ? 0 : System.nanoTime() - opened;
+        return Duration.ofNanos(degradedNanos.get() + current);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("circuit.open", this, circuitBreaker -> circuitBreaker.isOpen() ? 1 : 0)
+                .tag("circuit", name)
+                .register(registry);
+        FunctionCounter.builder("circuit.openings", this, CircuitBreaker::getOpenings)
+                .tag("circuit", name)
+                .register(registry);
+        FunctionCounter.builder("circuit.degraded.time", this,
+                        circuitBreaker -> circuitBreaker.getDegradedTime().toNanos() / 1e9)
+                .baseUnit("seconds")
+                .tag("circuit", name)
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.warehouse.backend.common.resilience;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.util.Set;
+
+/**
+ * Applied to a {@link org.springframework.data.redis.connection.RedisConnectionFactory}: refuses connections
+ * with a {@link RedisCircuitOpenException} while the {@link CircuitBreaker} is open, and reports the outcome
+ * of every command on the connections it hands out. Only timeouts and connection failures count as
+ * failures; a command Redis rejects proves that Redis is up. Commands queued in a pipeline or a transaction
+ * are not counted until the pipeline or transaction is executed.
+ * <p>
+ * Templates reach most commands through accessors such as {@link RedisConnection#stringCommands()}, so the
+ * objects those return are tracked as well. The accessors themselves, like the connection's other local
+ * calls, do not talk to Redis and count as neither outcome.
+ */
+public class CircuitBreakingRedisConnectionInterceptor implements MethodInterceptor {
+
+    private static final Set<String> LOCAL_METHODS = Set.of("close", "isClosed", "isPipelined", "isQueueing",
+            "isSubscribed", "getSubscription", "getNativeConnection", "getSentinelConnection",
+            "equals", "hashCode", "toString");
+
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakingRedisConnectionInterceptor(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!"getConnection".equals(invocation.getMethod().getName())) {
+            return invocation.proceed();
+        }
+        if (circuitBreaker.isOpen()) {
+            throw new RedisCircuitOpenException(circuitBreaker.getName());
+        }
+        Object connection = track(invocation);
+        if (!(connection instanceof RedisConnection redisConnection)) {
+            return connection;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(connection);
+        proxyFactory.addAdvice((MethodInterceptor) connectionInvocation -> {
+            String method = connectionInvocation.getMethod().getName();
+            if (LOCAL_METHODS.contains(method)) {
+                return connectionInvocation.proceed();
+            }
+            if (method.endsWith("Commands")) {
+                Object commands = connectionInvocation.proceed();
+                return commands == null ? null : trackCommands(commands, redisConnection);
+            }
+            return trackCommand(connectionInvocation, redisConnection);
+        });
+        return proxyFactory.getProxy();
+    }
+
+    private Object trackCommands(Object commands, RedisConnection connection) {
+        ProxyFactory proxyFactory = new ProxyFactory(commands);
+        proxyFactory.addAdvice((MethodInterceptor) commandInvocation ->
+                LOCAL_METHODS.contains(commandInvocation.getMethod().getName())
+                        ? commandInvocation.proceed()
+                        : trackCommand(commandInvocation, connection));
+        return proxyFactory.getProxy();
+    }
+
+    private Object trackCommand(MethodInvocation invocation, RedisConnection connection) throws Throwable {
+        Object result = track(invocation);
+        if (!connection.isPipelined() && !connection.isQueueing()) {
+            circuitBreaker.recordSuccess();
+        }
+        return result;
+    }
+
+    private Object track(MethodInvocation invocation) throws Throwable {
+        try {
+            return invocation.proceed();
+        } catch (DataAccessResourceFailureException | QueryTimeoutException ex) {
+            circuitBreaker.recordFailure(ex);
+            throw ex;
+        }
+    }
+}
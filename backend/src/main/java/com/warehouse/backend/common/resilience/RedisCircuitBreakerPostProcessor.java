@@ -0,0 +1,35 @@
+package com.warehouse.backend.common.resilience;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * Puts the Redis {@link CircuitBreaker} in front of the application's {@link RedisConnectionFactory}, so
+ * that every template, cache and listener using it stops waiting on Redis while the circuit is open. The
+ * breaker's probe pings Redis through the unwrapped factory, which the open circuit does not block.
+ */
+public class RedisCircuitBreakerPostProcessor implements BeanPostProcessor {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public RedisCircuitBreakerPostProcessor(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RedisConnectionFactory connectionFactory) {
+            circuitBreaker.setProbe(() -> {
+                try (RedisConnection connection = connectionFactory.getConnection()) {
+                    connection.ping();
+                }
+            });
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.addAdvice(new CircuitBreakingRedisConnectionInterceptor(circuitBreaker));
+            return proxyFactory.getProxy();
+        }
+        return bean;
+    }
+}
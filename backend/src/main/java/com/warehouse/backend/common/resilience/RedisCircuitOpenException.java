@@ -0,0 +1,20 @@
+package com.warehouse.backend.common.resilience;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+/**
+ * Thrown instead of calling Redis while its {@link CircuitBreaker} is open. Being a
+ * {@link RedisConnectionFailureException}, it takes the same fallback paths as a real outage, only without
+ * waiting for a timeout. Carries no stack trace, since it is thrown on every Redis call during an outage.
+ */
+public class RedisCircuitOpenException extends RedisConnectionFailureException {
+
+    public RedisCircuitOpenException(String circuitName) {
+        super("Circuit " + circuitName + " is open");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
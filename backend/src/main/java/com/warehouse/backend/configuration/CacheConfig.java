@@ -1,23 +1,225 @@
 package com.warehouse.backend.configuration;
 
-import org.springframework.cache.CacheManager;
+import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.common.cache.CacheInvalidationPublisher;
+import com.warehouse.backend.common.cache.CacheLoadCoordinator;
+import com.warehouse.backend.common.cache.CacheLoadLease;
+import com.warehouse.backend.common.cache.CacheWarmUpRunner;
+import com.warehouse.backend.common.cache.CacheWarmer;
+import com.warehouse.backend.common.cache.CachedValue;
+import com.warehouse.backend.common.cache.HotKeyRecorder;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.RedisCacheBatch;
+import com.warehouse.backend.common.cache.RedisCacheInvalidationBus;
+import com.warehouse.backend.common.cache.RedisCacheLoadLease;
+import com.warehouse.backend.common.cache.RedisHotKeyTracker;
+import com.warehouse.backend.common.cache.RedisIndexedListCache;
+import com.warehouse.backend.common.cache.RedisVersionCounter;
+import com.warehouse.backend.common.cache.ResilientCacheBatch;
+import com.warehouse.backend.common.cache.ResilientCacheManager;
+import com.warehouse.backend.common.cache.StaleReadsFilter;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.common.cache.codec.BinaryCacheValueSerializer;
+import com.warehouse.backend.common.cache.codec.CacheValueCodec;
+import com.warehouse.backend.common.resilience.CircuitBreaker;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                            RedisTemplate<String, byte[]> cacheRedisTemplate,
+                                            RedisSerializer<Object> cacheValueSerializer,
+                                            CacheInvalidationPublisher cacheInvalidationPublisher,
+                                            CacheLoadCoordinator cacheLoadCoordinator,
+                                            HotKeyRecorder hotKeyRecorder,
+                                            CircuitBreaker redisCircuitBreaker,
+                                            @Value("${cache.local.maximum-size:10000}") long localMaximumSize,
+                                            @Value("${cache.local.ttl:30s}") Duration localTtl) {
         RedisCacheConfiguration redisCashConfiguration = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(5)).disableCachingNullValues();
-        return RedisCacheManager.builder(redisConnectionFactory).cacheDefaults(redisCashConfiguration).build();
+                .entryTtl((key, value) -> value instanceof CachedValue entry
+                        ? cacheLoadCoordinator.remainingTtl(entry) : cacheLoadCoordinator.nextTtl())
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(redisCashConfiguration).build();
+        return new TwoTierCacheManager(new ResilientCacheManager(redisCacheManager, redisCircuitBreaker),
+                cacheInvalidationPublisher, localMaximumSize, localTtl, cacheLoadCoordinator,
+                new ResilientCacheBatch(new RedisCacheBatch(cacheRedisTemplate, cacheValueSerializer, cacheLoadCoordinator)),
+                hotKeyRecorder);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "cache.hot-keys.enabled", matchIfMissing = true)
+    public RedisHotKeyTracker hotKeyTracker(StringRedisTemplate stringRedisTemplate,
+                                            @Value("${cache.hot-keys.caches:productById,categoryById}") Set<String> caches,
+                                            @Value("${cache.hot-keys.max-tracked:5000}") int maxTracked,
+                                            @Value("${cache.hot-keys.retention:7d}") Duration retention) {
+        return new RedisHotKeyTracker(stringRedisTemplate, caches, maxTracked, retention);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "cache.hot-keys.enabled", havingValue = "false")
+    public HotKeyRecorder noopHotKeyRecorder() {
+        return HotKeyRecorder.NONE;
+    }
+
+    /**
+     * Never takes more than half of the primary connection pool, which the scheduled jobs share during the
+     * warm-up.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "cache.warm-up.enabled", matchIfMissing = true)
+    public CacheWarmUpRunner cacheWarmUpRunner(List<CacheWarmer> cacheWarmers,
+                                               @Value("${cache.warm-up.parallelism:4}") int parallelism,
+                                               @Value("${cache.warm-up.timeout:60s}") Duration timeout,
+                                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        return new CacheWarmUpRunner(cacheWarmers, Math.max(1, Math.min(parallelism, poolSize / 2)), timeout);
+    }
+
+    @Bean
+    public CacheLoadCoordinator cacheLoadCoordinator(CacheLoadLease cacheLoadLease,
+                                                     @Value("${cache.ttl:5m}") Duration ttl,
+                                                     @Value("${cache.ttl-jitter:0.1}") double ttlJitter,
+                                                     @Value("${cache.load.lease-ttl:5s}") Duration leaseTtl,
+                                                     @Value("${cache.load.wait:3s}") Duration leaseWait,
+                                                     @Value("${cache.load.poll-interval:50ms}") Duration pollInterval,
+                                                     @Value("${cache.refresh-ahead.ratio:0}") double refreshAheadRatio,
+                                                     @Value("${cache.refresh-ahead.threads:2}") int refreshThreads,
+                                                     @Value("${cache.stale-grace:0s}") Duration staleGrace) {
+        // Not exposed as a bean: an Executor bean would replace Boot's applicationTaskExecutor.
+        ThreadPoolTaskExecutor refreshExecutor = new ThreadPoolTaskExecutor();
+        refreshExecutor.setThreadNamePrefix("cache-refresh-");
+        refreshExecutor.setCorePoolSize(refreshThreads);
+        refreshExecutor.setMaxPoolSize(refreshThreads);
+        refreshExecutor.setQueueCapacity(100);
+        refreshExecutor.setDaemon(true);
+        refreshExecutor.initialize();
+        return new CacheLoadCoordinator(cacheLoadLease, leaseTtl, leaseWait, pollInterval, ttl, ttlJitter,
+                refreshAheadRatio, staleGrace, refreshExecutor);
+    }
+
+    @Bean
+    public StaleReadsFilter staleReadsFilter() {
+        return new StaleReadsFilter();
+    }
+
+    @Bean
+    public CacheLoadLease cacheLoadLease(StringRedisTemplate stringRedisTemplate) {
+        return new RedisCacheLoadLease(stringRedisTemplate);
+    }
+
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    @Bean
+    public IndexedListCache<ProductDto> productListCache(RedisTemplate<String, byte[]> cacheRedisTemplate,
+                                                         RedisSerializer<Object> cacheValueSerializer,
+                                                         CacheInvalidationPublisher cacheInvalidationPublisher,
+                                                         CacheLoadCoordinator cacheLoadCoordinator,
+                                                         TwoTierCacheManager cacheManager,
+                                                         @Value("${cache.local.ttl:30s}") Duration localTtl) {
+        return registerListCache(new RedisIndexedListCache<>("allProducts", ProductDto.class, ProductDto::getId,
+                cacheRedisTemplate, cacheValueSerializer, cacheInvalidationPublisher, cacheLoadCoordinator, localTtl),
+                cacheManager);
+    }
+
+    @Bean
+    public IndexedListCache<CategoryDto> categoryListCache(RedisTemplate<String, byte[]> cacheRedisTemplate,
+                                                           RedisSerializer<Object> cacheValueSerializer,
+                                                           CacheInvalidationPublisher cacheInvalidationPublisher,
+                                                           CacheLoadCoordinator cacheLoadCoordinator,
+                                                           TwoTierCacheManager cacheManager,
+                                                           @Value("${cache.local.ttl:30s}") Duration localTtl) {
+        return registerListCache(new RedisIndexedListCache<>("allCategories", CategoryDto.class, CategoryDto::getId,
+                cacheRedisTemplate, cacheValueSerializer, cacheInvalidationPublisher, cacheLoadCoordinator, localTtl),
+                cacheManager);
+    }
+
+    /**
+     * Changed by every product and category write; the catalog endpoints derive their ETags from it.
+     */
+    @Bean
+    public VersionCounter catalogVersion(StringRedisTemplate stringRedisTemplate,
+                                         CacheInvalidationPublisher cacheInvalidationPublisher,
+                                         TwoTierCacheManager cacheManager,
+                                         @Value("${cache.local.ttl:30s}") Duration localTtl) {
+        RedisVersionCounter catalogVersion = new RedisVersionCounter("catalog", stringRedisTemplate,
+                cacheInvalidationPublisher, localTtl);
+        cacheManager.registerLocalTier(catalogVersion.getName(), catalogVersion);
+        return catalogVersion;
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "cache.serializer", havingValue = "binary", matchIfMissing = true)
+    public RedisSerializer<Object> cacheValueSerializer(List<CacheValueCodec<?>> cacheValueCodecs) {
+        return new BinaryCacheValueSerializer(cacheValueCodecs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "cache.serializer", havingValue = "jdk")
+    public RedisSerializer<Object> jdkCacheValueSerializer() {
+        return new JdkSerializationRedisSerializer();
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "cache.invalidation.enabled", matchIfMissing = true)
+    public RedisCacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+        return new RedisCacheInvalidationBus(stringRedisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "cache.invalidation.enabled", havingValue = "false")
+    public CacheInvalidationPublisher noopCacheInvalidationPublisher() {
+        return CacheInvalidationPublisher.NOOP;
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "cache.invalidation.enabled", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            RedisCacheInvalidationBus cacheInvalidationBus,
+                                                                            TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener((message, pattern) -> cacheInvalidationBus.onMessage(message, cacheManager),
+                new ChannelTopic(RedisCacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    private static <T> IndexedListCache<T> registerListCache(RedisIndexedListCache<T> listCache,
+                                                             TwoTierCacheManager cacheManager) {
+        cacheManager.registerLocalTier(listCache.getName(), listCache);
+        return listCache;
     }
 }
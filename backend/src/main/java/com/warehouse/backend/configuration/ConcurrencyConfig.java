@@ -0,0 +1,50 @@
+package com.warehouse.backend.configuration;
+
+import com.warehouse.backend.common.concurrency.ConcurrencyGovernor;
+import com.warehouse.backend.common.concurrency.ConcurrencyGovernorPostProcessor;
+import com.warehouse.backend.common.concurrency.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode, switched on with {@code spring.threads.virtual.enabled=true}. Tomcat then
+ * serves each request on its own virtual thread, which no longer caps concurrency, so the JDBC pool and Redis
+ * get a governor of their own.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyConfig {
+
+    @Bean
+    public static ConcurrencyGovernor jdbcConcurrencyGovernor(
+            @Value("${concurrency.jdbc.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${concurrency.jdbc.acquire-timeout:5s}") Duration acquireTimeout) {
+        return new ConcurrencyGovernor("database connection", maxConcurrent, acquireTimeout);
+    }
+
+    @Bean
+    public static ConcurrencyGovernor redisConcurrencyGovernor(
+            @Value("${concurrency.redis.max-concurrent:64}") int maxConcurrent,
+            @Value("${concurrency.redis.acquire-timeout:1s}") Duration acquireTimeout) {
+        return new ConcurrencyGovernor("Redis", maxConcurrent, acquireTimeout);
+    }
+
+    @Bean
+    public static ConcurrencyGovernorPostProcessor concurrencyGovernorPostProcessor(
+            ConcurrencyGovernor jdbcConcurrencyGovernor, ConcurrencyGovernor redisConcurrencyGovernor) {
+        return new ConcurrencyGovernorPostProcessor(jdbcConcurrencyGovernor, redisConcurrencyGovernor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "concurrency.pinning-monitor.enabled", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${concurrency.pinning-monitor.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
@@ -0,0 +1,43 @@
+package com.warehouse.backend.configuration;
+
+import com.warehouse.backend.product.application.port.output.ProductStreamRepository;
+import com.warehouse.backend.product.infrastructure.repository.JdbcProductStreamRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Connection pool of {@code /product/stream}, separate from the application's DataSource so that cursor
+ * fetch, switched on by {@code datasource.stream.cursor-fetch}, applies to nothing else. It connects to the
+ * primary configured by {@code spring.datasource.*}, so a streamed catalog is as current as the catalog
+ * version sent with it. The pool is not a bean, which would stop Boot from configuring the main DataSource.
+ */
+@Configuration
+public class ProductStreamConfig {
+
+    @Bean
+    public ProductStreamRepository productStreamRepository(
+            DataSourceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${datasource.stream.cursor-fetch:false}") boolean cursorFetch,
+            @Value("${datasource.stream.maximum-pool-size:4}") int maximumPoolSize,
+            @Value("${datasource.stream.connection-timeout:5s}") Duration connectionTimeout) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("stream");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        if (cursorFetch) {
+            dataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+        return new JdbcProductStreamRepository(dataSource);
+    }
+}
@@ -0,0 +1,95 @@
+package com.warehouse.backend.configuration;
+
+import com.warehouse.backend.common.datasource.ReadYourWritesFilter;
+import com.warehouse.backend.common.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting, switched on by listing replica JDBC URLs in {@code datasource.replica.urls}.
+ * Read-only transactions run on a replica and everything else on the primary configured by
+ * {@code spring.datasource.*}, whose {@code spring.datasource.hikari.*} settings still apply.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replica.connection-timeout:2s}") Duration connectionTimeout,
+            @Value("${datasource.replica.health-check-interval:5s}") Duration healthCheckInterval) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // Same driver settings as the primary.
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            // A replica that is down, at startup or later, fails fast and is marked unhealthy instead of
+            // failing the pool or holding up reads for Hikari's default 30 seconds.
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            // Not beans, so Boot does not bind their pool metrics itself.
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(new ReplicaRoutingDataSource.Replica(replica.getPoolName(), replica));
+        }
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas);
+        routingDataSource.checkHealth();
+        routingDataSource.startHealthChecks(healthCheckInterval);
+        return routingDataSource;
+    }
+
+    /**
+     * The application's DataSource. Connections are only fetched when the first statement runs, by which
+     * time the transaction manager has flagged read-only transactions.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${datasource.read-your-writes.window:5s}") Duration window) {
+        return new ReadYourWritesFilter(window, Clock.systemUTC());
+    }
+}
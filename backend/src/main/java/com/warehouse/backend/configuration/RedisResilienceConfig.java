@@ -0,0 +1,33 @@
+package com.warehouse.backend.configuration;
+
+import com.warehouse.backend.common.resilience.CircuitBreaker;
+import com.warehouse.backend.common.resilience.RedisCircuitBreakerPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Keeps a slow or unreachable Redis from slowing the API down. {@code spring.data.redis.timeout} bounds
+ * every command; after {@code redis.circuit-breaker.failure-threshold} timeouts or connection failures in a
+ * row, Redis is not called at all until a background ping succeeds, and the caches fall through to the
+ * database meanwhile.
+ */
+@Configuration
+public class RedisResilienceConfig {
+
+    @Bean
+    public static CircuitBreaker redisCircuitBreaker(
+            @Value("${redis.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${redis.circuit-breaker.probe-interval:1s}") Duration probeInterval) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("redis", failureThreshold);
+        circuitBreaker.startProbing(probeInterval);
+        return circuitBreaker;
+    }
+
+    @Bean
+    public static RedisCircuitBreakerPostProcessor redisCircuitBreakerPostProcessor(CircuitBreaker redisCircuitBreaker) {
+        return new RedisCircuitBreakerPostProcessor(redisCircuitBreaker);
+    }
+}
@@ -0,0 +1,12 @@
+package com.warehouse.backend.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs {@code @Scheduled} background jobs, such as the change feed relay, on Spring's task scheduler.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,23 @@
+package com.warehouse.backend.configuration;
+
+import com.warehouse.backend.stock.domain.repository.StockDeltaJournal;
+import com.warehouse.backend.stock.infrastructure.journal.FileStockDeltaJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Journal of the scanner stock ingest. The directory must be on storage that outlives the process and must
+ * not be shared between nodes; each node replays its own journal when it starts.
+ */
+@Configuration
+public class StockIngestConfig {
+
+    @Bean
+    public StockDeltaJournal stockDeltaJournal(@Value("${stock.ingest.journal.dir:data/stock-journal}") Path directory,
+                                               @Value("${stock.ingest.journal.fsync:false}") boolean fsync) {
+        return new FileStockDeltaJournal(directory, fsync);
+    }
+}
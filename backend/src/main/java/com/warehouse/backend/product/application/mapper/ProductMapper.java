@@ -2,7 +2,9 @@ package com.warehouse.backend.product.application.mapper;
 
 import com.warehouse.backend.product.application.port.input.CreateProductRequest;
 import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductSearchResultDto;
 import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.model.ProductSearchHit;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -14,5 +16,16 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "nameKey", ignore = true)
     Product createProductRequestToProduct(CreateProductRequest request);
+
+    /**
+     * Detached product for the search index, which reads the catalog through the DTO projection.
+     */
+    @Mapping(target = "nameKey", ignore = true)
+    @Mapping(target = "category.nameKey", ignore = true)
+    Product productDtoToProduct(ProductDto productDto);
+
+    @Mapping(target = "id", source = "productId")
+    ProductSearchResultDto productSearchHitToProductSearchResultDto(ProductSearchHit hit);
 }
@@ -0,0 +1,20 @@
+package com.warehouse.backend.product.application.port.input;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One product of a bulk import. The category is given either by id or by name.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkProductRow {
+    private String name;
+    private String description;
+    private Long categoryId;
+    private String categoryName;
+}
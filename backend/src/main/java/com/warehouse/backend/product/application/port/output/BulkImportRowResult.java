@@ -0,0 +1,29 @@
+package com.warehouse.backend.product.application.port.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportRowResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        CATEGORY_NOT_FOUND
+    }
+
+    /**
+     * 1-based position of the row in the upload, not counting a CSV header.
+     */
+    private long row;
+    private String name;
+    private Status status;
+    private Long id;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.warehouse.backend.product.application.port.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportSummary {
+    private long created;
+    private long rejected;
+
+    /**
+     * Why the import stopped before the end of the upload, {@code null} if every row was read.
+     */
+    private String error;
+}
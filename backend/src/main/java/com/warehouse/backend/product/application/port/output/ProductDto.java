@@ -19,4 +19,12 @@ public class ProductDto implements Serializable {
     private String description;
     private CategoryDto category;
     private LocalDateTime createdDate;
+
+    /**
+     * Flat constructor for JPQL constructor expressions, which cannot nest {@code new}.
+     */
+    public ProductDto(Long id, String name, String description, Long categoryId, String categoryName,
+                      String categoryDescription, LocalDateTime createdDate) {
+        this(id, name, description, new CategoryDto(categoryId, categoryName, categoryDescription), createdDate);
+    }
 }
@@ -0,0 +1,32 @@
+package com.warehouse.backend.product.application.port.output;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read side of the catalog: one joined select straight into the response DTO, without managed entities.
+ * Writes and the checks that guard them go through
+ * {@link com.warehouse.backend.product.domain.repository.ProductRepository}.
+ */
+public interface ProductReadRepository {
+
+    List<ProductDto> getAllProductDtos();
+
+    /**
+     * Keyset page ordered by id: up to {@code limit} products whose id is greater than {@code afterId}.
+     */
+    List<ProductDto> getProductDtosAfter(long afterId, int limit);
+
+    Optional<ProductDto> getProductDtoById(Long id);
+
+    /**
+     * Products with any of {@code ids}, in no particular order; unknown ids are skipped.
+     */
+    List<ProductDto> getProductDtosByIds(Collection<Long> ids);
+
+    /**
+     * Products of one category, ordered by id.
+     */
+    List<ProductDto> getProductDtosByCategoryId(Long categoryId);
+}
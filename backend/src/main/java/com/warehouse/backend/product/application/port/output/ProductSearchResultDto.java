@@ -0,0 +1,18 @@
+package com.warehouse.backend.product.application.port.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchResultDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Long categoryId;
+    private float score;
+}
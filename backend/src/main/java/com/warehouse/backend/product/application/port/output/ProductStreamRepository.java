@@ -0,0 +1,16 @@
+package com.warehouse.backend.product.application.port.output;
+
+import java.util.function.Consumer;
+
+/**
+ * Read of the whole catalog row by row, for responses too large to build in memory.
+ */
+public interface ProductStreamRepository {
+
+    /**
+     * Hands every product to {@code sink} in id order as it is read from a database cursor.
+     *
+     * @return the number of products read
+     */
+    long streamAllProductDtos(Consumer<ProductDto> sink);
+}
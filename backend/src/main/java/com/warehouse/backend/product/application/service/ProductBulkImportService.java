@@ -0,0 +1,246 @@
+package com.warehouse.backend.product.application.service;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.category.domain.repository.CategoryRepository;
+import com.warehouse.backend.changefeed.application.service.ChangeEventRecorder;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.product.application.mapper.ProductMapper;
+import com.warehouse.backend.product.application.port.input.BulkProductRow;
+import com.warehouse.backend.product.application.port.output.BulkImportRowResult;
+import com.warehouse.backend.product.application.port.output.BulkImportSummary;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.domain.exception.InvalidBulkImportException;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.repository.ProductBulkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Imports products in chunks of {@link #CHUNK_SIZE} rows. Each chunk costs one query for duplicate names,
+ * one JDBC batch insert, one batch of change events and one transaction; categories are resolved from a map loaded once per import.
+ * Only the current chunk is held in memory, and its results are handed to the caller as soon as it commits.
+ * A malformed record stops the import; the rows before it are still imported and the summary carries the error.
+ */
+@Service
+public class ProductBulkImportService {
+
+    public static final int CHUNK_SIZE = 1000;
+    // Column sizes of products, which MySQL counts in characters, that is code points.
+    private static final int MAX_NAME_LENGTH = 150;
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private final ProductBulkRepository productBulkRepository;
+    private final CategoryRepository categoryRepository;
+    private final IndexedListCache<ProductDto> productListCache;
+    private final ProductSearchService productSearchService;
+    private final VersionCounter catalogVersion;
+    private final ChangeEventRecorder changeEventRecorder;
+    private final ProductMapper productMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger = LoggerFactory.getLogger(ProductBulkImportService.class);
+
+    public ProductBulkImportService(ProductBulkRepository productBulkRepository, CategoryRepository categoryRepository,
+                                    IndexedListCache<ProductDto> productListCache,
+                                    ProductSearchService productSearchService, VersionCounter catalogVersion,
+                                    ChangeEventRecorder changeEventRecorder, ProductMapper productMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.productBulkRepository = productBulkRepository;
+        this.categoryRepository = categoryRepository;
+        this.productListCache = productListCache;
+        this.productSearchService = productSearchService;
+        this.catalogVersion = catalogVersion;
+        this.changeEventRecorder = changeEventRecorder;
+        this.productMapper = productMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkImportSummary importProducts(Iterator<BulkProductRow> rows, Consumer<BulkImportRowResult> results) {
+        logger.info("Starting bulk product import");
+        CategoryLookup categories = new CategoryLookup(categoryRepository.getAllCategories());
+        BulkImportSummary summary = new BulkImportSummary();
+        List<BulkProductRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        long rowNumber = 0;
+        try {
+            while (true) {
+                BulkProductRow row;
+                try {
+                    if (!rows.hasNext()) {
+                        break;
+                    }
+                    row = rows.next();
+                } catch (InvalidBulkImportException ex) {
+                    logger.warn("Stopping bulk product import after row {}: {}", rowNumber + chunk.size(), ex.getMessage());
+                    summary.setError(ex.getMessage());
+                    break;
+                }
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, rowNumber, categories, summary, results);
+                    rowNumber += chunk.size();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, rowNumber, categories, summary, results);
+            }
+        } finally {
+            if (summary.getCreated() > 0) {
+                // One reload of the cached list is cheaper than patching it once per imported row.
+                productListCache.clear();
+            }
+            logger.info("Bulk product import finished: {} created, {} rejected", summary.getCreated(), summary.getRejected());
+        }
+        return summary;
+    }
+
+    private void importChunk(List<BulkProductRow> chunk, long firstRowNumber, CategoryLookup categories,
+                             BulkImportSummary summary, Consumer<BulkImportRowResult> results) {
+        BulkImportRowResult[] chunkResults = new BulkImportRowResult[chunk.size()];
+        List<Product> candidates = new ArrayList<>(chunk.size());
+        List<Integer> candidatePositions = new ArrayList<>(chunk.size());
+        Set<String> namesInChunk = new HashSet<>(chunk.size() * 2);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkProductRow row = chunk.get(i);
+            long rowNumber = firstRowNumber + i + 1;
+            String name = row.getName() == null ? null : row.getName().trim();
+            if (name == null || name.isEmpty()) {
+                chunkResults[i] = rejected(rowNumber, name, BulkImportRowResult.Status.INVALID, "Product name is required");
+                continue;
+            }
+            if (name.codePointCount(0, name.length()) > MAX_NAME_LENGTH) {
+                chunkResults[i] = rejected(rowNumber, name, BulkImportRowResult.Status.INVALID,
+                        "Product name is longer than " + MAX_NAME_LENGTH + " characters");
+                continue;
+            }
+            String description = row.getDescription();
+            if (description != null && description.codePointCount(0, description.length()) > MAX_DESCRIPTION_LENGTH) {
+                chunkResults[i] = rejected(rowNumber, name, BulkImportRowResult.Status.INVALID,
+                        "Product description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+                continue;
+            }
+            Category category = categories.resolve(row);
+            if (category == null) {
+                chunkResults[i] = rejected(rowNumber, name, BulkImportRowResult.Status.CATEGORY_NOT_FOUND,
+                        "Category not found");
+                continue;
+            }
+            if (!namesInChunk.add(name.toLowerCase(Locale.ROOT))) {
+                chunkResults[i] = rejected(rowNumber, name, BulkImportRowResult.Status.DUPLICATE,
+                        "Product with name '" + name + "' appears earlier in the upload");
+                continue;
+            }
+            candidates.add(Product.builder()
+                    .name(name)
+                    .description(description)
+                    .category(category)
+                    .createdDate(LocalDateTime.now())
+                    .build());
+            candidatePositions.add(i);
+        }
+
+        List<Product> inserted;
+        try {
+            inserted = insertChunk(candidates, candidatePositions, namesInChunk, firstRowNumber, chunkResults);
+        } catch (DuplicateKeyException ex) {
+            // A product with one of these names was created after the duplicate check; check again. Any other
+            // integrity violation would fail the retry the same way, so it ends the import instead.
+            logger.info("Duplicate name inserted concurrently into chunk starting at row {}, retrying", firstRowNumber + 1);
+            inserted = insertChunk(candidates, candidatePositions, namesInChunk, firstRowNumber, chunkResults);
+        }
+        productSearchService.productsImported(inserted);
+        if (!inserted.isEmpty()) {
+            // Per chunk rather than per import: pollers must not keep a 304 while committed chunks show up.
+            catalogVersion.increment();
+        }
+
+        for (BulkImportRowResult result : chunkResults) {
+            if (result.getStatus() == BulkImportRowResult.Status.CREATED) {
+                summary.setCreated(summary.getCreated() + 1);
+            } else {
+                summary.setRejected(summary.getRejected() + 1);
+            }
+            results.accept(result);
+        }
+        logger.debug("Imported chunk starting at row {}", firstRowNumber + 1);
+    }
+
+    private List<Product> insertChunk(List<Product> candidates, List<Integer> candidatePositions,
+                                      Set<String> namesInChunk, long firstRowNumber,
+                                      BulkImportRowResult[] chunkResults) {
+        return transactionTemplate.execute(status -> {
+            // Earlier chunks are committed, so this also catches duplicates across chunks.
+            Set<String> existingNames = productBulkRepository.findExistingNames(namesInChunk);
+            List<Product> inserts = new ArrayList<>(candidates.size());
+            List<Integer> insertPositions = new ArrayList<>(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                Product product = candidates.get(i);
+                int position = candidatePositions.get(i);
+                if (existingNames.contains(product.getName().toLowerCase(Locale.ROOT))) {
+                    chunkResults[position] = rejected(firstRowNumber + position + 1, product.getName(),
+                            BulkImportRowResult.Status.DUPLICATE,
+                            "Product with name '" + product.getName() + "' already exists");
+                } else {
+                    inserts.add(product);
+                    insertPositions.add(position);
+                }
+            }
+            productBulkRepository.insertAll(inserts);
+            changeEventRecorder.recordAll(AggregateType.PRODUCT, ChangeType.CREATED,
+                    inserts.stream().map(productMapper::productToProductDto).toList(), ProductDto::getId);
+            for (int i = 0; i < inserts.size(); i++) {
+                Product product = inserts.get(i);
+                int position = insertPositions.get(i);
+                chunkResults[position] = new BulkImportRowResult(firstRowNumber + position + 1, product.getName(),
+                        BulkImportRowResult.Status.CREATED, product.getId(), null);
+            }
+            return inserts;
+        });
+    }
+
+    private static BulkImportRowResult rejected(long rowNumber, String name, BulkImportRowResult.Status status,
+                                                String message) {
+        return new BulkImportRowResult(rowNumber, name, status, null, message);
+    }
+
+    private static final class CategoryLookup {
+
+        private final Map<Long, Category> byId = new HashMap<>();
+        private final Map<String, Category> byName = new HashMap<>();
+
+        CategoryLookup(List<Category> categories) {
+            for (Category category : categories) {
+                byId.put(category.getId(), category);
+                byName.put(category.getName().toLowerCase(Locale.ROOT), category);
+            }
+        }
+
+        Category resolve(BulkProductRow row) {
+            if (row.getCategoryId() != null) {
+                return byId.get(row.getCategoryId());
+            }
+            if (row.getCategoryName() != null) {
+                return byName.get(row.getCategoryName().trim().toLowerCase(Locale.ROOT));
+            }
+            return null;
+        }
+    }
+}
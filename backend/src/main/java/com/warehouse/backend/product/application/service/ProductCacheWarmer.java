@@ -0,0 +1,38 @@
+package com.warehouse.backend.product.application.service;
+
+import com.warehouse.backend.common.cache.CacheWarmer;
+import com.warehouse.backend.common.cache.HotKeyRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the product list and the most read products of the cluster, in batches of
+ * {@link ProductService#MAX_BATCH_SIZE}.
+ */
+@Component
+public class ProductCacheWarmer implements CacheWarmer {
+
+    private final ProductService productService;
+    private final HotKeyRecorder hotKeys;
+    private final int topN;
+
+    public ProductCacheWarmer(ProductService productService, HotKeyRecorder hotKeys,
+                              @Value("${cache.warm-up.top-n:1000}") int topN) {
+        this.productService = productService;
+        this.hotKeys = hotKeys;
+        this.topN = topN;
+    }
+
+    @Override
+    public List<Runnable> warmUpTasks() {
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(productService::getAllProducts);
+        for (List<Long> ids : CacheWarmer.idBatches(hotKeys.getHotKeys("productById", topN), ProductService.MAX_BATCH_SIZE)) {
+            tasks.add(() -> productService.getProductsByIds(ids));
+        }
+        return tasks;
+    }
+}
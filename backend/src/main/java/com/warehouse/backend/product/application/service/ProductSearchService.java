@@ -0,0 +1,226 @@
+package com.warehouse.backend.product.application.service;
+
+import com.warehouse.backend.common.cache.CacheInvalidationPublisher;
+import com.warehouse.backend.common.cache.LocalCacheTier;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.common.datasource.ReadYourWrites;
+import com.warehouse.backend.common.transaction.AfterCommit;
+import com.warehouse.backend.product.application.mapper.ProductMapper;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
+import com.warehouse.backend.product.application.port.output.ProductSearchResultDto;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.repository.ProductSearchIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Answers product searches from the in-memory {@link ProductSearchIndex} instead of the database.
+ * The index is loaded once the application is ready and then follows product writes: writes made here
+ * are applied after their transaction commits and announced on the cache invalidation channel, where
+ * the other nodes pick them up as if the index were one more local cache tier.
+ * <p>
+ * A rebuild pages through the database while changes keep being applied. The ids changed meanwhile are
+ * remembered, and the rebuild leaves them alone: a page read before a product was deleted or updated must
+ * not bring back the old version.
+ */
+@Service
+public class ProductSearchService implements LocalCacheTier {
+
+    public static final String INDEX_NAME = "productSearch";
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    static final int REBUILD_PAGE_SIZE = 1000;
+    private static final String ID_SEPARATOR = ",";
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductReadRepository productReadRepository;
+    private final ProductMapper productMapper;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+            .name("product-search-rebuild").daemon().factory());
+    // Guards changedDuringRebuild, so that a change is either seen by the rebuild's next page or applied after it.
+    private final Object changeLock = new Object();
+    private Set<Long> changedDuringRebuild;
+    private final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+
+    public ProductSearchService(ProductSearchIndex productSearchIndex, ProductReadRepository productReadRepository,
+                                ProductMapper productMapper, CacheInvalidationPublisher invalidationPublisher,
+                                TwoTierCacheManager cacheManager) {
+        this.productSearchIndex = productSearchIndex;
+        this.productReadRepository = productReadRepository;
+        this.productMapper = productMapper;
+        this.invalidationPublisher = invalidationPublisher;
+        cacheManager.registerLocalTier(INDEX_NAME, this);
+    }
+
+    public List<ProductSearchResultDto> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int maxHits = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        logger.debug("Searching products for '{}', limit: {}", query, maxHits);
+        return productSearchIndex.search(query, maxHits).stream()
+                .map(productMapper::productSearchHitToProductSearchResultDto)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildIndex() {
+        logger.info("Building product search index");
+        long generation;
+        synchronized (changeLock) {
+            // Together, so that a change is either written in the new generation or kept from the pages.
+            generation = productSearchIndex.beginRebuild();
+            changedDuringRebuild = new HashSet<>();
+        }
+        try {
+            long afterId = 0;
+            List<ProductDto> page;
+            do {
+                page = productReadRepository.getProductDtosAfter(afterId, REBUILD_PAGE_SIZE);
+                upsertUnchanged(page);
+                if (!page.isEmpty()) {
+                    afterId = page.getLast().getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            productSearchIndex.finishRebuild(generation);
+        } finally {
+            synchronized (changeLock) {
+                changedDuringRebuild = null;
+            }
+        }
+        logger.info("Product search index built with {} products", productSearchIndex.size());
+    }
+
+    public void productSaved(Product product) {
+        AfterCommit.run(() -> {
+            upsert(List.of(product));
+            invalidationPublisher.publish(INDEX_NAME, String.valueOf(product.getId()));
+        });
+    }
+
+    public void productDeleted(Long id) {
+        AfterCommit.run(() -> {
+            remove(id);
+            invalidationPublisher.publish(INDEX_NAME, String.valueOf(id));
+        });
+    }
+
+    /**
+     * Indexes products that were already committed by a bulk import, and tells the other nodes their ids in
+     * one message, so that each reads back only these products.
+     */
+    public void productsImported(Collection<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        upsert(products);
+        invalidationPublisher.publish(INDEX_NAME, products.stream()
+                .map(product -> String.valueOf(product.getId()))
+                .collect(Collectors.joining(ID_SEPARATOR)));
+    }
+
+    /**
+     * Applies product changes made on another node by reading the products back from the database. The key
+     * holds one id, or the comma-separated ids of an imported chunk.
+     */
+    @Override
+    public void evictLocal(String localKey) {
+        if (localKey == null) {
+            requestRebuild();
+            return;
+        }
+        if (localKey.contains(ID_SEPARATOR)) {
+            List<Long> ids = Arrays.stream(localKey.split(ID_SEPARATOR)).map(Long::valueOf).toList();
+            List<ProductDto> found = ReadYourWrites.onPrimary(() -> productReadRepository.getProductDtosByIds(ids));
+            upsert(found.stream().map(productMapper::productDtoToProduct).toList());
+            Set<Long> foundIds = found.stream().map(ProductDto::getId).collect(Collectors.toSet());
+            ids.stream().filter(id -> !foundIds.contains(id)).forEach(this::remove);
+            return;
+        }
+        long id = Long.parseLong(localKey);
+        // The change was just committed on the primary; a replica may not have it yet.
+        Optional<ProductDto> product = ReadYourWrites.onPrimary(() -> productReadRepository.getProductDtoById(id));
+        if (product.isPresent()) {
+            upsert(List.of(productMapper.productDtoToProduct(product.get())));
+        } else {
+            remove(id);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void upsert(Collection<Product> products) {
+        synchronized (changeLock) {
+            if (changedDuringRebuild != null) {
+                products.forEach(product -> changedDuringRebuild.add(product.getId()));
+            }
+            productSearchIndex.upsert(products);
+        }
+    }
+
+    private void remove(long id) {
+        synchronized (changeLock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(id);
+            }
+            productSearchIndex.remove(id);
+        }
+    }
+
+    /**
+     * Indexes a rebuild page without the products changed since the rebuild began, whose current version is
+     * already in the index, or which are gone.
+     */
+    private void upsertUnchanged(List<ProductDto> page) {
+        synchronized (changeLock) {
+            productSearchIndex.upsert(page.stream()
+                    .filter(product -> !changedDuringRebuild.contains(product.getId()))
+                    .map(productMapper::productDtoToProduct)
+                    .toList());
+        }
+    }
+
+    /**
+     * Rebuilds the index off the invalidation listener thread, so that other invalidations keep flowing meanwhile.
+     * Requests that arrive while a rebuild is queued are merged into it; one arriving while it runs queues one more.
+     */
+    private void requestRebuild() {
+        if (!rebuildRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                rebuildRequested.set(false);
+                try {
+                    ReadYourWrites.runOnPrimary(this::rebuildIndex);
+                } catch (RuntimeException ex) {
+                    logger.warn("Could not rebuild product search index", ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rebuildRequested.set(false);
+        }
+    }
+}
@@ -3,9 +3,21 @@ package com.warehouse.backend.product.application.service;
 import com.warehouse.backend.category.domain.exception.CategoryNotFoundException;
 import com.warehouse.backend.category.domain.model.Category;
 import com.warehouse.backend.category.domain.repository.CategoryRepository;
+import com.warehouse.backend.changefeed.application.service.ChangeEventRecorder;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.common.datasource.ReadYourWrites;
+import com.warehouse.backend.common.dto.CursorPage;
+import com.warehouse.backend.common.exception.TooManyIdsException;
+import com.warehouse.backend.common.pagination.KeysetCursor;
 import com.warehouse.backend.product.application.mapper.ProductMapper;
 import com.warehouse.backend.product.application.port.input.CreateProductRequest;
 import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
+import com.warehouse.backend.product.application.port.output.ProductStreamRepository;
 import com.warehouse.backend.product.domain.exception.ProductAlreadyExistsException;
 import com.warehouse.backend.product.domain.exception.ProductNotFoundException;
 import com.warehouse.backend.product.domain.model.Product;
@@ -15,49 +27,134 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 @Service
 public class ProductService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 200;
+
     private final ProductRepository productRepository;
+    private final ProductReadRepository productReadRepository;
+    private final ProductStreamRepository productStreamRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final IndexedListCache<ProductDto> productListCache;
+    private final ProductSearchService productSearchService;
+    private final VersionCounter catalogVersion;
+    private final ChangeEventRecorder changeEventRecorder;
+    private final TwoTierCacheManager cacheManager;
     private final Logger logger = LoggerFactory.getLogger(ProductService.class);
 
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository, ProductMapper productMapper) {
+    public ProductService(ProductRepository productRepository, ProductReadRepository productReadRepository,
+                          ProductStreamRepository productStreamRepository, CategoryRepository categoryRepository,
+                          ProductMapper productMapper, IndexedListCache<ProductDto> productListCache,
+                          ProductSearchService productSearchService, VersionCounter catalogVersion,
+                          ChangeEventRecorder changeEventRecorder, TwoTierCacheManager cacheManager) {
         this.productRepository = productRepository;
+        this.productReadRepository = productReadRepository;
+        this.productStreamRepository = productStreamRepository;
         this.categoryRepository = categoryRepository;
         this.productMapper = productMapper;
+        this.productListCache = productListCache;
+        this.productSearchService = productSearchService;
+        this.catalogVersion = catalogVersion;
+        this.changeEventRecorder = changeEventRecorder;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Version of the whole catalog, changed by every product and category write. Read without touching the
+     * database, so clients can be told their copy is current before any listing is loaded.
+     */
+    public OptionalLong getCatalogVersion() {
+        return catalogVersion.current();
     }
 
-    @Cacheable(value = "allProducts", key = "'list'")
     public List<ProductDto> getAllProducts() {
-        logger.info("Getting all products");
-        List<ProductDto> products = productRepository.getAllProducts().stream()
-                .map(productMapper::productToProductDto)
-                .toList();
-        logger.info("Successfully retrieved {} products", products.size());
+        logger.debug("Getting all products");
+        List<ProductDto> products = productListCache.getAll(productReadRepository::getAllProductDtos);
+        logger.debug("Successfully retrieved {} products", products.size());
         return products;
     }
 
-    @Cacheable(value = "productById", key = "#root.args[0]")
+    /**
+     * Reads the page on the primary, like the list cache behind {@link #getAllProducts}, because the
+     * controller tags it with the {@linkplain #getCatalogVersion catalog version}. A replica could still serve
+     * rows older than that version, which a client would then revalidate as current until the next write.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> getProductPage(String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        long afterId = KeysetCursor.decode(cursor);
+        logger.debug("Getting products page after id: {}, size: {}", afterId, pageSize);
+
+        // One extra row tells us whether another page exists without a COUNT query.
+        List<ProductDto> rows = ReadYourWrites.onPrimary(() -> productReadRepository.getProductDtosAfter(afterId, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<ProductDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = hasMore ? KeysetCursor.encode(items.getLast().getId()) : null;
+        logger.debug("Successfully retrieved {} products", items.size());
+        return new CursorPage<>(items, next);
+    }
+
+    /**
+     * Hands every product to {@code sink} in id order as it is read from the database cursor, so memory use
+     * does not grow with the catalog. Bypasses the list cache, which would hold the whole catalog, and the
+     * shared connection pool; see {@link ProductStreamRepository}.
+     */
+    public long streamAllProducts(Consumer<ProductDto> sink) {
+        logger.debug("Streaming all products");
+        long count = productStreamRepository.streamAllProductDtos(sink);
+        logger.debug("Successfully streamed {} products", count);
+        return count;
+    }
+
+    @Cacheable(value = "productById", key = "#root.args[0]", sync = true)
     public ProductDto getProductById(Long id) {
-        logger.info("Getting product by id: {}", id);
-        Product product = productRepository.getProductById(id).orElseThrow(() -> new ProductNotFoundException(id));
-        logger.info("Found product with name: {}", product.getName());
-        return productMapper.productToProductDto(product);
+        logger.debug("Getting product by id: {}", id);
+        ProductDto product = productReadRepository.getProductDtoById(id).orElseThrow(() -> new ProductNotFoundException(id));
+        logger.debug("Found product with name: {}", product.getName());
+        return product;
+    }
+
+    /**
+     * Looks up many products through the {@code productById} cache that {@link #getProductById} fills: one
+     * Redis round trip for the ids this node has not cached and one query for those Redis has not either.
+     * Unknown ids are skipped; the result follows the order of {@code ids}.
+     */
+    public List<ProductDto> getProductsByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new TooManyIdsException(ids.size(), MAX_BATCH_SIZE);
+        }
+        logger.debug("Getting {} products by id", ids.size());
+        Map<Long, ProductDto> found = cacheManager.getCache("productById").getAll(ids, missing -> {
+            Map<Long, ProductDto> loaded = new HashMap<>(missing.size() * 2);
+            for (ProductDto product : productReadRepository.getProductDtosByIds(missing)) {
+                loaded.put(product.getId(), product);
+            }
+            return loaded;
+        });
+        List<ProductDto> products = ids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
+        logger.debug("Successfully retrieved {} of {} products", products.size(), ids.size());
+        return products;
     }
 
-    @CacheEvict(value = "allProducts", key = "'list'")
     @Transactional
     public ProductDto saveProduct(CreateProductRequest productRequest) {
-        logger.info("Creating new product with name: {}", productRequest.getName());
+        logger.debug("Creating new product with name: {}", productRequest.getName());
         if (productRepository.isProductExist(productRequest.getName())) {
             logger.warn("Product with name '{}' already exists", productRequest.getName());
             throw new ProductAlreadyExistsException(productRequest.getName());
@@ -70,18 +167,29 @@ public class ProductService {
         product.setCategory(category);
         product.setCreatedDate(LocalDateTime.now());
 
-        Product newProduct = productRepository.createNewProduct(product);
+        Product newProduct;
+        try {
+            newProduct = productRepository.createNewProduct(product);
+        } catch (DataIntegrityViolationException ex) {
+            // The unique name index caught a product created concurrently after the check above.
+            logger.warn("Product with name '{}' was created concurrently", productRequest.getName());
+            throw new ProductAlreadyExistsException(productRequest.getName());
+        }
         logger.info("Product created successfully with id: {}", newProduct.getId());
-        return productMapper.productToProductDto(newProduct);
+        ProductDto productDto = productMapper.productToProductDto(newProduct);
+        productListCache.put(productDto);
+        productSearchService.productSaved(newProduct);
+        catalogVersion.increment();
+        changeEventRecorder.record(AggregateType.PRODUCT, newProduct.getId(), ChangeType.CREATED, productDto);
+        return productDto;
     }
 
-    @Caching(put = @CachePut(value = "productById", key = "#root.args[1]"),
-            evict = @CacheEvict(value = "allProducts", key = "'list'"))
+    @CachePut(value = "productById", key = "#root.args[1]")
     @Transactional
     public ProductDto updateProduct(CreateProductRequest productRequest, Long id) {
-        logger.info("Updating product with id: {}", id);
+        logger.debug("Updating product with id: {}", id);
         Product existingProduct = productRepository.getProductById(id).orElseThrow(() -> new ProductNotFoundException(id));
-        logger.info("Found product to update. Old name: {}. New name: {}", existingProduct.getName(), productRequest.getName());
+        logger.debug("Found product to update. Old name: {}. New name: {}", existingProduct.getName(), productRequest.getName());
         
         if (!existingProduct.getName().equals(productRequest.getName()) &&
                 productRepository.isProductExist(productRequest.getName())) {
@@ -98,21 +206,27 @@ public class ProductService {
 
         Product updatedProduct = productRepository.createNewProduct(existingProduct);
         logger.info("Product updated successfully with id: {}", updatedProduct.getId());
-        return productMapper.productToProductDto(updatedProduct);
+        ProductDto productDto = productMapper.productToProductDto(updatedProduct);
+        productListCache.put(productDto);
+        productSearchService.productSaved(updatedProduct);
+        catalogVersion.increment();
+        changeEventRecorder.record(AggregateType.PRODUCT, id, ChangeType.UPDATED, productDto);
+        return productDto;
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "productById", key = "#root.args[0]"),
-            @CacheEvict(value = "allProducts", key = "'list'")
-    })
+    @CacheEvict(value = "productById", key = "#root.args[0]")
     @Transactional
     public void deleteProduct(Long id) {
-        logger.info("Deleting product with id: {}", id);
+        logger.debug("Deleting product with id: {}", id);
         if (productRepository.getProductById(id).isEmpty()) {
             logger.warn("Product with id {} not found for deletion", id);
             throw new ProductNotFoundException(id);
         }
         productRepository.deleteProductById(id);
+        productListCache.remove(id);
+        productSearchService.productDeleted(id);
+        catalogVersion.increment();
+        changeEventRecorder.record(AggregateType.PRODUCT, id, ChangeType.DELETED, null);
         logger.info("Product with id {} deleted successfully", id);
     }
 }
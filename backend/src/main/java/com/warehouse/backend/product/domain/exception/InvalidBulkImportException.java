@@ -0,0 +1,11 @@
+package com.warehouse.backend.product.domain.exception;
+
+public class InvalidBulkImportException extends RuntimeException {
+    public InvalidBulkImportException(String message) {
+        super(message);
+    }
+
+    public InvalidBulkImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
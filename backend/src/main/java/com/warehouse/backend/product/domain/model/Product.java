@@ -10,7 +10,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", uniqueConstraints = @UniqueConstraint(name = "uk_products_name_key",
+        columnNames = "product_name_key"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -28,10 +29,18 @@ public class Product {
     @Column(name = "description")
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
     @Column(name = "created_date")
     private LocalDateTime createdDate;
+
+    /**
+     * Lower-cased name computed by the database and unique, which makes product names unique regardless of
+     * case. Not refreshed after writes; only meant for queries.
+     */
+    @Column(name = "product_name_key", length = 150, insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(150) GENERATED ALWAYS AS (LOWER(product_name))")
+    private String nameKey;
 }
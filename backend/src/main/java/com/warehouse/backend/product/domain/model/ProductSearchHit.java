@@ -0,0 +1,8 @@
+package com.warehouse.backend.product.domain.model;
+
+/**
+ * A product matched by the search index, carrying the fields the index stores so that no database
+ * round trip is needed to show it.
+ */
+public record ProductSearchHit(Long productId, String name, String description, Long categoryId, float score) {
+}
@@ -0,0 +1,24 @@
+package com.warehouse.backend.product.domain.repository;
+
+import com.warehouse.backend.product.domain.model.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based operations for bulk imports, kept apart from {@link ProductRepository} because they bypass
+ * the persistence context.
+ */
+public interface ProductBulkRepository {
+
+    /**
+     * Returns those of the given lower-case names that already belong to a product, in lower case.
+     */
+    Set<String> findExistingNames(Collection<String> lowerCaseNames);
+
+    /**
+     * Inserts all products as one JDBC batch and sets their generated ids.
+     */
+    void insertAll(List<Product> products);
+}
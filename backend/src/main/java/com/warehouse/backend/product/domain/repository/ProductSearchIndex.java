@@ -0,0 +1,38 @@
+package com.warehouse.backend.product.domain.repository;
+
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.model.ProductSearchHit;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Full-text index over product names and descriptions, held by this node.
+ */
+public interface ProductSearchIndex {
+
+    /**
+     * Best matches first. Every word of {@code text} must match a name or description word exactly,
+     * as a prefix or with a small typo.
+     */
+    List<ProductSearchHit> search(String text, int limit);
+
+    /**
+     * Adds the products or replaces their previous version; searches see them when this returns.
+     */
+    void upsert(Collection<Product> products);
+
+    void remove(long productId);
+
+    /**
+     * Starts a full rebuild. Documents written from now on belong to the returned generation.
+     */
+    long beginRebuild();
+
+    /**
+     * Drops every document that was not written again since {@link #beginRebuild()} returned {@code generation}.
+     */
+    void finishRebuild(long generation);
+
+    int size();
+}
@@ -0,0 +1,181 @@
+package com.warehouse.backend.product.infrastructure.bulk;
+
+import com.warehouse.backend.product.application.port.input.BulkProductRow;
+import com.warehouse.backend.product.domain.exception.InvalidBulkImportException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads RFC 4180 CSV with a header line naming the columns {@code name}, {@code description},
+ * {@code categoryId} and {@code categoryName} (any order, case-insensitive; only {@code name} is required).
+ * Records are parsed one at a time, so memory does not grow with the upload.
+ */
+public class CsvProductRowReader implements Iterator<BulkProductRow> {
+
+    private static final int NO_COLUMN = -1;
+    private static final int NOTHING_PUSHED_BACK = -2;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final int nameColumn;
+    private final int descriptionColumn;
+    private final int categoryIdColumn;
+    private final int categoryNameColumn;
+    private long record;
+    private int pushedBack = NOTHING_PUSHED_BACK;
+    private BulkProductRow next;
+    private boolean finished;
+
+    public CsvProductRowReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        skipByteOrderMark();
+        List<String> header = readRecord();
+        if (header == null) {
+            header = List.of();
+            finished = true;
+        }
+        List<String> columns = header.stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+        this.nameColumn = columnIndex(columns, "name");
+        this.descriptionColumn = columnIndex(columns, "description");
+        this.categoryIdColumn = columnIndex(columns, "categoryid", "category_id");
+        this.categoryNameColumn = columnIndex(columns, "categoryname", "category_name", "category");
+        if (!finished && nameColumn == NO_COLUMN) {
+            throw new InvalidBulkImportException("CSV header must contain a 'name' column");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !finished) {
+            List<String> fields = readRecord();
+            if (fields == null) {
+                finished = true;
+            } else if (!(fields.size() == 1 && fields.getFirst().isBlank())) {
+                next = toRow(fields);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public BulkProductRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BulkProductRow row = next;
+        next = null;
+        return row;
+    }
+
+    private BulkProductRow toRow(List<String> fields) {
+        String categoryId = field(fields, categoryIdColumn);
+        BulkProductRow row = new BulkProductRow();
+        row.setName(field(fields, nameColumn));
+        row.setDescription(field(fields, descriptionColumn));
+        row.setCategoryName(field(fields, categoryNameColumn));
+        if (categoryId != null && !categoryId.isBlank()) {
+            try {
+                row.setCategoryId(Long.valueOf(categoryId.trim()));
+            } catch (NumberFormatException ex) {
+                throw new InvalidBulkImportException("Record " + record + ": categoryId '" + categoryId + "' is not a number");
+            }
+        }
+        return row;
+    }
+
+    private List<String> readRecord() {
+        try {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            record++;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new InvalidBulkImportException("Record " + record + ": unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        } catch (IOException ex) {
+            throw new InvalidBulkImportException("Could not read upload", ex);
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NOTHING_PUSHED_BACK) {
+            int c = pushedBack;
+            pushedBack = NOTHING_PUSHED_BACK;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void skipByteOrderMark() {
+        try {
+            int first = reader.read();
+            if (first != BYTE_ORDER_MARK) {
+                pushedBack = first;
+            }
+        } catch (IOException ex) {
+            throw new InvalidBulkImportException("Could not read upload", ex);
+        }
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column == NO_COLUMN || column >= fields.size() ? null : fields.get(column);
+    }
+
+    private static int columnIndex(List<String> columns, String... names) {
+        for (String name : names) {
+            int index = columns.indexOf(name);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return NO_COLUMN;
+    }
+}
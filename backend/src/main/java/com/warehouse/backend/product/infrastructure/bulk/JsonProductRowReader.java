@@ -0,0 +1,73 @@
+package com.warehouse.backend.product.infrastructure.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warehouse.backend.product.application.port.input.BulkProductRow;
+import com.warehouse.backend.product.domain.exception.InvalidBulkImportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a JSON array of products one element at a time, so only the current element is held in memory.
+ */
+public class JsonProductRowReader implements Iterator<BulkProductRow> {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private BulkProductRow next;
+    private boolean finished;
+
+    public JsonProductRowReader(ObjectMapper objectMapper, InputStream input) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidBulkImportException("Expected a JSON array of products");
+            }
+        } catch (IOException ex) {
+            throw new InvalidBulkImportException("Malformed JSON upload: " + ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public BulkProductRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BulkProductRow row = next;
+        next = null;
+        return row;
+    }
+
+    private BulkProductRow readNext() {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                finished = true;
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new InvalidBulkImportException("Expected a product object at " + parser.currentLocation()
+                        + " but found " + token);
+            }
+            return objectMapper.readValue(parser, BulkProductRow.class);
+        } catch (JsonProcessingException ex) {
+            throw new InvalidBulkImportException("Malformed JSON upload: " + ex.getOriginalMessage(), ex);
+        } catch (IOException ex) {
+            throw new InvalidBulkImportException("Could not read upload", ex);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.warehouse.backend.product.infrastructure.cache;
+
+import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.category.infrastructure.cache.CategoryDtoCodec;
+import com.warehouse.backend.common.cache.codec.BinaryFields;
+import com.warehouse.backend.common.cache.codec.CacheValueCodec;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Schema v1: {@code id, name, description, hasCategory, [category fields], createdDate}.
+ * The category is embedded inline rather than as a tagged value to keep list payloads small.
+ */
+@Component
+public class ProductDtoCodec implements CacheValueCodec<ProductDto> {
+
+    public static final byte TYPE_TAG = 0x20;
+
+    @Override
+    public Class<ProductDto> type() {
+        return ProductDto.class;
+    }
+
+    @Override
+    public byte typeTag() {
+        return TYPE_TAG;
+    }
+
+    @Override
+    public byte schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public void write(ProductDto value, DataOutput out) throws IOException {
+        BinaryFields.writeLong(out, value.getId());
+        BinaryFields.writeString(out, value.getName());
+        BinaryFields.writeString(out, value.getDescription());
+        out.writeBoolean(value.getCategory() != null);
+        if (value.getCategory() != null) {
+            CategoryDtoCodec.writeFields(value.getCategory(), out);
+        }
+        BinaryFields.writeDateTime(out, value.getCreatedDate());
+    }
+
+    @Override
+    public ProductDto read(DataInput in, byte schemaVersion) throws IOException {
+        Long id = BinaryFields.readLong(in);
+        String name = BinaryFields.readString(in);
+        String description = BinaryFields.readString(in);
+        CategoryDto category = in.readBoolean() ? CategoryDtoCodec.readFields(in) : null;
+        LocalDateTime createdDate = BinaryFields.readDateTime(in);
+        return new ProductDto(id, name, description, category, createdDate);
+    }
+}
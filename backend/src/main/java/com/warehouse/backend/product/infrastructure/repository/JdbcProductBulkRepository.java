@@ -0,0 +1,74 @@
+package com.warehouse.backend.product.infrastructure.repository;
+
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.repository.ProductBulkRepository;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC implementation of {@link ProductBulkRepository}. Products use IDENTITY keys, so Hibernate cannot
+ * batch their inserts; a plain JDBC batch can, and with {@code rewriteBatchedStatements=true} the MySQL
+ * driver sends it as multi-row INSERTs.
+ */
+@Repository
+public class JdbcProductBulkRepository implements ProductBulkRepository {
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (product_name, description, category_id, created_date) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public JdbcProductBulkRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> lowerCaseNames) {
+        if (lowerCaseNames.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT product_name_key FROM products WHERE product_name_key IN (:names)",
+                Map.of("names", lowerCaseNames), String.class));
+    }
+
+    @Override
+    public void insertAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_PRODUCT, Statement.RETURN_GENERATED_KEYS)) {
+                for (Product product : products) {
+                    statement.setString(1, product.getName());
+                    statement.setString(2, product.getDescription());
+                    statement.setLong(3, product.getCategory().getId());
+                    statement.setTimestamp(4, Timestamp.valueOf(product.getCreatedDate()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int index = 0;
+                    while (keys.next() && index < products.size()) {
+                        products.get(index++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
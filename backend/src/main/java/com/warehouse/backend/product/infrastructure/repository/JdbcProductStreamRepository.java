@@ -0,0 +1,63 @@
+package com.warehouse.backend.product.infrastructure.repository;
+
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductStreamRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of {@link ProductStreamRepository} over a pool of its own, built by
+ * {@link com.warehouse.backend.configuration.ProductStreamConfig}. On MySQL that pool sets
+ * {@code useCursorFetch=true}, which is what makes Connector/J honour the fetch size instead of buffering
+ * the whole result. The setting turns every statement of a connection into a server-side prepared one, so
+ * it is kept off the shared pool and the replicas.
+ */
+public class JdbcProductStreamRepository implements ProductStreamRepository, AutoCloseable {
+
+    /**
+     * Rows per round trip while streaming.
+     */
+    static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_PRODUCT_DTOS = "SELECT p.product_id, p.product_name, p.description, "
+            + "c.category_id, c.category_name, c.category_description, p.created_date "
+            + "FROM products p JOIN categories c ON c.category_id = p.category_id ORDER BY p.product_id";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcProductStreamRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public long streamAllProductDtos(Consumer<ProductDto> sink) {
+        AtomicLong count = new AtomicLong();
+        RowCallbackHandler handler = resultSet -> {
+            Timestamp createdDate = resultSet.getTimestamp(7);
+            sink.accept(new ProductDto(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                    resultSet.getLong(4), resultSet.getString(5), resultSet.getString(6),
+                    createdDate == null ? null : createdDate.toLocalDateTime()));
+            count.incrementAndGet();
+        };
+        jdbcTemplate.query(SELECT_PRODUCT_DTOS, handler);
+        return count.get();
+    }
+
+    /**
+     * Closes the pool, if the repository was given one it can close.
+     */
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+}
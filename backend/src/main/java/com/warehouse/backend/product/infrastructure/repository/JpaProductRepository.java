@@ -1,15 +1,24 @@
 package com.warehouse.backend.product.infrastructure.repository;
 
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
 import com.warehouse.backend.product.domain.model.Product;
 import com.warehouse.backend.product.domain.repository.ProductRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
-public interface JpaProductRepository extends ProductRepository, JpaRepository<Product, Long> {
+public interface JpaProductRepository extends ProductRepository, ProductReadRepository, JpaRepository<Product, Long> {
+
+    String PRODUCT_DTO_SELECT = "SELECT new com.warehouse.backend.product.application.port.output.ProductDto(" +
+            "p.id, p.name, p.description, c.id, c.name, c.description, p.createdDate) " +
+            "FROM Product p JOIN p.category c ";
 
     @Override
     default List<Product> getAllProducts() {
@@ -21,6 +30,30 @@ public interface JpaProductRepository extends ProductRepository, JpaRepository<P
         return findById(id);
     }
 
+    @Override
+    @Query(PRODUCT_DTO_SELECT + "ORDER BY p.id")
+    List<ProductDto> getAllProductDtos();
+
+    @Override
+    default List<ProductDto> getProductDtosAfter(long afterId, int limit) {
+        return findProductDtosAfter(afterId, Limit.of(limit));
+    }
+
+    @Query(PRODUCT_DTO_SELECT + "WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductDto> findProductDtosAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Override
+    @Query(PRODUCT_DTO_SELECT + "WHERE p.id = :id")
+    Optional<ProductDto> getProductDtoById(@Param("id") Long id);
+
+    @Override
+    @Query(PRODUCT_DTO_SELECT + "WHERE p.id IN :ids")
+    List<ProductDto> getProductDtosByIds(@Param("ids") Collection<Long> ids);
+
+    @Override
+    @Query(PRODUCT_DTO_SELECT + "WHERE c.id = :categoryId ORDER BY p.id")
+    List<ProductDto> getProductDtosByCategoryId(@Param("categoryId") Long categoryId);
+
     @Override
     default Product createNewProduct(Product product) {
         return save(product);
@@ -31,6 +64,10 @@ public interface JpaProductRepository extends ProductRepository, JpaRepository<P
         findById(id).ifPresent(this::delete);
     }
 
-    @Query("SELECT COUNT(p) > 0 FROM Product p WHERE LOWER(p.name) = LOWER(:name)")
-    boolean isProductExist(@Param("name") String name);
+    @Override
+    default boolean isProductExist(String name) {
+        return name != null && existsByNameKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    boolean existsByNameKey(String nameKey);
 }
@@ -0,0 +1,236 @@
+package com.warehouse.backend.product.infrastructure.search;
+
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.model.ProductSearchHit;
+import com.warehouse.backend.product.domain.repository.ProductSearchIndex;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded Lucene index kept entirely in memory. Writes go through one {@link IndexWriter} and become
+ * visible by reopening the near-real-time searcher, so nothing is ever committed to disk; the index is
+ * rebuilt from the database on startup.
+ */
+@Component
+public class LuceneProductSearchIndex implements ProductSearchIndex {
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY_ID = "categoryId";
+    static final String GENERATION = "generation";
+
+    /** Words beyond this are ignored so that a pasted paragraph cannot produce a huge query. */
+    static final int MAX_QUERY_TERMS = 8;
+
+    private static final float NAME_BOOST = 3f;
+    private static final float DESCRIPTION_BOOST = 1f;
+    private static final float EXACT_BOOST = 3f;
+    private static final float PREFIX_BOOST = 2f;
+    private static final float FUZZY_BOOST = 1f;
+
+    private final Analyzer analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final AtomicLong generation = new AtomicLong();
+
+    public LuceneProductSearchIndex() {
+        try {
+            writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public List<ProductSearchHit> search(String text, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<ProductSearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document document = storedFields.document(scoreDoc.doc);
+                    IndexableField categoryId = document.getField(CATEGORY_ID);
+                    hits.add(new ProductSearchHit(Long.valueOf(document.get(ID)), document.get(NAME),
+                            document.get(DESCRIPTION),
+                            categoryId == null ? null : categoryId.numericValue().longValue(), scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void upsert(Collection<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        try {
+            for (Product product : products) {
+                writer.updateDocument(new Term(ID, String.valueOf(product.getId())), toDocument(product));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void remove(long productId) {
+        try {
+            writer.deleteDocuments(new Term(ID, String.valueOf(productId)));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public long beginRebuild() {
+        return generation.incrementAndGet();
+    }
+
+    @Override
+    public void finishRebuild(long rebuildGeneration) {
+        try {
+            writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, rebuildGeneration - 1));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public int size() {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.getIndexReader().numDocs();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private Document toDocument(Product product) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(product.getId()), Field.Store.YES));
+        document.add(new TextField(NAME, product.getName(), Field.Store.YES));
+        if (product.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.YES));
+        }
+        if (product.getCategory() != null && product.getCategory().getId() != null) {
+            document.add(new StoredField(CATEGORY_ID, product.getCategory().getId()));
+        }
+        document.add(new LongPoint(GENERATION, generation.get()));
+        return document;
+    }
+
+    /**
+     * Every query word must match. Within a word an exact match outranks a prefix match, which outranks
+     * a typo, and a match in the name outranks the same match in the description.
+     */
+    private Query buildQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder termQuery = new BooleanQuery.Builder();
+            addTermClauses(termQuery, NAME, term, NAME_BOOST);
+            addTermClauses(termQuery, DESCRIPTION, term, DESCRIPTION_BOOST);
+            query.add(termQuery.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private static void addTermClauses(BooleanQuery.Builder query, String field, String term, float fieldBoost) {
+        Term fieldTerm = new Term(field, term);
+        query.add(new BoostQuery(new TermQuery(fieldTerm), EXACT_BOOST * fieldBoost), BooleanClause.Occur.SHOULD);
+        query.add(new BoostQuery(new PrefixQuery(fieldTerm), PREFIX_BOOST * fieldBoost), BooleanClause.Occur.SHOULD);
+        int maxEdits = maxEdits(term);
+        if (maxEdits > 0) {
+            // The first character has to match, which keeps the term enumeration short.
+            query.add(new BoostQuery(new FuzzyQuery(fieldTerm, maxEdits, 1), FUZZY_BOOST * fieldBoost),
+                    BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    static int maxEdits(String term) {
+        if (term.length() < 3) {
+            return 0;
+        }
+        return term.length() < 6 ? 1 : 2;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute termAttribute = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(termAttribute.toString());
+            }
+            tokens.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return terms;
+    }
+}
@@ -1,8 +1,23 @@
 package com.warehouse.backend.product.presentation.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warehouse.backend.common.dto.CursorPage;
+import com.warehouse.backend.common.presentation.BrotliEncoding;
+import com.warehouse.backend.common.presentation.StaleResponse;
+import com.warehouse.backend.common.presentation.VersionETag;
+import com.warehouse.backend.product.application.port.input.BulkProductRow;
 import com.warehouse.backend.product.application.port.input.CreateProductRequest;
+import com.warehouse.backend.product.application.port.output.BulkImportRowResult;
+import com.warehouse.backend.product.application.port.output.BulkImportSummary;
 import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductSearchResultDto;
+import com.warehouse.backend.product.application.service.ProductBulkImportService;
+import com.warehouse.backend.product.application.service.ProductSearchService;
 import com.warehouse.backend.product.application.service.ProductService;
+import com.warehouse.backend.product.domain.exception.InvalidBulkImportException;
+import com.warehouse.backend.product.infrastructure.bulk.CsvProductRowReader;
+import com.warehouse.backend.product.infrastructure.bulk.JsonProductRowReader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,10 +25,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
@@ -21,22 +48,137 @@ import java.util.List;
 @Tag(name = "Product API", description = "API for product management")
 public class ProductController {
 
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ProductService productService;
+    private final ProductBulkImportService productBulkImportService;
+    private final ProductSearchService productSearchService;
+    private final ObjectMapper objectMapper;
+    private final Logger logger = LoggerFactory.getLogger(ProductController.class);
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductBulkImportService productBulkImportService,
+                             ProductSearchService productSearchService, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.productBulkImportService = productBulkImportService;
+        this.productSearchService = productSearchService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    @Operation(summary = "Get all products")
+    @Operation(summary = "Get a page of products ordered by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products page found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor",
+                    content = @Content)
+    })
+    public ResponseEntity<CursorPage<ProductDto>> getProductPage(
+            @RequestParam(value = "cursor", required = false)
+            @Parameter(description = "Opaque cursor taken from the 'next' field of the previous page") String cursor,
+            @RequestParam(value = "limit", required = false)
+            @Parameter(description = "Page size, capped at " + ProductService.MAX_PAGE_SIZE) Integer limit,
+            WebRequest webRequest) {
+        // The version is read before the page so that a concurrent write can only cost an extra full response.
+        if (VersionETag.isNotModified(webRequest, productService.getCatalogVersion())) {
+            return null;
+        }
+        CursorPage<ProductDto> page = productService.getProductPage(cursor, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(page);
+    }
+
+    @GetMapping(params = "all=true")
+    @Operation(summary = "Get all products in a single unpaginated response")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Products found successfully",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = ProductDto.class)))
+                            schema = @Schema(implementation = ProductDto.class))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match",
+                    content = @Content)
     })
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
+    public ResponseEntity<List<ProductDto>> getAllProducts(WebRequest webRequest) {
+        if (VersionETag.isNotModified(webRequest, productService.getCatalogVersion())) {
+            return null;
+        }
         List<ProductDto> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+        return StaleResponse.ok().cacheControl(CacheControl.noCache()).body(products);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several products by ID in one request",
+            description = "Unknown IDs are skipped; products are returned in the order of the IDs.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductDto.class))),
+            @ApiResponse(responseCode = "400", description = "More than " + ProductService.MAX_BATCH_SIZE + " IDs",
+                    content = @Content)
+    })
+    public ResponseEntity<List<ProductDto>> getProductsByIds(
+            @RequestParam("ids") @Parameter(description = "Comma-separated product IDs") List<Long> ids) {
+        List<ProductDto> products = productService.getProductsByIds(ids);
+        return StaleResponse.ok().body(products);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream all products as one JSON array",
+            description = "Same content as ?all=true, written row by row from a database cursor so that large "
+                    + "catalogs do not have to fit in memory. Compressed with br or gzip when the client accepts it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products streamed in id order",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductDto.class))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match",
+                    content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        if (VersionETag.isNotModified(webRequest, productService.getCatalogVersion())) {
+            return null;
+        }
+        boolean brotli = BrotliEncoding.isAccepted(acceptEncoding);
+        StreamingResponseBody products = output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(brotli ? BrotliEncoding.wrap(output) : output)) {
+                generator.writeStartArray();
+                productService.streamAllProducts(product -> {
+                    try {
+                        generator.writeObject(product);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (brotli) {
+            response.header(HttpHeaders.CONTENT_ENCODING, BrotliEncoding.CONTENT_CODING);
+        }
+        return response.body(products);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search products by name and description",
+            description = "Every word must match a word of the name or description exactly, as a prefix or with "
+                    + "a small typo. Name matches rank above description matches.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching products, best match first",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductSearchResultDto.class)))
+    })
+    public ResponseEntity<List<ProductSearchResultDto>> searchProducts(
+            @RequestParam("q") @Parameter(description = "Search text", required = true) String query,
+            @RequestParam(value = "limit", required = false)
+            @Parameter(description = "Maximum number of results, capped at " + ProductSearchService.MAX_LIMIT)
+            Integer limit) {
+        List<ProductSearchResultDto> results = productSearchService.search(query, limit);
+        return ResponseEntity.ok(results);
     }
 
     @GetMapping("/{id}")
@@ -51,7 +193,7 @@ public class ProductController {
     public ResponseEntity<ProductDto> getProductById(
             @PathVariable("id") @Parameter(description = "Product ID", required = true) Long id) {
         ProductDto product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        return StaleResponse.ok().body(product);
     }
 
     @PostMapping
@@ -70,6 +212,57 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import many products from a JSON array or a CSV file with a header line",
+            description = "The upload is processed in chunks of " + ProductBulkImportService.CHUNK_SIZE
+                    + " rows and the per-row report is streamed back as each chunk commits.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import report with one result per row",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "415", description = "Upload is neither JSON nor CSV",
+                    content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> importProducts(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        InputStream upload = request.getInputStream();
+        StreamingResponseBody report = output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("results");
+                ReportProgress progress = new ReportProgress();
+                BulkImportSummary summary;
+                try {
+                    summary = productBulkImportService.importProducts(openUpload(contentType, upload), result -> {
+                        try {
+                            generator.writeObject(result);
+                        } catch (IOException ex) {
+                            progress.outputFailed = true;
+                            throw new UncheckedIOException(ex);
+                        }
+                        progress.count(result);
+                    });
+                } catch (InvalidBulkImportException ex) {
+                    summary = new BulkImportSummary(0, 0, ex.getMessage());
+                } catch (RuntimeException ex) {
+                    if (progress.outputFailed) {
+                        throw ex;
+                    }
+                    // Chunks reported so far are committed; close the report so it does not read as complete.
+                    logger.error("Bulk product import failed after {} reported rows", progress.created + progress.rejected, ex);
+                    summary = new BulkImportSummary(progress.created, progress.rejected,
+                            "Import aborted by an internal error; only the rows reported above were processed");
+                }
+                generator.writeEndArray();
+                generator.writeNumberField("created", summary.getCreated());
+                generator.writeNumberField("rejected", summary.getRejected());
+                generator.writeStringField("error", summary.getError());
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(report);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing product")
     @ApiResponses(value = {
@@ -100,4 +293,28 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    private Iterator<BulkProductRow> openUpload(MediaType contentType, InputStream upload) {
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).isCompatibleWith(contentType)) {
+            return new CsvProductRowReader(upload);
+        }
+        return new JsonProductRowReader(objectMapper, upload);
+    }
+
+    /**
+     * Rows written to a bulk import report so far, for closing it when the import fails half way.
+     */
+    private static final class ReportProgress {
+        long created;
+        long rejected;
+        boolean outputFailed;
+
+        void count(BulkImportRowResult result) {
+            if (result.getStatus() == BulkImportRowResult.Status.CREATED) {
+                created++;
+            } else {
+                rejected++;
+            }
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.warehouse.backend.product.presentation.controller;
 
 import com.warehouse.backend.common.dto.ErrorResponse;
+import com.warehouse.backend.common.exception.InvalidCursorException;
+import com.warehouse.backend.common.exception.TooManyIdsException;
 import com.warehouse.backend.product.domain.exception.ProductAlreadyExistsException;
 import com.warehouse.backend.product.domain.exception.ProductNotFoundException;
 import org.springframework.http.HttpStatus;
@@ -24,4 +26,18 @@ public class ProductExceptionHandler {
                 .status(HttpStatus.CONFLICT)
                 .body(new ErrorResponse(ex.getMessage()));
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(TooManyIdsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyIdsException(TooManyIdsException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
 }
@@ -0,0 +1,11 @@
+package com.warehouse.backend.stock.application.mapper;
+
+import com.warehouse.backend.stock.application.port.output.StockItemDto;
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface StockMapper {
+
+    StockItemDto warehouseProductToStockItemDto(WarehouseProduct warehouseProduct);
+}
@@ -0,0 +1,16 @@
+package com.warehouse.backend.stock.application.port.input;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockDeltaEvent {
+    private Long warehouseId;
+    private Long productId;
+    private Integer delta;
+}
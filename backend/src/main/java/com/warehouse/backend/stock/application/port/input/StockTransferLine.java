@@ -0,0 +1,17 @@
+package com.warehouse.backend.stock.application.port.input;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockTransferLine {
+    private Long fromWarehouseId;
+    private Long toWarehouseId;
+    private Long productId;
+    private Integer quantity;
+}
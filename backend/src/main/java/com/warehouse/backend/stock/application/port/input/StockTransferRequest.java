@@ -0,0 +1,16 @@
+package com.warehouse.backend.stock.application.port.input;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockTransferRequest {
+    private List<StockTransferLine> lines;
+}
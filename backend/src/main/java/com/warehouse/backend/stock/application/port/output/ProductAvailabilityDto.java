@@ -0,0 +1,18 @@
+package com.warehouse.backend.stock.application.port.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductAvailabilityDto {
+    private Long productId;
+    private Long totalQuantity;
+    private List<WarehouseAvailabilityDto> warehouses;
+}
@@ -0,0 +1,19 @@
+package com.warehouse.backend.stock.application.port.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockItemDto implements Serializable {
+    private Long id;
+    private Long warehouseId;
+    private Long productId;
+    private Integer quantity;
+}
@@ -0,0 +1,15 @@
+package com.warehouse.backend.stock.application.port.output;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WarehouseAvailabilityDto {
+    private Long warehouseId;
+    private Integer quantity;
+}
@@ -0,0 +1,243 @@
+package com.warehouse.backend.stock.application.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Quantity of every product in every warehouse, held in flat primitive arrays: an open-addressing table from
+ * product id to product ordinal, and per ordinal a run of cells, sorted by warehouse id, in
+ * {@code warehouseIds} and {@code quantities}. A lookup is a hash probe plus a scan of the product's cells,
+ * without boxing or allocation.
+ * <p>
+ * The set of cells is fixed once built. Quantities change in place through {@link #add}, which readers see
+ * without locking; a cell that does not exist yet needs a copy through {@link #withCell}. Writers must be
+ * serialized by the caller.
+ */
+final class StockAvailabilityIndex {
+
+    // Product ids come from AUTO_INCREMENT columns and are never 0.
+    private static final long FREE = 0;
+
+    private final long[] productKeys;
+    private final int[] productOrdinals;
+    private final int mask;
+    private final int[] offsets;
+    private final long[] warehouseIds;
+    private final AtomicIntegerArray quantities;
+
+    private StockAvailabilityIndex(long[] productKeys, int[] productOrdinals, int[] offsets, long[] warehouseIds,
+                                   AtomicIntegerArray quantities) {
+        this.productKeys = productKeys;
+        this.productOrdinals = productOrdinals;
+        this.mask = productKeys.length - 1;
+        this.offsets = offsets;
+        this.warehouseIds = warehouseIds;
+        this.quantities = quantities;
+    }
+
+    /**
+     * @return the product's ordinal, or {@code -1} if it is not stocked in any warehouse
+     */
+    int ordinal(long productId) {
+        if (productId == FREE) {
+            return -1;
+        }
+        for (int slot = slot(productId, mask); ; slot = (slot + 1) & mask) {
+            long key = productKeys[slot];
+            if (key == productId) {
+                return productOrdinals[slot];
+            }
+            if (key == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * @return the first cell of the product with the given ordinal
+     */
+    int firstCell(int ordinal) {
+        return offsets[ordinal];
+    }
+
+    /**
+     * @return one past the last cell of the product with the given ordinal
+     */
+    int endCell(int ordinal) {
+        return offsets[ordinal + 1];
+    }
+
+    long warehouseId(int cell) {
+        return warehouseIds[cell];
+    }
+
+    int quantity(int cell) {
+        return quantities.get(cell);
+    }
+
+    int products() {
+        return offsets.length - 1;
+    }
+
+    int cells() {
+        return warehouseIds.length;
+    }
+
+    /**
+     * Adds {@code delta} to the cell in place.
+     *
+     * @return {@code false} if there is no cell for the warehouse and product
+     * @throws ArithmeticException if the quantity would overflow an {@code int}; the cell is left unchanged
+     */
+    boolean add(long warehouseId, long productId, int delta) {
+        int cell = cell(warehouseId, productId);
+        if (cell < 0) {
+            return false;
+        }
+        // Writers are serialized, so nothing changes the cell between the read and the write.
+        quantities.set(cell, Math.addExact(quantities.get(cell), delta));
+        return true;
+    }
+
+    /**
+     * Copies the index with an extra cell for a warehouse and product it does not have yet.
+     */
+    StockAvailabilityIndex withCell(long warehouseId, long productId, int quantity) {
+        Builder builder = new Builder(cells() + 1);
+        for (int slot = 0; slot < productKeys.length; slot++) {
+            if (productKeys[slot] != FREE) {
+                int ordinal = productOrdinals[slot];
+                for (int cell = offsets[ordinal]; cell < offsets[ordinal + 1]; cell++) {
+                    builder.add(warehouseIds[cell], productKeys[slot], quantities.get(cell));
+                }
+            }
+        }
+        builder.add(warehouseId, productId, quantity);
+        return builder.build();
+    }
+
+    private int cell(long warehouseId, long productId) {
+        int ordinal = ordinal(productId);
+        if (ordinal < 0) {
+            return -1;
+        }
+        int cell = Arrays.binarySearch(warehouseIds, offsets[ordinal], offsets[ordinal + 1], warehouseId);
+        return cell < 0 ? -1 : cell;
+    }
+
+    private static int slot(long productId, int mask) {
+        long hash = productId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSize(int entries) {
+        // At most half full, so that probe runs stay short.
+        return Integer.highestOneBit(Math.max(entries, 1) * 2 - 1) << 1;
+    }
+
+    /**
+     * Collects rows in any order and lays them out as an index. Not thread-safe.
+     */
+    static final class Builder {
+
+        private long[] warehouseIds;
+        private long[] productIds;
+        private int[] quantities;
+        private int size;
+
+        Builder() {
+            this(1024);
+        }
+
+        Builder(int expectedRows) {
+            warehouseIds = new long[expectedRows];
+            productIds = new long[expectedRows];
+            quantities = new int[expectedRows];
+        }
+
+        void add(long warehouseId, long productId, int quantity) {
+            if (size == warehouseIds.length) {
+                int capacity = Math.max(size * 2, 16);
+                warehouseIds = Arrays.copyOf(warehouseIds, capacity);
+                productIds = Arrays.copyOf(productIds, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+            }
+            warehouseIds[size] = warehouseId;
+            productIds[size] = productId;
+            quantities[size] = quantity;
+            size++;
+        }
+
+        StockAvailabilityIndex build() {
+            // Number the products in order of appearance and count their cells.
+            long[] keys = new long[tableSize(size)];
+            int[] ordinals = new int[keys.length];
+            int mask = keys.length - 1;
+            int[] rowOrdinals = new int[size];
+            int[] counts = new int[size + 1];
+            int products = 0;
+            for (int row = 0; row < size; row++) {
+                long productId = productIds[row];
+                int slot = slot(productId, mask);
+                while (keys[slot] != FREE && keys[slot] != productId) {
+                    slot = (slot + 1) & mask;
+                }
+                if (keys[slot] == FREE) {
+                    keys[slot] = productId;
+                    ordinals[slot] = products++;
+                }
+                rowOrdinals[row] = ordinals[slot];
+                counts[ordinals[slot]]++;
+            }
+
+            int[] offsets = new int[products + 1];
+            for (int ordinal = 0; ordinal < products; ordinal++) {
+                offsets[ordinal + 1] = offsets[ordinal] + counts[ordinal];
+            }
+            int[] next = Arrays.copyOf(offsets, products);
+            long[] cellWarehouseIds = new long[size];
+            int[] cellQuantities = new int[size];
+            for (int row = 0; row < size; row++) {
+                int cell = next[rowOrdinals[row]]++;
+                cellWarehouseIds[cell] = warehouseIds[row];
+                cellQuantities[cell] = quantities[row];
+            }
+            for (int ordinal = 0; ordinal < products; ordinal++) {
+                sortByWarehouse(cellWarehouseIds, cellQuantities, offsets[ordinal], offsets[ordinal + 1]);
+            }
+
+            // Rehash into a table sized for the products rather than the rows.
+            long[] productKeys = new long[tableSize(products)];
+            int[] productOrdinals = new int[productKeys.length];
+            int productMask = productKeys.length - 1;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != FREE) {
+                    int target = slot(keys[slot], productMask);
+                    while (productKeys[target] != FREE) {
+                        target = (target + 1) & productMask;
+                    }
+                    productKeys[target] = keys[slot];
+                    productOrdinals[target] = ordinals[slot];
+                }
+            }
+            return new StockAvailabilityIndex(productKeys, productOrdinals, offsets, cellWarehouseIds,
+                    new AtomicIntegerArray(cellQuantities));
+        }
+
+        // A product is stocked in a handful of warehouses, so insertion sort is enough.
+        private static void sortByWarehouse(long[] warehouseIds, int[] quantities, int from, int to) {
+            for (int i = from + 1; i < to; i++) {
+                long warehouseId = warehouseIds[i];
+                int quantity = quantities[i];
+                int j = i - 1;
+                while (j >= from && warehouseIds[j] > warehouseId) {
+                    warehouseIds[j + 1] = warehouseIds[j];
+                    quantities[j + 1] = quantities[j];
+                    j--;
+                }
+                warehouseIds[j + 1] = warehouseId;
+                quantities[j + 1] = quantity;
+            }
+        }
+    }
+}
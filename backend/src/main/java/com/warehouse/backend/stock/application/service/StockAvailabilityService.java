@@ -0,0 +1,253 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.common.exception.TooManyIdsException;
+import com.warehouse.backend.stock.application.port.output.ProductAvailabilityDto;
+import com.warehouse.backend.stock.application.port.output.WarehouseAvailabilityDto;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.repository.StockAvailabilityRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Available-to-promise quantities from an in-memory {@link StockAvailabilityIndex}, so that a quote for
+ * hundreds of products does not aggregate {@code warehouse_products} in the database.
+ * <p>
+ * The index is loaded on start and reloaded every {@code refresh-interval}. In between, the stock services of
+ * this node {@linkplain #recordChanges report their changes}, which are added once their transaction commits.
+ * Changes made by other nodes show up with the next reload. Changes reported while a reload scans the table
+ * are added to the reloaded index as well, so one that committed just before the scan started can be counted
+ * twice until the following reload. Answers are therefore close to, not exactly, the committed stock; picks
+ * and transfers still check the database.
+ */
+@Service
+public class StockAvailabilityService implements SmartLifecycle, MeterBinder {
+
+    public static final int MAX_PRODUCTS_PER_QUERY = 1000;
+
+    private final StockAvailabilityRepository stockAvailabilityRepository;
+    private final Duration refreshInterval;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Logger logger = LoggerFactory.getLogger(StockAvailabilityService.class);
+
+    private volatile StockAvailabilityIndex index;
+    private volatile long loadedAtMillis;
+    // Changes reported while a reload is scanning; guarded by writeLock.
+    private List<StockDelta> changesDuringReload;
+    private ScheduledExecutorService refresher;
+
+    public StockAvailabilityService(StockAvailabilityRepository stockAvailabilityRepository,
+                                    @Value("${stock.availability.refresh-interval:30s}") Duration refreshInterval) {
+        this.stockAvailabilityRepository = stockAvailabilityRepository;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Returns the quantity on hand of each distinct product, in the order of {@code productIds}, together with
+     * the warehouses holding it. A product not stocked anywhere has a total of zero and no warehouses.
+     */
+    public List<ProductAvailabilityDto> getAvailability(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
+        if (productIds.size() > MAX_PRODUCTS_PER_QUERY) {
+            throw new TooManyIdsException(productIds.size(), MAX_PRODUCTS_PER_QUERY);
+        }
+        StockAvailabilityIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Stock availability index is not loaded");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(productIds);
+        distinct.remove(null);
+        List<ProductAvailabilityDto> availability = new ArrayList<>(distinct.size());
+        for (Long productId : distinct) {
+            availability.add(lookUp(current, productId));
+        }
+        logger.debug("Looked up availability of {} products", availability.size());
+        return availability;
+    }
+
+    /**
+     * Adds the changes to the index once the current transaction commits, or right away outside of one. Called
+     * by every service that changes {@code warehouse_products}, from within its transaction.
+     */
+    public void recordChanges(List<StockDelta> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(changes);
+                }
+            });
+        } else {
+            apply(changes);
+        }
+    }
+
+    /**
+     * Replaces the index with a fresh scan of {@code warehouse_products}.
+     */
+    void reload() {
+        long startedAt = System.nanoTime();
+        writeLock.lock();
+        try {
+            changesDuringReload = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+        StockAvailabilityIndex.Builder builder = new StockAvailabilityIndex.Builder();
+        try {
+            stockAvailabilityRepository.scanQuantities(builder::add);
+        } catch (RuntimeException ex) {
+            writeLock.lock();
+            try {
+                changesDuringReload = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw ex;
+        }
+        StockAvailabilityIndex loaded = builder.build();
+        writeLock.lock();
+        try {
+            for (StockDelta change : changesDuringReload) {
+                loaded = applyTo(loaded, change);
+            }
+            changesDuringReload = null;
+            index = loaded;
+            loadedAtMillis = System.currentTimeMillis();
+        } finally {
+            writeLock.unlock();
+        }
+        logger.debug("Loaded availability of {} products in {} warehouse rows in {} ms", loaded.products(),
+                loaded.cells(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Loads the index before the web server starts taking requests; a failure fails the start.
+     */
+    @Override
+    public void start() {
+        reload();
+        logger.info("Loaded stock availability of {} products", index.products());
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("stock-availability-refresh").daemon().factory());
+        executor.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        refresher = executor;
+    }
+
+    @Override
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return refresher != null;
+    }
+
+    /**
+     * Starts before {@link StockDeltaIngestService}, whose recovery on start reports changes.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stock.availability.rows", this, service -> service.index == null ? 0 : service.index.cells())
+                .description("Warehouse stock rows held in the availability index")
+                .register(registry);
+        Gauge.builder("stock.availability.age", this,
+                        service -> service.index == null ? 0 : (System.currentTimeMillis() - service.loadedAtMillis) / 1000.0)
+                .description("Time since the availability index was last loaded from the database")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            logger.warn("Could not reload stock availability, keeping the current index", ex);
+        }
+    }
+
+    private void apply(List<StockDelta> changes) {
+        writeLock.lock();
+        try {
+            if (changesDuringReload != null) {
+                changesDuringReload.addAll(changes);
+            }
+            StockAvailabilityIndex current = index;
+            if (current == null) {
+                return;
+            }
+            for (StockDelta change : changes) {
+                current = applyTo(current, change);
+            }
+            index = current;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private StockAvailabilityIndex applyTo(StockAvailabilityIndex target, StockDelta change) {
+        try {
+            int delta = Math.toIntExact(change.delta());
+            if (target.add(change.warehouseId(), change.productId(), delta)) {
+                return target;
+            }
+            // First stock of the product in the warehouse; new rows are rare, so copying the index is acceptable.
+            return target.withCell(change.warehouseId(), change.productId(), delta);
+        } catch (ArithmeticException ex) {
+            // The quantity column is an int as well, so the database cannot hold the result either.
+            logger.warn("Ignoring stock change of {} for product {} in warehouse {}, which overflows the quantity",
+                    change.delta(), change.productId(), change.warehouseId());
+            return target;
+        }
+    }
+
+    private static ProductAvailabilityDto lookUp(StockAvailabilityIndex index, long productId) {
+        int ordinal = index.ordinal(productId);
+        if (ordinal < 0) {
+            return new ProductAvailabilityDto(productId, 0L, List.of());
+        }
+        long total = 0;
+        List<WarehouseAvailabilityDto> warehouses = new ArrayList<>(index.endCell(ordinal) - index.firstCell(ordinal));
+        for (int cell = index.firstCell(ordinal); cell < index.endCell(ordinal); cell++) {
+            // A change counted twice around a reload can leave a cell below zero until the next one.
+            int quantity = index.quantity(cell);
+            if (quantity > 0) {
+                total += quantity;
+                warehouses.add(new WarehouseAvailabilityDto(index.warehouseId(cell), quantity));
+            }
+        }
+        return new ProductAvailabilityDto(productId, total, warehouses);
+    }
+}
@@ -0,0 +1,376 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.stock.application.port.input.StockDeltaEvent;
+import com.warehouse.backend.stock.domain.exception.InvalidStockDeltaException;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.repository.StockDeltaJournal;
+import com.warehouse.backend.stock.domain.repository.StockDeltaRepository;
+import com.warehouse.backend.stock.domain.repository.StockIngestCheckpointRepository;
+import com.warehouse.backend.stock.domain.repository.StockIngestRejectRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind ingest for scanner stock events. Accepted events are appended to the node-local
+ * {@link StockDeltaJournal} and summed per warehouse and product in {@link LongAdder}s, so that concurrent
+ * scans of the same SKU do not contend. Every {@code flush-interval}, or as soon as {@code flush-events}
+ * events are buffered, the sums go to the database as one batch of conditional updates.
+ * <p>
+ * A flush rolls the journal and the buffer over together, under a write lock that appends share, so each
+ * journal segment holds exactly the events of one buffer generation. The lock is striped by thread, so that
+ * appends only share a stripe, and the flush takes every stripe. The batch is applied in one transaction
+ * together with a checkpoint naming the last segment it covers; only then are those segments deleted. After a
+ * crash, the segments past the checkpoint are replayed on start, so that neither a lost buffer nor a flush
+ * that committed before its segments were deleted changes the result. A failed flush keeps its sums and adds
+ * them to the next one. Sums that cannot be applied, such as a decrease below zero, are recorded with the
+ * batch through {@link StockIngestRejectRepository}, so that they outlive their journal segments. So are sums
+ * the database refuses: once a batch has failed, the next attempt applies it in halves under savepoints and
+ * rejects the single sums that still fail, so that one poison sum cannot hold back every later segment.
+ */
+@Service
+public class StockDeltaIngestService implements SmartLifecycle, MeterBinder {
+
+    public static final int MAX_EVENTS_PER_REQUEST = 1000;
+    public static final int MAX_EVENT_DELTA = 10_000;
+    private static final int LOGGED_SKIPS = 10;
+    private static final int ROTATION_STRIPES = 16;
+
+    private final StockDeltaJournal journal;
+    private final StockDeltaRepository stockDeltaRepository;
+    private final StockIngestCheckpointRepository checkpointRepository;
+    private final StockIngestRejectRepository rejectRepository;
+    private final StockAvailabilityService stockAvailabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate savepointTemplate;
+    private final Duration flushInterval;
+    private final int flushEvents;
+    private final ReadWriteLock[] rotation = new ReadWriteLock[ROTATION_STRIPES];
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final LongAdder acceptedEvents = new LongAdder();
+    private final LongAdder appliedDeltas = new LongAdder();
+    private final LongAdder skippedDeltas = new LongAdder();
+    private final Logger logger = LoggerFactory.getLogger(StockDeltaIngestService.class);
+
+    // Sums taken from the buffer but not applied yet, and the last journal segment they cover. Only the flush
+    // thread touches them once started.
+    private final Map<StockKey, Long> pending = new HashMap<>();
+    private long pendingUpTo;
+    private int failedFlushes;
+
+    private volatile Generation current = new Generation();
+    private volatile ScheduledExecutorService flusher;
+
+    public StockDeltaIngestService(StockDeltaJournal journal, StockDeltaRepository stockDeltaRepository,
+                                   StockIngestCheckpointRepository checkpointRepository,
+                                   StockIngestRejectRepository rejectRepository,
+                                   StockAvailabilityService stockAvailabilityService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${stock.ingest.flush-interval:200ms}") Duration flushInterval,
+                                   @Value("${stock.ingest.flush-events:10000}") int flushEvents) {
+        this.journal = journal;
+        this.stockDeltaRepository = stockDeltaRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.rejectRepository = rejectRepository;
+        this.stockAvailabilityService = stockAvailabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.savepointTemplate = new TransactionTemplate(transactionManager);
+        this.savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        for (int i = 0; i < ROTATION_STRIPES; i++) {
+            rotation[i] = new ReentrantReadWriteLock();
+        }
+        this.flushInterval = flushInterval;
+        this.flushEvents = flushEvents;
+    }
+
+    /**
+     * Journals and buffers the events. Once this returns they survive a crash of the process; they reach
+     * {@code warehouse_products} with the next flush.
+     */
+    public void accept(List<StockDeltaEvent> events) {
+        List<StockDelta> deltas = validate(events);
+        Generation generation;
+        Lock stripe = rotation[(int) Thread.currentThread().threadId() & (ROTATION_STRIPES - 1)].readLock();
+        stripe.lock();
+        try {
+            if (flusher == null) {
+                throw new IllegalStateException("Stock delta ingest is not running");
+            }
+            journal.append(deltas);
+            generation = current;
+            for (StockDelta delta : deltas) {
+                generation.sums.computeIfAbsent(new StockKey(delta.warehouseId(), delta.productId()),
+                        key -> new LongAdder()).add(delta.delta());
+            }
+        } finally {
+            stripe.unlock();
+        }
+        acceptedEvents.add(deltas.size());
+        if (generation.events.addAndGet(deltas.size()) >= flushEvents) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Applies everything buffered so far. Runs on the flush thread; a failure is logged and the sums are
+     * retried with the next flush, isolating the sums that fail.
+     */
+    void flush() {
+        flushRequested.set(false);
+        try {
+            rollOver();
+            if (pendingUpTo == 0) {
+                return;
+            }
+            List<StockDelta> batch = new ArrayList<>(pending.size());
+            List<StockDelta> outOfRange = new ArrayList<>();
+            pending.forEach((key, sum) -> {
+                if (sum < Integer.MIN_VALUE || sum > Integer.MAX_VALUE) {
+                    // No quantity column can take it; an INT overflow would fail the whole batch.
+                    outOfRange.add(new StockDelta(key.warehouseId(), key.productId(), sum));
+                } else if (sum != 0) {
+                    batch.add(new StockDelta(key.warehouseId(), key.productId(), sum));
+                }
+            });
+            // A stable batch however the sums were buffered; the repository orders the row locks itself.
+            batch.sort(Comparator.comparingLong(StockDelta::warehouseId).thenComparingLong(StockDelta::productId));
+            long upTo = pendingUpTo;
+            boolean isolate = failedFlushes > 0;
+            List<StockDelta> skipped = transactionTemplate.execute(status -> {
+                List<StockDelta> notApplied = new ArrayList<>(outOfRange);
+                notApplied.addAll(isolate ? applyIsolating(batch) : stockDeltaRepository.applyDeltas(batch));
+                if (!notApplied.isEmpty()) {
+                    rejectRepository.saveRejects(journal.getId(), notApplied);
+                }
+                checkpointRepository.saveLastAppliedSegment(journal.getId(), upTo);
+                Set<StockDelta> notAppliedSet = new HashSet<>(notApplied);
+                stockAvailabilityService.recordChanges(batch.stream()
+                        .filter(delta -> !notAppliedSet.contains(delta))
+                        .toList());
+                return notApplied;
+            });
+            pending.clear();
+            pendingUpTo = 0;
+            failedFlushes = 0;
+            appliedDeltas.add(batch.size() + outOfRange.size() - skipped.size());
+            skippedDeltas.add(skipped.size());
+            if (!skipped.isEmpty()) {
+                logger.warn("Recorded {} stock deltas that could not be applied in stock_ingest_rejects, e.g. {}",
+                        skipped.size(), skipped.subList(0, Math.min(skipped.size(), LOGGED_SKIPS)));
+            }
+            logger.debug("Applied {} stock deltas up to journal segment {}",
+                    batch.size() + outOfRange.size() - skipped.size(), upTo);
+            journal.deleteUpTo(upTo);
+        } catch (RuntimeException ex) {
+            failedFlushes++;
+            logger.warn("Could not apply {} buffered stock deltas (attempt {}), retrying with the next flush",
+                    pending.size(), failedFlushes, ex);
+        }
+    }
+
+    /**
+     * Applies the deltas under a savepoint, and on a refusal by the database each half under its own, down to
+     * single deltas, which are then returned as not applied. A transient failure, such as a deadlock, fails the
+     * whole flush instead; so does a lost connection, which also fails the enclosing transaction.
+     */
+    private List<StockDelta> applyIsolating(List<StockDelta> deltas) {
+        try {
+            return savepointTemplate.execute(status -> stockDeltaRepository.applyDeltas(deltas));
+        } catch (NonTransientDataAccessException ex) {
+            if (deltas.size() == 1) {
+                logger.warn("Rejecting stock delta {} that the database refuses", deltas.getFirst(), ex);
+                return deltas;
+            }
+            int half = deltas.size() / 2;
+            List<StockDelta> notApplied = new ArrayList<>(applyIsolating(deltas.subList(0, half)));
+            notApplied.addAll(applyIsolating(deltas.subList(half, deltas.size())));
+            return notApplied;
+        }
+    }
+
+    @Override
+    public void start() {
+        long lastApplied = checkpointRepository.getLastAppliedSegment(journal.getId());
+        for (long segment : journal.getClosedSegments()) {
+            if (segment > lastApplied) {
+                journal.replay(segment, delta -> pending.merge(new StockKey(delta.warehouseId(), delta.productId()),
+                        delta.delta(), Long::sum));
+                pendingUpTo = segment;
+            }
+        }
+        journal.deleteUpTo(lastApplied);
+        journal.open(lastApplied);
+        if (pendingUpTo > 0) {
+            logger.info("Recovered stock deltas for {} products from journal segments {} to {}",
+                    pending.size(), lastApplied + 1, pendingUpTo);
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("stock-ingest-flush").daemon().factory());
+        executor.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        if (pendingUpTo > 0) {
+            executor.execute(this::flush);
+        }
+        flusher = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = flusher;
+        if (executor == null) {
+            return;
+        }
+        lockRotation();
+        try {
+            flusher = null;
+        } finally {
+            unlockRotation();
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Stock delta flush did not finish in time; the journal keeps its deltas for the next start");
+                executor.shutdownNow();
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        flush();
+        journal.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    /**
+     * Starts before the web server and stops after it, so that no request is accepted while the journal is
+     * closed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stock.ingest.events", acceptedEvents, LongAdder::sum)
+                .description("Scanner stock events accepted into the journal")
+                .register(registry);
+        FunctionCounter.builder("stock.ingest.deltas.applied", appliedDeltas, LongAdder::sum)
+                .description("Coalesced stock deltas written to warehouse_products")
+                .register(registry);
+        FunctionCounter.builder("stock.ingest.deltas.skipped", skippedDeltas, LongAdder::sum)
+                .description("Coalesced stock deltas that could not be applied and were recorded as rejects")
+                .register(registry);
+        Gauge.builder("stock.ingest.buffered", this, service -> service.current.sums.size())
+                .description("Products with stock deltas waiting for the next flush")
+                .register(registry);
+    }
+
+    private void rollOver() {
+        Generation rolled;
+        long segment;
+        lockRotation();
+        try {
+            if (current.sums.isEmpty()) {
+                return;
+            }
+            segment = journal.roll();
+            rolled = current;
+            current = new Generation();
+        } finally {
+            unlockRotation();
+        }
+        rolled.sums.forEach((key, sum) -> pending.merge(key, sum.sum(), Long::sum));
+        pendingUpTo = segment;
+    }
+
+    private void lockRotation() {
+        for (ReadWriteLock stripe : rotation) {
+            stripe.writeLock().lock();
+        }
+    }
+
+    private void unlockRotation() {
+        for (int i = ROTATION_STRIPES - 1; i >= 0; i--) {
+            rotation[i].writeLock().unlock();
+        }
+    }
+
+    private void requestFlush() {
+        ScheduledExecutorService executor = flusher;
+        if (executor != null && flushRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flush);
+            } catch (RejectedExecutionException ex) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private static List<StockDelta> validate(List<StockDeltaEvent> events) {
+        if (events == null || events.isEmpty()) {
+            throw new InvalidStockDeltaException("At least one stock event is required.");
+        }
+        if (events.size() > MAX_EVENTS_PER_REQUEST) {
+            throw new InvalidStockDeltaException("At most " + MAX_EVENTS_PER_REQUEST
+                    + " stock events can be sent at once, got " + events.size() + ".");
+        }
+        List<StockDelta> deltas = new ArrayList<>(events.size());
+        for (StockDeltaEvent event : events) {
+            if (event == null || event.getWarehouseId() == null || event.getProductId() == null
+                    || event.getDelta() == null) {
+                throw new InvalidStockDeltaException("Every stock event needs a warehouse, a product and a delta.");
+            }
+            if (event.getDelta() == 0 || event.getDelta() < -MAX_EVENT_DELTA || event.getDelta() > MAX_EVENT_DELTA) {
+                throw new InvalidStockDeltaException("Stock event delta must be non-zero and at most "
+                        + MAX_EVENT_DELTA + " in size, got " + event.getDelta() + ".");
+            }
+            deltas.add(new StockDelta(event.getWarehouseId(), event.getProductId(), event.getDelta()));
+        }
+        return deltas;
+    }
+
+    private record StockKey(long warehouseId, long productId) {
+    }
+
+    private static final class Generation {
+        final ConcurrentMap<StockKey, LongAdder> sums = new ConcurrentHashMap<>();
+        final AtomicInteger events = new AtomicInteger();
+    }
+}
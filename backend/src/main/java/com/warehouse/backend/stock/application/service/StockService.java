@@ -0,0 +1,139 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.product.domain.exception.ProductNotFoundException;
+import com.warehouse.backend.product.domain.repository.ProductRepository;
+import com.warehouse.backend.stock.application.mapper.StockMapper;
+import com.warehouse.backend.stock.application.port.input.StockMovementRequest;
+import com.warehouse.backend.stock.application.port.output.StockItemDto;
+import com.warehouse.backend.stock.domain.exception.InsufficientStockException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockQuantityException;
+import com.warehouse.backend.stock.domain.exception.StockItemNotFoundException;
+import com.warehouse.backend.stock.domain.exception.WarehouseNotFoundException;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import com.warehouse.backend.stock.domain.repository.StockRepository;
+import com.warehouse.backend.stock.domain.repository.WarehouseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Stock movements for {@code warehouse_products}. Quantities change only through single conditional
+ * UPDATE statements, so concurrent pickers on the same SKU serialize on the row lock in the database
+ * instead of overwriting each other's read-modify-write.
+ */
+@Service
+public class StockService {
+
+    private final StockRepository stockRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final ProductRepository productRepository;
+    private final StockMapper stockMapper;
+    private final StockAvailabilityService stockAvailabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger = LoggerFactory.getLogger(StockService.class);
+
+    public StockService(StockRepository stockRepository, WarehouseRepository warehouseRepository,
+                        ProductRepository productRepository, StockMapper stockMapper,
+                        StockAvailabilityService stockAvailabilityService,
+                        PlatformTransactionManager transactionManager) {
+        this.stockRepository = stockRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.productRepository = productRepository;
+        this.stockMapper = stockMapper;
+        this.stockAvailabilityService = stockAvailabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockItemDto> getWarehouseStock(Long warehouseId) {
+        logger.info("Getting stock of warehouse with id: {}", warehouseId);
+        if (!warehouseRepository.isWarehouseExist(warehouseId)) {
+            throw new WarehouseNotFoundException(warehouseId);
+        }
+        List<StockItemDto> stock = stockRepository.getStockByWarehouseId(warehouseId).stream()
+                .map(stockMapper::warehouseProductToStockItemDto)
+                .toList();
+        logger.info("Successfully retrieved {} stock items", stock.size());
+        return stock;
+    }
+
+    @Transactional(readOnly = true)
+    public StockItemDto getStockItem(Long warehouseId, Long productId) {
+        logger.info("Getting stock of product {} in warehouse {}", productId, warehouseId);
+        WarehouseProduct item = stockRepository.getStockItem(warehouseId, productId)
+                .orElseThrow(() -> new StockItemNotFoundException(warehouseId, productId));
+        return stockMapper.warehouseProductToStockItemDto(item);
+    }
+
+    /**
+     * Adds received goods to the warehouse, creating the stock row on the first receipt of a product.
+     */
+    public StockItemDto receiveStock(StockMovementRequest request) {
+        int amount = requirePositive(request.getQuantity());
+        logger.info("Receiving {} of product {} into warehouse {}", amount, request.getProductId(), request.getWarehouseId());
+        try {
+            return transactionTemplate.execute(status -> receive(request.getWarehouseId(), request.getProductId(), amount));
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent first receipt created the row; it exists now, so the increment applies.
+            logger.info("Stock row for product {} in warehouse {} was created concurrently, retrying",
+                    request.getProductId(), request.getWarehouseId());
+            return transactionTemplate.execute(status -> receive(request.getWarehouseId(), request.getProductId(), amount));
+        }
+    }
+
+    @Transactional
+    public StockItemDto pickStock(StockMovementRequest request) {
+        int amount = requirePositive(request.getQuantity());
+        Long warehouseId = request.getWarehouseId();
+        Long productId = request.getProductId();
+        logger.info("Picking {} of product {} from warehouse {}", amount, productId, warehouseId);
+        if (stockRepository.decreaseQuantity(warehouseId, productId, amount) == 0) {
+            WarehouseProduct item = stockRepository.getStockItem(warehouseId, productId)
+                    .orElseThrow(() -> new StockItemNotFoundException(warehouseId, productId));
+            logger.warn("Insufficient stock of product {} in warehouse {}: requested {}, available {}",
+                    productId, warehouseId, amount, item.getQuantity());
+            throw new InsufficientStockException(warehouseId, productId, amount, item.getQuantity());
+        }
+        stockAvailabilityService.recordChanges(List.of(new StockDelta(warehouseId, productId, -amount)));
+        return currentStock(warehouseId, productId);
+    }
+
+    private StockItemDto receive(Long warehouseId, Long productId, int amount) {
+        if (stockRepository.increaseQuantity(warehouseId, productId, amount) == 0) {
+            if (!warehouseRepository.isWarehouseExist(warehouseId)) {
+                throw new WarehouseNotFoundException(warehouseId);
+            }
+            if (productRepository.getProductById(productId).isEmpty()) {
+                throw new ProductNotFoundException(productId);
+            }
+            stockRepository.createStockItem(WarehouseProduct.builder()
+                    .warehouseId(warehouseId)
+                    .productId(productId)
+                    .quantity(amount)
+                    .build());
+            logger.info("Created stock row for product {} in warehouse {}", productId, warehouseId);
+        }
+        stockAvailabilityService.recordChanges(List.of(new StockDelta(warehouseId, productId, amount)));
+        return currentStock(warehouseId, productId);
+    }
+
+    private StockItemDto currentStock(Long warehouseId, Long productId) {
+        WarehouseProduct item = stockRepository.getStockItem(warehouseId, productId)
+                .orElseThrow(() -> new StockItemNotFoundException(warehouseId, productId));
+        return stockMapper.warehouseProductToStockItemDto(item);
+    }
+
+    private static int requirePositive(Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new InvalidStockQuantityException(quantity);
+        }
+        return quantity;
+    }
+}
@@ -0,0 +1,226 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.product.domain.exception.ProductNotFoundException;
+import com.warehouse.backend.product.domain.repository.ProductRepository;
+import com.warehouse.backend.stock.application.port.input.StockTransferLine;
+import com.warehouse.backend.stock.application.port.input.StockTransferRequest;
+import com.warehouse.backend.stock.application.port.output.StockItemDto;
+import com.warehouse.backend.stock.domain.exception.InsufficientStockException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockQuantityException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockTransferException;
+import com.warehouse.backend.stock.domain.exception.StockItemNotFoundException;
+import com.warehouse.backend.stock.domain.exception.StockTransferContentionException;
+import com.warehouse.backend.stock.domain.exception.WarehouseNotFoundException;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import com.warehouse.backend.stock.domain.repository.StockRepository;
+import com.warehouse.backend.stock.domain.repository.WarehouseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Moves stock between {@code warehouse_products} rows. All lines of a transfer apply in one transaction,
+ * which locks every row it touches up front, in ascending {@code warehouse_product_id} order. Two transfers
+ * in opposite directions therefore wait for each other instead of deadlocking. A lock conflict the database
+ * still reports (e.g. a lock wait timeout, or a deadlock with a statement outside this service) rolls the
+ * transaction back, and it is retried with jittered exponential backoff.
+ * <p>
+ * Destination rows that do not exist yet are created empty, each in its own short transaction, before the
+ * transfer takes its locks, so that the locking transaction never inserts.
+ */
+@Service
+public class StockTransferService {
+
+    public static final int MAX_TRANSFER_LINES = 100;
+
+    private final StockRepository stockRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final ProductRepository productRepository;
+    private final StockAvailabilityService stockAvailabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Logger logger = LoggerFactory.getLogger(StockTransferService.class);
+
+    public StockTransferService(StockRepository stockRepository, WarehouseRepository warehouseRepository,
+                                ProductRepository productRepository,
+                                StockAvailabilityService stockAvailabilityService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${stock.transfer.max-attempts:5}") int maxAttempts,
+                                @Value("${stock.transfer.retry-backoff:20ms}") Duration retryBackoff) {
+        this.stockRepository = stockRepository;
+        this.warehouseRepository = warehouseRepository;
+        this.productRepository = productRepository;
+        this.stockAvailabilityService = stockAvailabilityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Applies every line of the transfer or none of them.
+     *
+     * @return the rows the transfer touched, with their new quantities, in id order
+     */
+    public List<StockItemDto> transfer(StockTransferRequest request) {
+        List<StockTransferLine> lines = validate(request);
+        logger.info("Transferring stock in {} lines", lines.size());
+        Map<StockKey, Long> rowIds = resolveRows(lines);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyTransfer(lines, rowIds));
+            } catch (PessimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("Giving up stock transfer after {} lock conflicts", attempt);
+                    throw new StockTransferContentionException(attempt, ex);
+                }
+                logger.info("Stock transfer hit a lock conflict, retrying (attempt {} of {}): {}",
+                        attempt, maxAttempts, ex.getMessage());
+                backOff(attempt, ex);
+            }
+        }
+    }
+
+    private Map<StockKey, Long> resolveRows(List<StockTransferLine> lines) {
+        Set<Long> warehouseIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (StockTransferLine line : lines) {
+            warehouseIds.add(line.getFromWarehouseId());
+            warehouseIds.add(line.getToWarehouseId());
+            productIds.add(line.getProductId());
+        }
+        Map<StockKey, Long> rowIds = new HashMap<>();
+        for (WarehouseProduct item : stockRepository.getStockItems(warehouseIds, productIds)) {
+            rowIds.put(new StockKey(item.getWarehouseId(), item.getProductId()), item.getId());
+        }
+        for (StockTransferLine line : lines) {
+            if (!rowIds.containsKey(new StockKey(line.getFromWarehouseId(), line.getProductId()))) {
+                throw new StockItemNotFoundException(line.getFromWarehouseId(), line.getProductId());
+            }
+        }
+        for (StockTransferLine line : lines) {
+            StockKey destination = new StockKey(line.getToWarehouseId(), line.getProductId());
+            if (!rowIds.containsKey(destination)) {
+                rowIds.put(destination, createEmptyRow(destination));
+            }
+        }
+        return rowIds;
+    }
+
+    private Long createEmptyRow(StockKey key) {
+        if (!warehouseRepository.isWarehouseExist(key.warehouseId())) {
+            throw new WarehouseNotFoundException(key.warehouseId());
+        }
+        if (productRepository.getProductById(key.productId()).isEmpty()) {
+            throw new ProductNotFoundException(key.productId());
+        }
+        try {
+            return transactionTemplate.execute(status -> stockRepository.createStockItem(WarehouseProduct.builder()
+                    .warehouseId(key.warehouseId())
+                    .productId(key.productId())
+                    .quantity(0)
+                    .build()).getId());
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent receipt or transfer created the row first.
+            return stockRepository.getStockItem(key.warehouseId(), key.productId())
+                    .orElseThrow(() -> ex)
+                    .getId();
+        }
+    }
+
+    private List<StockItemDto> applyTransfer(List<StockTransferLine> lines, Map<StockKey, Long> rowIds) {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        try {
+            for (StockTransferLine line : lines) {
+                deltas.merge(rowIds.get(new StockKey(line.getFromWarehouseId(), line.getProductId())),
+                        -line.getQuantity(), Math::addExact);
+                deltas.merge(rowIds.get(new StockKey(line.getToWarehouseId(), line.getProductId())),
+                        line.getQuantity(), Math::addExact);
+            }
+        } catch (ArithmeticException ex) {
+            throw new InvalidStockTransferException("The lines of a stock transfer move more than " + Integer.MAX_VALUE
+                    + " units of one product into or out of one warehouse.");
+        }
+        List<WarehouseProduct> rows = stockRepository.lockStockItems(deltas.keySet());
+        for (WarehouseProduct row : rows) {
+            int delta = deltas.get(row.getId());
+            if ((long) row.getQuantity() + delta > Integer.MAX_VALUE) {
+                throw new InvalidStockTransferException("Transferring " + delta + " units of product with ID "
+                        + row.getProductId() + " would take warehouse with ID " + row.getWarehouseId()
+                        + " past " + Integer.MAX_VALUE + " units.");
+            }
+            if (row.getQuantity() + delta < 0) {
+                logger.warn("Insufficient stock of product {} in warehouse {} for transfer: requested {}, available {}",
+                        row.getProductId(), row.getWarehouseId(), -delta, row.getQuantity());
+                throw new InsufficientStockException(row.getWarehouseId(), row.getProductId(), -delta, row.getQuantity());
+            }
+        }
+        List<StockItemDto> result = new ArrayList<>(rows.size());
+        List<StockDelta> changes = new ArrayList<>(rows.size());
+        for (WarehouseProduct row : rows) {
+            int delta = deltas.get(row.getId());
+            if (delta != 0) {
+                stockRepository.adjustQuantity(row.getId(), delta);
+                changes.add(new StockDelta(row.getWarehouseId(), row.getProductId(), delta));
+            }
+            result.add(new StockItemDto(row.getId(), row.getWarehouseId(), row.getProductId(), row.getQuantity() + delta));
+        }
+        stockAvailabilityService.recordChanges(changes);
+        return result;
+    }
+
+    private void backOff(int attempt, PessimisticLockingFailureException conflict) {
+        long ceiling = retryBackoff.toMillis() << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new StockTransferContentionException(attempt, conflict);
+        }
+    }
+
+    private static List<StockTransferLine> validate(StockTransferRequest request) {
+        List<StockTransferLine> lines = request == null ? null : request.getLines();
+        if (lines == null || lines.isEmpty()) {
+            throw new InvalidStockTransferException("A stock transfer needs at least one line.");
+        }
+        if (lines.size() > MAX_TRANSFER_LINES) {
+            throw new InvalidStockTransferException("A stock transfer can have at most " + MAX_TRANSFER_LINES
+                    + " lines, got " + lines.size() + ".");
+        }
+        for (StockTransferLine line : lines) {
+            if (line == null || line.getFromWarehouseId() == null || line.getToWarehouseId() == null
+                    || line.getProductId() == null) {
+                throw new InvalidStockTransferException(
+                        "Every stock transfer line needs a source warehouse, a destination warehouse and a product.");
+            }
+            if (line.getFromWarehouseId().equals(line.getToWarehouseId())) {
+                throw new InvalidStockTransferException("Cannot transfer product with ID " + line.getProductId()
+                        + " from warehouse with ID " + line.getFromWarehouseId() + " to itself.");
+            }
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new InvalidStockQuantityException(line.getQuantity());
+            }
+        }
+        return lines;
+    }
+
+    private record StockKey(Long warehouseId, Long productId) {
+    }
+}
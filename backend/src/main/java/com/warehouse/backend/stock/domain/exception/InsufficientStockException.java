@@ -0,0 +1,8 @@
+package com.warehouse.backend.stock.domain.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(Long warehouseId, Long productId, int requested, int available) {
+        super("Cannot pick " + requested + " of product with ID " + productId + " from warehouse with ID "
+                + warehouseId + ": only " + available + " available.");
+    }
+}
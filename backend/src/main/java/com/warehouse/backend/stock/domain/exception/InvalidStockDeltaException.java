@@ -0,0 +1,7 @@
+package com.warehouse.backend.stock.domain.exception;
+
+public class InvalidStockDeltaException extends RuntimeException {
+    public InvalidStockDeltaException(String message) {
+        super(message);
+    }
+}
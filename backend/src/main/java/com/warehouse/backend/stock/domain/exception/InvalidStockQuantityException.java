@@ -0,0 +1,7 @@
+package com.warehouse.backend.stock.domain.exception;
+
+public class InvalidStockQuantityException extends RuntimeException {
+    public InvalidStockQuantityException(Integer quantity) {
+        super("Stock movement quantity must be positive, got " + quantity + ".");
+    }
+}
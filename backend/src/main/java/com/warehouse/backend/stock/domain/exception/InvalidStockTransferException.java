@@ -0,0 +1,7 @@
+package com.warehouse.backend.stock.domain.exception;
+
+public class InvalidStockTransferException extends RuntimeException {
+    public InvalidStockTransferException(String message) {
+        super(message);
+    }
+}
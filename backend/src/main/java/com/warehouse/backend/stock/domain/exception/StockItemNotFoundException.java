@@ -0,0 +1,7 @@
+package com.warehouse.backend.stock.domain.exception;
+
+public class StockItemNotFoundException extends RuntimeException {
+    public StockItemNotFoundException(Long warehouseId, Long productId) {
+        super("Product with ID " + productId + " is not stocked in warehouse with ID " + warehouseId + ".");
+    }
+}
@@ -0,0 +1,8 @@
+package com.warehouse.backend.stock.domain.exception;
+
+public class StockTransferContentionException extends RuntimeException {
+    public StockTransferContentionException(int attempts, Throwable cause) {
+        super("Stock transfer kept conflicting with concurrent movements and was given up after " + attempts
+                + " attempts. Please retry.", cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.warehouse.backend.stock.domain.exception;
+
+public class WarehouseNotFoundException extends RuntimeException {
+    public WarehouseNotFoundException(Long id) {
+        super("Warehouse with ID " + id + " not found.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.warehouse.backend.stock.domain.model;
+
+/**
+ * Net quantity change of one product in one warehouse, e.g. as coalesced from scanner events.
+ */
+public record StockDelta(long warehouseId, long productId, long delta) {
+}
@@ -0,0 +1,25 @@
+package com.warehouse.backend.stock.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last journal segment of one node whose stock deltas are applied. Written in the same transaction as the
+ * deltas, so that replaying the journal after a crash skips what already reached the database.
+ */
+@Entity
+@Table(name = "stock_ingest_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockIngestCheckpoint {
+
+    @Id
+    @Column(name = "journal_id", length = 36)
+    private String journalId;
+
+    @Column(name = "last_segment", nullable = false)
+    private Long lastSegment;
+}
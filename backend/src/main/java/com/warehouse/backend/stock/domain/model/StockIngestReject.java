@@ -0,0 +1,43 @@
+package com.warehouse.backend.stock.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summed stock delta of one flush that could not be applied, kept for someone to reconcile by hand. Written
+ * in the same transaction as the applied deltas and the {@link StockIngestCheckpoint}.
+ */
+@Entity
+@Table(name = "stock_ingest_rejects",
+        indexes = @Index(name = "idx_stock_ingest_rejects_rejected_at", columnList = "rejected_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockIngestReject {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "reject_id")
+    private Long id;
+
+    @Column(name = "journal_id", nullable = false, length = 36)
+    private String journalId;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "delta", nullable = false)
+    private Long delta;
+
+    @Column(name = "rejected_at", nullable = false)
+    private LocalDateTime rejectedAt;
+}
@@ -0,0 +1,27 @@
+package com.warehouse.backend.stock.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "warehouses")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Warehouse {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "warehouse_id")
+    private Long id;
+
+    @Column(name = "warehouse_name", nullable = false, length = 150)
+    private String name;
+
+    @Column(name = "location")
+    private String location;
+}
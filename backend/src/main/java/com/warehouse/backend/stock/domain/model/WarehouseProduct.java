@@ -0,0 +1,37 @@
+package com.warehouse.backend.stock.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Quantity of one product held in one warehouse. The quantity is only ever changed through the atomic
+ * conditional updates of {@link com.warehouse.backend.stock.domain.repository.StockRepository}, never by
+ * setting it on a loaded entity.
+ */
+@Entity
+@Table(name = "warehouse_products",
+        uniqueConstraints = @UniqueConstraint(name = "uk_warehouse_products_warehouse_product",
+                columnNames = {"warehouse_id", "product_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseProduct {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "warehouse_product_id")
+    private Long id;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+}
@@ -0,0 +1,17 @@
+package com.warehouse.backend.stock.domain.repository;
+
+/**
+ * Bulk read of every stock quantity, for building the in-memory availability index.
+ */
+public interface StockAvailabilityRepository {
+
+    /**
+     * Streams every row of {@code warehouse_products} to the consumer, in no particular order.
+     */
+    void scanQuantities(QuantityConsumer consumer);
+
+    @FunctionalInterface
+    interface QuantityConsumer {
+        void accept(long warehouseId, long productId, int quantity);
+    }
+}
@@ -0,0 +1,57 @@
+package com.warehouse.backend.stock.domain.repository;
+
+import com.warehouse.backend.stock.domain.model.StockDelta;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Node-local append-only log of accepted stock deltas, split into numbered segments. The ingest appends to the
+ * current segment, rolls to a new one when it takes a batch to the database, and deletes segments once their
+ * deltas are applied. Segments still present after a restart hold deltas that may not be applied yet.
+ */
+public interface StockDeltaJournal extends AutoCloseable {
+
+    /**
+     * Stable identity of this journal, kept across restarts.
+     */
+    String getId();
+
+    /**
+     * Starts a new current segment, numbered above every segment on disk and above {@code lastApplied}, so
+     * that a checkpoint never covers a segment that is still to be applied.
+     */
+    void open(long lastApplied);
+
+    /**
+     * Appends the deltas to the current segment in one write. Safe to call from many threads, but not
+     * concurrently with {@link #roll()}.
+     */
+    void append(List<StockDelta> deltas);
+
+    /**
+     * Closes the current segment and starts the next one.
+     *
+     * @return number of the closed segment
+     */
+    long roll();
+
+    /**
+     * Numbers of the segments on disk other than the current one, in ascending order.
+     */
+    List<Long> getClosedSegments();
+
+    /**
+     * Passes every intact delta of a segment to {@code consumer}, in append order. A torn record at the end,
+     * left by a crash during a write, ends the segment.
+     */
+    void replay(long segment, Consumer<StockDelta> consumer);
+
+    /**
+     * Deletes all closed segments up to and including {@code segment}.
+     */
+    void deleteUpTo(long segment);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,22 @@
+package com.warehouse.backend.stock.domain.repository;
+
+import com.warehouse.backend.stock.domain.model.StockDelta;
+
+import java.util.List;
+
+/**
+ * Set-based stock updates for the scanner ingest, kept apart from {@link StockRepository} because they
+ * bypass the persistence context.
+ */
+public interface StockDeltaRepository {
+
+    /**
+     * Adds every delta to its row as one batch of conditional updates, locking the rows in the same order as
+     * {@link StockRepository#lockStockItems}. An increase of a product the warehouse does not stock yet creates
+     * its row. A delta is skipped if it would take the quantity below zero, if it decreases a product that is
+     * not stocked in the warehouse, or if the warehouse or the product does not exist.
+     *
+     * @return the skipped deltas
+     */
+    List<StockDelta> applyDeltas(List<StockDelta> deltas);
+}
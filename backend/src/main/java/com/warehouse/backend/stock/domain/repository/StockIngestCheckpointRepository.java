@@ -0,0 +1,11 @@
+package com.warehouse.backend.stock.domain.repository;
+
+public interface StockIngestCheckpointRepository {
+
+    /**
+     * Returns the last applied segment of the journal, {@code 0} if none was applied yet.
+     */
+    long getLastAppliedSegment(String journalId);
+
+    void saveLastAppliedSegment(String journalId, long segment);
+}
@@ -0,0 +1,13 @@
+package com.warehouse.backend.stock.domain.repository;
+
+import com.warehouse.backend.stock.domain.model.StockDelta;
+
+import java.util.List;
+
+public interface StockIngestRejectRepository {
+
+    /**
+     * Records deltas of the journal that could not be applied, in the caller's transaction.
+     */
+    void saveRejects(String journalId, List<StockDelta> rejected);
+}
@@ -0,0 +1,49 @@
+package com.warehouse.backend.stock.domain.repository;
+
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockRepository {
+
+    List<WarehouseProduct> getStockByWarehouseId(Long warehouseId);
+
+    Optional<WarehouseProduct> getStockItem(Long warehouseId, Long productId);
+
+    /**
+     * Returns the rows of every stocked combination of the given warehouses and products, without locking.
+     */
+    List<WarehouseProduct> getStockItems(Collection<Long> warehouseIds, Collection<Long> productIds);
+
+    /**
+     * Locks the rows for update, in ascending id order, and returns them in that order. Every caller that
+     * locks several rows has to go through here so that they all take the locks in the same order.
+     */
+    List<WarehouseProduct> lockStockItems(Collection<Long> ids);
+
+    /**
+     * Adds {@code delta}, which may be negative, to the quantity of the row with the given id. The caller is
+     * expected to hold the row lock and to have checked the result stays non-negative.
+     *
+     * @return number of updated rows
+     */
+    int adjustQuantity(Long id, int delta);
+
+    /**
+     * Atomically adds {@code amount} to the stored quantity.
+     *
+     * @return number of updated rows, {@code 0} if the product is not stocked in the warehouse yet
+     */
+    int increaseQuantity(Long warehouseId, Long productId, int amount);
+
+    /**
+     * Atomically subtracts {@code amount}, but only if at least that much is on hand.
+     *
+     * @return number of updated rows, {@code 0} if the product is not stocked or the quantity is insufficient
+     */
+    int decreaseQuantity(Long warehouseId, Long productId, int amount);
+
+    WarehouseProduct createStockItem(WarehouseProduct warehouseProduct);
+}
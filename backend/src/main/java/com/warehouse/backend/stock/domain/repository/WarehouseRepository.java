@@ -0,0 +1,6 @@
+package com.warehouse.backend.stock.domain.repository;
+
+public interface WarehouseRepository {
+
+    boolean isWarehouseExist(Long id);
+}
@@ -0,0 +1,251 @@
+package com.warehouse.backend.stock.infrastructure.journal;
+
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.repository.StockDeltaJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link StockDeltaJournal} kept as files in one directory: {@code stock-deltas-<segment>.journal} segments
+ * of fixed-size records (warehouse id, product id, delta, CRC32C of the three) and a {@code journal-id} file
+ * holding the journal's identity.
+ * <p>
+ * Appends are plain writes, which survive a crash of the process. With {@code fsync} every append is also
+ * forced to the device before it returns, which makes it survive a crash of the machine. The device flushes
+ * are group-committed: an append waiting for the flush of another finds its own write covered by the next
+ * one, so concurrent requests share a flush instead of queueing one each.
+ */
+public class FileStockDeltaJournal implements StockDeltaJournal {
+
+    static final int RECORD_SIZE = 3 * Long.BYTES + Integer.BYTES;
+    private static final String ID_FILE = "journal-id";
+    private static final String SEGMENT_PREFIX = "stock-deltas-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final String id;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final Logger logger = LoggerFactory.getLogger(FileStockDeltaJournal.class);
+
+    private volatile FileChannel channel;
+    private volatile long currentSegment;
+    // Appends written so far and appends known to be on the device, counted across segments.
+    private volatile long written;
+    private volatile long forced;
+
+    public FileStockDeltaJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            this.id = readOrCreateId(directory.resolve(ID_FILE));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open stock delta journal in " + directory, ex);
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void open(long lastApplied) {
+        long last = lastApplied;
+        for (long segment : getClosedSegments()) {
+            last = Math.max(last, segment);
+        }
+        channel = openSegment(last + 1);
+        currentSegment = last + 1;
+        logger.info("Journaling stock deltas to segment {} in {}", currentSegment, directory);
+    }
+
+    @Override
+    public void append(List<StockDelta> deltas) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * deltas.size());
+        CRC32C checksum = new CRC32C();
+        for (StockDelta delta : deltas) {
+            int start = buffer.position();
+            buffer.putLong(delta.warehouseId()).putLong(delta.productId()).putLong(delta.delta());
+            checksum.reset();
+            checksum.update(buffer.array(), start, 3 * Long.BYTES);
+            buffer.putInt((int) checksum.getValue());
+        }
+        buffer.flip();
+        FileChannel target = channel;
+        if (target == null) {
+            throw new IllegalStateException("Stock delta journal is not open");
+        }
+        try {
+            long append;
+            writeLock.lock();
+            try {
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                append = ++written;
+            } finally {
+                writeLock.unlock();
+            }
+            if (fsync) {
+                force(target, append);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to stock delta journal segment " + currentSegment, ex);
+        }
+    }
+
+    @Override
+    public long roll() {
+        long closed = currentSegment;
+        FileChannel next = openSegment(closed + 1);
+        closeQuietly(channel);
+        channel = next;
+        currentSegment = closed + 1;
+        return closed;
+    }
+
+    @Override
+    public List<Long> getClosedSegments() {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long segment = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                if (channel == null || segment != currentSegment) {
+                    segments.add(segment);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not list stock delta journal segments in " + directory, ex);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    @Override
+    public void replay(long segment, Consumer<StockDelta> consumer) {
+        Path file = segmentFile(segment);
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            CRC32C checksum = new CRC32C();
+            while (true) {
+                record.clear();
+                fill(reader, record);
+                if (record.position() == 0) {
+                    return;
+                }
+                checksum.reset();
+                checksum.update(record.array(), 0, 3 * Long.BYTES);
+                if (record.hasRemaining() || record.getInt(3 * Long.BYTES) != (int) checksum.getValue()) {
+                    logger.warn("Stock delta journal segment {} ends in a torn record at offset {}, ignoring the rest",
+                            segment, reader.position() - record.position());
+                    return;
+                }
+                consumer.accept(new StockDelta(record.getLong(0), record.getLong(Long.BYTES), record.getLong(2 * Long.BYTES)));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read stock delta journal segment " + file, ex);
+        }
+    }
+
+    @Override
+    public void deleteUpTo(long segment) {
+        for (long closed : getClosedSegments()) {
+            if (closed > segment) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(segmentFile(closed));
+            } catch (IOException ex) {
+                // Harmless: the checkpoint makes the next start skip it, and the delete is retried then.
+                logger.warn("Could not delete applied stock delta journal segment {}", closed, ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        FileChannel current = channel;
+        channel = null;
+        closeQuietly(current);
+    }
+
+    /**
+     * Forces the segment unless a flush started after the given append was written already covered it. Appends
+     * do not overlap a roll, so every write counted in {@link #written} went to {@code target}.
+     */
+    private void force(FileChannel target, long append) throws IOException {
+        forceLock.lock();
+        try {
+            if (forced >= append) {
+                return;
+            }
+            long upTo = written;
+            target.force(false);
+            forced = upTo;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    private FileChannel openSegment(long segment) {
+        try {
+            return FileChannel.open(segmentFile(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open stock delta journal segment " + segment, ex);
+        }
+    }
+
+    private void closeQuietly(FileChannel segment) {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.force(false);
+            segment.close();
+        } catch (IOException ex) {
+            logger.warn("Could not close stock delta journal segment", ex);
+        }
+    }
+
+    private static void fill(FileChannel reader, ByteBuffer record) throws IOException {
+        while (record.hasRemaining()) {
+            if (reader.read(record) < 0) {
+                return;
+            }
+        }
+    }
+
+    private Path segmentFile(long segment) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%019d", segment) + SEGMENT_SUFFIX);
+    }
+
+    private static String readOrCreateId(Path idFile) throws IOException {
+        if (Files.exists(idFile)) {
+            return Files.readString(idFile, StandardCharsets.UTF_8).strip();
+        }
+        String id = UUID.randomUUID().toString();
+        Files.writeString(idFile, id, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW, StandardOpenOption.SYNC);
+        return id;
+    }
+}
@@ -0,0 +1,30 @@
+package com.warehouse.backend.stock.infrastructure.repository;
+
+import com.warehouse.backend.stock.domain.repository.StockAvailabilityRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC implementation of {@link StockAvailabilityRepository}. Rows are handed over one at a time instead of
+ * being mapped to entities, so a full scan allocates nothing per row on this side. Runs outside a read-only
+ * transaction and therefore on the primary, which a lagging replica could otherwise roll the index back to.
+ */
+@Repository
+public class JdbcStockAvailabilityRepository implements StockAvailabilityRepository {
+
+    private static final String SCAN_QUANTITIES = "SELECT warehouse_id, product_id, quantity FROM warehouse_products";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcStockAvailabilityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void scanQuantities(QuantityConsumer consumer) {
+        RowCallbackHandler handler = resultSet -> consumer.accept(resultSet.getLong(1), resultSet.getLong(2),
+                resultSet.getInt(3));
+        jdbcTemplate.query(SCAN_QUANTITIES, handler);
+    }
+}
@@ -0,0 +1,127 @@
+package com.warehouse.backend.stock.infrastructure.repository;
+
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.repository.StockDeltaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC implementation of {@link StockDeltaRepository}. The stock rows of the batch are looked up first, and
+ * the deltas are then applied as one conditional UPDATE per row, by primary key and in ascending
+ * {@code warehouse_product_id} order: the order in which
+ * {@link com.warehouse.backend.stock.domain.repository.StockRepository#lockStockItems} locks, so that a flush
+ * and a transfer touching the same rows wait for each other instead of deadlocking. Increases of products
+ * without a row come last, as upserts that only insert if both the warehouse and the product exist; their
+ * new rows have the highest ids. Statements are sent as JDBC batches of {@value #BATCH_SIZE}, which the
+ * MySQL driver rewrites into multi-statement round trips.
+ */
+@Repository
+public class JdbcStockDeltaRepository implements StockDeltaRepository {
+
+    static final int BATCH_SIZE = 500;
+    private static final String FIND_ROWS = "SELECT warehouse_product_id, warehouse_id, product_id "
+            + "FROM warehouse_products WHERE warehouse_id IN (:warehouseIds) AND product_id IN (:productIds)";
+    private static final String APPLY_DELTA = "UPDATE warehouse_products SET quantity = quantity + ? "
+            + "WHERE warehouse_product_id = ? AND quantity + ? >= 0";
+    // A row created since the lookup, e.g. by a receipt, gets the increase added instead.
+    private static final String UPSERT_INCREASE = "INSERT INTO warehouse_products (warehouse_id, product_id, quantity) "
+            + "SELECT w.warehouse_id, p.product_id, ? FROM warehouses w JOIN products p ON p.product_id = ? "
+            + "WHERE w.warehouse_id = ? ON DUPLICATE KEY UPDATE quantity = quantity + ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public JdbcStockDeltaRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    @Override
+    public List<StockDelta> applyDeltas(List<StockDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        Map<RowKey, Long> rowIds = findRowIds(deltas);
+        List<StockDelta> skipped = new ArrayList<>();
+        List<RowDelta> updates = new ArrayList<>(deltas.size());
+        List<StockDelta> inserts = new ArrayList<>();
+        for (StockDelta delta : deltas) {
+            Long rowId = rowIds.get(new RowKey(delta.warehouseId(), delta.productId()));
+            if (rowId != null) {
+                updates.add(new RowDelta(rowId, delta));
+            } else if (delta.delta() > 0) {
+                inserts.add(delta);
+            } else {
+                skipped.add(delta);
+            }
+        }
+        updates.sort(Comparator.comparingLong(RowDelta::rowId));
+        int[][] updateCounts = jdbcTemplate.batchUpdate(APPLY_DELTA, updates, BATCH_SIZE, (statement, update) -> {
+            statement.setLong(1, update.delta().delta());
+            statement.setLong(2, update.rowId());
+            statement.setLong(3, update.delta().delta());
+        });
+        collectSkipped(updateCounts, updates.stream().map(RowDelta::delta).toList(), skipped);
+        int[][] insertCounts = jdbcTemplate.batchUpdate(UPSERT_INCREASE, inserts, BATCH_SIZE, (statement, delta) -> {
+            statement.setLong(1, delta.delta());
+            statement.setLong(2, delta.productId());
+            statement.setLong(3, delta.warehouseId());
+            statement.setLong(4, delta.delta());
+        });
+        collectSkipped(insertCounts, inserts, skipped);
+        return skipped;
+    }
+
+    private static void collectSkipped(int[][] updateCounts, List<StockDelta> deltas, List<StockDelta> skipped) {
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int updated : batch) {
+                // SUCCESS_NO_INFO (-2) counts as applied: the driver could not tell.
+                if (updated == 0) {
+                    skipped.add(deltas.get(index));
+                }
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Reads the ids of the rows the deltas name, without locking; a row only disappears with its warehouse or
+     * product. Looked up by warehouse and product sets in slices of {@value #BATCH_SIZE} products, which may
+     * return rows of other combinations that are then ignored.
+     */
+    private Map<RowKey, Long> findRowIds(List<StockDelta> deltas) {
+        Set<Long> warehouseIds = new LinkedHashSet<>();
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (StockDelta delta : deltas) {
+            warehouseIds.add(delta.warehouseId());
+            productIds.add(delta.productId());
+        }
+        List<Long> products = new ArrayList<>(productIds);
+        Map<RowKey, Long> rowIds = new HashMap<>(deltas.size() * 2);
+        RowCallbackHandler handler = resultSet ->
+                rowIds.put(new RowKey(resultSet.getLong(2), resultSet.getLong(3)), resultSet.getLong(1));
+        for (int from = 0; from < products.size(); from += BATCH_SIZE) {
+            Map<String, Object> parameters = Map.of("warehouseIds", warehouseIds,
+                    "productIds", products.subList(from, Math.min(from + BATCH_SIZE, products.size())));
+            namedParameterJdbcTemplate.query(FIND_ROWS, parameters, handler);
+        }
+        return rowIds;
+    }
+
+    private record RowKey(long warehouseId, long productId) {
+    }
+
+    private record RowDelta(long rowId, StockDelta delta) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.warehouse.backend.stock.infrastructure.repository;
+
+import com.warehouse.backend.stock.domain.model.StockIngestCheckpoint;
+import com.warehouse.backend.stock.domain.repository.StockIngestCheckpointRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JpaStockIngestCheckpointRepository extends StockIngestCheckpointRepository,
+        JpaRepository<StockIngestCheckpoint, String> {
+
+    @Override
+    default long getLastAppliedSegment(String journalId) {
+        return findById(journalId).map(StockIngestCheckpoint::getLastSegment).orElse(0L);
+    }
+
+    @Override
+    default void saveLastAppliedSegment(String journalId, long segment) {
+        save(new StockIngestCheckpoint(journalId, segment));
+    }
+}
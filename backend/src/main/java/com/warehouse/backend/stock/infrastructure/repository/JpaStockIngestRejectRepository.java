@@ -0,0 +1,27 @@
+package com.warehouse.backend.stock.infrastructure.repository;
+
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.model.StockIngestReject;
+import com.warehouse.backend.stock.domain.repository.StockIngestRejectRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JpaStockIngestRejectRepository extends StockIngestRejectRepository,
+        JpaRepository<StockIngestReject, Long> {
+
+    @Override
+    default void saveRejects(String journalId, List<StockDelta> rejected) {
+        LocalDateTime now = LocalDateTime.now();
+        saveAll(rejected.stream()
+                .map(delta -> StockIngestReject.builder()
+                        .journalId(journalId)
+                        .warehouseId(delta.warehouseId())
+                        .productId(delta.productId())
+                        .delta(delta.delta())
+                        .rejectedAt(now)
+                        .build())
+                .toList());
+    }
+}
@@ -0,0 +1,71 @@
+package com.warehouse.backend.stock.infrastructure.repository;
+
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import com.warehouse.backend.stock.domain.repository.StockRepository;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface JpaStockRepository extends StockRepository, JpaRepository<WarehouseProduct, Long> {
+
+    @Override
+    default List<WarehouseProduct> getStockByWarehouseId(Long warehouseId) {
+        return findByWarehouseIdOrderByProductIdAsc(warehouseId);
+    }
+
+    List<WarehouseProduct> findByWarehouseIdOrderByProductIdAsc(Long warehouseId);
+
+    @Override
+    default Optional<WarehouseProduct> getStockItem(Long warehouseId, Long productId) {
+        return findByWarehouseIdAndProductId(warehouseId, productId);
+    }
+
+    Optional<WarehouseProduct> findByWarehouseIdAndProductId(Long warehouseId, Long productId);
+
+    @Override
+    default List<WarehouseProduct> getStockItems(Collection<Long> warehouseIds, Collection<Long> productIds) {
+        return findByWarehouseIdInAndProductIdIn(warehouseIds, productIds);
+    }
+
+    List<WarehouseProduct> findByWarehouseIdInAndProductIdIn(Collection<Long> warehouseIds, Collection<Long> productIds);
+
+    /**
+     * One {@code SELECT ... FOR UPDATE}; InnoDB walks the primary key ranges of the IN list in ascending order,
+     * so the row locks are taken in id order.
+     */
+    @Override
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WarehouseProduct w WHERE w.id IN :ids ORDER BY w.id")
+    List<WarehouseProduct> lockStockItems(@Param("ids") Collection<Long> ids);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WarehouseProduct w SET w.quantity = w.quantity + :delta WHERE w.id = :id")
+    int adjustQuantity(@Param("id") Long id, @Param("delta") int delta);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WarehouseProduct w SET w.quantity = w.quantity + :amount " +
+            "WHERE w.warehouseId = :warehouseId AND w.productId = :productId")
+    int increaseQuantity(@Param("warehouseId") Long warehouseId, @Param("productId") Long productId,
+                         @Param("amount") int amount);
+
+    @Override
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WarehouseProduct w SET w.quantity = w.quantity - :amount " +
+            "WHERE w.warehouseId = :warehouseId AND w.productId = :productId AND w.quantity >= :amount")
+    int decreaseQuantity(@Param("warehouseId") Long warehouseId, @Param("productId") Long productId,
+                         @Param("amount") int amount);
+
+    @Override
+    default WarehouseProduct createStockItem(WarehouseProduct warehouseProduct) {
+        return saveAndFlush(warehouseProduct);
+    }
+}
@@ -0,0 +1,13 @@
+package com.warehouse.backend.stock.infrastructure.repository;
+
+import com.warehouse.backend.stock.domain.model.Warehouse;
+import com.warehouse.backend.stock.domain.repository.WarehouseRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JpaWarehouseRepository extends WarehouseRepository, JpaRepository<Warehouse, Long> {
+
+    @Override
+    default boolean isWarehouseExist(Long id) {
+        return existsById(id);
+    }
+}
@@ -0,0 +1,166 @@
+package com.warehouse.backend.stock.presentation.controller;
+
+import com.warehouse.backend.stock.application.port.input.StockAvailabilityRequest;
+import com.warehouse.backend.stock.application.port.input.StockDeltaEvent;
+import com.warehouse.backend.stock.application.port.input.StockMovementRequest;
+import com.warehouse.backend.stock.application.port.input.StockTransferRequest;
+import com.warehouse.backend.stock.application.port.output.ProductAvailabilityDto;
+import com.warehouse.backend.stock.application.port.output.StockItemDto;
+import com.warehouse.backend.stock.application.service.StockAvailabilityService;
+import com.warehouse.backend.stock.application.service.StockDeltaIngestService;
+import com.warehouse.backend.stock.application.service.StockService;
+import com.warehouse.backend.stock.application.service.StockTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/stock")
+@Tag(name = "Stock API", description = "API for warehouse stock movements")
+public class StockController {
+
+    private final StockService stockService;
+    private final StockTransferService stockTransferService;
+    private final StockDeltaIngestService stockDeltaIngestService;
+    private final StockAvailabilityService stockAvailabilityService;
+
+    public StockController(StockService stockService, StockTransferService stockTransferService,
+                           StockDeltaIngestService stockDeltaIngestService,
+                           StockAvailabilityService stockAvailabilityService) {
+        this.stockService = stockService;
+        this.stockTransferService = stockTransferService;
+        this.stockDeltaIngestService = stockDeltaIngestService;
+        this.stockAvailabilityService = stockAvailabilityService;
+    }
+
+    @GetMapping("/warehouse/{warehouseId}")
+    @Operation(summary = "Get the stock of a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockItemDto.class))),
+            @ApiResponse(responseCode = "404", description = "Warehouse not found",
+                    content = @Content)
+    })
+    public ResponseEntity<List<StockItemDto>> getWarehouseStock(
+            @PathVariable("warehouseId") @Parameter(description = "Warehouse ID", required = true) Long warehouseId) {
+        List<StockItemDto> stock = stockService.getWarehouseStock(warehouseId);
+        return ResponseEntity.ok(stock);
+    }
+
+    @GetMapping("/warehouse/{warehouseId}/product/{productId}")
+    @Operation(summary = "Get the stock of a product in a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock item found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockItemDto.class))),
+            @ApiResponse(responseCode = "404", description = "Product is not stocked in the warehouse",
+                    content = @Content)
+    })
+    public ResponseEntity<StockItemDto> getStockItem(
+            @PathVariable("warehouseId") @Parameter(description = "Warehouse ID", required = true) Long warehouseId,
+            @PathVariable("productId") @Parameter(description = "Product ID", required = true) Long productId) {
+        StockItemDto item = stockService.getStockItem(warehouseId, productId);
+        return ResponseEntity.ok(item);
+    }
+
+    @PostMapping("/receive")
+    @Operation(summary = "Add received goods to a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock increased successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockItemDto.class))),
+            @ApiResponse(responseCode = "400", description = "Quantity is not positive",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Warehouse or product not found",
+                    content = @Content)
+    })
+    public ResponseEntity<StockItemDto> receiveStock(@RequestBody StockMovementRequest request) {
+        StockItemDto item = stockService.receiveStock(request);
+        return ResponseEntity.ok(item);
+    }
+
+    @PostMapping("/pick")
+    @Operation(summary = "Take goods out of a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock decreased successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockItemDto.class))),
+            @ApiResponse(responseCode = "400", description = "Quantity is not positive",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Product is not stocked in the warehouse",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Not enough stock on hand",
+                    content = @Content)
+    })
+    public ResponseEntity<StockItemDto> pickStock(@RequestBody StockMovementRequest request) {
+        StockItemDto item = stockService.pickStock(request);
+        return ResponseEntity.ok(item);
+    }
+
+    @PostMapping("/transfer")
+    @Operation(summary = "Move stock between warehouses",
+            description = "All lines are applied in one transaction or not at all. At most "
+                    + StockTransferService.MAX_TRANSFER_LINES + " lines per transfer.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock moved; the touched stock items in ID order",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockItemDto.class))),
+            @ApiResponse(responseCode = "400", description = "Empty, oversized or malformed transfer",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Product is not stocked in a source warehouse, or a "
+                    + "destination warehouse or product does not exist",
+                    content = @Content),
+            @ApiResponse(responseCode = "409", description = "Not enough stock on hand",
+                    content = @Content),
+            @ApiResponse(responseCode = "503", description = "Gave up after repeated lock conflicts; safe to retry",
+                    content = @Content)
+    })
+    public ResponseEntity<List<StockItemDto>> transferStock(@RequestBody StockTransferRequest request) {
+        List<StockItemDto> items = stockTransferService.transfer(request);
+        return ResponseEntity.ok(items);
+    }
+
+    @PostMapping("/events")
+    @Operation(summary = "Record scanner stock events",
+            description = "Each event adds its delta to a product's quantity in a warehouse. Events are journaled "
+                    + "and applied in batches shortly after the response, creating the stock row on the first "
+                    + "increase. A summed delta that would make the quantity negative, or that names an unknown "
+                    + "warehouse or product, is recorded as a reject for reconciliation instead. At most "
+                    + StockDeltaIngestService.MAX_EVENTS_PER_REQUEST + " events per request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Events accepted", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Empty, oversized or malformed batch",
+                    content = @Content)
+    })
+    public ResponseEntity<Void> recordStockEvents(@RequestBody List<StockDeltaEvent> events) {
+        stockDeltaIngestService.accept(events);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/availability")
+    @Operation(summary = "Get the quantity on hand of many products across all warehouses",
+            description = "Served from memory and kept current with this node's stock movements; movements made "
+                    + "through other nodes can take up to the refresh interval to show. Each product appears once, "
+                    + "in request order, with the warehouses holding it. At most "
+                    + StockAvailabilityService.MAX_PRODUCTS_PER_QUERY + " products per request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability found successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductAvailabilityDto.class))),
+            @ApiResponse(responseCode = "400", description = "Too many products",
+                    content = @Content)
+    })
+    public ResponseEntity<List<ProductAvailabilityDto>> getAvailability(@RequestBody StockAvailabilityRequest request) {
+        List<ProductAvailabilityDto> availability = stockAvailabilityService.getAvailability(request.getProductIds());
+        return ResponseEntity.ok(availability);
+    }
+}
@@ -0,0 +1,67 @@
+package com.warehouse.backend.stock.presentation.controller;
+
+import com.warehouse.backend.common.dto.ErrorResponse;
+import com.warehouse.backend.stock.domain.exception.InsufficientStockException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockDeltaException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockQuantityException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockTransferException;
+import com.warehouse.backend.stock.domain.exception.StockItemNotFoundException;
+import com.warehouse.backend.stock.domain.exception.StockTransferContentionException;
+import com.warehouse.backend.stock.domain.exception.WarehouseNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class StockExceptionHandler {
+
+    @ExceptionHandler(StockItemNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleStockItemNotFoundException(StockItemNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(WarehouseNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleWarehouseNotFoundException(WarehouseNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(InsufficientStockException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidStockQuantityException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidStockQuantityException(InvalidStockQuantityException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidStockTransferException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidStockTransferException(InvalidStockTransferException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(StockTransferContentionException.class)
+    public ResponseEntity<ErrorResponse> handleStockTransferContentionException(StockTransferContentionException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidStockDeltaException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidStockDeltaException(InvalidStockDeltaException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+}
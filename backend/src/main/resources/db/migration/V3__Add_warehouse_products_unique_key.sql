@@ -0,0 +1,20 @@
+-- Stock rows were maintained outside the application until now; fold any duplicate
+-- (warehouse, product) rows into the oldest one before enforcing uniqueness.
+UPDATE warehouse_products wp
+    JOIN (SELECT MIN(warehouse_product_id) AS keep_id, SUM(quantity) AS total
+          FROM warehouse_products
+          GROUP BY warehouse_id, product_id
+          HAVING COUNT(*) > 1) duplicates ON wp.warehouse_product_id = duplicates.keep_id
+SET wp.quantity = duplicates.total;
+
+DELETE wp
+FROM warehouse_products wp
+         JOIN (SELECT warehouse_id, product_id, MIN(warehouse_product_id) AS keep_id
+               FROM warehouse_products
+               GROUP BY warehouse_id, product_id) kept
+              ON wp.warehouse_id = kept.warehouse_id
+                  AND wp.product_id = kept.product_id
+                  AND wp.warehouse_product_id <> kept.keep_id;
+
+ALTER TABLE warehouse_products
+    ADD CONSTRAINT uk_warehouse_products_warehouse_product UNIQUE (warehouse_id, product_id);
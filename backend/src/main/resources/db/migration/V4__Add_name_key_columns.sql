@@ -0,0 +1,20 @@
+-- Name checks compared LOWER(name), which no index can serve. Store the lower-cased name in a generated
+-- column and index it instead; for products the index is unique, making names unique regardless of case.
+
+-- Product names were only unique by an application-side check, so rename any existing case-insensitive
+-- duplicates (all but the oldest) by appending their id before the unique index is added.
+UPDATE products p
+    JOIN (SELECT LOWER(product_name) AS name_key, MIN(product_id) AS keep_id
+          FROM products
+          GROUP BY LOWER(product_name)
+          HAVING COUNT(*) > 1) duplicates ON LOWER(p.product_name) = duplicates.name_key
+SET p.product_name = CONCAT(LEFT(p.product_name, 150 - CHAR_LENGTH(CONCAT(' #', p.product_id))), ' #', p.product_id)
+WHERE p.product_id <> duplicates.keep_id;
+
+ALTER TABLE products
+    ADD COLUMN product_name_key VARCHAR(150) GENERATED ALWAYS AS (LOWER(product_name)) STORED,
+    ADD CONSTRAINT uk_products_name_key UNIQUE (product_name_key);
+
+ALTER TABLE categories
+    ADD COLUMN category_name_key VARCHAR(100) GENERATED ALWAYS AS (LOWER(category_name)) STORED,
+    ADD INDEX idx_categories_name_key (category_name_key);
@@ -0,0 +1,15 @@
+-- Outbox for catalog changes, written in the same transaction as the change. The relay assigns sequence_no
+-- when it publishes an event; unpublished events are the rows where it is still NULL.
+CREATE TABLE catalog_outbox
+(
+    event_id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(20)  NOT NULL,
+    aggregate_id   BIGINT       NOT NULL,
+    event_type     VARCHAR(20)  NOT NULL,
+    payload        TEXT,
+    occurred_at    DATETIME(6)  NOT NULL,
+    sequence_no    BIGINT,
+    published_at   DATETIME(6),
+    CONSTRAINT uk_catalog_outbox_sequence UNIQUE (sequence_no),
+    INDEX idx_catalog_outbox_published_at (published_at)
+);
@@ -0,0 +1,7 @@
+-- Last journal segment of each node's scanner stock ingest that is applied to warehouse_products. Updated in the
+-- same transaction as the stock, so a node replaying its journal after a crash skips what is already applied.
+CREATE TABLE stock_ingest_checkpoints
+(
+    journal_id   VARCHAR(36) PRIMARY KEY,
+    last_segment BIGINT NOT NULL
+);
@@ -0,0 +1,14 @@
+-- Scanner stock sums the ingest could not apply: a decrease below zero or of a product the warehouse does not
+-- stock, a warehouse or product that does not exist, or a sum the database refuses, such as one overflowing the
+-- quantity. Written in the same transaction as the applied sums and
+-- the checkpoint, so that none is lost when its journal segment is deleted.
+CREATE TABLE stock_ingest_rejects
+(
+    reject_id    BIGINT AUTO_INCREMENT PRIMARY KEY,
+    journal_id   VARCHAR(36) NOT NULL,
+    warehouse_id BIGINT      NOT NULL,
+    product_id   BIGINT      NOT NULL,
+    delta        BIGINT      NOT NULL,
+    rejected_at  DATETIME(6) NOT NULL,
+    INDEX idx_stock_ingest_rejects_rejected_at (rejected_at)
+);
@@ -3,8 +3,15 @@ package com.warehouse.backend.category.application.service;
 import com.warehouse.backend.category.application.mapper.CategoryMapper;
 import com.warehouse.backend.category.application.port.input.CreateCategoryRequest;
 import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.category.application.port.output.CategoryReadRepository;
 import com.warehouse.backend.category.domain.model.Category;
 import com.warehouse.backend.category.domain.repository.CategoryRepository;
+import com.warehouse.backend.changefeed.application.service.ChangeEventRecorder;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,37 +39,57 @@ class CategoryServiceCacheTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CategoryReadRepository categoryReadRepository;
+
+    @Mock
+    private ProductReadRepository productReadRepository;
+
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private IndexedListCache<CategoryDto> categoryListCache;
+
+    @Mock
+    private IndexedListCache<ProductDto> productListCache;
+
+    @Mock
+    private VersionCounter catalogVersion;
+
+    @Mock
+    private ChangeEventRecorder changeEventRecorder;
+
+    @Mock
+    private TwoTierCacheManager cacheManager;
+
     private CategoryService categoryService;
 
     @BeforeEach
     void setUp() {
-        categoryService = new CategoryService(categoryRepository, categoryMapper);
+        categoryService = new CategoryService(categoryRepository, categoryReadRepository, productReadRepository,
+                categoryMapper, categoryListCache, productListCache, catalogVersion, changeEventRecorder, cacheManager);
     }
 
     /**
-     * Test verifies that getAllCategories method uses caching.
-     * In a real environment, the second call would use cached data due to @Cacheable annotation.
+     * Test verifies that getAllCategories method loads the list through the indexed list cache.
+     * In a real environment, the second call would be served from the cached entries.
      */
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldCacheGetAllCategories() {
-        Category category = new Category(1L, "Electronics", "Gadgets");
         CategoryDto categoryDto = new CategoryDto(1L, "Electronics", "Gadgets");
 
-        when(categoryRepository.getAllCategories()).thenReturn(Collections.singletonList(category));
-        when(categoryMapper.categoryToCategoryDto(category)).thenReturn(categoryDto);
+        when(categoryListCache.getAll(any())).thenAnswer(invocation -> ((Supplier<List<CategoryDto>>) invocation.getArgument(0)).get());
+        when(categoryReadRepository.getAllCategoryDtos()).thenReturn(Collections.singletonList(categoryDto));
 
         List<CategoryDto> firstCall = categoryService.getAllCategories();
 
         assertThat(firstCall).hasSize(1);
         assertThat(firstCall.getFirst()).isEqualTo(categoryDto);
 
-        verify(categoryRepository, times(1)).getAllCategories();
-
-        verify(categoryMapper, times(1)).categoryToCategoryDto(category);
+        verify(categoryReadRepository, times(1)).getAllCategoryDtos();
     }
 
     /**
@@ -72,23 +100,19 @@ class CategoryServiceCacheTest {
     @Test
     void shouldCacheGetCategoryById() {
         Long id = 1L;
-        Category category = new Category(id, "Electronics", "Gadgets");
         CategoryDto categoryDto = new CategoryDto(id, "Electronics", "Gadgets");
 
-        when(categoryRepository.getCategoryById(id)).thenReturn(Optional.of(category));
-        when(categoryMapper.categoryToCategoryDto(category)).thenReturn(categoryDto);
+        when(categoryReadRepository.getCategoryDtoById(id)).thenReturn(Optional.of(categoryDto));
 
         CategoryDto result = categoryService.getCategoryById(id);
 
         assertThat(result).isEqualTo(categoryDto);
-        verify(categoryRepository, times(1)).getCategoryById(id);
-        verify(categoryMapper, times(1)).categoryToCategoryDto(category);
+        verify(categoryReadRepository, times(1)).getCategoryDtoById(id);
     }
 
     /**
-     * Test verifies that saveCategory method evicts cache for getAllCategories.
-     * In a real environment, after calling saveCategory, the cache for getAllCategories
-     * would be cleared due to @CacheEvict annotation.
+     * Test verifies that saveCategory method adds the new entry to the cached category list
+     * instead of evicting the whole list.
      */
 
     @Test
@@ -110,14 +134,15 @@ class CategoryServiceCacheTest {
         verify(categoryMapper, times(1)).createCategoryRequestToCategory(request);
         verify(categoryRepository, times(1)).createNewCategory(newCategory);
         verify(categoryMapper, times(1)).categoryToCategoryDto(savedCategory);
+        verify(categoryListCache, times(1)).put(categoryDto);
+        verify(categoryListCache, never()).clear();
     }
 
     /**
      * Test verifies that updateCategory method updates cache for getCategoryById
-     * and evicts cache for getAllCategories.
+     * and patches the entry in the cached category list.
      * In a real environment, after calling updateCategory, the cache for getCategoryById
-     * would be updated due to @CachePut annotation, and the cache for getAllCategories
-     * would be cleared due to @CacheEvict annotation.
+     * would be updated due to @CachePut annotation.
      */
 
     @Test
@@ -142,13 +167,14 @@ class CategoryServiceCacheTest {
 
         verify(categoryRepository, times(1)).createNewCategory(updatedCategory);
         verify(categoryMapper, times(1)).categoryToCategoryDto(updatedCategory);
+        verify(categoryListCache, times(1)).put(updatedDto);
     }
 
     /**
      * Test verifies that deleteCategoryById method evicts cache for getCategoryById
-     * and getAllCategories.
+     * and removes the entry from the cached category list.
      * In a real environment, after calling deleteCategoryById, the cache for getCategoryById
-     * and getAllCategories would be cleared due to @CacheEvict annotations.
+     * would be cleared due to @CacheEvict annotation.
      */
 
     @Test
@@ -163,5 +189,6 @@ class CategoryServiceCacheTest {
 
         verify(categoryRepository, times(1)).getCategoryById(id);
         verify(categoryRepository, times(1)).deleteCategoryById(id);
+        verify(categoryListCache, times(1)).remove(id);
     }
 }
@@ -3,23 +3,40 @@ package com.warehouse.backend.category.application.service;
 import com.warehouse.backend.category.application.mapper.CategoryMapper;
 import com.warehouse.backend.category.application.port.input.CreateCategoryRequest;
 import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.category.application.port.output.CategoryReadRepository;
 import com.warehouse.backend.category.domain.exception.CategoryAlreadyExistsException;
 import com.warehouse.backend.category.domain.exception.CategoryNotFoundException;
 import com.warehouse.backend.category.domain.model.Category;
 import com.warehouse.backend.category.domain.repository.CategoryRepository;
+import com.warehouse.backend.changefeed.application.service.ChangeEventRecorder;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.TwoTierCache;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,58 +45,112 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CategoryReadRepository categoryReadRepository;
+
+    @Mock
+    private ProductReadRepository productReadRepository;
+
     @Mock
     private CategoryMapper categoryMapper;
 
-    @InjectMocks
+    @Mock
+    private IndexedListCache<CategoryDto> categoryListCache;
+
+    @Mock
+    private IndexedListCache<ProductDto> productListCache;
+
+    @Mock
+    private VersionCounter catalogVersion;
+
+    @Mock
+    private ChangeEventRecorder changeEventRecorder;
+
+    @Mock
+    private TwoTierCacheManager cacheManager;
+
+    @Mock
+    private TwoTierCache categoryByIdCache;
+
+    @Mock
+    private TwoTierCache productByIdCache;
+
     private CategoryService categoryService;
 
+    @BeforeEach
+    void setUp() {
+        // Built by hand: constructor injection cannot tell the two list caches apart.
+        categoryService = new CategoryService(categoryRepository, categoryReadRepository, productReadRepository,
+                categoryMapper, categoryListCache, productListCache, catalogVersion, changeEventRecorder, cacheManager);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadListThroughCache() {
+        when(categoryListCache.getAll(any())).thenAnswer(invocation -> ((Supplier<List<CategoryDto>>) invocation.getArgument(0)).get());
+    }
+
     @Test
     void testGetAllCategories_ShouldReturnEmptyList_WhenNoCategoriesExist() {
-        when(categoryRepository.getAllCategories()).thenReturn(emptyList());
+        loadListThroughCache();
+        when(categoryReadRepository.getAllCategoryDtos()).thenReturn(emptyList());
 
         List<CategoryDto> categories = categoryService.getAllCategories();
         assertTrue(categories.isEmpty());
-        verify(categoryRepository, times(1)).getAllCategories();
+        verify(categoryReadRepository, times(1)).getAllCategoryDtos();
     }
 
     @Test
     void testGetAllCategories_ShouldReturnCategories_WhenCategoriesExist() {
-        Category category = new Category(1L, "Test category", "Test description");
         CategoryDto categoryDto = new CategoryDto(1L, "Test category", "Test description");
 
-        when(categoryRepository.getAllCategories()).thenReturn(List.of(category));
-        when(categoryMapper.categoryToCategoryDto(category)).thenReturn(categoryDto);
+        loadListThroughCache();
+        when(categoryReadRepository.getAllCategoryDtos()).thenReturn(List.of(categoryDto));
 
         List<CategoryDto> result = categoryService.getAllCategories();
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst()).isEqualTo(categoryDto);
-        verify(categoryRepository, times(1)).getAllCategories();
-        verify(categoryMapper, times(1)).categoryToCategoryDto(category);
+        verify(categoryReadRepository, times(1)).getAllCategoryDtos();
+        verifyNoInteractions(categoryMapper);
     }
 
     @Test
     void testGetCategoryById_ShouldReturnCategory_WhenCategoryExists() {
-        Category category = new Category(1L, "Test category", "Test description");
         CategoryDto categoryDto = new CategoryDto(1L, "Test category", "Test description");
 
-        when(categoryRepository.getCategoryById(1L)).thenReturn(Optional.of(category));
-        when(categoryMapper.categoryToCategoryDto(category)).thenReturn(categoryDto);
+        when(categoryReadRepository.getCategoryDtoById(1L)).thenReturn(Optional.of(categoryDto));
 
         CategoryDto result = categoryService.getCategoryById(1L);
 
         assertThat(result).isEqualTo(categoryDto);
-        verify(categoryRepository, times(1)).getCategoryById(1L);
-        verify(categoryMapper, times(1)).categoryToCategoryDto(category);
+        verify(categoryReadRepository, times(1)).getCategoryDtoById(1L);
     }
 
     @Test
     void testGetCategoryById_ShouldThrowException_WhenCategoryDoesNotExist() {
-        when(categoryRepository.getCategoryById(1L)).thenReturn(Optional.empty());
+        when(categoryReadRepository.getCategoryDtoById(1L)).thenReturn(Optional.empty());
 
         assertThrows(CategoryNotFoundException.class, () -> categoryService.getCategoryById(1L));
-        verify(categoryRepository, times(1)).getCategoryById(1L);
+        verify(categoryReadRepository, times(1)).getCategoryDtoById(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetCategoriesByIds_ShouldLoadMissesInOneQuery() {
+        CategoryDto tools = new CategoryDto(1L, "Tools", null);
+        CategoryDto garden = new CategoryDto(2L, "Garden", null);
+        when(cacheManager.getCache("categoryById")).thenReturn(categoryByIdCache);
+        when(categoryByIdCache.getAll(anyList(), any())).thenAnswer(invocation -> {
+            Map<Long, CategoryDto> loaded = ((Function<Set<Long>, Map<Long, CategoryDto>>) invocation.getArgument(1))
+                    .apply(Set.of(1L, 9L));
+            return Map.of(1L, loaded.get(1L), 2L, garden);
+        });
+        when(categoryReadRepository.getCategoryDtosByIds(Set.of(1L, 9L))).thenReturn(List.of(tools));
+
+        List<CategoryDto> result = categoryService.getCategoriesByIds(List.of(2L, 9L, 1L));
+
+        assertThat(result).containsExactly(garden, tools);
+        verify(categoryReadRepository, times(1)).getCategoryDtosByIds(any());
     }
 
     @Test
@@ -100,6 +171,9 @@ class CategoryServiceTest {
         verify(categoryMapper, times(1)).createCategoryRequestToCategory(request);
         verify(categoryRepository, times(1)).createNewCategory(category);
         verify(categoryMapper, times(1)).categoryToCategoryDto(savedCategory);
+        verify(categoryListCache, times(1)).put(categoryDto);
+        verify(catalogVersion, times(1)).increment();
+        verify(changeEventRecorder, times(1)).record(AggregateType.CATEGORY, 1L, ChangeType.CREATED, categoryDto);
     }
 
     @Test
@@ -131,6 +205,71 @@ class CategoryServiceTest {
         verify(categoryRepository, times(1)).isCategoryExist("Updated category");
         verify(categoryRepository, times(1)).createNewCategory(updatedCategory);
         verify(categoryMapper, times(1)).categoryToCategoryDto(updatedCategory);
+        verify(categoryListCache, times(1)).put(categoryDto);
+        verify(catalogVersion, times(1)).increment();
+        verify(changeEventRecorder, times(1)).record(AggregateType.CATEGORY, 1L, ChangeType.UPDATED, categoryDto);
+    }
+
+    @Test
+    void testUpdateCategory_ShouldPatchCachedProductsOfTheCategory() {
+        CreateCategoryRequest request = new CreateCategoryRequest("Power tools", null);
+        Category existingCategory = new Category(1L, "Tools", null);
+        Category updatedCategory = new Category(1L, "Power tools", null);
+        CategoryDto categoryDto = new CategoryDto(1L, "Power tools", null);
+        ProductDto drill = new ProductDto(5L, "Drill", null, categoryDto, null);
+        ProductDto saw = new ProductDto(6L, "Saw", null, categoryDto, null);
+
+        when(categoryRepository.getCategoryById(1L)).thenReturn(Optional.of(existingCategory));
+        when(categoryRepository.createNewCategory(updatedCategory)).thenReturn(updatedCategory);
+        when(categoryMapper.categoryToCategoryDto(updatedCategory)).thenReturn(categoryDto);
+        when(productReadRepository.getProductDtosByCategoryId(1L)).thenReturn(List.of(drill, saw));
+        when(cacheManager.getCache("productById")).thenReturn(productByIdCache);
+
+        categoryService.updateCategory(request, 1L);
+
+        verify(productListCache).put(drill);
+        verify(productListCache).put(saw);
+        verify(productByIdCache).evict(5L);
+        verify(productByIdCache).evict(6L);
+        verify(productListCache, never()).clear();
+    }
+
+    @Test
+    void testUpdateCategory_WhenCategoryHoldsManyProducts_ShouldDropProductCaches() {
+        CreateCategoryRequest request = new CreateCategoryRequest("Power tools", null);
+        Category existingCategory = new Category(1L, "Tools", null);
+        Category updatedCategory = new Category(1L, "Power tools", null);
+        CategoryDto categoryDto = new CategoryDto(1L, "Power tools", null);
+        List<ProductDto> products = LongStream.rangeClosed(1, CategoryService.MAX_PATCHED_PRODUCTS + 1)
+                .mapToObj(id -> new ProductDto(id, "Product " + id, null, categoryDto, null))
+                .toList();
+
+        when(categoryRepository.getCategoryById(1L)).thenReturn(Optional.of(existingCategory));
+        when(categoryRepository.createNewCategory(updatedCategory)).thenReturn(updatedCategory);
+        when(categoryMapper.categoryToCategoryDto(updatedCategory)).thenReturn(categoryDto);
+        when(productReadRepository.getProductDtosByCategoryId(1L)).thenReturn(products);
+        when(cacheManager.getCache("productById")).thenReturn(productByIdCache);
+
+        categoryService.updateCategory(request, 1L);
+
+        verify(productListCache).clear();
+        verify(productByIdCache).clear();
+        verify(productListCache, never()).put(any());
+    }
+
+    @Test
+    void testUpdateCategory_WhenNothingChanges_ShouldNotTouchProducts() {
+        CreateCategoryRequest request = new CreateCategoryRequest("Tools", "Hand tools");
+        Category category = new Category(1L, "Tools", "Hand tools");
+        CategoryDto categoryDto = new CategoryDto(1L, "Tools", "Hand tools");
+
+        when(categoryRepository.getCategoryById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.createNewCategory(category)).thenReturn(category);
+        when(categoryMapper.categoryToCategoryDto(category)).thenReturn(categoryDto);
+
+        categoryService.updateCategory(request, 1L);
+
+        verifyNoInteractions(productReadRepository, productListCache);
     }
 
     @Test
@@ -153,6 +292,9 @@ class CategoryServiceTest {
 
         verify(categoryRepository, times(1)).getCategoryById(1L);
         verify(categoryRepository, times(1)).deleteCategoryById(1L);
+        verify(categoryListCache, times(1)).remove(1L);
+        verify(catalogVersion, times(1)).increment();
+        verify(changeEventRecorder, times(1)).record(AggregateType.CATEGORY, 1L, ChangeType.DELETED, null);
     }
 
     @Test
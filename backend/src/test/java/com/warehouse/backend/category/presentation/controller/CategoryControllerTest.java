@@ -10,16 +10,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.OptionalLong;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -52,6 +55,31 @@ class CategoryControllerTest {
         verify(categoryService, times(1)).getAllCategories();
     }
 
+    @Test
+    void shouldReturnNotModified_WhenCatalogVersionMatchesETag() throws Exception {
+        when(categoryService.getCatalogVersion()).thenReturn(OptionalLong.of(7L));
+
+        mockMvc.perform(get("/category")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"v7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v7\""));
+
+        verify(categoryService, never()).getAllCategories();
+    }
+
+    @Test
+    void shouldReturnCategoriesByIds() throws Exception {
+        when(categoryService.getCategoriesByIds(List.of(2L, 1L))).thenReturn(List.of(
+                new CategoryDto(2L, "Garden", null), new CategoryDto(1L, "Tools", null)));
+
+        mockMvc.perform(get("/category").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Garden"))
+                .andExpect(jsonPath("$[1].name").value("Tools"));
+
+        verify(categoryService, never()).getAllCategories();
+    }
+
     @Test
     void shouldReturnCategoryById() throws Exception {
         Long categoryId = 1L;
@@ -0,0 +1,122 @@
+package com.warehouse.backend.changefeed.application.service;
+
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventPublisher;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventRepository;
+import com.warehouse.backend.common.cache.CacheLoadLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeEventRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    @Mock
+    private ChangeEventPublisher changeEventPublisher;
+
+    @Mock
+    private CacheLoadLease lease;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ChangeEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ChangeEventRelay(changeEventRepository, changeEventPublisher, lease, transactionManager,
+                BATCH_SIZE, Duration.ofSeconds(30), Duration.ofDays(7));
+    }
+
+    @Test
+    void relay_ShouldNumberEventsAfterLastSequenceAndPublishThem() {
+        when(lease.tryAcquire(any(), any(), any())).thenReturn(true);
+        List<ChangeEvent> batch = List.of(event(10L));
+        when(changeEventRepository.getUnpublished(BATCH_SIZE)).thenReturn(batch);
+        when(changeEventRepository.getLastSequence()).thenReturn(41L);
+
+        relay.relay();
+
+        assertThat(batch.getFirst().getSequence()).isEqualTo(42L);
+        assertThat(batch.getFirst().getPublishedAt()).isNotNull();
+        verify(changeEventRepository).markPublished(batch);
+        verify(changeEventPublisher).publish(batch);
+        verify(lease).release(ChangeEventRelay.LEASE_NAME, ChangeEventRelay.LEASE_KEY);
+    }
+
+    @Test
+    void relay_WhenBatchIsFull_ShouldRelayNextBatchInSameRun() {
+        when(lease.tryAcquire(any(), any(), any())).thenReturn(true);
+        when(changeEventRepository.getUnpublished(BATCH_SIZE))
+                .thenReturn(List.of(event(1L), event(2L)), List.of(event(3L)));
+
+        relay.relay();
+
+        verify(changeEventPublisher, times(2)).publish(anyList());
+    }
+
+    @Test
+    void relay_WhenPublishingFails_ShouldReleaseLeaseAndLeaveEventsForNextRun() {
+        when(lease.tryAcquire(any(), any(), any())).thenReturn(true);
+        when(changeEventRepository.getUnpublished(BATCH_SIZE)).thenReturn(List.of(event(1L)));
+        doThrow(new RedisConnectionFailureException("down")).when(changeEventPublisher).publish(anyList());
+
+        relay.relay();
+
+        verify(transactionManager).rollback(any());
+        verify(lease).release(ChangeEventRelay.LEASE_NAME, ChangeEventRelay.LEASE_KEY);
+    }
+
+    @Test
+    void relay_WhenAnotherNodeHoldsLease_ShouldNotReadOutbox() {
+        when(lease.tryAcquire(any(), any(), any())).thenReturn(false);
+
+        relay.relay();
+
+        verifyNoInteractions(changeEventRepository, changeEventPublisher);
+        verify(lease, never()).release(any(), any());
+    }
+
+    @Test
+    void relay_ShouldStopAfterMaxBatchesPerRun() {
+        when(lease.tryAcquire(any(), any(), any())).thenReturn(true);
+        when(changeEventRepository.getUnpublished(BATCH_SIZE))
+                .thenAnswer(invocation -> LongStream.range(0, BATCH_SIZE).mapToObj(ChangeEventRelayTest::event).toList());
+
+        relay.relay();
+
+        verify(changeEventPublisher, times(ChangeEventRelay.MAX_BATCHES_PER_RUN)).publish(anyList());
+    }
+
+    private static ChangeEvent event(long id) {
+        return ChangeEvent.builder()
+                .id(id)
+                .aggregateType(AggregateType.PRODUCT)
+                .aggregateId(id)
+                .type(ChangeType.CREATED)
+                .payload("{}")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.warehouse.backend.changefeed.application.service;
+
+import com.warehouse.backend.changefeed.application.mapper.ChangeEventMapperImpl;
+import com.warehouse.backend.changefeed.application.port.output.ChangeEventDto;
+import com.warehouse.backend.changefeed.application.port.output.ChangeFeedPage;
+import com.warehouse.backend.changefeed.domain.exception.ChangeFeedExpiredException;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.changefeed.domain.repository.ChangeEventRepository;
+import com.warehouse.backend.common.exception.InvalidCursorException;
+import com.warehouse.backend.common.pagination.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeEventRepository changeEventRepository;
+
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new ChangeFeedService(changeEventRepository, new ChangeEventMapperImpl());
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangesAfterCursorAndCursorOfLastOne() {
+        when(changeEventRepository.getPublishedAfter(5L, 3)).thenReturn(List.of(published(6L), published(7L)));
+
+        ChangeFeedPage page = changeFeedService.getChanges(KeysetCursor.encode(5L), 2);
+
+        assertThat(page.getChanges()).extracting(ChangeEventDto::getSequence).containsExactly(6L, 7L);
+        assertThat(page.getNext()).isEqualTo(KeysetCursor.encode(7L));
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getChanges_WhenMoreThanLimit_ShouldReportMore() {
+        when(changeEventRepository.getPublishedAfter(0L, 3))
+                .thenReturn(LongStream.rangeClosed(1, 3).mapToObj(ChangeFeedServiceTest::published).toList());
+
+        ChangeFeedPage page = changeFeedService.getChanges(null, 2);
+
+        assertThat(page.getChanges()).hasSize(2);
+        assertThat(page.getNext()).isEqualTo(KeysetCursor.encode(2L));
+        assertThat(page.isHasMore()).isTrue();
+    }
+
+    @Test
+    void getChanges_WhenUpToDate_ShouldReturnSameCursor() {
+        String since = KeysetCursor.encode(9L);
+        when(changeEventRepository.getPublishedAfter(9L, ChangeFeedService.DEFAULT_PAGE_SIZE + 1)).thenReturn(List.of());
+
+        ChangeFeedPage page = changeFeedService.getChanges(since, null);
+
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getNext()).isEqualTo(since);
+    }
+
+    @Test
+    void getChanges_WhenChangesAfterCursorWereDeleted_ShouldThrowException() {
+        when(changeEventRepository.getPublishedAfter(5L, ChangeFeedService.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of(published(12L)));
+
+        assertThrows(ChangeFeedExpiredException.class,
+                () -> changeFeedService.getChanges(KeysetCursor.encode(5L), null));
+    }
+
+    @Test
+    void getChanges_WhenCursorIsInvalid_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class, () -> changeFeedService.getChanges("not-a-cursor", null));
+        verifyNoInteractions(changeEventRepository);
+    }
+
+    @Test
+    void getLatest_ShouldReturnCursorOfLastSequence() {
+        when(changeEventRepository.getLastSequence()).thenReturn(42L);
+
+        ChangeFeedPage page = changeFeedService.getLatest();
+
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(page.getNext()).isEqualTo(KeysetCursor.encode(42L));
+    }
+
+    private static ChangeEvent published(long sequence) {
+        return ChangeEvent.builder()
+                .id(sequence + 100)
+                .aggregateType(AggregateType.PRODUCT)
+                .aggregateId(sequence)
+                .type(ChangeType.UPDATED)
+                .payload("{\"id\":" + sequence + "}")
+                .occurredAt(LocalDateTime.now())
+                .sequence(sequence)
+                .publishedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.warehouse.backend.changefeed.infrastructure.repository;
+
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeEvent;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+class JpaChangeEventRepositoryTest {
+
+    @Autowired
+    private JpaChangeEventRepository jpaChangeEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaChangeEventRepository.deleteAll();
+    }
+
+    @Test
+    void getUnpublished_ShouldReturnEventsWithoutSequenceInIdOrder() {
+        ChangeEvent first = jpaChangeEventRepository.append(event(1L));
+        ChangeEvent published = jpaChangeEventRepository.append(event(2L));
+        ChangeEvent second = jpaChangeEventRepository.append(event(3L));
+        publish(List.of(published), 1L, LocalDateTime.now());
+
+        List<ChangeEvent> unpublished = jpaChangeEventRepository.getUnpublished(10);
+
+        assertThat(unpublished).extracting(ChangeEvent::getId).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void getPublishedAfter_ShouldReturnEventsInSequenceOrder() {
+        List<ChangeEvent> events = List.of(jpaChangeEventRepository.append(event(1L)),
+                jpaChangeEventRepository.append(event(2L)), jpaChangeEventRepository.append(event(3L)));
+        publish(events.reversed(), 1L, LocalDateTime.now());
+
+        List<ChangeEvent> page = jpaChangeEventRepository.getPublishedAfter(1L, 10);
+
+        assertThat(page).extracting(ChangeEvent::getSequence).containsExactly(2L, 3L);
+        assertThat(jpaChangeEventRepository.getLastSequence()).isEqualTo(3L);
+    }
+
+    @Test
+    void getLastSequence_WhenNothingPublished_ShouldReturnZero() {
+        jpaChangeEventRepository.append(event(1L));
+
+        assertThat(jpaChangeEventRepository.getLastSequence()).isZero();
+    }
+
+    @Test
+    void markPublished_WhenSequenceIsTaken_ShouldThrowException() {
+        publish(List.of(jpaChangeEventRepository.append(event(1L))), 1L, LocalDateTime.now());
+        ChangeEvent duplicate = jpaChangeEventRepository.append(event(2L));
+
+        assertThatThrownBy(() -> publish(List.of(duplicate), 1L, LocalDateTime.now()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void deletePublishedBefore_ShouldKeepLatestAndUnpublishedEvents() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(30);
+        publish(List.of(jpaChangeEventRepository.append(event(1L)), jpaChangeEventRepository.append(event(2L))),
+                1L, longAgo);
+        ChangeEvent unpublished = jpaChangeEventRepository.append(event(3L));
+
+        int deleted = jpaChangeEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(7));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(jpaChangeEventRepository.findAll()).extracting(ChangeEvent::getId)
+                .containsExactlyInAnyOrder(jpaChangeEventRepository.getPublishedAfter(0L, 10).getFirst().getId(),
+                        unpublished.getId());
+        assertThat(jpaChangeEventRepository.getLastSequence()).isEqualTo(2L);
+    }
+
+    private void publish(List<ChangeEvent> events, long firstSequence, LocalDateTime publishedAt) {
+        long sequence = firstSequence;
+        for (ChangeEvent event : events) {
+            event.setSequence(sequence++);
+            event.setPublishedAt(publishedAt);
+        }
+        jpaChangeEventRepository.markPublished(events);
+    }
+
+    private static ChangeEvent event(long productId) {
+        return ChangeEvent.builder()
+                .aggregateType(AggregateType.PRODUCT)
+                .aggregateId(productId)
+                .type(ChangeType.CREATED)
+                .payload("{\"id\":" + productId + "}")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.warehouse.backend.changefeed.presentation.controller;
+
+import com.warehouse.backend.changefeed.application.port.output.ChangeEventDto;
+import com.warehouse.backend.changefeed.application.port.output.ChangeFeedPage;
+import com.warehouse.backend.changefeed.application.service.ChangeFeedService;
+import com.warehouse.backend.changefeed.domain.exception.ChangeFeedExpiredException;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ChangeFeedController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void shouldReturnChangesWithPayloadAsJson() throws Exception {
+        ChangeEventDto change = new ChangeEventDto(6L, AggregateType.PRODUCT, 3L, ChangeType.UPDATED,
+                LocalDateTime.now(), "{\"id\":3,\"name\":\"Drill\"}");
+        ChangeEventDto deletion = new ChangeEventDto(7L, AggregateType.CATEGORY, 2L, ChangeType.DELETED,
+                LocalDateTime.now(), null);
+        when(changeFeedService.getChanges("azE6NQ", 2)).thenReturn(new ChangeFeedPage(List.of(change, deletion), "azE6Nw", true));
+
+        mockMvc.perform(get("/changes").param("since", "azE6NQ").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].sequence").value(6))
+                .andExpect(jsonPath("$.changes[0].type").value("UPDATED"))
+                .andExpect(jsonPath("$.changes[0].payload.name").value("Drill"))
+                .andExpect(jsonPath("$.changes[1].payload").doesNotExist())
+                .andExpect(jsonPath("$.next").value("azE6Nw"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void shouldReturnGone_WhenChangesExpired() throws Exception {
+        when(changeFeedService.getChanges("azE6NQ", null)).thenThrow(new ChangeFeedExpiredException(5L, 12L));
+
+        mockMvc.perform(get("/changes").param("since", "azE6NQ"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    void shouldReturnLatestCursor() throws Exception {
+        when(changeFeedService.getLatest()).thenReturn(new ChangeFeedPage(List.of(), "azE6NDI", false));
+
+        mockMvc.perform(get("/changes/latest"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andExpect(jsonPath("$.next").value("azE6NDI"));
+    }
+}
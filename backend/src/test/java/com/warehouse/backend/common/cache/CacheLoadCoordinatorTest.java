@@ -0,0 +1,62 @@
+package com.warehouse.backend.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheLoadCoordinatorTest {
+
+    private static final CacheLoadLease HELD_BY_OTHER_NODE = new CacheLoadLease() {
+        @Override
+        public boolean tryAcquire(String cacheName, String key, Duration ttl) {
+            return false;
+        }
+
+        @Override
+        public void release(String cacheName, String key) {
+        }
+    };
+
+    @Test
+    void load_WhenAnotherNodeHoldsLease_ShouldWaitForPublishedValue() throws Exception {
+        CacheLoadCoordinator coordinator = coordinator(HELD_BY_OTHER_NODE, Duration.ofSeconds(1));
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicInteger loads = new AtomicInteger();
+
+        String value = coordinator.load("productById", "1",
+                () -> lookups.incrementAndGet() < 3 ? null : "published",
+                () -> {
+                    loads.incrementAndGet();
+                    return "loaded";
+                });
+
+        assertThat(value).isEqualTo("published");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void load_WhenLeaseHolderNeverPublishes_ShouldLoadAfterWaiting() throws Exception {
+        CacheLoadCoordinator coordinator = coordinator(HELD_BY_OTHER_NODE, Duration.ofMillis(50));
+
+        String value = coordinator.load("productById", "1", () -> null, () -> "loaded");
+
+        assertThat(value).isEqualTo("loaded");
+    }
+
+    @Test
+    void nextTtl_ShouldStayWithinJitterBounds() {
+        CacheLoadCoordinator coordinator = coordinator(CacheLoadLease.LOCAL_ONLY, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(coordinator.nextTtl()).isBetween(Duration.ofSeconds(270), Duration.ofSeconds(330));
+        }
+    }
+
+    private static CacheLoadCoordinator coordinator(CacheLoadLease lease, Duration leaseWait) {
+        return new CacheLoadCoordinator(lease, Duration.ofSeconds(5), leaseWait, Duration.ofMillis(10),
+                Duration.ofMinutes(5), 0.1, 0, Runnable::run);
+    }
+}
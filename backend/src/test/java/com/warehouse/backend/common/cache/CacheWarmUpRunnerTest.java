@@ -0,0 +1,56 @@
+package com.warehouse.backend.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheWarmUpRunnerTest {
+
+    @Test
+    void warmUp_ShouldRunEveryTaskAndSurviveFailures() {
+        Set<String> done = ConcurrentHashMap.newKeySet();
+        CacheWarmer failingPlan = () -> {
+            throw new IllegalStateException("redis down");
+        };
+        CacheWarmer warmer = () -> List.of(
+                () -> done.add("list"),
+                () -> {
+                    throw new IllegalStateException("query failed");
+                },
+                () -> done.add("batch"));
+
+        new CacheWarmUpRunner(List.of(failingPlan, warmer), 2, Duration.ofSeconds(5)).warmUp();
+
+        assertThat(done).containsExactlyInAnyOrder("list", "batch");
+    }
+
+    @Test
+    void warmUp_WhenTimeoutElapses_ShouldReturnWithoutWaitingForTasks() {
+        CountDownLatch release = new CountDownLatch(1);
+        CacheWarmer warmer = () -> List.of(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long start = System.nanoTime();
+        new CacheWarmUpRunner(List.of(warmer), 1, Duration.ofMillis(100)).warmUp();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        release.countDown();
+    }
+
+    @Test
+    void idBatches_ShouldSkipNonNumericKeysAndSplitByBatchSize() {
+        assertThat(CacheWarmer.idBatches(List.of("1", "2", "x", "3"), 2))
+                .containsExactly(List.of(1L, 2L), List.of(3L));
+    }
+}
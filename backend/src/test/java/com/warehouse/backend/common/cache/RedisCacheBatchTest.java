@@ -0,0 +1,99 @@
+package com.warehouse.backend.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheBatchTest {
+
+    private final RedisSerializer<Object> valueSerializer = RedisSerializer.java();
+
+    @Mock
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    @Mock
+    private RedisCache remote;
+
+    private RedisCacheBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        batch = new RedisCacheBatch(redisTemplate, valueSerializer,
+                new CacheLoadCoordinator(CacheLoadLease.LOCAL_ONLY, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                        Duration.ofMillis(10), Duration.ofMinutes(5), 0, 0, Runnable::run));
+    }
+
+    @Test
+    void getAll_ShouldReadEveryKeyWithOneMget() {
+        stubRedisCache();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        CachedValue cached = new CachedValue("product", 1L, Long.MAX_VALUE);
+        when(valueOperations.multiGet(List.of("productById::1", "productById::2")))
+                .thenReturn(Arrays.asList(valueSerializer.serialize(cached), null));
+
+        Map<Object, CachedValue> found = batch.getAll(remote, List.of(1L, 2L));
+
+        assertThat(found).containsExactly(Map.entry(1L, cached));
+        verify(valueOperations, never()).get(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void putAll_ShouldWriteEveryEntryWithItsRemainingTtlInOnePipeline() {
+        stubRedisCache();
+        RedisOperations<String, byte[]> operations = mock(RedisOperations.class);
+        when(operations.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            ((SessionCallback<Object>) invocation.getArgument(0)).execute(operations);
+            return List.of();
+        });
+        long now = System.currentTimeMillis();
+
+        batch.putAll(remote, Map.of(3L, new CachedValue("product", now, now + 60_000)));
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(valueOperations).set(eq("productById::3"), any(byte[].class),
+                argThat((Duration ttl) -> ttl.compareTo(Duration.ofSeconds(55)) > 0 && ttl.compareTo(Duration.ofMinutes(1)) <= 0));
+    }
+
+    @Test
+    void getAll_WhenCacheIsNotRedis_ShouldReadPerKey() {
+        ConcurrentMapCache local = new ConcurrentMapCache("productById", false);
+        local.put(1L, "product");
+
+        Map<Object, CachedValue> found = batch.getAll(local, List.of(1L, 2L));
+
+        assertThat(found).containsOnlyKeys(1L);
+        assertThat(found.get(1L).value()).isEqualTo("product");
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private void stubRedisCache() {
+        when(remote.getName()).thenReturn("productById");
+        when(remote.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig());
+    }
+}
@@ -0,0 +1,91 @@
+package com.warehouse.backend.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisHotKeyTrackerTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private RedisHotKeyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new RedisHotKeyTracker(redisTemplate, Set.of("productById"), 100, Duration.ofDays(7));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldAddCountsOfTrackedCachesAndTrimInOnePipeline() {
+        RedisOperations<String, String> operations = mock(RedisOperations.class);
+        when(operations.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            ((SessionCallback<Object>) invocation.getArgument(0)).execute(operations);
+            return List.of();
+        });
+
+        tracker.record("productById", "1");
+        tracker.record("productById", "1");
+        tracker.record("productById", "2");
+        tracker.record("productSearch", "drill");
+        tracker.flush();
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(zSetOperations).incrementScore("productById::hot", "1", 2);
+        verify(zSetOperations).incrementScore("productById::hot", "2", 1);
+        verify(zSetOperations).removeRange("productById::hot", 0, -101);
+        verify(operations).expire("productById::hot", Duration.ofDays(7));
+        verifyNoMoreInteractions(zSetOperations);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WithoutReads_ShouldNotCallRedis() {
+        tracker.flush();
+
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WhenRedisUnavailable_ShouldDropCountsQuietly() {
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        tracker.record("productById", "1");
+
+        tracker.flush();
+        tracker.flush();
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void getHotKeys_ShouldReturnMostReadKeysFirst() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange("productById::hot", 0, 9)).thenReturn(new LinkedHashSet<>(List.of("7", "3")));
+
+        assertThat(tracker.getHotKeys("productById", 10)).containsExactly("7", "3");
+    }
+}
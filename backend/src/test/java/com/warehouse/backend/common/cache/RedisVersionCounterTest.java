@@ -0,0 +1,76 @@
+package com.warehouse.backend.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisVersionCounterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private List<String> published;
+    private RedisVersionCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        published = new ArrayList<>();
+        counter = new RedisVersionCounter("catalog", redisTemplate,
+                (cacheName, key) -> published.add(cacheName + "::" + key), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void current_ShouldReadRedisOnceWhileLocalCopyIsValid() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenReturn(5L);
+
+        assertThat(counter.current()).hasValue(5L);
+        assertThat(counter.current()).hasValue(5L);
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of("catalog::version")));
+    }
+
+    @Test
+    void current_AfterRemoteInvalidation_ShouldReadRedisAgain() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenReturn(5L, 6L);
+
+        assertThat(counter.current()).hasValue(5L);
+        counter.evictLocal(null);
+
+        assertThat(counter.current()).hasValue(6L);
+    }
+
+    @Test
+    void increment_ShouldDropLocalCopyAndNotifyOtherNodes() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList())).thenReturn(5L, 6L, 6L);
+        counter.current();
+
+        counter.increment();
+
+        assertThat(counter.current()).hasValue(6L);
+        assertThat(published).containsExactly("catalog::null");
+    }
+
+    @Test
+    void current_WhenRedisUnavailable_ShouldReturnEmpty() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(counter.current()).isEqualTo(OptionalLong.empty());
+    }
+}
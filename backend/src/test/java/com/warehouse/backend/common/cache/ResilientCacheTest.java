@@ -0,0 +1,103 @@
+package com.warehouse.backend.common.cache;
+
+import com.warehouse.backend.common.resilience.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientCacheTest {
+
+    @Mock
+    private Cache remote;
+
+    private CircuitBreaker circuitBreaker;
+    private ResilientCache cache;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker("redis", 1);
+        circuitBreaker.setProbe(() -> {
+        });
+        cache = new ResilientCache(remote, circuitBreaker);
+    }
+
+    @Test
+    void get_WhenRedisTimesOut_ShouldMiss() {
+        when(remote.get(1L)).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void operations_WhileCircuitIsOpen_ShouldNotCallRedis() {
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "product");
+        cache.evict(2L);
+
+        verifyNoInteractions(remote);
+        assertThat(cache.getPendingEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    void recovery_ShouldEvictEntriesThatCouldNotBeWritten() {
+        doThrow(new RedisConnectionFailureException("down")).doNothing().when(remote).evict(3L);
+        cache.evict(3L);
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        cache.put(4L, "product");
+        circuitBreaker.probe();
+
+        cache.evictPending();
+
+        verify(remote, times(2)).evict(3L);
+        verify(remote).evict(4L);
+        verify(remote, never()).put(any(), any());
+        assertThat(cache.getPendingEvictions()).isZero();
+    }
+
+    @Test
+    void recovery_AfterTooManySkippedWrites_ShouldClearWholeCache() {
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        for (long key = 0; key <= ResilientCache.MAX_PENDING_EVICTIONS; key++) {
+            cache.evict(key);
+        }
+        circuitBreaker.probe();
+
+        cache.evictPending();
+
+        verify(remote).clear();
+        verify(remote, never()).evict(any());
+    }
+
+    @Test
+    void managerAndBatch_ShouldHandUndecoratedCacheToDelegateAndMissWhileOpen() {
+        ResilientCacheManager cacheManager = new ResilientCacheManager(new ConcurrentMapCacheManager("productById"),
+                circuitBreaker);
+        Cache resilient = cacheManager.getCache("productById");
+        RemoteCacheBatch delegate = mock(RemoteCacheBatch.class);
+        when(delegate.getAll(any(), any())).thenReturn(Map.of());
+        ResilientCacheBatch batch = new ResilientCacheBatch(delegate);
+
+        batch.getAll(resilient, List.of(1L));
+        circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        batch.getAll(resilient, List.of(1L));
+
+        assertThat(resilient).isInstanceOf(ResilientCache.class);
+        verify(delegate, times(1)).getAll(((ResilientCache) resilient).getTarget(), List.of(1L));
+    }
+}
@@ -0,0 +1,54 @@
+package com.warehouse.backend.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheManagerTest {
+
+    private TwoTierCacheManager cacheManager;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoTierCacheManager(new ConcurrentMapCacheManager(), CacheInvalidationPublisher.NOOP, 1,
+                Duration.ofMinutes(1), new CacheLoadCoordinator(CacheLoadLease.LOCAL_ONLY, Duration.ofSeconds(5),
+                Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofMinutes(5), 0.1, 0, Runnable::run));
+        registry = new SimpleMeterRegistry();
+        cacheManager.bindTo(registry);
+    }
+
+    @Test
+    void bindTo_ShouldPublishCountersOfCachesCreatedLater() {
+        Cache cache = cacheManager.getCache("productById");
+        cache.get(1L, () -> "product");
+        cache.get(1L, () -> "product");
+
+        assertThat(count("cache.gets", "productById", "local", "hit")).isEqualTo(1);
+        assertThat(count("cache.gets", "productById", "local", "miss")).isEqualTo(1);
+        assertThat(count("cache.gets", "productById", "remote", "miss")).isPositive();
+    }
+
+    @Test
+    void bindTo_ShouldCountSizeEvictionsAndExplicitEvictions() {
+        Cache cache = cacheManager.getCache("productById");
+        cache.put(1L, "first");
+        cache.put(2L, "second");
+        cache.evict(2L);
+
+        assertThat(registry.get("cache.evictions").tags("cache", "productById", "cause", "explicit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.evictions").tags("cache", "productById", "cause", "size-or-age")
+                .functionCounter()).isNotNull();
+    }
+
+    private double count(String name, String cache, String tier, String result) {
+        return registry.get(name).tags("cache", cache, "tier", tier, "result", result).functionCounter().count();
+    }
+}
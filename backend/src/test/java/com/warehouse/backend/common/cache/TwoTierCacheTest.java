@@ -0,0 +1,324 @@
+package com.warehouse.backend.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache remote;
+    private List<String> published;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("productById", false);
+        published = new ArrayList<>();
+        cache = new TwoTierCache("productById", Caffeine.newBuilder().maximumSize(100).build(), remote,
+                (cacheName, key) -> published.add(cacheName + "::" + key),
+                new CacheLoadCoordinator(CacheLoadLease.LOCAL_ONLY, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                        Duration.ofMillis(10), Duration.ofMinutes(5), 0.1, 0, Runnable::run));
+    }
+
+    @Test
+    void get_ShouldPromoteRemoteHitIntoLocalTier() {
+        remote.put(1L, "product");
+
+        assertThat(cache.get(1L).get()).isEqualTo("product");
+        remote.evict(1L);
+        assertThat(cache.get(1L).get()).isEqualTo("product");
+
+        CacheTierStatistics.Snapshot statistics = cache.getStatistics().snapshot();
+        assertThat(statistics.localMisses()).isEqualTo(1);
+        assertThat(statistics.remoteHits()).isEqualTo(1);
+        assertThat(statistics.localHits()).isEqualTo(1);
+    }
+
+    @Test
+    void get_WhenMissingInBothTiers_ShouldCountMisses() {
+        assertThat(cache.get(1L)).isNull();
+
+        CacheTierStatistics.Snapshot statistics = cache.getStatistics().snapshot();
+        assertThat(statistics.localMisses()).isEqualTo(1);
+        assertThat(statistics.remoteMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void putAndEvict_ShouldWriteBothTiersAndNotifyOtherNodes() {
+        cache.put(1L, "product");
+
+        assertThat(((CachedValue) remote.get(1L).get()).value()).isEqualTo("product");
+        assertThat(published).containsExactly("productById::1");
+
+        cache.evict(1L);
+
+        assertThat(remote.get(1L)).isNull();
+        assertThat(cache.get(1L)).isNull();
+        assertThat(published).containsExactly("productById::1", "productById::1");
+    }
+
+    @Test
+    void clear_ShouldNotifyOtherNodesToDropWholeCache() {
+        cache.put(1L, "product");
+
+        cache.clear();
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(published).last().isEqualTo("productById::null");
+    }
+
+    @Test
+    void evictLocal_ShouldKeepRemoteEntry() {
+        cache.put(1L, "product");
+
+        cache.evictLocal("1");
+
+        assertThat(cache.get(1L).get()).isEqualTo("product");
+        assertThat(cache.getStatistics().snapshot().remoteHits()).isEqualTo(1);
+    }
+
+    @Test
+    void getWithLoader_ShouldLoadOnceAndCache() {
+        List<Long> loads = new ArrayList<>();
+
+        String first = cache.get(1L, () -> {
+            loads.add(1L);
+            return "product";
+        });
+        String second = cache.get(1L, () -> {
+            loads.add(1L);
+            return "other";
+        });
+
+        assertThat(first).isEqualTo("product");
+        assertThat(second).isEqualTo("product");
+        assertThat(loads).hasSize(1);
+    }
+
+    @Test
+    void getWithLoader_WhenManyThreadsMissTogether_ShouldLoadOnce() throws Exception {
+        int threads = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1L, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(100);
+                        return "product";
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("product");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void getWithLoader_WhenLoaderFails_ShouldWrapCause() {
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw failure;
+        })).isInstanceOf(Cache.ValueRetrievalException.class).hasCause(failure);
+        assertThat(remote.get(1L)).isNull();
+    }
+
+    @Test
+    void getWithLoader_WhenEntryIsDueForRefresh_ShouldReloadInBackground() {
+        TwoTierCache refreshing = new TwoTierCache("productById", Caffeine.newBuilder().maximumSize(100).build(),
+                remote, CacheInvalidationPublisher.NOOP,
+                new CacheLoadCoordinator(CacheLoadLease.LOCAL_ONLY, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                        Duration.ofMillis(10), Duration.ofMinutes(5), 0, 0.8, Runnable::run));
+        long now = System.currentTimeMillis();
+        remote.put(1L, new CachedValue("stale", now - 250_000, now + 50_000));
+
+        String served = refreshing.get(1L, () -> "fresh");
+
+        assertThat(served).isEqualTo("stale");
+        assertThat(refreshing.get(1L).get()).isEqualTo("fresh");
+        assertThat(((CachedValue) remote.get(1L).get()).value()).isEqualTo("fresh");
+    }
+
+    @Test
+    void getWithLoader_WhenEntryIsExpiredWithinGrace_ShouldServeItAndReloadInBackground() {
+        List<Runnable> refreshes = new ArrayList<>();
+        TwoTierCache lenient = staleServingCache(refreshes::add);
+        long now = System.currentTimeMillis();
+        remote.put(1L, new CachedValue("stale", now - 360_000, now - 60_000));
+        StaleReads.clear();
+
+        try {
+            assertThat(lenient.get(1L, () -> "fresh")).isEqualTo("stale");
+            assertThat(StaleReads.oldestAgeMillis().getAsLong()).isGreaterThanOrEqualTo(360_000);
+            assertThat(lenient.get(1L)).isNull();
+            assertThat(refreshes).hasSize(1);
+
+            refreshes.getFirst().run();
+
+            assertThat(lenient.get(1L, () -> "other")).isEqualTo("fresh");
+            assertThat(((CachedValue) remote.get(1L).get()).value()).isEqualTo("fresh");
+        } finally {
+            StaleReads.clear();
+        }
+    }
+
+    @Test
+    void getWithLoader_WhenEntryIsPastGrace_ShouldLoadInline() {
+        TwoTierCache lenient = staleServingCache(Runnable::run);
+        long now = System.currentTimeMillis();
+        remote.put(1L, new CachedValue("stale", now - 960_000, now - 660_000));
+        StaleReads.clear();
+
+        assertThat(lenient.get(1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(StaleReads.oldestAgeMillis()).isEmpty();
+    }
+
+    @Test
+    void getAll_WhenSomeEntriesAreStale_ShouldServeThemAndReloadOnlyThoseInBackground() {
+        List<Runnable> refreshes = new ArrayList<>();
+        TwoTierCache lenient = staleServingCache(refreshes::add);
+        long now = System.currentTimeMillis();
+        remote.put(1L, new CachedValue("stale", now - 360_000, now - 60_000));
+        remote.put(2L, new CachedValue("cached", now, now + 300_000));
+        List<Set<Long>> loads = new ArrayList<>();
+        StaleReads.clear();
+
+        try {
+            Map<Long, String> found = lenient.getAll(List.of(1L, 2L), missing -> {
+                loads.add(missing);
+                return Map.of(1L, "fresh");
+            });
+
+            assertThat(found).containsExactlyInAnyOrderEntriesOf(Map.of(1L, "stale", 2L, "cached"));
+            assertThat(loads).isEmpty();
+            assertThat(StaleReads.oldestAgeMillis()).isPresent();
+
+            refreshes.forEach(Runnable::run);
+
+            assertThat(loads).containsExactly(Set.of(1L));
+            assertThat(((CachedValue) remote.get(1L).get()).value()).isEqualTo("fresh");
+        } finally {
+            StaleReads.clear();
+        }
+    }
+
+    @Test
+    void getAll_WhenStaleBatchesOverlap_ShouldReloadEachEntryOnce() {
+        List<Runnable> refreshes = new ArrayList<>();
+        TwoTierCache lenient = staleServingCache(refreshes::add);
+        long now = System.currentTimeMillis();
+        for (long id = 1; id <= 3; id++) {
+            remote.put(id, new CachedValue("stale", now - 360_000, now - 60_000));
+        }
+        List<Set<Long>> loads = new ArrayList<>();
+        Function<Set<Long>, Map<Long, String>> loader = missing -> {
+            loads.add(missing);
+            Map<Long, String> loaded = new HashMap<>();
+            missing.forEach(id -> loaded.put(id, "fresh"));
+            return loaded;
+        };
+        StaleReads.clear();
+
+        try {
+            lenient.getAll(List.of(1L, 2L), loader);
+            lenient.getAll(List.of(2L, 3L), loader);
+            lenient.getAll(List.of(1L, 2L), loader);
+
+            assertThat(refreshes).hasSize(2);
+            refreshes.forEach(Runnable::run);
+
+            assertThat(loads).containsExactly(Set.of(1L, 2L), Set.of(3L));
+            assertThat(((CachedValue) remote.get(3L).get()).value()).isEqualTo("fresh");
+        } finally {
+            StaleReads.clear();
+        }
+    }
+
+    @Test
+    void getAll_ShouldLoadOnlyKeysMissingFromBothTiersInOneCall() {
+        cache.put(1L, "local");
+        remote.put(2L, "remote");
+        List<Set<Long>> loads = new ArrayList<>();
+
+        Map<Long, String> found = cache.getAll(List.of(1L, 2L, 3L, 4L), missing -> {
+            loads.add(missing);
+            return Map.of(3L, "loaded");
+        });
+
+        assertThat(found).containsExactlyInAnyOrderEntriesOf(Map.of(1L, "local", 2L, "remote", 3L, "loaded"));
+        assertThat(loads).containsExactly(Set.of(3L, 4L));
+        assertThat(((CachedValue) remote.get(3L).get()).value()).isEqualTo("loaded");
+        assertThat(remote.get(4L)).isNull();
+
+        CacheTierStatistics.Snapshot statistics = cache.getStatistics().snapshot();
+        assertThat(statistics.localHits()).isEqualTo(1);
+        assertThat(statistics.remoteHits()).isEqualTo(1);
+        assertThat(statistics.remoteMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void getAll_WhenEverythingIsCached_ShouldNotCallLoader() {
+        cache.put(1L, "product");
+
+        Map<Long, String> found = cache.getAll(List.of(1L, 1L), missing -> {
+            throw new AssertionError("loaded " + missing);
+        });
+
+        assertThat(found).containsExactly(Map.entry(1L, "product"));
+        assertThat(cache.get(1L, () -> "other")).isEqualTo("product");
+    }
+
+    @Test
+    void reads_ShouldBeRecordedAsHotKeys() {
+        List<String> reads = new ArrayList<>();
+        TwoTierCache tracked = new TwoTierCache("productById", Caffeine.newBuilder().maximumSize(100).build(), remote,
+                CacheInvalidationPublisher.NOOP,
+                new CacheLoadCoordinator(CacheLoadLease.LOCAL_ONLY, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                        Duration.ofMillis(10), Duration.ofMinutes(5), 0.1, 0, Runnable::run),
+                new CacheTierStatistics(), RemoteCacheBatch.PER_KEY, (cacheName, key) -> reads.add(cacheName + "::" + key));
+
+        tracked.get(1L);
+        tracked.get(2L, () -> "product");
+        tracked.getAll(List.of(2L, 3L), missing -> Map.of());
+        tracked.put(4L, "product");
+
+        assertThat(reads).containsExactly("productById::1", "productById::2", "productById::2", "productById::3");
+    }
+
+    private TwoTierCache staleServingCache(Executor refreshExecutor) {
+        return new TwoTierCache("productById", Caffeine.newBuilder().maximumSize(100).build(), remote,
+                CacheInvalidationPublisher.NOOP,
+                new CacheLoadCoordinator(CacheLoadLease.LOCAL_ONLY, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                        Duration.ofMillis(10), Duration.ofMinutes(5), 0, 0, Duration.ofMinutes(10), refreshExecutor));
+    }
+}
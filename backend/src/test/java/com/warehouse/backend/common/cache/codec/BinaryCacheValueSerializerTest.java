@@ -0,0 +1,76 @@
+package com.warehouse.backend.common.cache.codec;
+
+import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.category.infrastructure.cache.CategoryDtoCodec;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.infrastructure.cache.ProductDtoCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryCacheValueSerializerTest {
+
+    private final BinaryCacheValueSerializer serializer =
+            new BinaryCacheValueSerializer(List.of(new ProductDtoCodec(), new CategoryDtoCodec()));
+
+    @Test
+    void shouldRoundTripProductWithCategory() {
+        ProductDto product = new ProductDto(1L, "iPhone 16", "Smartphone",
+                new CategoryDto(2L, "iPhone", "Apple smartphones"), LocalDateTime.of(2025, 4, 7, 15, 6, 48, 123_000_000));
+
+        ProductDto result = (ProductDto) serializer.deserialize(serializer.serialize(product));
+
+        assertThat(result).usingRecursiveComparison().isEqualTo(product);
+    }
+
+    @Test
+    void shouldRoundTripNullFields() {
+        ProductDto product = new ProductDto(1L, "iPhone 16", null, null, null);
+
+        ProductDto result = (ProductDto) serializer.deserialize(serializer.serialize(product));
+
+        assertThat(result).usingRecursiveComparison().isEqualTo(product);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRoundTripListsAndBeSmallerThanJdkSerialization() {
+        CategoryDto category = new CategoryDto(1L, "Mac", "Apple desktops");
+        List<ProductDto> products = List.of(
+                new ProductDto(1L, "iMac", "24-inch", category, LocalDateTime.now()),
+                new ProductDto(2L, "Mac mini", "M4", category, LocalDateTime.now()));
+
+        byte[] encoded = serializer.serialize(products);
+        List<ProductDto> result = (List<ProductDto>) serializer.deserialize(encoded);
+
+        assertThat(result).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(products);
+        assertThat(encoded.length).isLessThan(new JdkSerializationRedisSerializer().serialize(products).length);
+    }
+
+    @Test
+    void shouldFallBackToJdkSerializationForUnknownTypes() {
+        Map<String, Long> value = Map.of("a", 1L);
+
+        assertThat(serializer.deserialize(serializer.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    void shouldReadEntriesWrittenByJdkSerializer() {
+        CategoryDto category = new CategoryDto(1L, "Mac", "Apple desktops");
+        byte[] legacy = new JdkSerializationRedisSerializer().serialize(category);
+
+        assertThat(serializer.deserialize(legacy)).usingRecursiveComparison().isEqualTo(category);
+    }
+
+    @Test
+    void shouldRejectDuplicateTypeTags() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BinaryCacheValueSerializer(List.of(new CategoryDtoCodec(), new CategoryDtoCodec())));
+    }
+}
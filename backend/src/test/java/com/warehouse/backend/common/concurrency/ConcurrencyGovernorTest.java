@@ -0,0 +1,73 @@
+package com.warehouse.backend.common.concurrency;
+
+import com.warehouse.backend.common.exception.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrencyGovernorTest {
+
+    @Test
+    void acquire_WhenLimitReached_ShouldRejectAfterTimeout() {
+        ConcurrencyGovernor governor = new ConcurrencyGovernor("test", 1, Duration.ofMillis(20));
+        ConcurrencyGovernor.Permit permit = governor.acquire();
+
+        assertThrows(ConcurrencyLimitExceededException.class, governor::acquire);
+        assertThat(governor.getRejections()).isEqualTo(1);
+
+        permit.release();
+        governor.acquire().release();
+        assertThat(governor.getInUse()).isZero();
+    }
+
+    @Test
+    void release_WhenCalledTwice_ShouldReturnOnePermit() {
+        ConcurrencyGovernor governor = new ConcurrencyGovernor("test", 2, Duration.ofMillis(20));
+        ConcurrencyGovernor.Permit permit = governor.acquire();
+        governor.acquire();
+
+        permit.release();
+        permit.close();
+
+        assertThat(governor.getInUse()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_ShouldNeverLetMoreThanMaxConcurrentVirtualThreadsIn() throws Exception {
+        ConcurrencyGovernor governor = new ConcurrencyGovernor("test", 4, Duration.ofSeconds(10));
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?>[] tasks = new Future<?>[200];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = executor.submit(() -> {
+                    start.await();
+                    try (ConcurrencyGovernor.Permit ignored = governor.acquire()) {
+                        maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                        Thread.sleep(1);
+                        inside.decrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(maxInside.get()).isLessThanOrEqualTo(4);
+        assertThat(governor.getInUse()).isZero();
+    }
+}
@@ -0,0 +1,62 @@
+package com.warehouse.backend.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GovernedDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private final ConcurrencyGovernor governor = new ConcurrencyGovernor("database connection", 1, Duration.ofMillis(20));
+
+    @Test
+    void getConnection_ShouldHoldPermitUntilConnectionClosed() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        GovernedDataSource dataSource = new GovernedDataSource(targetDataSource, governor);
+
+        Connection governed = dataSource.getConnection();
+        assertThat(governor.getInUse()).isEqualTo(1);
+        governed.setAutoCommit(false);
+        governed.close();
+
+        verify(connection).setAutoCommit(false);
+        verify(connection).close();
+        assertThat(governor.getInUse()).isZero();
+    }
+
+    @Test
+    void getConnection_WhenLimitReached_ShouldThrowTransientException() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        GovernedDataSource dataSource = new GovernedDataSource(targetDataSource, governor);
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_WhenPoolFails_ShouldReleasePermit() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool closed"));
+        GovernedDataSource dataSource = new GovernedDataSource(targetDataSource, governor);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertThat(governor.getInUse()).isZero();
+    }
+}
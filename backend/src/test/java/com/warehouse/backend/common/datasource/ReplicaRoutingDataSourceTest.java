@@ -0,0 +1,141 @@
+package com.warehouse.backend.common.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the routing against two in-memory H2 databases, each of which knows its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private SwitchableDataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = new SwitchableDataSource(database("replica"));
+        routingDataSource = new ReplicaRoutingDataSource(primary,
+                List.of(new ReplicaRoutingDataSource.Replica("replica", replica)));
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ReadYourWrites.clear();
+        routingDataSource.close();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldRunOnReplica() {
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("replica");
+        assertThat(writeTransaction.execute(status -> currentDatabase())).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_WhenPinnedToPrimary_ShouldRunOnPrimary() {
+        ReadYourWrites.pinToPrimary();
+
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaDown_ShouldFailOverToPrimaryAndBack() {
+        replica.down = true;
+
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("primary");
+        assertThat(routingDataSource.getReplicas().getFirst().isHealthy()).isFalse();
+
+        replica.down = false;
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("primary");
+        routingDataSource.checkHealth();
+
+        assertThat(routingDataSource.getReplicas().getFirst().isHealthy()).isTrue();
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    void onPrimary_ShouldRouteReadsToPrimaryOnlyWhileItRuns() {
+        String inside = ReadYourWrites.onPrimary(() -> readOnlyTransaction.execute(status -> currentDatabase()));
+
+        assertThat(inside).isEqualTo("primary");
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    void getConnection_WithCredentials_ShouldUsePrimary() throws SQLException {
+        try (Connection connection = routingDataSource.getConnection("sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM node")) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString(1)).isEqualTo("primary");
+        }
+    }
+
+    @Test
+    void checkHealth_ShouldTakeFailingReplicaOut() {
+        replica.down = true;
+
+        routingDataSource.checkHealth();
+
+        assertThat(routingDataSource.getReplicas().getFirst().isHealthy()).isFalse();
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.warehouse.backend.common.pagination;
+
+import com.warehouse.backend.common.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeAndDecode_ShouldRoundTripLastId() {
+        String cursor = KeysetCursor.encode(12345L);
+
+        assertThat(cursor).doesNotContain("12345");
+        assertThat(KeysetCursor.decode(cursor)).isEqualTo(12345L);
+    }
+
+    @Test
+    void decode_WhenCursorMissing_ShouldStartFromBeginning() {
+        assertThat(KeysetCursor.decode(null)).isZero();
+        assertThat(KeysetCursor.decode("")).isZero();
+    }
+
+    @Test
+    void decode_WhenCursorIsGarbage_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not-a-cursor!"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("MTIz"));
+    }
+}
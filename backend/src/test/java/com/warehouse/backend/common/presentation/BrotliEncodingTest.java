@@ -0,0 +1,47 @@
+package com.warehouse.backend.common.presentation;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import com.aayushatharva.brotli4j.decoder.DirectDecompress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BrotliEncodingTest {
+
+    @BeforeEach
+    void requireNativeEncoder() {
+        assumeTrue(Brotli4jLoader.isAvailable(), "no native Brotli encoder for this platform");
+    }
+
+    @Test
+    void isAccepted_ShouldHonourCodingListAndQuality() {
+        assertThat(BrotliEncoding.isAccepted("gzip, deflate, br")).isTrue();
+        assertThat(BrotliEncoding.isAccepted("BR;q=0.5, gzip")).isTrue();
+        assertThat(BrotliEncoding.isAccepted("br;q=0, gzip")).isFalse();
+        assertThat(BrotliEncoding.isAccepted("gzip, deflate")).isFalse();
+        assertThat(BrotliEncoding.isAccepted(null)).isFalse();
+    }
+
+    @Test
+    void wrap_ShouldProduceDecodableStreamOnClose() throws Exception {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        byte[] json = "[{\"id\":1,\"name\":\"Drill\"}]".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        try (OutputStream output = BrotliEncoding.wrap(encoded)) {
+            output.write(json);
+        }
+
+        DirectDecompress decoded = Decoder.decompress(encoded.toByteArray());
+        assertThat(decoded.getResultStatus()).isEqualTo(DecoderJNI.Status.DONE);
+        assertThat(decoded.getDecompressedData()).isEqualTo(json);
+        assertThat(encoded.size()).isLessThan(json.length);
+    }
+}
@@ -0,0 +1,75 @@
+package com.warehouse.backend.common.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private CircuitBreaker circuitBreaker;
+    private AtomicBoolean redisUp;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker("redis", 3);
+        redisUp = new AtomicBoolean(false);
+        circuitBreaker.setProbe(() -> {
+            if (!redisUp.get()) {
+                throw new RedisConnectionFailureException("down");
+            }
+        });
+    }
+
+    @Test
+    void recordFailure_ShouldOpenOnlyAfterConsecutiveFailures() {
+        RedisConnectionFailureException failure = new RedisConnectionFailureException("down");
+        circuitBreaker.recordFailure(failure);
+        circuitBreaker.recordFailure(failure);
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure(failure);
+        circuitBreaker.recordFailure(failure);
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+
+        circuitBreaker.recordFailure(failure);
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        assertThat(circuitBreaker.getOpenings()).isEqualTo(1);
+    }
+
+    @Test
+    void probe_ShouldCloseOnlyOnceDependencyAnswersAndRunRecoveryListeners() {
+        AtomicInteger recoveries = new AtomicInteger();
+        circuitBreaker.addRecoveryListener(recoveries::incrementAndGet);
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure(new RedisConnectionFailureException("down"));
+        }
+
+        circuitBreaker.probe();
+        assertThat(circuitBreaker.isOpen()).isTrue();
+
+        redisUp.set(true);
+        circuitBreaker.probe();
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+        assertThat(recoveries).hasValue(1);
+        assertThat(circuitBreaker.getDegradedTime()).isPositive();
+    }
+
+    @Test
+    void probe_WhenClosed_ShouldNotCallDependency() {
+        AtomicInteger probes = new AtomicInteger();
+        circuitBreaker.setProbe(probes::incrementAndGet);
+
+        circuitBreaker.probe();
+
+        assertThat(probes).hasValue(0);
+        assertThat(circuitBreaker.getDegradedTime()).isEqualTo(Duration.ZERO);
+    }
+}
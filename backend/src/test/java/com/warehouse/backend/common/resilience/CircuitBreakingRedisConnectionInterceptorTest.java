@@ -0,0 +1,87 @@
+package com.warehouse.backend.common.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakingRedisConnectionInterceptorTest {
+
+    private static final byte[] KEY = "key".getBytes();
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private CircuitBreaker circuitBreaker;
+    private RedisConnectionFactory guardedFactory;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker("redis", 2);
+        ProxyFactory proxyFactory = new ProxyFactory(connectionFactory);
+        proxyFactory.addAdvice(new CircuitBreakingRedisConnectionInterceptor(circuitBreaker));
+        guardedFactory = (RedisConnectionFactory) proxyFactory.getProxy();
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+    }
+
+    @Test
+    void getConnection_WhenCommandsFromAccessorTimeOut_ShouldOpenCircuit() {
+        when(stringCommands.get(any())).thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+        for (int i = 0; i < 2; i++) {
+            RedisConnection guarded = guardedFactory.getConnection();
+            assertThatThrownBy(() -> guarded.stringCommands().get(KEY)).isInstanceOf(QueryTimeoutException.class);
+        }
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+        assertThatThrownBy(guardedFactory::getConnection).isInstanceOf(RedisCircuitOpenException.class);
+    }
+
+    @Test
+    void getConnection_ShouldNotCountAccessorCallsAsSuccesses() {
+        when(stringCommands.get(any())).thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+        RedisConnection first = guardedFactory.getConnection();
+        assertThatThrownBy(() -> first.stringCommands().get(KEY)).isInstanceOf(QueryTimeoutException.class);
+        // Only fetches the command object; had it counted as a success, the two timeouts would not be consecutive.
+        guardedFactory.getConnection().stringCommands();
+        RedisConnection second = guardedFactory.getConnection();
+        assertThatThrownBy(() -> second.stringCommands().get(KEY)).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(circuitBreaker.isOpen()).isTrue();
+    }
+
+    @Test
+    void getConnection_WhenCommandSucceeds_ShouldResetFailureCount() {
+        when(stringCommands.get(any()))
+                .thenThrow(new QueryTimeoutException("Redis command timed out"))
+                .thenReturn("value".getBytes())
+                .thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+        RedisConnection guarded = guardedFactory.getConnection();
+        assertThatThrownBy(() -> guarded.stringCommands().get(KEY)).isInstanceOf(QueryTimeoutException.class);
+        assertThat(guarded.stringCommands().get(KEY)).isEqualTo("value".getBytes());
+        assertThatThrownBy(() -> guarded.stringCommands().get(KEY)).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(circuitBreaker.isOpen()).isFalse();
+    }
+}
@@ -0,0 +1,222 @@
+package com.warehouse.backend.product.application.service;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.category.domain.repository.CategoryRepository;
+import com.warehouse.backend.changefeed.application.service.ChangeEventRecorder;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.product.application.mapper.ProductMapper;
+import com.warehouse.backend.product.application.port.input.BulkProductRow;
+import com.warehouse.backend.product.application.port.output.BulkImportRowResult;
+import com.warehouse.backend.product.application.port.output.BulkImportSummary;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.domain.exception.InvalidBulkImportException;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.repository.ProductBulkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBulkImportServiceTest {
+
+    @Mock
+    private ProductBulkRepository productBulkRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private IndexedListCache<ProductDto> productListCache;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Mock
+    private VersionCounter catalogVersion;
+
+    @Mock
+    private ChangeEventRecorder changeEventRecorder;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBulkImportService productBulkImportService;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        productBulkImportService = new ProductBulkImportService(productBulkRepository, categoryRepository,
+                productListCache, productSearchService, catalogVersion, changeEventRecorder, productMapper,
+                transactionManager);
+        when(categoryRepository.getAllCategories()).thenReturn(List.of(new Category(1L, "Tools", null)));
+    }
+
+    @Test
+    void importProducts_ShouldReportEveryRowInOrder() {
+        when(productBulkRepository.findExistingNames(anyCollection())).thenReturn(Set.of("hammer"));
+        assignIdsOnInsert();
+        List<BulkImportRowResult> results = new ArrayList<>();
+
+        BulkImportSummary summary = productBulkImportService.importProducts(List.of(
+                new BulkProductRow("Drill", null, 1L, null),
+                new BulkProductRow("Hammer", null, 1L, null),
+                new BulkProductRow(" ", null, 1L, null),
+                new BulkProductRow("Saw", null, null, "tools"),
+                new BulkProductRow("Glue", null, 9L, null),
+                new BulkProductRow("drill", null, 1L, null)
+        ).iterator(), results::add);
+
+        assertThat(results).extracting(BulkImportRowResult::getStatus).containsExactly(
+                BulkImportRowResult.Status.CREATED,
+                BulkImportRowResult.Status.DUPLICATE,
+                BulkImportRowResult.Status.INVALID,
+                BulkImportRowResult.Status.CREATED,
+                BulkImportRowResult.Status.CATEGORY_NOT_FOUND,
+                BulkImportRowResult.Status.DUPLICATE);
+        assertThat(results).extracting(BulkImportRowResult::getRow).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(results.getFirst().getId()).isNotNull();
+        assertThat(summary.getCreated()).isEqualTo(2);
+        assertThat(summary.getRejected()).isEqualTo(4);
+        verify(productListCache).clear();
+        verify(productSearchService).productsImported(argThat(products -> products.size() == 2));
+        verify(catalogVersion).increment();
+        verify(changeEventRecorder).recordAll(eq(AggregateType.PRODUCT), eq(ChangeType.CREATED),
+                argThat(products -> products.size() == 2), any());
+    }
+
+    @Test
+    void importProducts_ShouldQueryAndInsertOncePerChunk() {
+        when(productBulkRepository.findExistingNames(anyCollection())).thenReturn(Set.of());
+        assignIdsOnInsert();
+        int rows = ProductBulkImportService.CHUNK_SIZE * 2 + 1;
+
+        BulkImportSummary summary = productBulkImportService.importProducts(
+                IntStream.range(0, rows).mapToObj(i -> new BulkProductRow("Product " + i, null, 1L, null)).iterator(),
+                result -> { });
+
+        assertThat(summary.getCreated()).isEqualTo(rows);
+        verify(categoryRepository, times(1)).getAllCategories();
+        verify(productBulkRepository, times(3)).findExistingNames(anyCollection());
+        verify(productBulkRepository, times(3)).insertAll(any());
+        verify(changeEventRecorder, times(3)).recordAll(eq(AggregateType.PRODUCT), eq(ChangeType.CREATED), any(), any());
+    }
+
+    @Test
+    void importProducts_WhenRecordIsMalformed_ShouldImportRowsBeforeItAndReportError() {
+        when(productBulkRepository.findExistingNames(anyCollection())).thenReturn(Set.of());
+        assignIdsOnInsert();
+        Iterator<BulkProductRow> rows = new Iterator<>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                if (read == 1) {
+                    throw new InvalidBulkImportException("Record 2: unterminated quoted field");
+                }
+                return true;
+            }
+
+            @Override
+            public BulkProductRow next() {
+                read++;
+                return new BulkProductRow("Drill", null, 1L, null);
+            }
+        };
+
+        BulkImportSummary summary = productBulkImportService.importProducts(rows, result -> { });
+
+        assertThat(summary.getCreated()).isEqualTo(1);
+        assertThat(summary.getError()).isEqualTo("Record 2: unterminated quoted field");
+    }
+
+    @Test
+    void importProducts_ShouldCheckLengthsInCharactersPerRow() {
+        when(productBulkRepository.findExistingNames(anyCollection())).thenReturn(Set.of());
+        assignIdsOnInsert();
+        List<BulkImportRowResult> results = new ArrayList<>();
+
+        productBulkImportService.importProducts(List.of(
+                // 150 characters, but 300 UTF-16 units.
+                new BulkProductRow("\uD83D\uDD27".repeat(150), null, 1L, null),
+                new BulkProductRow("Drill", "x".repeat(256), 1L, null),
+                new BulkProductRow("Saw", "\uD83E\uDE9A".repeat(255), 1L, null)
+        ).iterator(), results::add);
+
+        assertThat(results).extracting(BulkImportRowResult::getStatus).containsExactly(
+                BulkImportRowResult.Status.CREATED,
+                BulkImportRowResult.Status.INVALID,
+                BulkImportRowResult.Status.CREATED);
+        assertThat(results.get(1).getMessage()).isEqualTo("Product description is longer than 255 characters");
+    }
+
+    @Test
+    void importProducts_WhenNameIsInsertedConcurrently_ShouldCheckAgain() {
+        when(productBulkRepository.findExistingNames(anyCollection())).thenReturn(Set.of(), Set.of("drill"));
+        doThrow(new DuplicateKeyException("Duplicate entry 'drill' for key 'uk_products_name_key'"))
+                .doAnswer(invocation -> null)
+                .when(productBulkRepository).insertAll(any());
+        List<BulkImportRowResult> results = new ArrayList<>();
+
+        productBulkImportService.importProducts(List.of(new BulkProductRow("Drill", null, 1L, null)).iterator(),
+                results::add);
+
+        assertThat(results).extracting(BulkImportRowResult::getStatus)
+                .containsExactly(BulkImportRowResult.Status.DUPLICATE);
+        verify(productBulkRepository, times(2)).insertAll(any());
+    }
+
+    @Test
+    void importProducts_WhenInsertViolatesOtherConstraint_ShouldNotRetry() {
+        when(productBulkRepository.findExistingNames(anyCollection())).thenReturn(Set.of());
+        doThrow(new DataIntegrityViolationException("Column 'category_id' cannot be null"))
+                .when(productBulkRepository).insertAll(any());
+
+        assertThrows(DataIntegrityViolationException.class, () -> productBulkImportService.importProducts(
+                List.of(new BulkProductRow("Drill", null, 1L, null)).iterator(), result -> { }));
+
+        verify(productBulkRepository, times(1)).insertAll(any());
+    }
+
+    @Test
+    void importProducts_WhenNothingCreated_ShouldKeepListCache() {
+        BulkImportSummary summary = productBulkImportService.importProducts(
+                List.of(new BulkProductRow(null, null, 1L, null)).iterator(), result -> { });
+
+        assertThat(summary.getRejected()).isEqualTo(1);
+        verify(productListCache, never()).clear();
+        verify(catalogVersion, never()).increment();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assignIdsOnInsert() {
+        doAnswer(invocation -> {
+            ((List<Product>) invocation.getArgument(0)).forEach(product -> product.setId(ids.incrementAndGet()));
+            return null;
+        }).when(productBulkRepository).insertAll(any());
+    }
+}
@@ -0,0 +1,197 @@
+package com.warehouse.backend.product.application.service;
+
+import com.warehouse.backend.common.cache.CacheInvalidationPublisher;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.product.application.mapper.ProductMapper;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
+import com.warehouse.backend.product.application.port.output.ProductSearchResultDto;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.model.ProductSearchHit;
+import com.warehouse.backend.product.domain.repository.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductReadRepository productReadRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    @Mock
+    private TwoTierCacheManager cacheManager;
+
+    private ProductSearchService productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        productSearchService = new ProductSearchService(productSearchIndex, productReadRepository, productMapper,
+                invalidationPublisher, cacheManager);
+    }
+
+    @Test
+    void constructor_ShouldRegisterForRemoteChanges() {
+        verify(cacheManager).registerLocalTier(ProductSearchService.INDEX_NAME, productSearchService);
+    }
+
+    @Test
+    void search_ShouldCapLimitAndMapHits() {
+        ProductSearchHit hit = new ProductSearchHit(1L, "Drill", null, 1L, 2f);
+        ProductSearchResultDto result = new ProductSearchResultDto(1L, "Drill", null, 1L, 2f);
+        when(productSearchIndex.search("drill", ProductSearchService.MAX_LIMIT)).thenReturn(List.of(hit));
+        when(productMapper.productSearchHitToProductSearchResultDto(hit)).thenReturn(result);
+
+        assertThat(productSearchService.search("drill", 10_000)).containsExactly(result);
+    }
+
+    @Test
+    void search_WhenQueryBlank_ShouldNotTouchIndex() {
+        assertThat(productSearchService.search("  ", null)).isEmpty();
+        verify(productSearchIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void rebuildIndex_ShouldPageThroughAllProducts() {
+        mapDtosToProducts();
+        when(productSearchIndex.beginRebuild()).thenReturn(7L);
+        when(productReadRepository.getProductDtosAfter(0, ProductSearchService.REBUILD_PAGE_SIZE))
+                .thenReturn(productDtos(1, ProductSearchService.REBUILD_PAGE_SIZE));
+        when(productReadRepository.getProductDtosAfter(ProductSearchService.REBUILD_PAGE_SIZE,
+                ProductSearchService.REBUILD_PAGE_SIZE))
+                .thenReturn(productDtos(ProductSearchService.REBUILD_PAGE_SIZE + 1, 3));
+
+        productSearchService.rebuildIndex();
+
+        verify(productSearchIndex).upsert(products(1, ProductSearchService.REBUILD_PAGE_SIZE));
+        verify(productSearchIndex).upsert(products(ProductSearchService.REBUILD_PAGE_SIZE + 1, 3));
+        verify(productSearchIndex).finishRebuild(7L);
+    }
+
+    @Test
+    void rebuildIndex_ShouldNotResurrectProductDeletedWhilePaging() {
+        mapDtosToProducts();
+        // The page was read before the delete was applied, and is indexed after it.
+        when(productReadRepository.getProductDtosAfter(0, ProductSearchService.REBUILD_PAGE_SIZE)).thenAnswer(invocation -> {
+            productSearchService.productDeleted(2L);
+            return productDtos(1, 3);
+        });
+
+        productSearchService.rebuildIndex();
+
+        verify(productSearchIndex).remove(2L);
+        verify(productSearchIndex).upsert(List.of(products(1, 1).getFirst(), products(3, 1).getFirst()));
+    }
+
+    @Test
+    void productsImported_ShouldIndexAndSendIdsToOtherNodesAtOnce() {
+        List<Product> imported = products(5, 3);
+
+        productSearchService.productsImported(imported);
+
+        verify(productSearchIndex).upsert(imported);
+        verify(invalidationPublisher).publish(ProductSearchService.INDEX_NAME, "5,6,7");
+    }
+
+    @Test
+    void evictLocal_WhenImportedChunkArrives_ShouldReadBackOnlyThoseProducts() {
+        mapDtosToProducts();
+        when(productReadRepository.getProductDtosByIds(List.of(5L, 6L, 7L)))
+                .thenReturn(List.of(productDtos(5, 1).getFirst(), productDtos(7, 1).getFirst()));
+
+        productSearchService.evictLocal("5,6,7");
+
+        verify(productSearchIndex).upsert(List.of(products(5, 1).getFirst(), products(7, 1).getFirst()));
+        verify(productSearchIndex).remove(6L);
+        verify(productSearchIndex, never()).beginRebuild();
+    }
+
+    @Test
+    void productSaved_ShouldIndexAndNotifyOtherNodes() {
+        Product product = products(5, 1).getFirst();
+
+        productSearchService.productSaved(product);
+
+        verify(productSearchIndex).upsert(List.of(product));
+        verify(invalidationPublisher).publish(ProductSearchService.INDEX_NAME, "5");
+    }
+
+    @Test
+    void evictLocal_ShouldReindexProductChangedElsewhere() {
+        mapDtosToProducts();
+        Product product = products(5, 1).getFirst();
+        when(productReadRepository.getProductDtoById(5L)).thenReturn(Optional.of(productDtos(5, 1).getFirst()));
+        when(productReadRepository.getProductDtoById(6L)).thenReturn(Optional.empty());
+
+        productSearchService.evictLocal("5");
+        productSearchService.evictLocal("6");
+
+        verify(productSearchIndex).upsert(List.of(product));
+        verify(productSearchIndex).remove(6L);
+        verifyNoInteractions(invalidationPublisher);
+    }
+
+    @Test
+    void evictLocal_WhenWholeIndexInvalidated_ShouldRebuildInBackgroundAndMergeRequests() throws Exception {
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productReadRepository.getProductDtosAfter(0, ProductSearchService.REBUILD_PAGE_SIZE)).thenAnswer(invocation -> {
+            rebuilding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        productSearchService.evictLocal(null);
+        assertThat(rebuilding.await(5, TimeUnit.SECONDS)).isTrue();
+        productSearchService.evictLocal(null);
+        productSearchService.evictLocal(null);
+        release.countDown();
+
+        verify(productSearchIndex, timeout(5000).times(2)).finishRebuild(anyLong());
+        productSearchService.shutdown();
+        verify(productSearchIndex, times(2)).beginRebuild();
+    }
+
+    private void mapDtosToProducts() {
+        when(productMapper.productDtoToProduct(any())).thenAnswer(invocation -> {
+            ProductDto dto = invocation.getArgument(0);
+            return Product.builder().id(dto.getId()).name(dto.getName()).build();
+        });
+    }
+
+    private static List<ProductDto> productDtos(long firstId, int count) {
+        return LongStream.range(firstId, firstId + count)
+                .mapToObj(id -> new ProductDto(id, "Product " + id, null, null, null))
+                .toList();
+    }
+
+    private static List<Product> products(long firstId, int count) {
+        return LongStream.range(firstId, firstId + count)
+                .mapToObj(id -> Product.builder().id(id).name("Product " + id).build())
+                .toList();
+    }
+}
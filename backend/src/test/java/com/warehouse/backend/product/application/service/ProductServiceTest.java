@@ -3,9 +3,22 @@ package com.warehouse.backend.product.application.service;
 import com.warehouse.backend.category.domain.exception.CategoryNotFoundException;
 import com.warehouse.backend.category.domain.model.Category;
 import com.warehouse.backend.category.domain.repository.CategoryRepository;
+import com.warehouse.backend.changefeed.application.service.ChangeEventRecorder;
+import com.warehouse.backend.changefeed.domain.model.AggregateType;
+import com.warehouse.backend.changefeed.domain.model.ChangeType;
+import com.warehouse.backend.common.cache.IndexedListCache;
+import com.warehouse.backend.common.cache.TwoTierCache;
+import com.warehouse.backend.common.cache.TwoTierCacheManager;
+import com.warehouse.backend.common.cache.VersionCounter;
+import com.warehouse.backend.common.datasource.ReadYourWrites;
+import com.warehouse.backend.common.dto.CursorPage;
+import com.warehouse.backend.common.exception.TooManyIdsException;
+import com.warehouse.backend.common.pagination.KeysetCursor;
 import com.warehouse.backend.product.application.mapper.ProductMapper;
 import com.warehouse.backend.product.application.port.input.CreateProductRequest;
 import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductReadRepository;
+import com.warehouse.backend.product.application.port.output.ProductStreamRepository;
 import com.warehouse.backend.product.domain.exception.ProductAlreadyExistsException;
 import com.warehouse.backend.product.domain.exception.ProductNotFoundException;
 import com.warehouse.backend.product.domain.model.Product;
@@ -16,14 +29,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -34,12 +58,36 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductReadRepository productReadRepository;
+
+    @Mock
+    private ProductStreamRepository productStreamRepository;
+
     @Mock
     private CategoryRepository categoryRepository;
 
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private IndexedListCache<ProductDto> productListCache;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Mock
+    private VersionCounter catalogVersion;
+
+    @Mock
+    private ChangeEventRecorder changeEventRecorder;
+
+    @Mock
+    private TwoTierCacheManager cacheManager;
+
+    @Mock
+    private TwoTierCache productByIdCache;
+
     @InjectMocks
     private ProductService productService;
 
@@ -73,34 +121,137 @@ class ProductServiceTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void getAllProducts_ShouldReturnAllProducts() {
-        when(productRepository.getAllProducts()).thenReturn(List.of(product));
-        when(productMapper.productToProductDto(any(Product.class))).thenReturn(productDto);
+        when(productListCache.getAll(any())).thenAnswer(invocation -> ((Supplier<List<ProductDto>>) invocation.getArgument(0)).get());
+        when(productReadRepository.getAllProductDtos()).thenReturn(List.of(productDto));
 
         List<ProductDto> result = productService.getAllProducts();
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getName()).isEqualTo("Test Product");
-        verify(productRepository).getAllProducts();
+        verify(productReadRepository).getAllProductDtos();
+        verifyNoInteractions(productMapper);
+    }
+
+    @Test
+    void getAllProducts_WhenListCached_ShouldNotQueryRepository() {
+        when(productListCache.getAll(any())).thenReturn(List.of(productDto));
+
+        List<ProductDto> result = productService.getAllProducts();
+
+        assertThat(result).containsExactly(productDto);
+        verify(productReadRepository, never()).getAllProductDtos();
+    }
+
+    @Test
+    void getProductPage_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        ProductDto second = new ProductDto();
+        second.setId(2L);
+        when(productReadRepository.getProductDtosAfter(0L, 2)).thenReturn(List.of(productDto, second));
+
+        CursorPage<ProductDto> page = productService.getProductPage(null, 1);
+
+        assertThat(page.getItems()).containsExactly(productDto);
+        assertThat(KeysetCursor.decode(page.getNext())).isEqualTo(1L);
+    }
+
+    @Test
+    void getProductPage_WhenLastPage_ShouldReturnNullCursor() {
+        when(productReadRepository.getProductDtosAfter(1L, ProductService.DEFAULT_PAGE_SIZE + 1)).thenReturn(List.of());
+
+        CursorPage<ProductDto> page = productService.getProductPage(KeysetCursor.encode(1L), null);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    void getProductPage_ShouldCapPageSize() {
+        when(productReadRepository.getProductDtosAfter(0L, ProductService.MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+
+        productService.getProductPage(null, 100_000);
+
+        verify(productReadRepository).getProductDtosAfter(0L, ProductService.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void getProductPage_ShouldReadOnPrimary() {
+        AtomicBoolean pinned = new AtomicBoolean();
+        when(productReadRepository.getProductDtosAfter(0L, ProductService.DEFAULT_PAGE_SIZE + 1)).thenAnswer(invocation -> {
+            pinned.set(ReadYourWrites.isPinnedToPrimary());
+            return List.of(productDto);
+        });
+
+        productService.getProductPage(null, null);
+
+        assertThat(pinned).isTrue();
+        assertThat(ReadYourWrites.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void streamAllProducts_ShouldPassEveryRowWithoutTheListCache() {
+        ProductDto second = new ProductDto();
+        second.setId(2L);
+        when(productStreamRepository.streamAllProductDtos(any())).thenAnswer(invocation -> {
+            Consumer<ProductDto> sink = invocation.getArgument(0);
+            sink.accept(productDto);
+            sink.accept(second);
+            return 2L;
+        });
+        List<ProductDto> received = new ArrayList<>();
+
+        long count = productService.streamAllProducts(received::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(received).containsExactly(productDto, second);
+        verifyNoInteractions(productListCache, productRepository);
     }
 
     @Test
     void getProductById_WhenProductExists_ShouldReturnProduct() {
-        when(productRepository.getProductById(anyLong())).thenReturn(Optional.of(product));
-        when(productMapper.productToProductDto(any(Product.class))).thenReturn(productDto);
+        when(productReadRepository.getProductDtoById(anyLong())).thenReturn(Optional.of(productDto));
 
         ProductDto result = productService.getProductById(1L);
 
         assertThat(result.getName()).isEqualTo("Test Product");
-        verify(productRepository).getProductById(1L);
+        verify(productReadRepository).getProductDtoById(1L);
     }
 
     @Test
     void getProductById_WhenProductDoesNotExist_ShouldThrowException() {
-        when(productRepository.getProductById(anyLong())).thenReturn(Optional.empty());
+        when(productReadRepository.getProductDtoById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ProductNotFoundException.class, () -> productService.getProductById(1L));
-        verify(productRepository).getProductById(1L);
+        verify(productReadRepository).getProductDtoById(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getProductsByIds_ShouldLoadMissesInOneQueryAndKeepRequestedOrder() {
+        ProductDto cached = new ProductDto();
+        cached.setId(3L);
+        when(cacheManager.getCache("productById")).thenReturn(productByIdCache);
+        when(productByIdCache.getAll(anyList(), any())).thenAnswer(invocation -> {
+            Map<Long, ProductDto> loaded = ((Function<Set<Long>, Map<Long, ProductDto>>) invocation.getArgument(1))
+                    .apply(new LinkedHashSet<>(List.of(1L, 2L)));
+            return Map.of(1L, loaded.get(1L), 3L, cached);
+        });
+        when(productReadRepository.getProductDtosByIds(Set.of(1L, 2L))).thenReturn(List.of(productDto));
+
+        List<ProductDto> result = productService.getProductsByIds(List.of(3L, 2L, 1L, 3L));
+
+        assertThat(result).containsExactly(cached, productDto);
+        verify(productReadRepository, times(1)).getProductDtosByIds(any());
+        verify(productReadRepository, never()).getProductDtoById(anyLong());
+    }
+
+    @Test
+    void getProductsByIds_WhenTooManyIds_ShouldThrowException() {
+        List<Long> ids = LongStream.rangeClosed(1, ProductService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(TooManyIdsException.class, () -> productService.getProductsByIds(ids));
+        verifyNoInteractions(cacheManager, productRepository);
     }
 
     @Test
@@ -117,6 +268,10 @@ class ProductServiceTest {
         verify(productRepository).isProductExist("Test Product");
         verify(categoryRepository).getCategoryById(1L);
         verify(productRepository).createNewProduct(any(Product.class));
+        verify(productListCache).put(productDto);
+        verify(productSearchService).productSaved(product);
+        verify(catalogVersion).increment();
+        verify(changeEventRecorder).record(AggregateType.PRODUCT, 1L, ChangeType.CREATED, productDto);
     }
 
     @Test
@@ -126,6 +281,21 @@ class ProductServiceTest {
         assertThrows(ProductAlreadyExistsException.class, () -> productService.saveProduct(createProductRequest));
         verify(productRepository).isProductExist("Test Product");
         verify(productRepository, never()).createNewProduct(any(Product.class));
+        verify(productListCache, never()).put(any());
+        verify(catalogVersion, never()).increment();
+        verifyNoInteractions(changeEventRecorder);
+    }
+
+    @Test
+    void saveProduct_WhenSameNameCreatedConcurrently_ShouldThrowException() {
+        when(productRepository.isProductExist(anyString())).thenReturn(false);
+        when(categoryRepository.getCategoryById(anyLong())).thenReturn(Optional.of(category));
+        when(productMapper.createProductRequestToProduct(any(CreateProductRequest.class))).thenReturn(product);
+        when(productRepository.createNewProduct(any(Product.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_products_name_key"));
+
+        assertThrows(ProductAlreadyExistsException.class, () -> productService.saveProduct(createProductRequest));
+        verify(productListCache, never()).put(any());
     }
 
     @Test
@@ -152,6 +322,10 @@ class ProductServiceTest {
         verify(productRepository).getProductById(1L);
         verify(categoryRepository).getCategoryById(1L);
         verify(productRepository).createNewProduct(any(Product.class));
+        verify(productListCache).put(productDto);
+        verify(productSearchService).productSaved(product);
+        verify(catalogVersion).increment();
+        verify(changeEventRecorder).record(AggregateType.PRODUCT, 1L, ChangeType.UPDATED, productDto);
     }
 
     @Test
@@ -193,6 +367,10 @@ class ProductServiceTest {
 
         verify(productRepository).getProductById(1L);
         verify(productRepository).deleteProductById(1L);
+        verify(productListCache).remove(1L);
+        verify(productSearchService).productDeleted(1L);
+        verify(catalogVersion).increment();
+        verify(changeEventRecorder).record(AggregateType.PRODUCT, 1L, ChangeType.DELETED, null);
     }
 
     @Test
@@ -202,5 +380,6 @@ class ProductServiceTest {
         assertThrows(ProductNotFoundException.class, () -> productService.deleteProduct(1L));
         verify(productRepository).getProductById(1L);
         verify(productRepository, never()).deleteProductById(anyLong());
+        verify(productListCache, never()).remove(anyLong());
     }
 }
@@ -0,0 +1,65 @@
+package com.warehouse.backend.product.infrastructure.bulk;
+
+import com.warehouse.backend.product.application.port.input.BulkProductRow;
+import com.warehouse.backend.product.domain.exception.InvalidBulkImportException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvProductRowReaderTest {
+
+    @Test
+    void shouldReadColumnsByHeaderName() {
+        List<BulkProductRow> rows = read("categoryId,name,description\r\n1,Drill,Cordless\r\n2,Saw,\r\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getName()).isEqualTo("Drill");
+        assertThat(rows.get(0).getDescription()).isEqualTo("Cordless");
+        assertThat(rows.get(0).getCategoryId()).isEqualTo(1L);
+        assertThat(rows.get(1).getName()).isEqualTo("Saw");
+        assertThat(rows.get(1).getDescription()).isEmpty();
+    }
+
+    @Test
+    void shouldHandleQuotedFields() {
+        List<BulkProductRow> rows = read("name,description,category\n\"Drill, 18V\",\"Says \"\"hi\"\"\nand more\",Tools");
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.getFirst().getName()).isEqualTo("Drill, 18V");
+        assertThat(rows.getFirst().getDescription()).isEqualTo("Says \"hi\"\nand more");
+        assertThat(rows.getFirst().getCategoryName()).isEqualTo("Tools");
+    }
+
+    @Test
+    void shouldSkipByteOrderMarkAndBlankLines() {
+        List<BulkProductRow> rows = read("\uFEFFname\n\nDrill\n\n");
+
+        assertThat(rows).extracting(BulkProductRow::getName).containsExactly("Drill");
+    }
+
+    @Test
+    void shouldRejectHeaderWithoutName() {
+        assertThatThrownBy(() -> read("title,categoryId\nDrill,1\n"))
+                .isInstanceOf(InvalidBulkImportException.class);
+    }
+
+    @Test
+    void shouldRejectNonNumericCategoryId() {
+        assertThatThrownBy(() -> read("name,categoryId\nDrill,tools\n"))
+                .isInstanceOf(InvalidBulkImportException.class)
+                .hasMessageContaining("categoryId 'tools'");
+    }
+
+    private static List<BulkProductRow> read(String csv) {
+        CsvProductRowReader reader = new CsvProductRowReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        List<BulkProductRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
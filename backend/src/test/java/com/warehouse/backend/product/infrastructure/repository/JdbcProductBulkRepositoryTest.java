@@ -0,0 +1,64 @@
+package com.warehouse.backend.product.infrastructure.repository;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.category.infrastructure.repository.JpaCategoryRepository;
+import com.warehouse.backend.product.domain.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(JdbcProductBulkRepository.class)
+class JdbcProductBulkRepositoryTest {
+
+    @Autowired
+    private JdbcProductBulkRepository jdbcProductBulkRepository;
+
+    @Autowired
+    private JpaProductRepository jpaProductRepository;
+
+    @Autowired
+    private JpaCategoryRepository jpaCategoryRepository;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        jpaProductRepository.deleteAll();
+        jpaCategoryRepository.deleteAll();
+        category = jpaCategoryRepository.save(new Category(null, "Tools", null));
+    }
+
+    @Test
+    void testInsertAll_ShouldAssignGeneratedIds() {
+        List<Product> products = List.of(product("Drill"), product("Saw"));
+
+        jdbcProductBulkRepository.insertAll(products);
+
+        assertThat(products).allSatisfy(product -> assertThat(product.getId()).isNotNull());
+        assertThat(jpaProductRepository.findById(products.get(1).getId())).get()
+                .extracting(Product::getName).isEqualTo("Saw");
+    }
+
+    @Test
+    void testFindExistingNames_ShouldMatchCaseInsensitively() {
+        jdbcProductBulkRepository.insertAll(List.of(product("Drill")));
+
+        assertThat(jdbcProductBulkRepository.findExistingNames(List.of("drill", "saw"))).containsExactly("drill");
+    }
+
+    private Product product(String name) {
+        return Product.builder()
+                .name(name)
+                .category(category)
+                .createdDate(LocalDateTime.now())
+                .build();
+    }
+}
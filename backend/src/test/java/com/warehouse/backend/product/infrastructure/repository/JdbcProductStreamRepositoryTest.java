@@ -0,0 +1,74 @@
+package com.warehouse.backend.product.infrastructure.repository;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.category.infrastructure.repository.JpaCategoryRepository;
+import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.domain.model.Product;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class JdbcProductStreamRepositoryTest {
+
+    @Autowired
+    private JpaProductRepository jpaProductRepository;
+
+    @Autowired
+    private JpaCategoryRepository jpaCategoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcProductStreamRepository jdbcProductStreamRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaProductRepository.deleteAll();
+        jpaCategoryRepository.deleteAll();
+        // The test's DataSource joins the test transaction, so the rows saved through JPA are visible.
+        jdbcProductStreamRepository = new JdbcProductStreamRepository(dataSource);
+    }
+
+    @Test
+    void streamAllProductDtos_ShouldReadInIdOrderWithTheirCategory() {
+        List<Product> saved = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            Category category = new Category();
+            category.setName("Category " + c);
+            category.setDescription("Description " + c);
+            category = jpaCategoryRepository.save(category);
+            for (int p = 0; p < 2; p++) {
+                Product product = new Product();
+                product.setName("Product " + c + "-" + p);
+                product.setCategory(category);
+                product.setCreatedDate(LocalDateTime.now());
+                saved.add(jpaProductRepository.createNewProduct(product));
+            }
+        }
+        entityManager.flush();
+
+        List<ProductDto> streamed = new ArrayList<>();
+        long count = jdbcProductStreamRepository.streamAllProductDtos(streamed::add);
+
+        assertThat(count).isEqualTo(saved.size());
+        assertThat(streamed).extracting(ProductDto::getId)
+                .containsExactlyElementsOf(saved.stream().map(Product::getId).toList());
+        assertThat(streamed.getFirst().getName()).isEqualTo("Product 0-0");
+        assertThat(streamed.getFirst().getCategory().getName()).isEqualTo("Category 0");
+        assertThat(streamed.getLast().getCategory().getDescription()).isEqualTo("Description 2");
+        assertThat(streamed.getFirst().getCreatedDate()).isNotNull();
+    }
+}
@@ -2,19 +2,26 @@ package com.warehouse.backend.product.infrastructure.repository;
 
 import com.warehouse.backend.category.domain.model.Category;
 import com.warehouse.backend.category.infrastructure.repository.JpaCategoryRepository;
+import com.warehouse.backend.product.application.port.output.ProductDto;
 import com.warehouse.backend.product.domain.model.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class JpaProductRepositoryTest {
 
     @Autowired
@@ -23,6 +30,9 @@ class JpaProductRepositoryTest {
     @Autowired
     private JpaCategoryRepository jpaCategoryRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Product testProduct;
     private Category testCategory;
 
@@ -103,4 +113,129 @@ class JpaProductRepositoryTest {
         assertThat(exists).isTrue();
         assertThat(notExists).isFalse();
     }
+
+    @Test
+    void testIsProductExist_CaseInsensitive() {
+        jpaProductRepository.createNewProduct(testProduct);
+
+        boolean exists = jpaProductRepository.isProductExist("TEST PRODUCT");
+
+        assertThat(exists).isTrue();
+    }
+
+    @Test
+    void testCreateNewProduct_WithNameDifferingOnlyInCase_ShouldBeRejected() {
+        jpaProductRepository.createNewProduct(testProduct);
+        Product sameName = new Product();
+        sameName.setName("TEST PRODUCT");
+        sameName.setCategory(testCategory);
+        sameName.setCreatedDate(LocalDateTime.now());
+
+        assertThatThrownBy(() -> jpaProductRepository.createNewProduct(sameName))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void testGetAllProductDtos_ShouldUseOneStatementAcrossCategories() {
+        List<Product> saved = saveProductsInSeveralCategories();
+        Statistics statistics = freshStatistics();
+
+        List<ProductDto> products = jpaProductRepository.getAllProductDtos();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(products).extracting(ProductDto::getId)
+                .containsExactlyElementsOf(saved.stream().map(Product::getId).toList());
+        assertThat(products).allSatisfy(product -> assertThat(product.getCategory().getName()).isNotNull());
+    }
+
+    @Test
+    void testGetProductDtosAfter_ShouldUseOneStatementPerPage() {
+        List<Product> saved = saveProductsInSeveralCategories();
+        Statistics statistics = freshStatistics();
+
+        List<ProductDto> firstPage = jpaProductRepository.getProductDtosAfter(0L, 2);
+        List<ProductDto> secondPage = jpaProductRepository.getProductDtosAfter(firstPage.getLast().getId(), 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(firstPage).extracting(ProductDto::getId)
+                .containsExactly(saved.get(0).getId(), saved.get(1).getId());
+        assertThat(secondPage).hasSize(saved.size() - 2);
+    }
+
+    @Test
+    void testGetProductDtoById_ShouldUseOneStatement() {
+        Product savedProduct = jpaProductRepository.createNewProduct(testProduct);
+        Statistics statistics = freshStatistics();
+
+        Optional<ProductDto> found = jpaProductRepository.getProductDtoById(savedProduct.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(found).isPresent();
+        assertThat(found.get().getName()).isEqualTo("Test product");
+        assertThat(found.get().getCategory().getId()).isEqualTo(testCategory.getId());
+        assertThat(found.get().getCategory().getName()).isEqualTo("Test category");
+        assertThat(jpaProductRepository.getProductDtoById(-1L)).isEmpty();
+    }
+
+    @Test
+    void testGetProductDtosByIds_ShouldUseOneStatementAndSkipUnknownIds() {
+        List<Product> saved = saveProductsInSeveralCategories();
+        Statistics statistics = freshStatistics();
+
+        List<ProductDto> found = jpaProductRepository.getProductDtosByIds(
+                List.of(saved.get(4).getId(), saved.get(0).getId(), -1L));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(found).extracting(ProductDto::getId)
+                .containsExactlyInAnyOrder(saved.get(4).getId(), saved.get(0).getId());
+        assertThat(found).allSatisfy(product -> assertThat(product.getCategory().getName()).isNotNull());
+    }
+
+    @Test
+    void testGetProductDtosByCategoryId_ShouldReturnOnlyThatCategoryInIdOrder() {
+        List<Product> saved = saveProductsInSeveralCategories();
+        Long categoryId = saved.get(2).getCategory().getId();
+
+        List<ProductDto> found = jpaProductRepository.getProductDtosByCategoryId(categoryId);
+
+        assertThat(found).extracting(ProductDto::getId).containsExactly(saved.get(2).getId(), saved.get(3).getId());
+        assertThat(found).allSatisfy(product -> assertThat(product.getCategory().getName()).isEqualTo("Category 1"));
+    }
+
+    @Test
+    void testGetProductById_ShouldNotLoadCategory() {
+        Product savedProduct = jpaProductRepository.createNewProduct(testProduct);
+        Statistics statistics = freshStatistics();
+
+        Product found = jpaProductRepository.getProductById(savedProduct.getId()).orElseThrow();
+
+        assertThat(found.getCategory().getId()).isEqualTo(testCategory.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private List<Product> saveProductsInSeveralCategories() {
+        List<Product> saved = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            Category category = new Category();
+            category.setName("Category " + c);
+            category = jpaCategoryRepository.save(category);
+            for (int p = 0; p < 2; p++) {
+                Product product = new Product();
+                product.setName("Product " + c + "-" + p);
+                product.setCategory(category);
+                product.setCreatedDate(LocalDateTime.now());
+                saved.add(jpaProductRepository.createNewProduct(product));
+            }
+        }
+        return saved;
+    }
+
+    private Statistics freshStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
 }
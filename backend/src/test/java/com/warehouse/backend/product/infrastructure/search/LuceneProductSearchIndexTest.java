@@ -0,0 +1,108 @@
+package com.warehouse.backend.product.infrastructure.search;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.model.ProductSearchHit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LuceneProductSearchIndexTest {
+
+    private LuceneProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LuceneProductSearchIndex();
+        index.upsert(List.of(
+                product(1L, "Cordless Drill", "Compact 18V drill driver"),
+                product(2L, "Drill Bit Set", "Titanium bits for wood and metal"),
+                product(3L, "Claw Hammer", "Steel hammer for driving nails"),
+                product(4L, "Screwdriver", "Flat head, fits the drill driver bits")));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void search_ShouldMatchWordPrefix() {
+        assertThat(index.search("ham", 10)).extracting(ProductSearchHit::productId).containsExactly(3L);
+    }
+
+    @Test
+    void search_ShouldTolerateTypos() {
+        assertThat(index.search("hamer", 10)).extracting(ProductSearchHit::productId).containsExactly(3L);
+        assertThat(index.search("cordles dril", 10)).extracting(ProductSearchHit::productId).first().isEqualTo(1L);
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        List<ProductSearchHit> hits = index.search("drill", 10);
+
+        assertThat(hits).extracting(ProductSearchHit::productId).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(hits.getLast().productId()).isEqualTo(4L);
+    }
+
+    @Test
+    void search_ShouldRequireEveryWord() {
+        assertThat(index.search("drill titanium", 10)).extracting(ProductSearchHit::productId).containsExactly(2L);
+    }
+
+    @Test
+    void search_ShouldReturnStoredFields() {
+        ProductSearchHit hit = index.search("hammer", 1).getFirst();
+
+        assertThat(hit.name()).isEqualTo("Claw Hammer");
+        assertThat(hit.description()).isEqualTo("Steel hammer for driving nails");
+        assertThat(hit.categoryId()).isEqualTo(1L);
+    }
+
+    @Test
+    void search_WhenQueryHasNoWords_ShouldReturnNothing() {
+        assertThat(index.search(" ,. ", 10)).isEmpty();
+    }
+
+    @Test
+    void upsert_ShouldReplacePreviousVersion() {
+        index.upsert(List.of(product(3L, "Sledge Hammer", null)));
+
+        assertThat(index.search("claw", 10)).isEmpty();
+        assertThat(index.search("sledge", 10)).extracting(ProductSearchHit::productId).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void remove_ShouldDropProduct() {
+        index.remove(3L);
+
+        assertThat(index.search("hammer", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void finishRebuild_ShouldDropProductsNotWrittenDuringRebuild() {
+        long generation = index.beginRebuild();
+        index.upsert(List.of(product(1L, "Cordless Drill", null), product(5L, "Tape Measure", null)));
+        index.finishRebuild(generation);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("hammer", 10)).isEmpty();
+        assertThat(index.search("tape", 10)).extracting(ProductSearchHit::productId).containsExactly(5L);
+    }
+
+    private static Product product(Long id, String name, String description) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .category(new Category(1L, "Tools", null))
+                .build();
+    }
+}
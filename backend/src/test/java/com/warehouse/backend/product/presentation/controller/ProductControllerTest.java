@@ -2,8 +2,17 @@ package com.warehouse.backend.product.presentation.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.warehouse.backend.category.application.port.output.CategoryDto;
+import com.warehouse.backend.common.dto.CursorPage;
+import com.warehouse.backend.common.exception.InvalidCursorException;
+import com.warehouse.backend.common.exception.TooManyIdsException;
+import com.warehouse.backend.product.application.port.input.BulkProductRow;
 import com.warehouse.backend.product.application.port.input.CreateProductRequest;
+import com.warehouse.backend.product.application.port.output.BulkImportRowResult;
+import com.warehouse.backend.product.application.port.output.BulkImportSummary;
 import com.warehouse.backend.product.application.port.output.ProductDto;
+import com.warehouse.backend.product.application.port.output.ProductSearchResultDto;
+import com.warehouse.backend.product.application.service.ProductBulkImportService;
+import com.warehouse.backend.product.application.service.ProductSearchService;
 import com.warehouse.backend.product.application.service.ProductService;
 import com.warehouse.backend.product.domain.exception.ProductAlreadyExistsException;
 import com.warehouse.backend.product.domain.exception.ProductNotFoundException;
@@ -12,19 +21,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
@@ -40,6 +62,12 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductBulkImportService productBulkImportService;
+
+    @MockitoBean
+    private ProductSearchService productSearchService;
+
     private ProductDto productDto;
     private CreateProductRequest createProductRequest;
 
@@ -60,11 +88,137 @@ class ProductControllerTest {
         createProductRequest.setCategoryId(1L);
     }
 
+    @Test
+    void getProductPage_ShouldReturnFirstPageWithNextCursor() throws Exception {
+        when(productService.getProductPage(isNull(), isNull())).thenReturn(new CursorPage<>(List.of(productDto), "abc"));
+
+        mockMvc.perform(get("/product")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.next").value("abc"));
+    }
+
+    @Test
+    void getProductPage_ShouldPassCursorAndLimit() throws Exception {
+        when(productService.getProductPage("abc", 10)).thenReturn(new CursorPage<>(List.of(productDto), null));
+
+        mockMvc.perform(get("/product")
+                        .param("cursor", "abc")
+                        .param("limit", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void getProductPage_WhenCursorInvalid_ShouldReturnBadRequest() throws Exception {
+        when(productService.getProductPage(eq("broken"), any())).thenThrow(new InvalidCursorException("broken"));
+
+        mockMvc.perform(get("/product")
+                        .param("cursor", "broken")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProductPage_ShouldReturnCatalogVersionAsETag() throws Exception {
+        when(productService.getCatalogVersion()).thenReturn(OptionalLong.of(42L));
+        when(productService.getProductPage(isNull(), isNull())).thenReturn(new CursorPage<>(List.of(productDto), null));
+
+        mockMvc.perform(get("/product"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v42\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void getProductPage_WhenETagMatches_ShouldReturnNotModifiedWithoutLoadingPage() throws Exception {
+        when(productService.getCatalogVersion()).thenReturn(OptionalLong.of(42L));
+
+        mockMvc.perform(get("/product")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"v42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getProductPage(any(), any());
+    }
+
+    @Test
+    void getAllProducts_WhenETagIsStale_ShouldReturnListWithNewETag() throws Exception {
+        when(productService.getCatalogVersion()).thenReturn(OptionalLong.of(43L));
+        when(productService.getAllProducts()).thenReturn(List.of(productDto));
+
+        mockMvc.perform(get("/product")
+                        .param("all", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"v42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v43\""))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAllProducts_ShouldWriteJsonArray() throws Exception {
+        when(productService.streamAllProducts(any())).thenAnswer(invocation -> {
+            Consumer<ProductDto> sink = invocation.getArgument(0);
+            sink.accept(productDto);
+            sink.accept(new ProductDto(2L, "Second Product", null, productDto.getCategory(), null));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/product/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].category.name").value("Test Category"))
+                .andExpect(jsonPath("$[1].name").value("Second Product"));
+    }
+
+    @Test
+    void streamAllProducts_WhenWeakETagMatches_ShouldReturnNotModified() throws Exception {
+        when(productService.getCatalogVersion()).thenReturn(OptionalLong.of(42L));
+
+        mockMvc.perform(get("/product/stream")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"v42\""))
+                .andExpect(status().isNotModified());
+
+        verify(productService, never()).streamAllProducts(any());
+    }
+
+    @Test
+    void searchProducts_ShouldReturnRankedResults() throws Exception {
+        when(productSearchService.search("drill", 5)).thenReturn(List.of(
+                new ProductSearchResultDto(7L, "Cordless Drill", "18V", 1L, 4.2f)));
+
+        mockMvc.perform(get("/product/search")
+                        .param("q", "drill")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].name").value("Cordless Drill"))
+                .andExpect(jsonPath("$[0].categoryId").value(1));
+    }
+
+    @Test
+    void searchProducts_WhenQueryMissing_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/product/search"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllProducts_ShouldReturnAllProducts() throws Exception {
         when(productService.getAllProducts()).thenReturn(List.of(productDto));
 
         mockMvc.perform(get("/product")
+                        .param("all", "true")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
@@ -74,6 +228,28 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[0].category.name").value("Test Category"));
     }
 
+    @Test
+    void getProductsByIds_ShouldReturnProductsInRequestedOrder() throws Exception {
+        ProductDto second = new ProductDto(2L, "Second Product", null, productDto.getCategory(), LocalDateTime.now());
+        when(productService.getProductsByIds(List.of(2L, 1L))).thenReturn(List.of(second, productDto));
+
+        mockMvc.perform(get("/product").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[1].id").value(1));
+
+        verify(productService, never()).getProductPage(any(), any());
+    }
+
+    @Test
+    void getProductsByIds_WhenTooManyIds_ShouldReturnBadRequest() throws Exception {
+        when(productService.getProductsByIds(any())).thenThrow(new TooManyIdsException(201, 200));
+
+        mockMvc.perform(get("/product").param("ids", "1,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 200 ids can be looked up at once, got 201"));
+    }
+
     @Test
     void getProductById_WhenProductExists_ShouldReturnProduct() throws Exception {
         when(productService.getProductById(anyLong())).thenReturn(productDto);
@@ -164,4 +340,75 @@ class ProductControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importProducts_FromCsv_ShouldStreamReport() throws Exception {
+        when(productBulkImportService.importProducts(any(), any())).thenAnswer(invocation -> {
+            Iterator<BulkProductRow> rows = invocation.getArgument(0);
+            Consumer<BulkImportRowResult> results = invocation.getArgument(1);
+            BulkProductRow row = rows.next();
+            results.accept(new BulkImportRowResult(1, row.getName(), BulkImportRowResult.Status.CREATED, 7L, null));
+            return new BulkImportSummary(1, 0, null);
+        });
+
+        MvcResult result = mockMvc.perform(post("/product/bulk")
+                        .contentType(ProductController.TEXT_CSV_VALUE)
+                        .content("name,description,categoryId\nDrill,Cordless,1\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].name").value("Drill"))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").value(7))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.error").isEmpty());
+    }
+
+    @Test
+    void importProducts_WhenImportFailsMidStream_ShouldCloseReportWithError() throws Exception {
+        when(productBulkImportService.importProducts(any(), any())).thenAnswer(invocation -> {
+            Consumer<BulkImportRowResult> results = invocation.getArgument(1);
+            results.accept(new BulkImportRowResult(1, "Drill", BulkImportRowResult.Status.CREATED, 7L, null));
+            results.accept(new BulkImportRowResult(2, "Saw", BulkImportRowResult.Status.DUPLICATE, null, null));
+            throw new DataAccessResourceFailureException("Connection reset");
+        });
+
+        MvcResult result = mockMvc.perform(post("/product/bulk")
+                        .contentType(ProductController.TEXT_CSV_VALUE)
+                        .content("name,description,categoryId\nDrill,Cordless,1\nSaw,Manual,1\nHammer,Steel,1\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.error").isNotEmpty());
+    }
+
+    @Test
+    void importProducts_WhenUploadIsNotAnArray_ShouldReportError() throws Exception {
+        MvcResult result = mockMvc.perform(post("/product/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Drill\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results").isEmpty())
+                .andExpect(jsonPath("$.error").value("Expected a JSON array of products"));
+    }
+
+    @Test
+    void importProducts_WithUnsupportedContentType_ShouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/product/bulk")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("Drill"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
 }
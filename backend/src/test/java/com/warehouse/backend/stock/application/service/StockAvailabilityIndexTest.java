@@ -0,0 +1,121 @@
+package com.warehouse.backend.stock.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockAvailabilityIndexTest {
+
+    @Test
+    void ordinal_WhenProductIdsCollide_ShouldProbeToEachOne() {
+        // Four products get a table of eight slots, where 1, 10, 17, 26 and 33 all hash to slot 4.
+        StockAvailabilityIndex index = build(new long[][]{{1, 1, 1}, {1, 10, 10}, {1, 17, 17}, {1, 26, 26}});
+
+        assertThat(index.products()).isEqualTo(4);
+        for (long productId : new long[]{1, 10, 17, 26}) {
+            assertThat(quantity(index, 1, productId)).isEqualTo((int) productId);
+        }
+        assertThat(index.ordinal(33)).isEqualTo(-1);
+        assertThat(index.ordinal(2)).isEqualTo(-1);
+    }
+
+    @Test
+    void ordinal_WhenProbeRunsPastTheLastSlot_ShouldWrapAround() {
+        // 11, 16, 27 and 32 hash to slot 7, the last one of eight.
+        StockAvailabilityIndex index = build(new long[][]{{1, 11, 11}, {1, 16, 16}, {1, 27, 27}, {1, 32, 32}});
+
+        for (long productId : new long[]{11, 16, 27, 32}) {
+            assertThat(quantity(index, 1, productId)).isEqualTo((int) productId);
+        }
+        assertThat(index.ordinal(43)).isEqualTo(-1);
+    }
+
+    @Test
+    void build_WithMoreRowsThanTheDefaultCapacity_ShouldKeepEveryRowSortedByWarehouse() {
+        StockAvailabilityIndex.Builder builder = new StockAvailabilityIndex.Builder();
+        for (long productId = 1; productId <= 1000; productId++) {
+            for (long warehouseId : new long[]{3, 1, 2}) {
+                builder.add(warehouseId, productId, (int) (productId * 10 + warehouseId));
+            }
+        }
+
+        StockAvailabilityIndex index = builder.build();
+
+        assertThat(index.cells()).isEqualTo(3000);
+        assertThat(index.products()).isEqualTo(1000);
+        for (long productId = 1; productId <= 1000; productId++) {
+            int ordinal = index.ordinal(productId);
+            List<Long> warehouseIds = new ArrayList<>();
+            for (int cell = index.firstCell(ordinal); cell < index.endCell(ordinal); cell++) {
+                warehouseIds.add(index.warehouseId(cell));
+                assertThat(index.quantity(cell)).isEqualTo((int) (productId * 10 + index.warehouseId(cell)));
+            }
+            assertThat(warehouseIds).containsExactly(1L, 2L, 3L);
+        }
+    }
+
+    @Test
+    void add_ShouldChangeExistingCellsOnly() {
+        StockAvailabilityIndex index = build(new long[][]{{1, 5, 3}});
+
+        assertThat(index.add(1, 5, -2)).isTrue();
+        assertThat(index.add(2, 5, 4)).isFalse();
+        assertThat(index.add(1, 6, 4)).isFalse();
+
+        assertThat(quantity(index, 1, 5)).isEqualTo(1);
+        assertThat(index.cells()).isEqualTo(1);
+    }
+
+    @Test
+    void add_WhenQuantityWouldOverflow_ShouldThrowAndKeepTheCell() {
+        StockAvailabilityIndex index = build(new long[][]{{1, 5, Integer.MAX_VALUE}});
+
+        assertThatThrownBy(() -> index.add(1, 5, 1)).isInstanceOf(ArithmeticException.class);
+
+        assertThat(quantity(index, 1, 5)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void withCell_ShouldCopyCurrentQuantitiesAndLeaveTheOriginalAlone() {
+        StockAvailabilityIndex index = build(new long[][]{{1, 5, 3}, {3, 5, 4}, {1, 6, 2}});
+        index.add(3, 5, 6);
+
+        StockAvailabilityIndex withWarehouse = index.withCell(2, 5, 7);
+        StockAvailabilityIndex withProduct = withWarehouse.withCell(1, 8, 9);
+
+        int ordinal = withProduct.ordinal(5);
+        assertThat(withProduct.endCell(ordinal) - withProduct.firstCell(ordinal)).isEqualTo(3);
+        assertThat(withProduct.warehouseId(withProduct.firstCell(ordinal) + 1)).isEqualTo(2L);
+        assertThat(quantity(withProduct, 1, 5)).isEqualTo(3);
+        assertThat(quantity(withProduct, 2, 5)).isEqualTo(7);
+        assertThat(quantity(withProduct, 3, 5)).isEqualTo(10);
+        assertThat(quantity(withProduct, 1, 6)).isEqualTo(2);
+        assertThat(quantity(withProduct, 1, 8)).isEqualTo(9);
+        assertThat(withProduct.cells()).isEqualTo(5);
+        assertThat(index.cells()).isEqualTo(3);
+        assertThat(index.ordinal(8)).isEqualTo(-1);
+    }
+
+    private static StockAvailabilityIndex build(long[][] rows) {
+        StockAvailabilityIndex.Builder builder = new StockAvailabilityIndex.Builder();
+        for (long[] row : rows) {
+            builder.add(row[0], row[1], (int) row[2]);
+        }
+        return builder.build();
+    }
+
+    private static int quantity(StockAvailabilityIndex index, long warehouseId, long productId) {
+        int ordinal = index.ordinal(productId);
+        assertThat(ordinal).as("ordinal of product %d", productId).isNotNegative();
+        for (int cell = index.firstCell(ordinal); cell < index.endCell(ordinal); cell++) {
+            if (index.warehouseId(cell) == warehouseId) {
+                return index.quantity(cell);
+            }
+        }
+        throw new AssertionError("No cell for product " + productId + " in warehouse " + warehouseId);
+    }
+}
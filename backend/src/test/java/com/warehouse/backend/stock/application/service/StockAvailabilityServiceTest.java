@@ -0,0 +1,161 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.common.exception.TooManyIdsException;
+import com.warehouse.backend.stock.application.port.output.ProductAvailabilityDto;
+import com.warehouse.backend.stock.application.port.output.WarehouseAvailabilityDto;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.repository.StockAvailabilityRepository;
+import com.warehouse.backend.stock.domain.repository.StockAvailabilityRepository.QuantityConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class StockAvailabilityServiceTest {
+
+    @Mock
+    private StockAvailabilityRepository stockAvailabilityRepository;
+
+    private StockAvailabilityService stockAvailabilityService;
+
+    private final List<long[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        stockAvailabilityService = new StockAvailabilityService(stockAvailabilityRepository, Duration.ofHours(1));
+        doAnswer(invocation -> {
+            QuantityConsumer consumer = invocation.getArgument(0);
+            for (long[] row : rows) {
+                consumer.accept(row[0], row[1], (int) row[2]);
+            }
+            return null;
+        }).when(stockAvailabilityRepository).scanQuantities(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockAvailabilityService.stop();
+    }
+
+    @Test
+    void getAvailability_ShouldSumWarehousesInRequestOrder() {
+        stock(11L, 20L, 4);
+        stock(10L, 20L, 3);
+        stock(10L, 21L, 0);
+        stock(12L, 22L, 7);
+        stockAvailabilityService.start();
+
+        List<ProductAvailabilityDto> result = stockAvailabilityService.getAvailability(List.of(21L, 20L, 99L, 20L));
+
+        assertThat(result).extracting(ProductAvailabilityDto::getProductId, ProductAvailabilityDto::getTotalQuantity)
+                .containsExactly(tuple(21L, 0L), tuple(20L, 7L), tuple(99L, 0L));
+        assertThat(result.get(0).getWarehouses()).isEmpty();
+        assertThat(result.get(1).getWarehouses())
+                .extracting(WarehouseAvailabilityDto::getWarehouseId, WarehouseAvailabilityDto::getQuantity)
+                .containsExactly(tuple(10L, 3), tuple(11L, 4));
+    }
+
+    @Test
+    void getAvailability_WithManyProducts_ShouldFindEveryOne() {
+        LongStream.rangeClosed(1, 5000).forEach(productId -> {
+            stock(1L, productId, (int) productId);
+            stock(2L, productId, 1);
+        });
+        Collections.shuffle(rows);
+        stockAvailabilityService.start();
+
+        List<ProductAvailabilityDto> result = stockAvailabilityService.getAvailability(
+                LongStream.rangeClosed(4001, 5000).boxed().toList());
+
+        assertThat(result).hasSize(1000).allSatisfy(product ->
+                assertThat(product.getTotalQuantity()).isEqualTo(product.getProductId() + 1));
+    }
+
+    @Test
+    void recordChanges_ShouldUpdateExistingAndAddNewRows() {
+        stock(10L, 20L, 3);
+        stockAvailabilityService.start();
+
+        stockAvailabilityService.recordChanges(List.of(new StockDelta(10L, 20L, -1), new StockDelta(11L, 20L, 5),
+                new StockDelta(10L, 30L, 2)));
+
+        List<ProductAvailabilityDto> result = stockAvailabilityService.getAvailability(List.of(20L, 30L));
+        assertThat(result).extracting(ProductAvailabilityDto::getTotalQuantity).containsExactly(7L, 2L);
+        assertThat(result.get(0).getWarehouses())
+                .extracting(WarehouseAvailabilityDto::getWarehouseId, WarehouseAvailabilityDto::getQuantity)
+                .containsExactly(tuple(10L, 2), tuple(11L, 5));
+    }
+
+    @Test
+    void recordChanges_WhenChangeOverflowsQuantity_ShouldSkipOnlyThatChange() {
+        stock(10L, 20L, Integer.MAX_VALUE - 1);
+        stockAvailabilityService.start();
+
+        stockAvailabilityService.recordChanges(List.of(new StockDelta(10L, 20L, 2), new StockDelta(11L, 20L,
+                (long) Integer.MAX_VALUE + 1), new StockDelta(11L, 20L, 5)));
+
+        assertThat(stockAvailabilityService.getAvailability(List.of(20L)).getFirst().getWarehouses())
+                .extracting(WarehouseAvailabilityDto::getWarehouseId, WarehouseAvailabilityDto::getQuantity)
+                .containsExactly(tuple(10L, Integer.MAX_VALUE - 1), tuple(11L, 5));
+    }
+
+    @Test
+    void reload_ShouldKeepChangesRecordedDuringTheScan() {
+        stock(10L, 20L, 3);
+        stockAvailabilityService.start();
+        doAnswer(invocation -> {
+            QuantityConsumer consumer = invocation.getArgument(0);
+            consumer.accept(10L, 20L, 3);
+            // Committed after the scan read its row.
+            stockAvailabilityService.recordChanges(List.of(new StockDelta(10L, 20L, 2)));
+            return null;
+        }).when(stockAvailabilityRepository).scanQuantities(any());
+
+        stockAvailabilityService.reload();
+
+        assertThat(stockAvailabilityService.getAvailability(List.of(20L)).getFirst().getTotalQuantity())
+                .isEqualTo(5L);
+    }
+
+    @Test
+    void reload_ShouldReplaceQuantitiesWithDatabaseState() {
+        stock(10L, 20L, 3);
+        stockAvailabilityService.start();
+        stockAvailabilityService.recordChanges(List.of(new StockDelta(10L, 20L, 100)));
+        rows.clear();
+        stock(10L, 20L, 8);
+
+        stockAvailabilityService.reload();
+
+        assertThat(stockAvailabilityService.getAvailability(List.of(20L)).getFirst().getTotalQuantity())
+                .isEqualTo(8L);
+    }
+
+    @Test
+    void getAvailability_WhenTooManyProducts_ShouldThrowException() {
+        stockAvailabilityService.start();
+
+        List<Long> productIds = LongStream.rangeClosed(1, StockAvailabilityService.MAX_PRODUCTS_PER_QUERY + 1)
+                .boxed().toList();
+        assertThrows(TooManyIdsException.class, () -> stockAvailabilityService.getAvailability(productIds));
+    }
+
+    private void stock(long warehouseId, long productId, int quantity) {
+        rows.add(new long[]{warehouseId, productId, quantity});
+    }
+}
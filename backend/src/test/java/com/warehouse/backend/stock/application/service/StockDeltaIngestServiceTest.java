@@ -0,0 +1,187 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.stock.application.port.input.StockDeltaEvent;
+import com.warehouse.backend.stock.domain.exception.InvalidStockDeltaException;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.repository.StockDeltaRepository;
+import com.warehouse.backend.stock.domain.repository.StockIngestCheckpointRepository;
+import com.warehouse.backend.stock.domain.repository.StockIngestRejectRepository;
+import com.warehouse.backend.stock.infrastructure.journal.FileStockDeltaJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockDeltaIngestServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private StockDeltaRepository stockDeltaRepository;
+
+    @Mock
+    private StockIngestCheckpointRepository checkpointRepository;
+
+    @Mock
+    private StockIngestRejectRepository rejectRepository;
+
+    @Mock
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FileStockDeltaJournal journal;
+    private StockDeltaIngestService ingestService;
+
+    @BeforeEach
+    void setUp() {
+        journal = new FileStockDeltaJournal(directory, false);
+        ingestService = new StockDeltaIngestService(journal, stockDeltaRepository, checkpointRepository,
+                rejectRepository, stockAvailabilityService, transactionManager, Duration.ofHours(1), 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestService.stop();
+    }
+
+    @Test
+    void flush_ShouldApplyOneSortedSumPerProductAndCheckpoint() {
+        when(stockDeltaRepository.applyDeltas(any())).thenReturn(List.of());
+        ingestService.start();
+
+        ingestService.accept(List.of(new StockDeltaEvent(1L, 3L, -1), new StockDeltaEvent(1L, 2L, 1)));
+        ingestService.accept(List.of(new StockDeltaEvent(1L, 2L, 1)));
+        ingestService.flush();
+
+        verify(stockDeltaRepository).applyDeltas(List.of(new StockDelta(1, 2, 2), new StockDelta(1, 3, -1)));
+        verify(checkpointRepository).saveLastAppliedSegment(journal.getId(), 1);
+        verify(stockAvailabilityService).recordChanges(List.of(new StockDelta(1, 2, 2), new StockDelta(1, 3, -1)));
+        assertThat(journal.getClosedSegments()).isEmpty();
+        verifyNoInteractions(rejectRepository);
+    }
+
+    @Test
+    void flush_WhenSumsCannotBeApplied_ShouldRecordThemWithTheCheckpoint() {
+        when(stockDeltaRepository.applyDeltas(any())).thenReturn(List.of(new StockDelta(1, 3, -4)));
+        ingestService.start();
+
+        ingestService.accept(List.of(new StockDeltaEvent(1L, 2L, 1), new StockDeltaEvent(1L, 3L, -4)));
+        ingestService.flush();
+
+        verify(rejectRepository).saveRejects(journal.getId(), List.of(new StockDelta(1, 3, -4)));
+        verify(checkpointRepository).saveLastAppliedSegment(journal.getId(), 1);
+        verify(stockAvailabilityService).recordChanges(List.of(new StockDelta(1, 2, 1)));
+        assertThat(journal.getClosedSegments()).isEmpty();
+    }
+
+    @Test
+    void flush_WhenDatabaseFails_ShouldKeepSumsForNextFlush() {
+        when(stockDeltaRepository.applyDeltas(any()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+                .thenReturn(List.of());
+        ingestService.start();
+
+        ingestService.accept(List.of(new StockDeltaEvent(1L, 2L, 1)));
+        ingestService.flush();
+        ingestService.accept(List.of(new StockDeltaEvent(1L, 2L, 1)));
+        ingestService.flush();
+
+        verify(stockDeltaRepository).applyDeltas(List.of(new StockDelta(1, 2, 1)));
+        verify(stockDeltaRepository).applyDeltas(List.of(new StockDelta(1, 2, 2)));
+        verify(checkpointRepository).saveLastAppliedSegment(journal.getId(), 2);
+        assertThat(journal.getClosedSegments()).isEmpty();
+    }
+
+    @Test
+    void flush_WhenBatchKeepsFailing_ShouldRejectOnlyTheRefusedSum() {
+        StockDelta poison = new StockDelta(1, 3, 1);
+        when(stockDeltaRepository.applyDeltas(any())).thenAnswer(invocation -> {
+            if (invocation.<List<StockDelta>>getArgument(0).contains(poison)) {
+                throw new DataIntegrityViolationException("Out of range value for column 'quantity'");
+            }
+            return List.of();
+        });
+        ingestService.start();
+
+        ingestService.accept(List.of(new StockDeltaEvent(1L, 2L, 1), new StockDeltaEvent(1L, 3L, 1),
+                new StockDeltaEvent(1L, 4L, 1)));
+        ingestService.flush();
+        ingestService.flush();
+
+        verify(rejectRepository).saveRejects(journal.getId(), List.of(poison));
+        verify(checkpointRepository).saveLastAppliedSegment(journal.getId(), 1);
+        verify(stockAvailabilityService).recordChanges(List.of(new StockDelta(1, 2, 1), new StockDelta(1, 4, 1)));
+        assertThat(journal.getClosedSegments()).isEmpty();
+    }
+
+    @Test
+    void start_ShouldReplaySegmentsPastCheckpointAndDropTheRest() {
+        journal.open(0);
+        journal.append(List.of(new StockDelta(1, 2, 5)));
+        journal.roll();
+        journal.append(List.of(new StockDelta(1, 2, -1), new StockDelta(4, 5, 1)));
+        journal.close();
+        FileStockDeltaJournal restarted = new FileStockDeltaJournal(directory, false);
+        when(checkpointRepository.getLastAppliedSegment(restarted.getId())).thenReturn(1L);
+        when(stockDeltaRepository.applyDeltas(any())).thenReturn(List.of());
+        StockDeltaIngestService recovering = new StockDeltaIngestService(restarted, stockDeltaRepository,
+                checkpointRepository, rejectRepository, stockAvailabilityService, transactionManager,
+                Duration.ofHours(1), 10_000);
+
+        recovering.start();
+        recovering.stop();
+
+        verify(stockDeltaRepository).applyDeltas(List.of(new StockDelta(1, 2, -1), new StockDelta(4, 5, 1)));
+        verify(checkpointRepository).saveLastAppliedSegment(restarted.getId(), 2);
+    }
+
+    @Test
+    void accept_WhenEventsReachThreshold_ShouldFlushWithoutWaitingForInterval() {
+        StockDeltaIngestService eager = new StockDeltaIngestService(journal, stockDeltaRepository,
+                checkpointRepository, rejectRepository, stockAvailabilityService, transactionManager,
+                Duration.ofHours(1), 2);
+        when(stockDeltaRepository.applyDeltas(any())).thenReturn(List.of());
+        eager.start();
+
+        eager.accept(List.of(new StockDeltaEvent(1L, 2L, 1), new StockDeltaEvent(1L, 2L, 1)));
+
+        verify(checkpointRepository, timeout(5000)).saveLastAppliedSegment(anyString(), anyLong());
+        eager.stop();
+    }
+
+    @Test
+    void accept_WhenDeltaIsZero_ShouldThrowException() {
+        ingestService.start();
+
+        assertThrows(InvalidStockDeltaException.class,
+                () -> ingestService.accept(List.of(new StockDeltaEvent(1L, 2L, 0))));
+    }
+
+    @Test
+    void accept_WhenNotStarted_ShouldThrowException() {
+        assertThrows(IllegalStateException.class,
+                () -> ingestService.accept(List.of(new StockDeltaEvent(1L, 2L, 1))));
+        verifyNoInteractions(stockDeltaRepository);
+    }
+}
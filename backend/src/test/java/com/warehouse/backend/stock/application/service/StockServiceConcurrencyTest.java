@@ -0,0 +1,189 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.category.infrastructure.repository.JpaCategoryRepository;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.infrastructure.repository.JpaProductRepository;
+import com.warehouse.backend.stock.application.port.input.StockMovementRequest;
+import com.warehouse.backend.stock.application.port.input.StockTransferLine;
+import com.warehouse.backend.stock.application.port.input.StockTransferRequest;
+import com.warehouse.backend.stock.domain.exception.InsufficientStockException;
+import com.warehouse.backend.stock.domain.model.Warehouse;
+import com.warehouse.backend.stock.infrastructure.repository.JpaStockRepository;
+import com.warehouse.backend.stock.infrastructure.repository.JpaWarehouseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs stock movements from many threads against the real database to check that the conditional
+ * updates neither lose increments nor let concurrent picks oversell a product, and that transfers in
+ * opposite directions between the same rows complete without losing stock. The availability index has to
+ * end up agreeing with the database.
+ */
+@SpringBootTest
+class StockServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockTransferService stockTransferService;
+
+    @Autowired
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Autowired
+    private JpaStockRepository jpaStockRepository;
+
+    @Autowired
+    private JpaWarehouseRepository jpaWarehouseRepository;
+
+    @Autowired
+    private JpaProductRepository jpaProductRepository;
+
+    @Autowired
+    private JpaCategoryRepository jpaCategoryRepository;
+
+    private Long warehouseId;
+    private Long otherWarehouseId;
+    private Long productId;
+    private Long otherProductId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = jpaCategoryRepository.save(new Category(null, "Stock test category", null));
+        productId = jpaProductRepository.save(Product.builder()
+                .name("Stock test product")
+                .category(category)
+                .createdDate(LocalDateTime.now())
+                .build()).getId();
+        otherProductId = jpaProductRepository.save(Product.builder()
+                .name("Other stock test product")
+                .category(category)
+                .createdDate(LocalDateTime.now())
+                .build()).getId();
+        warehouseId = jpaWarehouseRepository.save(Warehouse.builder().name("Stock test warehouse").build()).getId();
+        otherWarehouseId = jpaWarehouseRepository.save(Warehouse.builder().name("Other stock test warehouse").build())
+                .getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jpaStockRepository.deleteAll();
+        jpaWarehouseRepository.deleteAll();
+        jpaProductRepository.deleteAll();
+        jpaCategoryRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentReceipts_ShouldNotLoseUpdates() throws Exception {
+        int receiptsPerThread = 25;
+
+        runConcurrently(() -> {
+            for (int i = 0; i < receiptsPerThread; i++) {
+                stockService.receiveStock(new StockMovementRequest(warehouseId, productId, 2));
+            }
+            return null;
+        });
+
+        assertThat(stockService.getStockItem(warehouseId, productId).getQuantity())
+                .isEqualTo(THREADS * receiptsPerThread * 2);
+        assertThat(stockAvailabilityService.getAvailability(List.of(productId)).getFirst().getTotalQuantity())
+                .isEqualTo(THREADS * receiptsPerThread * 2L);
+    }
+
+    @Test
+    void concurrentPicks_ShouldNeverOversell() throws Exception {
+        int onHand = 300;
+        int picksPerThread = 25;
+        stockService.receiveStock(new StockMovementRequest(warehouseId, productId, onHand));
+        AtomicInteger picked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < picksPerThread; i++) {
+                try {
+                    stockService.pickStock(new StockMovementRequest(warehouseId, productId, 1));
+                    picked.incrementAndGet();
+                } catch (InsufficientStockException ex) {
+                    rejected.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertThat(picked).hasValue(onHand);
+        assertThat(rejected).hasValue(THREADS * picksPerThread - onHand);
+        assertThat(stockService.getStockItem(warehouseId, productId).getQuantity()).isZero();
+        assertThat(stockAvailabilityService.getAvailability(List.of(productId)).getFirst().getTotalQuantity()).isZero();
+    }
+
+    @Test
+    void concurrentOppositeTransfers_ShouldNeitherDeadlockNorLoseStock() throws Exception {
+        int onHand = 1000;
+        int transfersPerThread = 20;
+        for (Long warehouse : List.of(warehouseId, otherWarehouseId)) {
+            for (Long product : List.of(productId, otherProductId)) {
+                stockService.receiveStock(new StockMovementRequest(warehouse, product, onHand));
+            }
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        runConcurrently(() -> {
+            boolean forward = threadIndex.getAndIncrement() % 2 == 0;
+            Long from = forward ? warehouseId : otherWarehouseId;
+            Long to = forward ? otherWarehouseId : warehouseId;
+            for (int i = 0; i < transfersPerThread; i++) {
+                // Opposite threads list the products in opposite order too, so request order never matches lock order.
+                List<StockTransferLine> lines = forward
+                        ? List.of(new StockTransferLine(from, to, productId, 1), new StockTransferLine(from, to, otherProductId, 1))
+                        : List.of(new StockTransferLine(from, to, otherProductId, 1), new StockTransferLine(from, to, productId, 1));
+                stockTransferService.transfer(new StockTransferRequest(lines));
+            }
+            return null;
+        });
+
+        for (Long warehouse : List.of(warehouseId, otherWarehouseId)) {
+            for (Long product : List.of(productId, otherProductId)) {
+                assertThat(stockService.getStockItem(warehouse, product).getQuantity()).isEqualTo(onHand);
+            }
+        }
+    }
+
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.product.domain.exception.ProductNotFoundException;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.repository.ProductRepository;
+import com.warehouse.backend.stock.application.mapper.StockMapper;
+import com.warehouse.backend.stock.application.port.input.StockMovementRequest;
+import com.warehouse.backend.stock.application.port.output.StockItemDto;
+import com.warehouse.backend.stock.domain.exception.InsufficientStockException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockQuantityException;
+import com.warehouse.backend.stock.domain.exception.StockItemNotFoundException;
+import com.warehouse.backend.stock.domain.exception.WarehouseNotFoundException;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import com.warehouse.backend.stock.domain.repository.StockRepository;
+import com.warehouse.backend.stock.domain.repository.WarehouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockMapper stockMapper;
+
+    @Mock
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockService stockService;
+
+    private WarehouseProduct item;
+    private StockItemDto itemDto;
+
+    @BeforeEach
+    void setUp() {
+        stockService = new StockService(stockRepository, warehouseRepository, productRepository, stockMapper,
+                stockAvailabilityService, transactionManager);
+        item = new WarehouseProduct(1L, 10L, 20L, 5);
+        itemDto = new StockItemDto(1L, 10L, 20L, 5);
+    }
+
+    @Test
+    void getWarehouseStock_ShouldReturnItems() {
+        when(warehouseRepository.isWarehouseExist(10L)).thenReturn(true);
+        when(stockRepository.getStockByWarehouseId(10L)).thenReturn(List.of(item));
+        when(stockMapper.warehouseProductToStockItemDto(item)).thenReturn(itemDto);
+
+        List<StockItemDto> result = stockService.getWarehouseStock(10L);
+
+        assertThat(result).containsExactly(itemDto);
+    }
+
+    @Test
+    void getWarehouseStock_WhenWarehouseMissing_ShouldThrowException() {
+        when(warehouseRepository.isWarehouseExist(10L)).thenReturn(false);
+
+        assertThrows(WarehouseNotFoundException.class, () -> stockService.getWarehouseStock(10L));
+        verifyNoInteractions(stockRepository);
+    }
+
+    @Test
+    void receiveStock_WhenRowExists_ShouldIncrementInPlace() {
+        when(stockRepository.increaseQuantity(10L, 20L, 3)).thenReturn(1);
+        when(stockRepository.getStockItem(10L, 20L)).thenReturn(Optional.of(item));
+        when(stockMapper.warehouseProductToStockItemDto(item)).thenReturn(itemDto);
+
+        StockItemDto result = stockService.receiveStock(new StockMovementRequest(10L, 20L, 3));
+
+        assertThat(result).isEqualTo(itemDto);
+        verify(stockRepository, never()).createStockItem(any());
+        verify(stockAvailabilityService).recordChanges(List.of(new StockDelta(10L, 20L, 3)));
+    }
+
+    @Test
+    void receiveStock_WhenFirstReceipt_ShouldCreateRow() {
+        when(stockRepository.increaseQuantity(10L, 20L, 3)).thenReturn(0);
+        when(warehouseRepository.isWarehouseExist(10L)).thenReturn(true);
+        when(productRepository.getProductById(20L)).thenReturn(Optional.of(new Product()));
+        when(stockRepository.getStockItem(10L, 20L)).thenReturn(Optional.of(item));
+        when(stockMapper.warehouseProductToStockItemDto(item)).thenReturn(itemDto);
+
+        stockService.receiveStock(new StockMovementRequest(10L, 20L, 3));
+
+        verify(stockRepository).createStockItem(argThat(created ->
+                created.getWarehouseId().equals(10L) && created.getProductId().equals(20L) && created.getQuantity() == 3));
+    }
+
+    @Test
+    void receiveStock_WhenProductMissing_ShouldThrowException() {
+        when(stockRepository.increaseQuantity(10L, 20L, 3)).thenReturn(0);
+        when(warehouseRepository.isWarehouseExist(10L)).thenReturn(true);
+        when(productRepository.getProductById(20L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class,
+                () -> stockService.receiveStock(new StockMovementRequest(10L, 20L, 3)));
+        verify(stockRepository, never()).createStockItem(any());
+    }
+
+    @Test
+    void receiveStock_WhenQuantityNotPositive_ShouldThrowException() {
+        assertThrows(InvalidStockQuantityException.class,
+                () -> stockService.receiveStock(new StockMovementRequest(10L, 20L, 0)));
+        verifyNoInteractions(stockRepository);
+    }
+
+    @Test
+    void pickStock_WhenEnoughOnHand_ShouldDecrement() {
+        when(stockRepository.decreaseQuantity(10L, 20L, 2)).thenReturn(1);
+        when(stockRepository.getStockItem(10L, 20L)).thenReturn(Optional.of(item));
+        when(stockMapper.warehouseProductToStockItemDto(item)).thenReturn(itemDto);
+
+        StockItemDto result = stockService.pickStock(new StockMovementRequest(10L, 20L, 2));
+
+        assertThat(result).isEqualTo(itemDto);
+        verify(stockAvailabilityService).recordChanges(List.of(new StockDelta(10L, 20L, -2)));
+    }
+
+    @Test
+    void pickStock_WhenNotEnoughOnHand_ShouldThrowException() {
+        when(stockRepository.decreaseQuantity(10L, 20L, 6)).thenReturn(0);
+        when(stockRepository.getStockItem(10L, 20L)).thenReturn(Optional.of(item));
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> stockService.pickStock(new StockMovementRequest(10L, 20L, 6)));
+        assertThat(exception.getMessage()).contains("only 5 available");
+        verifyNoInteractions(stockAvailabilityService);
+    }
+
+    @Test
+    void pickStock_WhenNotStocked_ShouldThrowException() {
+        when(stockRepository.decreaseQuantity(10L, 20L, 1)).thenReturn(0);
+        when(stockRepository.getStockItem(10L, 20L)).thenReturn(Optional.empty());
+
+        assertThrows(StockItemNotFoundException.class,
+                () -> stockService.pickStock(new StockMovementRequest(10L, 20L, 1)));
+    }
+}
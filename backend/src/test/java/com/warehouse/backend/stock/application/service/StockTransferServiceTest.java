@@ -0,0 +1,199 @@
+package com.warehouse.backend.stock.application.service;
+
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.domain.repository.ProductRepository;
+import com.warehouse.backend.stock.application.port.input.StockTransferLine;
+import com.warehouse.backend.stock.application.port.input.StockTransferRequest;
+import com.warehouse.backend.stock.application.port.output.StockItemDto;
+import com.warehouse.backend.stock.domain.exception.InsufficientStockException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockTransferException;
+import com.warehouse.backend.stock.domain.exception.StockItemNotFoundException;
+import com.warehouse.backend.stock.domain.exception.StockTransferContentionException;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import com.warehouse.backend.stock.domain.repository.StockRepository;
+import com.warehouse.backend.stock.domain.repository.WarehouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockTransferServiceTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockTransferService stockTransferService;
+
+    private WarehouseProduct source;
+    private WarehouseProduct destination;
+
+    @BeforeEach
+    void setUp() {
+        stockTransferService = new StockTransferService(stockRepository, warehouseRepository, productRepository,
+                stockAvailabilityService, transactionManager, 3, Duration.ofMillis(1));
+        source = new WarehouseProduct(7L, 10L, 20L, 5);
+        destination = new WarehouseProduct(3L, 11L, 20L, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void transfer_ShouldLockRowsInIdOrderAndMoveQuantity() {
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(source, destination));
+        when(stockRepository.lockStockItems(any())).thenReturn(List.of(destination, source));
+
+        List<StockItemDto> result = stockTransferService.transfer(transfer(10L, 11L, 20L, 2));
+
+        ArgumentCaptor<Collection<Long>> locked = ArgumentCaptor.forClass(Collection.class);
+        verify(stockRepository).lockStockItems(locked.capture());
+        assertThat(locked.getValue()).containsExactly(3L, 7L);
+        verify(stockRepository).adjustQuantity(3L, 2);
+        verify(stockRepository).adjustQuantity(7L, -2);
+        assertThat(result).extracting(StockItemDto::getId, StockItemDto::getQuantity)
+                .containsExactly(tuple(3L, 3), tuple(7L, 3));
+        verify(stockAvailabilityService).recordChanges(List.of(new StockDelta(11L, 20L, 2), new StockDelta(10L, 20L, -2)));
+    }
+
+    @Test
+    void transfer_WhenLinesNetOut_ShouldCheckNetQuantities() {
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(source, destination));
+        when(stockRepository.lockStockItems(any())).thenReturn(List.of(destination, source));
+
+        stockTransferService.transfer(new StockTransferRequest(List.of(
+                new StockTransferLine(11L, 10L, 20L, 1),
+                new StockTransferLine(10L, 11L, 20L, 6))));
+
+        verify(stockRepository).adjustQuantity(3L, 5);
+        verify(stockRepository).adjustQuantity(7L, -5);
+    }
+
+    @Test
+    void transfer_WhenNotEnoughOnHand_ShouldNotChangeAnything() {
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(source, destination));
+        when(stockRepository.lockStockItems(any())).thenReturn(List.of(destination, source));
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> stockTransferService.transfer(transfer(10L, 11L, 20L, 6)));
+
+        assertThat(exception.getMessage()).contains("only 5 available");
+        verify(stockRepository, never()).adjustQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void transfer_WhenLinesOverflowQuantity_ShouldThrowException() {
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(source, destination));
+
+        assertThrows(InvalidStockTransferException.class, () -> stockTransferService.transfer(new StockTransferRequest(List.of(
+                new StockTransferLine(10L, 11L, 20L, Integer.MAX_VALUE),
+                new StockTransferLine(10L, 11L, 20L, 1)))));
+        verify(stockRepository, never()).lockStockItems(any());
+    }
+
+    @Test
+    void transfer_WhenDestinationWouldOverflow_ShouldNotChangeAnything() {
+        destination.setQuantity(Integer.MAX_VALUE - 1);
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(source, destination));
+        when(stockRepository.lockStockItems(any())).thenReturn(List.of(destination, source));
+
+        assertThrows(InvalidStockTransferException.class,
+                () -> stockTransferService.transfer(transfer(10L, 11L, 20L, 2)));
+        verify(stockRepository, never()).adjustQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void transfer_WhenDestinationNotStocked_ShouldCreateEmptyRowFirst() {
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(source));
+        when(warehouseRepository.isWarehouseExist(11L)).thenReturn(true);
+        when(productRepository.getProductById(20L)).thenReturn(Optional.of(new Product()));
+        when(stockRepository.createStockItem(any())).thenReturn(destination);
+        when(stockRepository.lockStockItems(any())).thenReturn(List.of(destination, source));
+
+        stockTransferService.transfer(transfer(10L, 11L, 20L, 2));
+
+        verify(stockRepository).createStockItem(argThat(created ->
+                created.getWarehouseId().equals(11L) && created.getProductId().equals(20L) && created.getQuantity() == 0));
+        verify(stockRepository).adjustQuantity(3L, 2);
+    }
+
+    @Test
+    void transfer_WhenSourceNotStocked_ShouldThrowException() {
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(destination));
+
+        assertThrows(StockItemNotFoundException.class,
+                () -> stockTransferService.transfer(transfer(10L, 11L, 20L, 2)));
+        verify(stockRepository, never()).createStockItem(any());
+        verify(stockRepository, never()).lockStockItems(any());
+    }
+
+    @Test
+    void transfer_WhenLockConflictIsTransient_ShouldRetry() {
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(source, destination));
+        when(stockRepository.lockStockItems(any()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+                .thenReturn(List.of(destination, source));
+
+        List<StockItemDto> result = stockTransferService.transfer(transfer(10L, 11L, 20L, 2));
+
+        assertThat(result).hasSize(2);
+        verify(stockRepository, times(2)).lockStockItems(any());
+    }
+
+    @Test
+    void transfer_WhenLockConflictsPersist_ShouldGiveUpAfterMaxAttempts() {
+        when(stockRepository.getStockItems(any(), any())).thenReturn(List.of(source, destination));
+        when(stockRepository.lockStockItems(any()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"));
+
+        assertThrows(StockTransferContentionException.class,
+                () -> stockTransferService.transfer(transfer(10L, 11L, 20L, 2)));
+        verify(stockRepository, times(3)).lockStockItems(any());
+    }
+
+    @Test
+    void transfer_WhenSourceAndDestinationAreTheSame_ShouldThrowException() {
+        assertThrows(InvalidStockTransferException.class,
+                () -> stockTransferService.transfer(transfer(10L, 10L, 20L, 2)));
+        verifyNoInteractions(stockRepository);
+    }
+
+    @Test
+    void transfer_WhenNoLines_ShouldThrowException() {
+        assertThrows(InvalidStockTransferException.class,
+                () -> stockTransferService.transfer(new StockTransferRequest(List.of())));
+        verifyNoInteractions(stockRepository);
+    }
+
+    private static StockTransferRequest transfer(Long fromWarehouseId, Long toWarehouseId, Long productId, int quantity) {
+        return new StockTransferRequest(List.of(new StockTransferLine(fromWarehouseId, toWarehouseId, productId, quantity)));
+    }
+}
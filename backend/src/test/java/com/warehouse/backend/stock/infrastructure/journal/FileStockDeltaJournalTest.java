@@ -0,0 +1,90 @@
+package com.warehouse.backend.stock.infrastructure.journal;
+
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileStockDeltaJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void appendAndReplay_ShouldReturnDeltasInOrderPerSegment() {
+        FileStockDeltaJournal journal = new FileStockDeltaJournal(directory, false);
+        journal.open(0);
+        journal.append(List.of(new StockDelta(1, 2, 1), new StockDelta(1, 3, -1)));
+        long first = journal.roll();
+        journal.append(List.of(new StockDelta(4, 5, 7)));
+        long second = journal.roll();
+        journal.close();
+
+        assertThat(journal.getClosedSegments()).containsExactly(first, second, second + 1);
+        assertThat(replay(journal, first)).containsExactly(new StockDelta(1, 2, 1), new StockDelta(1, 3, -1));
+        assertThat(replay(journal, second)).containsExactly(new StockDelta(4, 5, 7));
+    }
+
+    @Test
+    void reopen_ShouldKeepIdAndNumberSegmentsPastCheckpoint() {
+        FileStockDeltaJournal journal = new FileStockDeltaJournal(directory, false);
+        journal.open(41);
+        journal.append(List.of(new StockDelta(1, 2, 1)));
+        journal.close();
+
+        FileStockDeltaJournal reopened = new FileStockDeltaJournal(directory, false);
+
+        assertThat(reopened.getId()).isEqualTo(journal.getId());
+        assertThat(reopened.getClosedSegments()).containsExactly(42L);
+        reopened.open(41);
+        assertThat(reopened.roll()).isEqualTo(43);
+        reopened.close();
+    }
+
+    @Test
+    void replay_WhenLastRecordIsTorn_ShouldStopBeforeIt() throws IOException {
+        FileStockDeltaJournal journal = new FileStockDeltaJournal(directory, true);
+        journal.open(0);
+        journal.append(List.of(new StockDelta(1, 2, 1), new StockDelta(1, 2, 1)));
+        long segment = journal.roll();
+        journal.close();
+        Path file;
+        try (Stream<Path> files = Files.list(directory)) {
+            file = files.filter(path -> path.getFileName().toString().contains(String.format("%019d", segment)))
+                    .findFirst().orElseThrow();
+        }
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertThat(replay(journal, segment)).containsExactly(new StockDelta(1, 2, 1));
+    }
+
+    @Test
+    void deleteUpTo_ShouldKeepLaterSegments() {
+        FileStockDeltaJournal journal = new FileStockDeltaJournal(directory, false);
+        journal.open(0);
+        long first = journal.roll();
+        long second = journal.roll();
+
+        journal.deleteUpTo(first);
+
+        assertThat(journal.getClosedSegments()).containsExactly(second);
+        journal.close();
+    }
+
+    private static List<StockDelta> replay(FileStockDeltaJournal journal, long segment) {
+        List<StockDelta> deltas = new ArrayList<>();
+        journal.replay(segment, deltas::add);
+        return deltas;
+    }
+}
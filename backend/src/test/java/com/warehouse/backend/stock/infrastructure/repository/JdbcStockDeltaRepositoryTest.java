@@ -0,0 +1,159 @@
+package com.warehouse.backend.stock.infrastructure.repository;
+
+import com.warehouse.backend.category.domain.model.Category;
+import com.warehouse.backend.category.infrastructure.repository.JpaCategoryRepository;
+import com.warehouse.backend.product.domain.model.Product;
+import com.warehouse.backend.product.infrastructure.repository.JpaProductRepository;
+import com.warehouse.backend.stock.domain.model.StockDelta;
+import com.warehouse.backend.stock.domain.model.Warehouse;
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+// The upsert is MySQL's INSERT ... ON DUPLICATE KEY UPDATE, which H2 only accepts in MySQL mode.
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:stockdeltas;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class JdbcStockDeltaRepositoryTest {
+
+    @Autowired
+    private JpaStockRepository jpaStockRepository;
+
+    @Autowired
+    private JpaWarehouseRepository jpaWarehouseRepository;
+
+    @Autowired
+    private JpaProductRepository jpaProductRepository;
+
+    @Autowired
+    private JpaCategoryRepository jpaCategoryRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcStockDeltaRepository jdbcStockDeltaRepository;
+    private Long warehouseId;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        jpaStockRepository.deleteAll();
+        jpaWarehouseRepository.deleteAll();
+        jpaProductRepository.deleteAll();
+        jpaCategoryRepository.deleteAll();
+        warehouseId = jpaWarehouseRepository.save(Warehouse.builder().name("Main").build()).getId();
+        category = jpaCategoryRepository.save(new Category(null, "Tools", null));
+        // Spied to see the order of the updates; the test's DataSource joins the test transaction.
+        jdbcTemplate = spy(new JdbcTemplate(dataSource));
+        jdbcStockDeltaRepository = new JdbcStockDeltaRepository(jdbcTemplate, new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @Test
+    void testApplyDeltas_ShouldAddToStockedRows() {
+        Long productId = product("Drill");
+        stock(productId, 5);
+
+        List<StockDelta> skipped = jdbcStockDeltaRepository.applyDeltas(List.of(
+                new StockDelta(warehouseId, productId, -2)));
+
+        assertThat(skipped).isEmpty();
+        assertThat(quantity(productId)).isEqualTo(3);
+    }
+
+    @Test
+    void testApplyDeltas_WhenIncreaseIsNotStocked_ShouldInsertTheRow() {
+        Long productId = product("Drill");
+
+        List<StockDelta> skipped = jdbcStockDeltaRepository.applyDeltas(List.of(
+                new StockDelta(warehouseId, productId, 4)));
+
+        assertThat(skipped).isEmpty();
+        assertThat(quantity(productId)).isEqualTo(4);
+    }
+
+    @Test
+    void testApplyDeltas_WhenIncreaseNamesUnknownProduct_ShouldSkipIt() {
+        StockDelta unknown = new StockDelta(warehouseId, Long.MAX_VALUE, 4);
+
+        assertThat(jdbcStockDeltaRepository.applyDeltas(List.of(unknown))).containsExactly(unknown);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM warehouse_products", Long.class)).isZero();
+    }
+
+    @Test
+    void testApplyDeltas_WhenDecreaseGoesBelowZero_ShouldSkipIt() {
+        Long stocked = product("Drill");
+        Long notStocked = product("Saw");
+        stock(stocked, 5);
+        StockDelta belowZero = new StockDelta(warehouseId, stocked, -6);
+        StockDelta missingRow = new StockDelta(warehouseId, notStocked, -1);
+
+        List<StockDelta> skipped = jdbcStockDeltaRepository.applyDeltas(List.of(belowZero, missingRow));
+
+        assertThat(skipped).containsExactlyInAnyOrder(belowZero, missingRow);
+        assertThat(quantity(stocked)).isEqualTo(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testApplyDeltas_ShouldUpdateRowsInIdOrder() {
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            productIds.add(product("Product " + i));
+        }
+        // Stocked last to first, so that the row ids run against the product ids.
+        for (int i = productIds.size() - 1; i >= 0; i--) {
+            stock(productIds.get(i), 10);
+        }
+        List<StockDelta> deltas = productIds.stream().map(id -> new StockDelta(warehouseId, id, 1)).toList();
+
+        jdbcStockDeltaRepository.applyDeltas(deltas);
+
+        ArgumentCaptor<Collection<Object>> updates = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE"), updates.capture(), eq(JdbcStockDeltaRepository.BATCH_SIZE),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(updates.getValue()).extracting("delta").containsExactlyElementsOf(deltas.reversed());
+        assertThat(productIds).allSatisfy(productId -> assertThat(quantity(productId)).isEqualTo(11));
+    }
+
+    private Long product(String name) {
+        return jpaProductRepository.createNewProduct(Product.builder()
+                .name(name)
+                .category(category)
+                .createdDate(LocalDateTime.now())
+                .build()).getId();
+    }
+
+    private void stock(Long productId, int quantity) {
+        jpaStockRepository.createStockItem(WarehouseProduct.builder()
+                .warehouseId(warehouseId)
+                .productId(productId)
+                .quantity(quantity)
+                .build());
+    }
+
+    // Read past the persistence context, which does not see the JDBC updates.
+    private int quantity(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM warehouse_products WHERE warehouse_id = ? AND product_id = ?",
+                Integer.class, warehouseId, productId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.warehouse.backend.stock.infrastructure.repository;
+
+import com.warehouse.backend.stock.domain.model.WarehouseProduct;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class JpaStockRepositoryTest {
+
+    @Autowired
+    private JpaStockRepository jpaStockRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaStockRepository.deleteAll();
+        jpaStockRepository.createStockItem(WarehouseProduct.builder()
+                .warehouseId(1L)
+                .productId(2L)
+                .quantity(5)
+                .build());
+    }
+
+    @Test
+    void testIncreaseQuantity() {
+        int updated = jpaStockRepository.increaseQuantity(1L, 2L, 3);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(jpaStockRepository.getStockItem(1L, 2L)).get()
+                .extracting(WarehouseProduct::getQuantity).isEqualTo(8);
+    }
+
+    @Test
+    void testIncreaseQuantity_NotStocked() {
+        assertThat(jpaStockRepository.increaseQuantity(1L, 3L, 3)).isZero();
+    }
+
+    @Test
+    void testDecreaseQuantity() {
+        int updated = jpaStockRepository.decreaseQuantity(1L, 2L, 5);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(jpaStockRepository.getStockItem(1L, 2L)).get()
+                .extracting(WarehouseProduct::getQuantity).isEqualTo(0);
+    }
+
+    @Test
+    void testDecreaseQuantity_Insufficient() {
+        int updated = jpaStockRepository.decreaseQuantity(1L, 2L, 6);
+
+        assertThat(updated).isZero();
+        assertThat(jpaStockRepository.getStockItem(1L, 2L)).get()
+                .extracting(WarehouseProduct::getQuantity).isEqualTo(5);
+    }
+
+    @Test
+    void testGetStockByWarehouseId() {
+        jpaStockRepository.createStockItem(WarehouseProduct.builder()
+                .warehouseId(1L)
+                .productId(1L)
+                .quantity(1)
+                .build());
+
+        assertThat(jpaStockRepository.getStockByWarehouseId(1L))
+                .extracting(WarehouseProduct::getProductId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testLockStockItems_ShouldReturnRowsInIdOrder() {
+        WarehouseProduct other = jpaStockRepository.createStockItem(WarehouseProduct.builder()
+                .warehouseId(2L)
+                .productId(2L)
+                .quantity(1)
+                .build());
+        Long first = jpaStockRepository.getStockItem(1L, 2L).orElseThrow().getId();
+
+        assertThat(jpaStockRepository.lockStockItems(List.of(other.getId(), first)))
+                .extracting(WarehouseProduct::getId).containsExactly(first, other.getId());
+    }
+
+    @Test
+    void testAdjustQuantity() {
+        Long id = jpaStockRepository.getStockItem(1L, 2L).orElseThrow().getId();
+
+        assertThat(jpaStockRepository.adjustQuantity(id, -3)).isEqualTo(1);
+        assertThat(jpaStockRepository.adjustQuantity(id, 7)).isEqualTo(1);
+        assertThat(jpaStockRepository.getStockItem(1L, 2L)).get()
+                .extracting(WarehouseProduct::getQuantity).isEqualTo(9);
+    }
+}
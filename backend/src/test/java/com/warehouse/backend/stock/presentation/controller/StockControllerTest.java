@@ -0,0 +1,173 @@
+package com.warehouse.backend.stock.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.warehouse.backend.stock.application.port.input.StockAvailabilityRequest;
+import com.warehouse.backend.stock.application.port.input.StockDeltaEvent;
+import com.warehouse.backend.stock.application.port.input.StockMovementRequest;
+import com.warehouse.backend.stock.application.port.input.StockTransferLine;
+import com.warehouse.backend.stock.application.port.input.StockTransferRequest;
+import com.warehouse.backend.stock.application.port.output.ProductAvailabilityDto;
+import com.warehouse.backend.stock.application.port.output.StockItemDto;
+import com.warehouse.backend.stock.application.port.output.WarehouseAvailabilityDto;
+import com.warehouse.backend.stock.application.service.StockAvailabilityService;
+import com.warehouse.backend.stock.application.service.StockDeltaIngestService;
+import com.warehouse.backend.stock.application.service.StockService;
+import com.warehouse.backend.stock.application.service.StockTransferService;
+import com.warehouse.backend.stock.domain.exception.InsufficientStockException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockDeltaException;
+import com.warehouse.backend.stock.domain.exception.InvalidStockQuantityException;
+import com.warehouse.backend.stock.domain.exception.StockTransferContentionException;
+import com.warehouse.backend.stock.domain.exception.WarehouseNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StockController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class StockControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private StockService stockService;
+
+    @MockitoBean
+    private StockTransferService stockTransferService;
+
+    @MockitoBean
+    private StockDeltaIngestService stockDeltaIngestService;
+
+    @MockitoBean
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Test
+    void getWarehouseStock_ShouldReturnItems() throws Exception {
+        when(stockService.getWarehouseStock(10L)).thenReturn(List.of(new StockItemDto(1L, 10L, 20L, 5)));
+
+        mockMvc.perform(get("/stock/warehouse/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(20))
+                .andExpect(jsonPath("$[0].quantity").value(5));
+    }
+
+    @Test
+    void getWarehouseStock_WhenWarehouseMissing_ShouldReturnNotFound() throws Exception {
+        when(stockService.getWarehouseStock(10L)).thenThrow(new WarehouseNotFoundException(10L));
+
+        mockMvc.perform(get("/stock/warehouse/10"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Warehouse with ID 10 not found."));
+    }
+
+    @Test
+    void receiveStock_ShouldReturnUpdatedItem() throws Exception {
+        when(stockService.receiveStock(any(StockMovementRequest.class))).thenReturn(new StockItemDto(1L, 10L, 20L, 8));
+
+        mockMvc.perform(post("/stock/receive")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockMovementRequest(10L, 20L, 3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(8));
+    }
+
+    @Test
+    void receiveStock_WhenQuantityNotPositive_ShouldReturnBadRequest() throws Exception {
+        when(stockService.receiveStock(any(StockMovementRequest.class))).thenThrow(new InvalidStockQuantityException(0));
+
+        mockMvc.perform(post("/stock/receive")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockMovementRequest(10L, 20L, 0))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void pickStock_WhenNotEnoughOnHand_ShouldReturnConflict() throws Exception {
+        when(stockService.pickStock(any(StockMovementRequest.class)))
+                .thenThrow(new InsufficientStockException(10L, 20L, 6, 5));
+
+        mockMvc.perform(post("/stock/pick")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockMovementRequest(10L, 20L, 6))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void transferStock_ShouldReturnTouchedItems() throws Exception {
+        when(stockTransferService.transfer(any(StockTransferRequest.class))).thenReturn(List.of(
+                new StockItemDto(1L, 10L, 20L, 2), new StockItemDto(2L, 11L, 20L, 3)));
+
+        mockMvc.perform(post("/stock/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockTransferRequest(
+                                List.of(new StockTransferLine(10L, 11L, 20L, 3))))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity").value(2))
+                .andExpect(jsonPath("$[1].warehouseId").value(11));
+    }
+
+    @Test
+    void transferStock_WhenLockConflictsPersist_ShouldReturnServiceUnavailable() throws Exception {
+        when(stockTransferService.transfer(any(StockTransferRequest.class)))
+                .thenThrow(new StockTransferContentionException(5, null));
+
+        mockMvc.perform(post("/stock/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockTransferRequest(
+                                List.of(new StockTransferLine(10L, 11L, 20L, 3))))))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void recordStockEvents_ShouldReturnAccepted() throws Exception {
+        mockMvc.perform(post("/stock/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new StockDeltaEvent(10L, 20L, 1)))))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    void recordStockEvents_WhenDeltaIsInvalid_ShouldReturnBadRequest() throws Exception {
+        doThrow(new InvalidStockDeltaException("Stock event delta must be non-zero."))
+                .when(stockDeltaIngestService).accept(anyList());
+
+        mockMvc.perform(post("/stock/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new StockDeltaEvent(10L, 20L, 0)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAvailability_ShouldReturnProductsWithTheirWarehouses() throws Exception {
+        when(stockAvailabilityService.getAvailability(List.of(20L, 21L))).thenReturn(List.of(
+                new ProductAvailabilityDto(20L, 7L, List.of(new WarehouseAvailabilityDto(10L, 3),
+                        new WarehouseAvailabilityDto(11L, 4))),
+                new ProductAvailabilityDto(21L, 0L, List.of())));
+
+        mockMvc.perform(post("/stock/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockAvailabilityRequest(List.of(20L, 21L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].totalQuantity").value(7))
+                .andExpect(jsonPath("$[0].warehouses[1].warehouseId").value(11))
+                .andExpect(jsonPath("$[1].warehouses").isEmpty());
+    }
+}